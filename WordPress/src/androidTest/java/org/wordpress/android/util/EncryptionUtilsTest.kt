@@ -1,15 +1,23 @@
 package org.wordpress.android.util
 
+import com.goterl.lazycode.lazysodium.interfaces.SecretStream
 import com.goterl.lazycode.lazysodium.utils.KeyPair
+import okio.buffer
+import okio.source
 import org.json.JSONObject
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertTrue
 import org.junit.Before
 import org.junit.Test
+import org.wordpress.android.util.encryptedlogging.EncryptedLogFormat
 import org.wordpress.android.util.encryptedlogging.EncryptedLogReader
 import org.wordpress.android.util.encryptedlogging.EncryptedLogWriter
+import org.wordpress.android.util.encryptedlogging.EncryptedSecretStreamKey
 import org.wordpress.android.util.encryptedlogging.EncryptionUtils
+import java.io.ByteArrayOutputStream
 import java.io.File
+import java.io.RandomAccessFile
 import java.util.UUID
 
 class EncryptionUtilsTest {
@@ -24,7 +32,7 @@ class EncryptionUtilsTest {
     @Throws
     fun testThatEncryptedLogsMatchV1FileFormat() {
         val testLogString = UUID.randomUUID().toString()
-        val log = logWithContent(testLogString)
+        val log = logWithContent(testLogString, EncryptedLogFormat.V1)
 
         val json = JSONObject(log.readText())
         assertEquals(
@@ -57,12 +65,95 @@ class EncryptionUtilsTest {
         )
     }
 
+    @Test
+    fun testThatEncryptedLogsMatchV2FileFormat() {
+        val log = logWithContent(UUID.randomUUID().toString())
+
+        log.source().buffer().use { source ->
+            assertEquals("The file must start with the magic bytes", "WPEL", source.readUtf8(4))
+            assertEquals("The format version must be 2", 2.toByte(), source.readByte())
+            val uuidLength = source.readShort().toLong()
+            assertNotNull("The UUID must be valid", UUID.fromString(source.readUtf8(uuidLength)))
+            source.skip((EncryptedSecretStreamKey.size + SecretStream.HEADERBYTES).toLong())
+
+            val messageLength = source.readInt()
+            assertEquals("The message must be 36 bytes long", 36 + SecretStream.ABYTES, messageLength)
+            source.skip(messageLength.toLong())
+            assertEquals("The closing tag must be empty", SecretStream.ABYTES, source.readInt())
+            source.skip(SecretStream.ABYTES.toLong())
+            assertTrue("The closing tag must be the last message", source.exhausted())
+        }
+    }
+
     @Test
     fun testThatLogsCanBeDecrypted() {
         val testLogString = UUID.randomUUID().toString()
         assertEquals(testLogString, EncryptedLogReader(logWithContent(testLogString), keypair).decrypt())
     }
 
+    @Test
+    fun testThatV1LogsCanBeDecrypted() {
+        val testLogString = UUID.randomUUID().toString()
+        val reader = EncryptedLogReader(logWithContent(testLogString, EncryptedLogFormat.V1), keypair)
+
+        assertEquals(EncryptedLogFormat.V1, reader.format)
+        assertEquals(testLogString, reader.decrypt())
+    }
+
+    @Test
+    fun testThatLogsCanBeDecryptedMessageByMessage() {
+        val lines = (1..1000).map { "$it: ${UUID.randomUUID()}\n" }
+        val writer = EncryptedLogWriter(createTempFile(), keypair.publicKey)
+        lines.forEach { writer.write(it) }
+        writer.close()
+
+        val output = ByteArrayOutputStream()
+        EncryptedLogReader(writer.file, keypair).decryptTo(output)
+
+        assertEquals(lines.joinToString(""), output.toString())
+    }
+
+    @Test
+    fun testThatV2LogsAreSmallerThanV1Logs() {
+        val lines = (1..1000).map { "$it: ${UUID.randomUUID()} ${UUID.randomUUID()}\n" }
+        val v1 = EncryptedLogWriter(createTempFile(), keypair.publicKey, format = EncryptedLogFormat.V1)
+        val v2 = EncryptedLogWriter(createTempFile(), keypair.publicKey, format = EncryptedLogFormat.V2)
+        lines.forEach {
+            v1.write(it)
+            v2.write(it)
+        }
+        v1.close()
+        v2.close()
+
+        assertTrue(v2.file.length() < v1.file.length() * 4 / 5)
+    }
+
+    @Test(expected = IllegalStateException::class)
+    fun testThatTruncatedLogsCantBeDecrypted() {
+        val log = logWithContent(UUID.randomUUID().toString())
+        RandomAccessFile(log, "rw").use { it.setLength(log.length() - SecretStream.ABYTES - 4) }
+
+        EncryptedLogReader(log, keypair).decrypt()
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun testThatLogsWithCorruptedFrameLengthsCantBeDecrypted() {
+        val log = logWithContent(UUID.randomUUID().toString())
+        val firstFrameOffset = 4 + 1 + 2 + 36 + EncryptedSecretStreamKey.size + SecretStream.HEADERBYTES
+        RandomAccessFile(log, "rw").use {
+            it.seek(firstFrameOffset.toLong())
+            it.writeInt(Int.MAX_VALUE)
+        }
+
+        EncryptedLogReader(log, keypair).decrypt()
+    }
+
+    @Test
+    fun testThatLongMessagesCanBeDecrypted() {
+        val testLogString = (1..10000).joinToString("") { "$it: ${UUID.randomUUID()}\n" }
+        assertEquals(testLogString, EncryptedLogReader(logWithContent(testLogString), keypair).decrypt())
+    }
+
     @Test
     fun testThatEmptyLogsCanBeEncrypted() {
         val testLogString = ""
@@ -80,9 +171,9 @@ class EncryptionUtilsTest {
     }
 
     // Helpers
-    private fun logWithContent(string: String): File {
+    private fun logWithContent(string: String, format: EncryptedLogFormat = EncryptedLogFormat.V2): File {
         val file = createTempFile()
-        val enc = EncryptedLogWriter(file, keypair.publicKey)
+        val enc = EncryptedLogWriter(file, keypair.publicKey, format = format)
         enc.write(string)
         enc.close()
 
@@ -98,6 +98,7 @@ import org.wordpress.android.util.AppLog.AppLogListener;
 import org.wordpress.android.util.AppLog.LogLevel;
 import org.wordpress.android.util.AppLog.T;
 import org.wordpress.android.util.AppThemeUtils;
+import org.wordpress.android.util.BackgroundExecutor;
 import org.wordpress.android.util.BitmapLruCache;
 import org.wordpress.android.util.CrashLogging;
 import org.wordpress.android.util.DateTimeUtils;
@@ -191,6 +192,8 @@ public class WordPress extends MultiDexApplication implements HasAndroidInjector
     public static FluxCImageLoader sImageLoader;
     @Inject OAuthAuthenticator mOAuthAuthenticator;
     public static OAuthAuthenticator sOAuthAuthenticator;
+    @Inject BackgroundExecutor mBackgroundExecutor;
+    public static BackgroundExecutor sBackgroundExecutor;
 
     protected AppComponent mAppComponent;
 
@@ -265,6 +268,7 @@ public class WordPress extends MultiDexApplication implements HasAndroidInjector
         sRequestQueue = mRequestQueue;
         sImageLoader = mImageLoader;
         sOAuthAuthenticator = mOAuthAuthenticator;
+        sBackgroundExecutor = mBackgroundExecutor;
 
         ProfilingUtils.start("App Startup");
 
@@ -920,6 +924,9 @@ public class WordPress extends MultiDexApplication implements HasAndroidInjector
 
             mReaderTracker.onAppGoesToBackground();
 
+            // persist preference changes which haven't been written yet
+            AppPrefs.flush();
+
             // Ensure that the deeplinking activity is re-enabled.
             WPActivityUtils.enableReaderDeeplinks(getContext());
 
@@ -1,17 +1,17 @@
 package org.wordpress.android.datasets;
 
-import android.content.ContentValues;
 import android.database.Cursor;
 import android.database.CursorIndexOutOfBoundsException;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
 import android.text.TextUtils;
 
-import org.json.JSONException;
-import org.json.JSONObject;
 import org.wordpress.android.WordPress;
+import org.wordpress.android.fluxc.model.CommentStatus;
 import org.wordpress.android.models.Note;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.SqlUtils;
+import org.wordpress.android.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -25,13 +25,43 @@ public class NotificationsTable {
 
     public static final int NOTES_TO_RETRIEVE = 200;
 
+    // the fields shown in the notifications list have their own columns, so loading the list doesn't need to parse
+    // raw_note_data - see Note.Summary
+    private static final String COLUMN_NAMES =
+            "note_id," // 1
+            + " type," // 2
+            + " timestamp," // 3
+            + " timestamp_string," // 4
+            + " is_read," // 5
+            + " icon_url," // 6
+            + " noticon," // 7
+            + " subject," // 8
+            + " comment_subject," // 9
+            + " comment_subject_noticon," // 10
+            + " site_id," // 11
+            + " post_id," // 12
+            + " comment_id," // 13
+            + " comment_status," // 14
+            + " raw_note_data"; // 15
+
     public static void createTables(SQLiteDatabase db) {
         db.execSQL("CREATE TABLE IF NOT EXISTS " + NOTIFICATIONS_TABLE + " ("
                    + "id INTEGER PRIMARY KEY DEFAULT 0,"
                    + "note_id TEXT,"
                    + "type TEXT,"
-                   + "raw_note_data TEXT,"
                    + "timestamp INTEGER,"
+                   + "timestamp_string TEXT,"
+                   + "is_read INTEGER DEFAULT 0,"
+                   + "icon_url TEXT,"
+                   + "noticon TEXT,"
+                   + "subject TEXT,"
+                   + "comment_subject TEXT,"
+                   + "comment_subject_noticon TEXT,"
+                   + "site_id INTEGER DEFAULT 0,"
+                   + "post_id INTEGER DEFAULT 0,"
+                   + "comment_id INTEGER DEFAULT " + Note.NO_COMMENT_ID + ","
+                   + "comment_status TEXT,"
+                   + "raw_note_data TEXT,"
                    + " UNIQUE (note_id) ON CONFLICT REPLACE"
                    + ")");
     }
@@ -45,111 +75,118 @@ public class NotificationsTable {
     }
 
     public static ArrayList<Note> getLatestNotes(int limit) {
-        Cursor cursor = getDb().query(NOTIFICATIONS_TABLE, new String[]{"note_id", "raw_note_data"},
-                                      null, null, null, null, "timestamp DESC", "" + limit);
+        Cursor cursor = getDb().rawQuery("SELECT " + COLUMN_NAMES + " FROM " + NOTIFICATIONS_TABLE
+                                         + " ORDER BY timestamp DESC LIMIT " + limit, null);
         ArrayList<Note> notes = new ArrayList<Note>();
-        while (cursor.moveToNext()) {
-            String noteId = cursor.getString(0);
-            String rawNoteData = cursor.getString(1);
-            try {
-                Note note = new Note(noteId, new JSONObject(rawNoteData));
-                notes.add(note);
-            } catch (JSONException e) {
-                AppLog.e(AppLog.T.DB, "Can't parse notification with noteId:" + noteId + ", exception:" + e);
+        try {
+            while (cursor.moveToNext()) {
+                notes.add(getNoteFromCursor(cursor));
             }
+        } finally {
+            SqlUtils.closeCursor(cursor);
         }
-        cursor.close();
         return notes;
     }
 
-    private static boolean putNote(Note note, boolean checkBeforeInsert) {
-        ContentValues values = new ContentValues();
-        values.put("type", note.getType());
-        values.put("timestamp", note.getTimestamp());
-        values.put("raw_note_data", note.getJSON().toString());
-
-        long result;
-        if (checkBeforeInsert && isNoteAvailable(note.getId())) {
-            // Update
-            String[] args = {note.getId()};
-            result = getDb().update(
-                    NOTIFICATIONS_TABLE,
-                    values,
-                    "note_id=?",
-                    args);
-            return result == 1;
-        } else {
-            // insert
-            values.put("note_id", note.getId());
-            result = getDb().insertWithOnConflict(NOTIFICATIONS_TABLE, null, values, SQLiteDatabase.CONFLICT_REPLACE);
-            if (result == -1) {
-                AppLog.e(AppLog.T.DB, "An error occurred while saving the note into the DB - note_id:" + note.getId());
-            }
-            return result != -1;
+    /*
+     * the note's JSON isn't parsed here, it's only parsed once a field which isn't in its own column is needed
+     */
+    private static Note getNoteFromCursor(Cursor cursor) {
+        Note.Summary summary = new Note.Summary();
+        summary.type = cursor.getString(1);
+        summary.timestamp = cursor.getLong(2);
+        summary.timestampString = cursor.getString(3);
+        summary.read = SqlUtils.sqlToBool(cursor.getInt(4));
+        summary.iconUrl = cursor.getString(5);
+        summary.noticon = cursor.getString(6);
+        summary.subject = cursor.getString(7);
+        summary.commentSubject = cursor.getString(8);
+        summary.commentSubjectNoticon = cursor.getString(9);
+        summary.siteId = cursor.getInt(10);
+        summary.postId = cursor.getInt(11);
+        summary.commentId = cursor.getLong(12);
+        summary.commentStatus = CommentStatus.fromString(cursor.getString(13));
+        return new Note(cursor.getString(0), cursor.getString(14), summary);
+    }
+
+    private static SQLiteStatement compileUpsertStatement() {
+        return getDb().compileStatement("INSERT OR REPLACE INTO " + NOTIFICATIONS_TABLE + " (" + COLUMN_NAMES + ")"
+                                         + " VALUES (?1,?2,?3,?4,?5,?6,?7,?8,?9,?10,?11,?12,?13,?14,?15)");
+    }
+
+    private static boolean putNote(SQLiteStatement stmt, Note note) {
+        Note.Summary summary = note.getSummary();
+        stmt.bindString(1, note.getId());
+        stmt.bindString(2, summary.type);
+        stmt.bindLong(3, summary.timestamp);
+        stmt.bindString(4, summary.timestampString);
+        stmt.bindLong(5, SqlUtils.boolToSql(summary.read));
+        stmt.bindString(6, summary.iconUrl);
+        stmt.bindString(7, summary.noticon);
+        stmt.bindString(8, summary.subject);
+        stmt.bindString(9, StringUtils.notNullStr(summary.commentSubject));
+        stmt.bindString(10, summary.commentSubjectNoticon);
+        stmt.bindLong(11, summary.siteId);
+        stmt.bindLong(12, summary.postId);
+        stmt.bindLong(13, summary.commentId);
+        stmt.bindString(14, summary.commentStatus.toString());
+        stmt.bindString(15, note.getRawJSON());
+
+        long result = stmt.executeInsert();
+        if (result == -1) {
+            AppLog.e(AppLog.T.DB, "An error occurred while saving the note into the DB - note_id:" + note.getId());
         }
+        return result != -1;
     }
 
     public static void saveNotes(List<Note> notes, boolean clearBeforeSaving) {
         getDb().beginTransaction();
+        SQLiteStatement stmt = compileUpsertStatement();
         try {
             if (clearBeforeSaving) {
                 clearNotes();
             }
 
             for (Note note : notes) {
-                // No need to check if the row already exists if we've just dropped the table.
-                putNote(note, !clearBeforeSaving);
+                putNote(stmt, note);
             }
 
             getDb().setTransactionSuccessful();
         } finally {
             getDb().endTransaction();
+            SqlUtils.closeStatement(stmt);
         }
     }
 
     public static boolean saveNote(Note note) {
         getDb().beginTransaction();
+        SQLiteStatement stmt = compileUpsertStatement();
         boolean saved = false;
         try {
-            saved = putNote(note, true);
+            saved = putNote(stmt, note);
             getDb().setTransactionSuccessful();
         } finally {
             getDb().endTransaction();
+            SqlUtils.closeStatement(stmt);
         }
         return saved;
     }
 
-    private static boolean isNoteAvailable(String noteID) {
-        if (TextUtils.isEmpty(noteID)) {
-            AppLog.e(AppLog.T.DB, "Asking for a note with null Id. Really?" + noteID);
-            return false;
-        }
-
-        String[] args = {noteID};
-        return SqlUtils.boolForQuery(getDb(),
-                                     "SELECT 1 FROM " + NOTIFICATIONS_TABLE + " WHERE note_id=?1",
-                                     args);
-    }
-
     public static Note getNoteById(String noteID) {
         if (TextUtils.isEmpty(noteID)) {
             AppLog.e(AppLog.T.DB, "Asking for a note with null Id. Really?" + noteID);
             return null;
         }
-        Cursor cursor =
-                getDb().query(NOTIFICATIONS_TABLE, new String[]{"raw_note_data"}, "note_id=" + noteID, null, null, null,
-                              null);
+        String[] args = {noteID};
+        Cursor cursor = getDb().rawQuery("SELECT " + COLUMN_NAMES + " FROM " + NOTIFICATIONS_TABLE
+                                         + " WHERE note_id=?", args);
         try {
             if (cursor.moveToFirst()) {
-                JSONObject jsonNote = new JSONObject(cursor.getString(0));
-                return new Note(noteID, jsonNote);
+                return getNoteFromCursor(cursor);
             } else {
                 AppLog.v(AppLog.T.DB, "No Note found in the DB with this id: " + noteID);
                 return null;
             }
-        } catch (JSONException e) {
-            AppLog.e(AppLog.T.DB, "Can't parse JSON Note: " + e);
-            return null;
         } catch (CursorIndexOutOfBoundsException e) {
             AppLog.e(AppLog.T.DB, "An error with the cursor has occurred", e);
             return null;
@@ -182,7 +219,10 @@ public class NotificationsTable {
      * drop & recreate notifications table
      */
     public static void reset() {
-        SQLiteDatabase db = getDb();
+        reset(getDb());
+    }
+
+    public static void reset(SQLiteDatabase db) {
         db.beginTransaction();
         try {
             dropTables(db);
@@ -15,6 +15,7 @@ import org.wordpress.android.util.DateTimeUtils;
 import org.wordpress.android.util.SqlUtils;
 import org.wordpress.android.util.UrlUtils;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -86,6 +87,41 @@ public class ReaderBlogTable {
         }
     }
 
+    /*
+     * returns blogInfo for each of the passed blog ids with a single query - blogs which
+     * don't exist are skipped, and the blogs aren't in any particular order
+     */
+    public static ReaderBlogList getBlogInfos(Collection<Long> blogIds) {
+        return getBlogInfosWhereIn("blog_id", blogIds);
+    }
+
+    /*
+     * same as getBlogInfos() but for the passed feed ids
+     */
+    public static ReaderBlogList getFeedInfos(Collection<Long> feedIds) {
+        return getBlogInfosWhereIn("feed_id", feedIds);
+    }
+
+    private static ReaderBlogList getBlogInfosWhereIn(String column, Collection<Long> ids) {
+        ReaderBlogList blogs = new ReaderBlogList();
+        if (ids.isEmpty()) {
+            return blogs;
+        }
+        Cursor c = ReaderDatabase.getReadableDb().rawQuery(
+                "SELECT * FROM tbl_blog_info WHERE " + column + " IN (" + TextUtils.join(",", ids) + ")",
+                null);
+        try {
+            if (c.moveToFirst()) {
+                do {
+                    blogs.add(getBlogInfoFromCursor(c));
+                } while (c.moveToNext());
+            }
+            return blogs;
+        } finally {
+            SqlUtils.closeCursor(c);
+        }
+    }
+
     public static long getFeedIdFromUrl(String url) {
         if (TextUtils.isEmpty(url)) {
             return 0;
@@ -8,6 +8,8 @@ class ReaderBlogTableWrapper
     fun getFollowedBlogs(): List<ReaderBlog> = ReaderBlogTable.getFollowedBlogs()!!
     fun getBlogInfo(blogId: Long): ReaderBlog? = ReaderBlogTable.getBlogInfo(blogId)
     fun getFeedInfo(feedId: Long): ReaderBlog? = ReaderBlogTable.getFeedInfo(feedId)
+    fun getBlogInfos(blogIds: Collection<Long>): List<ReaderBlog> = ReaderBlogTable.getBlogInfos(blogIds)
+    fun getFeedInfos(feedIds: Collection<Long>): List<ReaderBlog> = ReaderBlogTable.getFeedInfos(feedIds)
     fun isNotificationsEnabled(blogId: Long): Boolean = ReaderBlogTable.isNotificationsEnabled(blogId)
     fun setNotificationsEnabledByBlogId(blogId: Long, isEnabled: Boolean) =
             ReaderBlogTable.setNotificationsEnabledByBlogId(blogId, isEnabled)
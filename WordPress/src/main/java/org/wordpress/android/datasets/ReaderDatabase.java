@@ -25,7 +25,7 @@ import java.util.Locale;
  */
 public class ReaderDatabase extends SQLiteOpenHelper {
     protected static final String DB_NAME = "wpreader.db";
-    private static final int DB_VERSION = 143;
+    private static final int DB_VERSION = 144;
     private static final int DB_LAST_VERSION_WITHOUT_MIGRATION_SCRIPT = 136; // do not change this value
 
     /*
@@ -102,6 +102,7 @@ public class ReaderDatabase extends SQLiteOpenHelper {
      * 141 - added tbl_posts.tags
      * 142 - remove followed tags from tbl_tags
      * 143 - drop tbl_recommended_blogs
+     * 144 - normalized post storage, post content in tbl_posts and stream membership in tbl_post_tags
      */
 
     /*
@@ -147,6 +148,9 @@ public class ReaderDatabase extends SQLiteOpenHelper {
         // object hasn't been created yet
         SQLiteDatabase db = getWritableDb();
 
+        // cached post HTML may include content from private sites, so it's cleared along with the posts
+        ReaderPostHtmlCache.clear();
+
         if (retainBookmarkedPosts && ReaderPostTable.hasBookmarkedPosts()) {
             ReaderTagList tags = ReaderTagTable.getBookmarkTags();
             if (!tags.isEmpty()) {
@@ -210,6 +214,9 @@ public class ReaderDatabase extends SQLiteOpenHelper {
             case 142:
                 db.execSQL("DROP TABLE IF EXISTS tbl_recommended_blogs;");
                 currentVersion++;
+            case 143:
+                ReaderPostTable.migrateToNormalizedTables(db);
+                currentVersion++;
         }
         if (currentVersion != newVersion) {
             throw new RuntimeException(
@@ -305,12 +312,12 @@ public class ReaderDatabase extends SQLiteOpenHelper {
     }
 
     public static void purgeAsync() {
-        new Thread() {
+        WordPress.sBackgroundExecutor.executeDbWrite(new Runnable() {
             @Override
             public void run() {
                 purge();
             }
-        }.start();
+        });
     }
 
     /*
@@ -2,12 +2,17 @@ package org.wordpress.android.datasets
 
 import android.content.ContentValues
 import android.database.sqlite.SQLiteDatabase
+import org.wordpress.android.models.discover.SimplifiedDiscoverCard
 import org.wordpress.android.util.AppLog
 import org.wordpress.android.util.SqlUtils
 
 object ReaderDiscoverCardsTable {
     private const val DISCOVER_CARDS_TABLE = "tbl_discover_cards"
     private const val CARDS_JSON_COLUMN = "cards_json"
+
+    // the parsed cards of all the stored pages, so the cards json isn't parsed again every time the cards are loaded
+    private var cachedCards: List<SimplifiedDiscoverCard>? = null
+
     fun createTable(db: SQLiteDatabase) {
         db.execSQL(
                 "CREATE TABLE IF NOT EXISTS $DISCOVER_CARDS_TABLE (" +
@@ -19,11 +24,17 @@ object ReaderDiscoverCardsTable {
 
     fun dropTables(db: SQLiteDatabase) {
         db.execSQL("DROP TABLE IF EXISTS tbl_discover_cards")
+        synchronized(this) {
+            cachedCards = null
+        }
     }
 
     fun clear() {
         AppLog.i(AppLog.T.READER, "clearing ReaderDiscoverCardsTable")
-        getWritableDb().delete(DISCOVER_CARDS_TABLE, null, null)
+        synchronized(this) {
+            getWritableDb().delete(DISCOVER_CARDS_TABLE, null, null)
+            cachedCards = emptyList()
+        }
     }
 
     private fun getReadableDb(): SQLiteDatabase {
@@ -34,11 +45,27 @@ object ReaderDiscoverCardsTable {
         return ReaderDatabase.getWritableDb()
     }
 
-    fun addCardsPage(cardsJson: String) {
+    /**
+     * Stores the page's simplified cards json and adds its already parsed cards to the cached cards
+     */
+    fun addCardsPage(cardsJson: String, cards: List<SimplifiedDiscoverCard>) {
         val values = ContentValues()
         values.put(CARDS_JSON_COLUMN, cardsJson)
 
-        getWritableDb().insert(DISCOVER_CARDS_TABLE, null, values)
+        synchronized(this) {
+            val inserted = getWritableDb().insert(DISCOVER_CARDS_TABLE, null, values) != -1L
+            cachedCards = if (inserted) cachedCards?.plus(cards) else null
+        }
+    }
+
+    /**
+     * Returns the cards of all the stored pages. The stored json is only parsed with [parseCardsJsons] when the cards
+     * aren't cached yet, e.g. the first time they're loaded after the app starts.
+     */
+    fun loadDiscoverCards(
+        parseCardsJsons: (List<String>) -> List<SimplifiedDiscoverCard>
+    ): List<SimplifiedDiscoverCard> = synchronized(this) {
+        cachedCards ?: parseCardsJsons(loadDiscoverCardsJsons()).also { cachedCards = it }
     }
 
     fun loadDiscoverCardsJsons(): List<String> {
@@ -1,9 +1,11 @@
 package org.wordpress.android.datasets
 
 import dagger.Reusable
+import org.wordpress.android.models.discover.SimplifiedDiscoverCard
 import javax.inject.Inject
 
 @Reusable
 class ReaderDiscoverCardsTableWrapper @Inject constructor() {
-    fun loadDiscoverCardsJsons() = ReaderDiscoverCardsTable.loadDiscoverCardsJsons()
+    fun loadDiscoverCards(parseCardsJsons: (List<String>) -> List<SimplifiedDiscoverCard>) =
+            ReaderDiscoverCardsTable.loadDiscoverCards(parseCardsJsons)
 }
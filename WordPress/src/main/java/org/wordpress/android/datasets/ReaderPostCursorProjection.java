@@ -0,0 +1,200 @@
+package org.wordpress.android.datasets;
+
+import android.database.Cursor;
+import android.util.Pair;
+
+import androidx.annotation.NonNull;
+
+import org.wordpress.android.models.ReaderCardType;
+import org.wordpress.android.models.ReaderPost;
+import org.wordpress.android.models.ReaderTagType;
+import org.wordpress.android.util.SqlUtils;
+
+/**
+ * maps rows of a ReaderPostTable cursor to ReaderPost objects - column indexes are resolved once
+ * when the projection is created rather than for every row, so create one projection per cursor
+ * and reuse it for all of its rows. columns which aren't part of the query (ex: text when it's
+ * excluded) are skipped, and the comma-separated tags are left for ReaderPost to decode on demand.
+ */
+class ReaderPostCursorProjection {
+    private static final int NO_COLUMN = -1;
+
+    private final int mIdxText;
+    private final int mIdxPostId;
+    private final int mIdxBlogId;
+    private final int mIdxFeedId;
+    private final int mIdxFeedItemId;
+    private final int mIdxAuthorId;
+    private final int mIdxPseudoId;
+    private final int mIdxAuthorName;
+    private final int mIdxAuthorFirstName;
+    private final int mIdxBlogName;
+    private final int mIdxBlogUrl;
+    private final int mIdxBlogImageUrl;
+    private final int mIdxExcerpt;
+    private final int mIdxFormat;
+    private final int mIdxFeaturedImage;
+    private final int mIdxFeaturedVideo;
+    private final int mIdxTitle;
+    private final int mIdxUrl;
+    private final int mIdxShortUrl;
+    private final int mIdxPostAvatar;
+    private final int mIdxDatePublished;
+    private final int mIdxDateLiked;
+    private final int mIdxDateTagged;
+    private final int mIdxScore;
+    private final int mIdxNumReplies;
+    private final int mIdxNumLikes;
+    private final int mIdxIsLiked;
+    private final int mIdxIsFollowed;
+    private final int mIdxIsCommentsOpen;
+    private final int mIdxIsExternal;
+    private final int mIdxIsPrivate;
+    private final int mIdxIsPrivateAtomic;
+    private final int mIdxIsVideoPress;
+    private final int mIdxIsJetpack;
+    private final int mIdxIsBookmarked;
+    private final int mIdxPrimaryTag;
+    private final int mIdxSecondaryTag;
+    private final int mIdxAttachmentsJson;
+    private final int mIdxDiscoverJson;
+    private final int mIdxXpostPostId;
+    private final int mIdxXpostBlogId;
+    private final int mIdxRailcarJson;
+    private final int mIdxCardType;
+    private final int mIdxUseExcerpt;
+    private final int mIdxTags;
+    private final int mIdxTagName;
+    private final int mIdxTagType;
+
+    ReaderPostCursorProjection(@NonNull Cursor c) {
+        mIdxText = c.getColumnIndex("text");
+        mIdxPostId = c.getColumnIndex("post_id");
+        mIdxBlogId = c.getColumnIndex("blog_id");
+        mIdxFeedId = c.getColumnIndex("feed_id");
+        mIdxFeedItemId = c.getColumnIndex("feed_item_id");
+        mIdxAuthorId = c.getColumnIndex("author_id");
+        mIdxPseudoId = c.getColumnIndex("pseudo_id");
+        mIdxAuthorName = c.getColumnIndex("author_name");
+        mIdxAuthorFirstName = c.getColumnIndex("author_first_name");
+        mIdxBlogName = c.getColumnIndex("blog_name");
+        mIdxBlogUrl = c.getColumnIndex("blog_url");
+        mIdxBlogImageUrl = c.getColumnIndex("blog_image_url");
+        mIdxExcerpt = c.getColumnIndex("excerpt");
+        mIdxFormat = c.getColumnIndex("format");
+        mIdxFeaturedImage = c.getColumnIndex("featured_image");
+        mIdxFeaturedVideo = c.getColumnIndex("featured_video");
+        mIdxTitle = c.getColumnIndex("title");
+        mIdxUrl = c.getColumnIndex("url");
+        mIdxShortUrl = c.getColumnIndex("short_url");
+        mIdxPostAvatar = c.getColumnIndex("post_avatar");
+        mIdxDatePublished = c.getColumnIndex("date_published");
+        mIdxDateLiked = c.getColumnIndex("date_liked");
+        mIdxDateTagged = c.getColumnIndex("date_tagged");
+        mIdxScore = c.getColumnIndex("score");
+        mIdxNumReplies = c.getColumnIndex("num_replies");
+        mIdxNumLikes = c.getColumnIndex("num_likes");
+        mIdxIsLiked = c.getColumnIndex("is_liked");
+        mIdxIsFollowed = c.getColumnIndex("is_followed");
+        mIdxIsCommentsOpen = c.getColumnIndex("is_comments_open");
+        mIdxIsExternal = c.getColumnIndex("is_external");
+        mIdxIsPrivate = c.getColumnIndex("is_private");
+        mIdxIsPrivateAtomic = c.getColumnIndex("is_private_atomic");
+        mIdxIsVideoPress = c.getColumnIndex("is_videopress");
+        mIdxIsJetpack = c.getColumnIndex("is_jetpack");
+        mIdxIsBookmarked = c.getColumnIndex("is_bookmarked");
+        mIdxPrimaryTag = c.getColumnIndex("primary_tag");
+        mIdxSecondaryTag = c.getColumnIndex("secondary_tag");
+        mIdxAttachmentsJson = c.getColumnIndex("attachments_json");
+        mIdxDiscoverJson = c.getColumnIndex("discover_json");
+        mIdxXpostPostId = c.getColumnIndex("xpost_post_id");
+        mIdxXpostBlogId = c.getColumnIndex("xpost_blog_id");
+        mIdxRailcarJson = c.getColumnIndex("railcar_json");
+        mIdxCardType = c.getColumnIndex("card_type");
+        mIdxUseExcerpt = c.getColumnIndex("use_excerpt");
+        mIdxTags = c.getColumnIndex("tags");
+        mIdxTagName = c.getColumnIndex("tag_name");
+        mIdxTagType = c.getColumnIndex("tag_type");
+    }
+
+    /*
+     * returns the post at the cursor's current position
+     */
+    @NonNull ReaderPost getPost(@NonNull Cursor c) {
+        ReaderPost post = new ReaderPost();
+
+        // text column is skipped when retrieving multiple rows
+        if (mIdxText != NO_COLUMN) {
+            post.setText(c.getString(mIdxText));
+        }
+
+        post.postId = c.getLong(mIdxPostId);
+        post.blogId = c.getLong(mIdxBlogId);
+        post.feedId = c.getLong(mIdxFeedId);
+        post.feedItemId = c.getLong(mIdxFeedItemId);
+        post.authorId = c.getLong(mIdxAuthorId);
+        post.setPseudoId(c.getString(mIdxPseudoId));
+
+        post.setAuthorName(c.getString(mIdxAuthorName));
+        post.setAuthorFirstName(c.getString(mIdxAuthorFirstName));
+        post.setBlogName(c.getString(mIdxBlogName));
+        post.setBlogUrl(c.getString(mIdxBlogUrl));
+        post.setBlogImageUrl(c.getString(mIdxBlogImageUrl));
+        post.setExcerpt(c.getString(mIdxExcerpt));
+        post.setFormat(c.getString(mIdxFormat));
+        post.setFeaturedImage(c.getString(mIdxFeaturedImage));
+        post.setFeaturedVideo(c.getString(mIdxFeaturedVideo));
+
+        post.setTitle(c.getString(mIdxTitle));
+        post.setUrl(c.getString(mIdxUrl));
+        post.setShortUrl(c.getString(mIdxShortUrl));
+        post.setPostAvatar(c.getString(mIdxPostAvatar));
+
+        post.setDatePublished(c.getString(mIdxDatePublished));
+        post.setDateLiked(c.getString(mIdxDateLiked));
+        post.setDateTagged(c.getString(mIdxDateTagged));
+
+        post.score = c.getDouble(mIdxScore);
+        post.numReplies = c.getInt(mIdxNumReplies);
+        post.numLikes = c.getInt(mIdxNumLikes);
+
+        post.isLikedByCurrentUser = SqlUtils.sqlToBool(c.getInt(mIdxIsLiked));
+        post.isFollowedByCurrentUser = SqlUtils.sqlToBool(c.getInt(mIdxIsFollowed));
+        post.isCommentsOpen = SqlUtils.sqlToBool(c.getInt(mIdxIsCommentsOpen));
+        post.isExternal = SqlUtils.sqlToBool(c.getInt(mIdxIsExternal));
+        post.isPrivate = SqlUtils.sqlToBool(c.getInt(mIdxIsPrivate));
+        post.isPrivateAtomic = SqlUtils.sqlToBool(c.getInt(mIdxIsPrivateAtomic));
+        post.isVideoPress = SqlUtils.sqlToBool(c.getInt(mIdxIsVideoPress));
+        post.isJetpack = SqlUtils.sqlToBool(c.getInt(mIdxIsJetpack));
+        post.isBookmarked = SqlUtils.sqlToBool(c.getInt(mIdxIsBookmarked));
+
+        post.setPrimaryTag(c.getString(mIdxPrimaryTag));
+        post.setSecondaryTag(c.getString(mIdxSecondaryTag));
+
+        // the discover json is only parsed when ReaderPost.getDiscoverData() is called
+        post.setAttachmentsJson(c.getString(mIdxAttachmentsJson));
+        post.setDiscoverJson(c.getString(mIdxDiscoverJson));
+
+        post.xpostPostId = c.getLong(mIdxXpostPostId);
+        post.xpostBlogId = c.getLong(mIdxXpostBlogId);
+
+        post.setRailcarJson(c.getString(mIdxRailcarJson));
+        post.setCardType(ReaderCardType.fromString(c.getString(mIdxCardType)));
+
+        post.useExcerpt = SqlUtils.sqlToBool(c.getInt(mIdxUseExcerpt));
+
+        String commaSeparatedTags = c.getString(mIdxTags);
+        if (commaSeparatedTags != null) {
+            post.setCommaSeparatedTagSlugs(commaSeparatedTags);
+        }
+
+        return post;
+    }
+
+    /*
+     * returns the stream (tag_name + tag_type) the row at the cursor's current position belongs to
+     */
+    @NonNull Pair<String, ReaderTagType> getTagNameAndType(@NonNull Cursor c) {
+        return new Pair<>(c.getString(mIdxTagName), ReaderTagType.fromInt(c.getInt(mIdxTagType)));
+    }
+}
@@ -0,0 +1,242 @@
+package org.wordpress.android.datasets;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.collection.LruCache;
+
+import org.wordpress.android.WordPress;
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+import org.wordpress.android.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * size-bounded memory and disk cache of the HTML ReaderPostRenderer produces for post detail, so
+ * posts which were recently viewed (or pre-rendered by the pager) don't have to be rendered again.
+ * one entry is kept per post, and it's only used when its key - which covers everything the HTML
+ * depends on (post content, display width & theme, CSS url) - matches the one being rendered.
+ */
+public class ReaderPostHtmlCache {
+    private static final String CACHE_DIR_NAME = "reader_post_html";
+    private static final String TEMP_FILE_PREFIX = "writing";
+    private static final Charset CHARSET = Charset.forName("UTF-8");
+
+    // sizes are in chars for the memory cache and bytes for the disk cache
+    private static final int MAX_MEMORY_SIZE = 1024 * 1024;
+    private static final long MAX_DISK_SIZE = 10 * 1024 * 1024;
+
+    // LruCache is thread-safe, and the files are replaced by renaming a new file over them, so reading and
+    // writing the cache doesn't take a lock - only trimming the disk cache does, so it isn't trimmed twice
+    private static final Object TRIM_LOCK = new Object();
+
+    private static final LruCache<String, Entry> MEMORY_CACHE = new LruCache<String, Entry>(MAX_MEMORY_SIZE) {
+        @Override
+        protected int sizeOf(@NonNull String pseudoId, @NonNull Entry entry) {
+            return entry.mHtml.length();
+        }
+    };
+
+    private static class Entry {
+        private final String mKey;
+        private final String mHtml;
+
+        Entry(@NonNull String key, @NonNull String html) {
+            mKey = key;
+            mHtml = html;
+        }
+    }
+
+    private ReaderPostHtmlCache() {
+        throw new AssertionError();
+    }
+
+    /*
+     * returns the cached HTML for the passed post if it was rendered with the passed key, null otherwise -
+     * reads from disk so don't call this on the UI thread
+     */
+    @Nullable
+    public static String get(@NonNull String pseudoId, @NonNull String key) {
+        Entry entry = MEMORY_CACHE.get(pseudoId);
+        if (entry == null) {
+            entry = readEntry(pseudoId);
+            if (entry == null) {
+                return null;
+            }
+            MEMORY_CACHE.put(pseudoId, entry);
+        }
+        return entry.mKey.equals(key) ? entry.mHtml : null;
+    }
+
+    /*
+     * caches the HTML rendered for the passed post, replacing any earlier rendering of it - writes to
+     * disk so don't call this on the UI thread
+     */
+    public static void put(@NonNull String pseudoId, @NonNull String key, @NonNull String html) {
+        Entry entry = new Entry(key, html);
+        MEMORY_CACHE.put(pseudoId, entry);
+        writeEntry(pseudoId, entry);
+    }
+
+    /*
+     * removes the cached HTML for the passed post, called when the post has been changed
+     */
+    public static void invalidate(@NonNull String pseudoId) {
+        MEMORY_CACHE.remove(pseudoId);
+        File file = getCacheFile(pseudoId);
+        if (file.exists() && !file.delete()) {
+            AppLog.w(T.READER, "reader html cache > failed to delete " + file.getName());
+        }
+    }
+
+    /*
+     * the cache directory is moved aside right away so nothing can be read from it anymore, and the
+     * files in it are deleted in the background
+     */
+    public static void clear() {
+        MEMORY_CACHE.evictAll();
+        File dir = getCacheDir();
+        if (!dir.exists()) {
+            return;
+        }
+        final File clearedDir = new File(dir.getParentFile(), CACHE_DIR_NAME + "_" + System.currentTimeMillis());
+        if (!dir.renameTo(clearedDir)) {
+            AppLog.w(T.READER, "reader html cache > failed to clear cache directory");
+            return;
+        }
+        WordPress.sBackgroundExecutor.executeParse(new Runnable() {
+            @Override
+            public void run() {
+                File[] files = clearedDir.listFiles();
+                if (files != null) {
+                    for (File file : files) {
+                        //noinspection ResultOfMethodCallIgnored
+                        file.delete();
+                    }
+                }
+                //noinspection ResultOfMethodCallIgnored
+                clearedDir.delete();
+            }
+        });
+    }
+
+    private static File getCacheDir() {
+        return new File(WordPress.getContext().getCacheDir(), CACHE_DIR_NAME);
+    }
+
+    private static File getCacheFile(@NonNull String pseudoId) {
+        return new File(getCacheDir(), StringUtils.getMd5Hash(pseudoId));
+    }
+
+    /*
+     * each file contains the key on the first line followed by the HTML
+     */
+    @Nullable
+    private static Entry readEntry(@NonNull String pseudoId) {
+        File file = getCacheFile(pseudoId);
+        if (!file.exists()) {
+            return null;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), CHARSET))) {
+            String key = reader.readLine();
+            if (key == null) {
+                return null;
+            }
+            StringBuilder html = new StringBuilder((int) file.length());
+            char[] buffer = new char[8192];
+            int numRead;
+            while ((numRead = reader.read(buffer)) != -1) {
+                html.append(buffer, 0, numRead);
+            }
+            // mark as recently used so it's the last to be trimmed
+            //noinspection ResultOfMethodCallIgnored
+            file.setLastModified(System.currentTimeMillis());
+            return new Entry(key, html.toString());
+        } catch (IOException e) {
+            AppLog.e(T.READER, e);
+            return null;
+        }
+    }
+
+    private static void writeEntry(@NonNull String pseudoId, @NonNull Entry entry) {
+        File dir = getCacheDir();
+        if (!dir.exists() && !dir.mkdirs()) {
+            AppLog.w(T.READER, "reader html cache > failed to create cache directory");
+            return;
+        }
+
+        // written to a temp file which then replaces the entry's file, so the entry is never read half written
+        File tempFile = null;
+        try {
+            tempFile = File.createTempFile(TEMP_FILE_PREFIX, null, dir);
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(tempFile), CHARSET)) {
+                writer.write(entry.mKey);
+                writer.write('\n');
+                writer.write(entry.mHtml);
+            }
+            if (!tempFile.renameTo(getCacheFile(pseudoId))) {
+                throw new IOException("failed to replace " + pseudoId);
+            }
+        } catch (IOException e) {
+            AppLog.e(T.READER, e);
+            if (tempFile != null) {
+                //noinspection ResultOfMethodCallIgnored
+                tempFile.delete();
+            }
+            return;
+        }
+
+        trimDiskCache(dir);
+    }
+
+    /*
+     * deletes the least recently used files until the cache fits in MAX_DISK_SIZE
+     */
+    private static void trimDiskCache(@NonNull File dir) {
+        synchronized (TRIM_LOCK) {
+            trimDiskCacheLocked(dir);
+        }
+    }
+
+    private static void trimDiskCacheLocked(@NonNull File dir) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        long totalSize = 0;
+        for (File file : files) {
+            totalSize += file.length();
+        }
+        if (totalSize <= MAX_DISK_SIZE) {
+            return;
+        }
+
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File file1, File file2) {
+                return Long.compare(file1.lastModified(), file2.lastModified());
+            }
+        });
+        for (File file : files) {
+            if (totalSize <= MAX_DISK_SIZE) {
+                break;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                totalSize -= length;
+            }
+        }
+    }
+}
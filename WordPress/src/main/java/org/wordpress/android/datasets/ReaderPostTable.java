@@ -8,6 +8,7 @@ import android.text.TextUtils;
 import android.util.Pair;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
 
 import org.greenrobot.eventbus.EventBus;
 import org.wordpress.android.R;
@@ -25,21 +26,29 @@ import org.wordpress.android.ui.reader.models.ReaderBlogIdPostIdList;
 import org.wordpress.android.ui.reader.repository.ReaderRepositoryEvent.ReaderPostTableActionEnded;
 import org.wordpress.android.ui.reader.utils.ReaderUtils;
 import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.LongHashSet;
 import org.wordpress.android.util.SqlUtils;
+import org.wordpress.android.util.StringUtils;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
- * tbl_posts contains all reader posts - the primary key is pseudo_id + tag_name + tag_type,
- * which allows the same post to appear in multiple streams (ex: it can exist in followed
- * sites, liked posts, and tag streams). note that posts in a specific blog or feed are
- * stored here with an empty tag_name.
+ * tbl_posts contains a single row for each reader post keyed by pseudo_id (which identifies
+ * either a blog_id/post_id or a feed_id/feed_item_id pair), while tbl_post_tags records which
+ * streams the post appears in - its primary key is pseudo_id + tag_name + tag_type, which allows
+ * the same post to appear in multiple streams (ex: it can exist in followed sites, liked posts,
+ * and tag streams) without storing the post itself more than once. note that posts in a specific
+ * blog or feed are tagged with an empty tag_name.
  */
 public class ReaderPostTable {
-    private static final String COLUMN_NAMES =
+    // columns stored once per post in tbl_posts
+    private static final String POST_COLUMN_NAMES =
             "post_id," // 1
             + "blog_id," // 2
             + "feed_id," // 3
@@ -60,84 +69,100 @@ public class ReaderPostTable {
             + "featured_image," // 18
             + "featured_video," // 19
             + "post_avatar," // 20
-            + "score," // 21
-            + "date_published," // 22
-            + "date_liked," // 23
-            + "date_tagged," // 24
-            + "num_replies," // 25
-            + "num_likes," // 26
-            + "is_liked," // 27
-            + "is_followed," // 28
-            + "is_comments_open," // 29
-            + "is_external," // 30
-            + "is_private," // 31
-            + "is_videopress," // 32
-            + "is_jetpack," // 33
-            + "primary_tag," // 34
-            + "secondary_tag," // 35
-            + "attachments_json," // 36
-            + "discover_json," // 37
-            + "xpost_post_id," // 38
-            + "xpost_blog_id," // 39
-            + "railcar_json," // 40
-            + "tag_name," // 41
-            + "tag_type," // 42
-            + "has_gap_marker," // 43
-            + "card_type," // 44
-            + "use_excerpt," // 45
-            + "is_bookmarked," // 46
-            + "is_private_atomic," // 47
-            + "tags"; // 48
-
-    // used when querying multiple rows and skipping text column
-    private static final String COLUMN_NAMES_NO_TEXT =
-            "post_id," // 1
-            + "blog_id," // 2
-            + "feed_id," // 3
-            + "feed_item_id," // 4
-            + "author_id," // 5
-            + "pseudo_id," // 6
-            + "author_name," // 7
-            + "author_first_name," // 8
-            + "blog_name," // 9
-            + "blog_url," // 10
-            + "blog_image_url," // 11
-            + "excerpt," // 12
-            + "format," // 13
-            + "featured_image," // 14
-            + "featured_video," // 15
-            + "title," // 16
-            + "url," // 17
-            + "short_url," // 18
-            + "post_avatar," // 19
-            + "score," // 20
             + "date_published," // 21
             + "date_liked," // 22
-            + "date_tagged," // 23
-            + "num_replies," // 24
-            + "num_likes," // 25
-            + "is_liked," // 26
-            + "is_followed," // 27
-            + "is_comments_open," // 28
-            + "is_external," // 29
-            + "is_private," // 30
-            + "is_videopress," // 31
-            + "is_jetpack," // 32
-            + "primary_tag," // 33
-            + "secondary_tag," // 34
-            + "attachments_json," // 35
-            + "discover_json," // 36
-            + "xpost_post_id," // 37
-            + "xpost_blog_id," // 38
-            + "railcar_json," // 39
-            + "tag_name," // 40
-            + "tag_type," // 41
-            + "has_gap_marker," // 42
-            + "card_type," // 43
-            + "use_excerpt," // 44
-            + "is_bookmarked," // 45
-            + "is_private_atomic," // 46
-            + "tags"; // 47
+            + "num_replies," // 23
+            + "num_likes," // 24
+            + "is_liked," // 25
+            + "is_followed," // 26
+            + "is_comments_open," // 27
+            + "is_external," // 28
+            + "is_private," // 29
+            + "is_videopress," // 30
+            + "is_jetpack," // 31
+            + "primary_tag," // 32
+            + "secondary_tag," // 33
+            + "attachments_json," // 34
+            + "discover_json," // 35
+            + "xpost_post_id," // 36
+            + "xpost_blog_id," // 37
+            + "railcar_json," // 38
+            + "card_type," // 39
+            + "use_excerpt," // 40
+            + "is_bookmarked," // 41
+            + "is_private_atomic," // 42
+            + "tags"; // 43
+
+    // columns stored once per stream the post appears in (tbl_post_tags)
+    private static final String TAG_COLUMN_NAMES =
+            "pseudo_id," // 1
+            + "tag_name," // 2
+            + "tag_type," // 3
+            + "score," // 4
+            + "date_tagged," // 5
+            + "has_gap_marker"; // 6
+
+    // tbl_posts joined with the streams each post belongs to - "p" is the post and "t" is the tag
+    @VisibleForTesting
+    static final String POSTS_WITH_TAGS =
+            "tbl_posts p INNER JOIN tbl_post_tags t ON t.pseudo_id = p.pseudo_id";
+
+    private static final String COLUMN_NAMES_TAG =
+            "t.tag_name,"
+            + "t.tag_type,"
+            + "t.score,"
+            + "t.date_tagged,"
+            + "t.has_gap_marker";
+
+    // used when querying a single post with all its columns
+    private static final String COLUMN_NAMES = "p.*," + COLUMN_NAMES_TAG;
+
+    // used when querying multiple rows and skipping text column
+    @VisibleForTesting
+    static final String COLUMN_NAMES_NO_TEXT =
+            "p.post_id," // 1
+            + "p.blog_id," // 2
+            + "p.feed_id," // 3
+            + "p.feed_item_id," // 4
+            + "p.author_id," // 5
+            + "p.pseudo_id," // 6
+            + "p.author_name," // 7
+            + "p.author_first_name," // 8
+            + "p.blog_name," // 9
+            + "p.blog_url," // 10
+            + "p.blog_image_url," // 11
+            + "p.excerpt," // 12
+            + "p.format," // 13
+            + "p.featured_image," // 14
+            + "p.featured_video," // 15
+            + "p.title," // 16
+            + "p.url," // 17
+            + "p.short_url," // 18
+            + "p.post_avatar," // 19
+            + "p.date_published," // 20
+            + "p.date_liked," // 21
+            + "p.num_replies," // 22
+            + "p.num_likes," // 23
+            + "p.is_liked," // 24
+            + "p.is_followed," // 25
+            + "p.is_comments_open," // 26
+            + "p.is_external," // 27
+            + "p.is_private," // 28
+            + "p.is_videopress," // 29
+            + "p.is_jetpack," // 30
+            + "p.primary_tag," // 31
+            + "p.secondary_tag," // 32
+            + "p.attachments_json," // 33
+            + "p.discover_json," // 34
+            + "p.xpost_post_id," // 35
+            + "p.xpost_blog_id," // 36
+            + "p.railcar_json," // 37
+            + "p.card_type," // 38
+            + "p.use_excerpt," // 39
+            + "p.is_bookmarked," // 40
+            + "p.is_private_atomic," // 41
+            + "p.tags," // 42
+            + COLUMN_NAMES_TAG; // 43-47
 
     protected static void createTables(SQLiteDatabase db) {
         db.execSQL("CREATE TABLE tbl_posts ("
@@ -161,10 +186,8 @@ public class ReaderPostTable {
                    + " featured_image TEXT,"
                    + " featured_video TEXT,"
                    + " post_avatar TEXT,"
-                   + " score REAL DEFAULT 0,"
                    + " date_published TEXT,"
                    + " date_liked TEXT,"
-                   + " date_tagged TEXT,"
                    + " num_replies INTEGER DEFAULT 0,"
                    + " num_likes INTEGER DEFAULT 0,"
                    + " is_liked INTEGER DEFAULT 0,"
@@ -181,25 +204,37 @@ public class ReaderPostTable {
                    + " xpost_post_id INTEGER DEFAULT 0,"
                    + " xpost_blog_id INTEGER DEFAULT 0,"
                    + " railcar_json TEXT,"
-                   + " tag_name TEXT NOT NULL COLLATE NOCASE,"
-                   + " tag_type INTEGER DEFAULT 0,"
-                   + " has_gap_marker INTEGER DEFAULT 0,"
                    + " card_type TEXT,"
                    + " use_excerpt INTEGER DEFAULT 0,"
                    + " is_bookmarked INTEGER DEFAULT 0,"
                    + " is_private_atomic INTEGER DEFAULT 0,"
                    + " tags TEXT,"
-                   + " PRIMARY KEY (pseudo_id, tag_name, tag_type)"
+                   + " PRIMARY KEY (pseudo_id)"
                    + ")");
 
         db.execSQL("CREATE INDEX idx_posts_post_id_blog_id ON tbl_posts(post_id, blog_id)");
+        db.execSQL("CREATE INDEX idx_posts_blog_id ON tbl_posts(blog_id)");
+        db.execSQL("CREATE INDEX idx_posts_feed_id ON tbl_posts(feed_id)");
         db.execSQL("CREATE INDEX idx_posts_date_published ON tbl_posts(date_published)");
-        db.execSQL("CREATE INDEX idx_posts_date_tagged ON tbl_posts(date_tagged)");
-        db.execSQL("CREATE INDEX idx_posts_tag_name ON tbl_posts(tag_name)");
+
+        db.execSQL("CREATE TABLE tbl_post_tags ("
+                   + " pseudo_id TEXT NOT NULL,"
+                   + " tag_name TEXT NOT NULL COLLATE NOCASE,"
+                   + " tag_type INTEGER DEFAULT 0,"
+                   + " score REAL DEFAULT 0,"
+                   + " date_tagged TEXT,"
+                   + " has_gap_marker INTEGER DEFAULT 0,"
+                   + " PRIMARY KEY (pseudo_id, tag_name, tag_type)"
+                   + ")");
+
+        db.execSQL("CREATE INDEX idx_post_tags_tag_name_tag_type ON tbl_post_tags(tag_name, tag_type)");
+        db.execSQL("CREATE INDEX idx_post_tags_date_tagged ON tbl_post_tags(date_tagged)");
     }
 
     protected static void dropTables(SQLiteDatabase db) {
         db.execSQL("DROP TABLE IF EXISTS tbl_posts");
+        db.execSQL("DROP TABLE IF EXISTS tbl_post_tags");
+        invalidateBookmarkedPostIds();
     }
 
     protected static void reset(SQLiteDatabase db) {
@@ -207,13 +242,39 @@ public class ReaderPostTable {
         createTables(db);
     }
 
+    /*
+     * splits the denormalized tbl_posts (one copy of the post per tag) into tbl_posts and
+     * tbl_post_tags - no need to wrap this in a transaction since it's only called from
+     * ReaderDatabase.onUpgrade() which already runs in a transaction. the copies of a post
+     * may differ, so the one which was written last (the one with the highest rowid, since
+     * INSERT OR REPLACE gives the replaced row a new rowid) is kept as the post
+     */
+    protected static void migrateToNormalizedTables(SQLiteDatabase db) {
+        db.execSQL("DROP INDEX IF EXISTS idx_posts_post_id_blog_id");
+        db.execSQL("DROP INDEX IF EXISTS idx_posts_date_published");
+        db.execSQL("DROP INDEX IF EXISTS idx_posts_date_tagged");
+        db.execSQL("DROP INDEX IF EXISTS idx_posts_tag_name");
+        db.execSQL("ALTER TABLE tbl_posts RENAME TO tbl_posts_denormalized");
+
+        createTables(db);
+
+        db.execSQL("INSERT INTO tbl_posts (" + POST_COLUMN_NAMES + ")"
+                   + " SELECT " + POST_COLUMN_NAMES + " FROM tbl_posts_denormalized"
+                   + " WHERE rowid IN (SELECT MAX(rowid) FROM tbl_posts_denormalized GROUP BY pseudo_id)");
+        db.execSQL("INSERT OR REPLACE INTO tbl_post_tags (" + TAG_COLUMN_NAMES + ")"
+                   + " SELECT " + TAG_COLUMN_NAMES + " FROM tbl_posts_denormalized");
+
+        db.execSQL("DROP TABLE tbl_posts_denormalized");
+    }
+
     /*
      * purge table of unattached/older posts - no need to wrap this in a transaction since it's
      * only called from ReaderDatabase.purge() which already creates a transaction
      */
     protected static int purge(SQLiteDatabase db) {
         // delete posts attached to tags that no longer exist
-        int numDeleted = db.delete("tbl_posts", "tag_name NOT IN (SELECT DISTINCT tag_name FROM tbl_tags)", null);
+        int numDeleted =
+                db.delete("tbl_post_tags", "tag_name NOT IN (SELECT DISTINCT tag_name FROM tbl_tags)", null);
 
         // delete excess posts on a per-tag basis
         ReaderTagList tags = ReaderTagTable.getAllTags();
@@ -225,6 +286,23 @@ public class ReaderPostTable {
 
         // delete search results
         numDeleted += purgeSearchResults(db);
+
+        // delete posts that no longer appear in any stream
+        deleteOrphanedPosts(db);
+        return numDeleted;
+    }
+
+    /*
+     * removes posts from tbl_posts that are no longer attached to any tag in tbl_post_tags - must be
+     * called after removing rows from tbl_post_tags
+     */
+    private static int deleteOrphanedPosts(SQLiteDatabase db) {
+        int numDeleted = db.delete("tbl_posts",
+                "NOT EXISTS (SELECT 1 FROM tbl_post_tags t WHERE t.pseudo_id = tbl_posts.pseudo_id)",
+                null);
+        if (numDeleted > 0) {
+            invalidateBookmarkedPostIds();
+        }
         return numDeleted;
     }
 
@@ -233,17 +311,21 @@ public class ReaderPostTable {
      * to false, so we can show "undo" items in the saved posts list. This method purges database from such rows.
      */
     public static int purgeUnbookmarkedPostsWithBookmarkTag() {
+        SQLiteDatabase db = ReaderDatabase.getWritableDb();
         int numDeleted = 0;
         ReaderTagList tags = ReaderTagTable.getAllTags();
         for (ReaderTag tag : tags) {
             if (tag.isBookmarked()) {
                 // delete posts which has a bookmark tag but is_bookmarked flag is false
                 String[] args = {tag.getTagSlug(), Integer.toString(tag.tagType.toInt())};
-                numDeleted += ReaderDatabase.getWritableDb()
-                                            .delete("tbl_posts", "tag_name=? AND tag_type=? AND is_bookmarked=0", args);
+                numDeleted += db.delete("tbl_post_tags",
+                        "tag_name=? AND tag_type=?"
+                        + " AND pseudo_id IN (SELECT pseudo_id FROM tbl_posts WHERE is_bookmarked=0)",
+                        args);
             }
         }
         if (numDeleted > 0) {
+            deleteOrphanedPosts(db);
             EventBus.getDefault().post(ReaderPostTableActionEnded.INSTANCE);
         }
         return numDeleted;
@@ -262,9 +344,10 @@ public class ReaderPostTable {
         String tagName = tag.getTagSlug();
         String tagType = Integer.toString(tag.tagType.toInt());
         String[] args = {tagName, tagType, tagName, tagType, Integer.toString(MAX_POSTS_PER_TAG)};
-        String where = "tag_name=? AND tag_type=? AND pseudo_id NOT IN (SELECT DISTINCT pseudo_id FROM tbl_posts WHERE "
-                       + "tag_name=? AND tag_type=? ORDER BY " + getSortColumnForTag(tag) + " DESC LIMIT ?)";
-        int numDeleted = db.delete("tbl_posts", where, args);
+        String where = "tag_name=? AND tag_type=? AND pseudo_id NOT IN (SELECT p.pseudo_id FROM " + POSTS_WITH_TAGS
+                       + " WHERE t.tag_name=? AND t.tag_type=? ORDER BY " + getSortColumnForTag(tag)
+                       + " DESC LIMIT ?)";
+        int numDeleted = db.delete("tbl_post_tags", where, args);
         AppLog.d(AppLog.T.READER,
                 String.format(Locale.ENGLISH, "reader post table > purged %d posts in tag %s", numDeleted,
                         tag.getTagNameForLog()));
@@ -276,7 +359,7 @@ public class ReaderPostTable {
      */
     private static int purgeSearchResults(SQLiteDatabase db) {
         String[] args = {Integer.toString(ReaderTagType.SEARCH.toInt())};
-        return db.delete("tbl_posts", "tag_type=?", args);
+        return db.delete("tbl_post_tags", "tag_type=?", args);
     }
 
     public static int getNumPostsInBlog(long blogId) {
@@ -284,7 +367,7 @@ public class ReaderPostTable {
             return 0;
         }
         return SqlUtils.intForQuery(ReaderDatabase.getReadableDb(),
-                                    "SELECT count(*) FROM tbl_posts WHERE blog_id=? AND tag_name=''",
+                                    "SELECT count(*) FROM " + POSTS_WITH_TAGS + " WHERE p.blog_id=? AND t.tag_name=''",
                                     new String[]{Long.toString(blogId)});
     }
 
@@ -293,7 +376,7 @@ public class ReaderPostTable {
             return 0;
         }
         return SqlUtils.intForQuery(ReaderDatabase.getReadableDb(),
-                                    "SELECT count(*) FROM tbl_posts WHERE feed_id=? AND tag_name=''",
+                                    "SELECT count(*) FROM " + POSTS_WITH_TAGS + " WHERE p.feed_id=? AND t.tag_name=''",
                                     new String[]{Long.toString(feedId)});
     }
 
@@ -303,29 +386,19 @@ public class ReaderPostTable {
         }
         String[] args = {tag.getTagSlug(), Integer.toString(tag.tagType.toInt())};
         return SqlUtils.intForQuery(ReaderDatabase.getReadableDb(),
-                                    "SELECT count(*) FROM tbl_posts WHERE tag_name=? AND tag_type=?",
+                                    "SELECT count(*) FROM tbl_post_tags WHERE tag_name=? AND tag_type=?",
                                     args);
     }
 
     public static void updatePost(@NonNull ReaderPost post) {
-        // we need to update a few important fields across all instances of this post - this is
-        // necessary because a post can exist multiple times in the table with different tags
-        ContentValues values = new ContentValues();
-        values.put("title", post.getTitle());
-        values.put("text", post.getText());
-        values.put("excerpt", post.getExcerpt());
-        values.put("num_replies", post.numReplies);
-        values.put("num_likes", post.numLikes);
-        values.put("is_liked", post.isLikedByCurrentUser);
-        values.put("is_followed", post.isFollowedByCurrentUser);
-        values.put("is_comments_open", post.isCommentsOpen);
-        values.put("use_excerpt", post.useExcerpt);
-        ReaderDatabase.getWritableDb().update(
-                "tbl_posts", values, "pseudo_id=?", new String[]{post.getPseudoId()});
-
+        // the post is only stored once regardless of how many streams it appears in, so
+        // replacing its row updates it everywhere
         ReaderPostList posts = new ReaderPostList();
         posts.add(post);
         addOrUpdatePosts(null, posts);
+
+        // the post's rendered HTML may no longer match it
+        ReaderPostHtmlCache.invalidate(post.getPseudoId());
     }
 
     public static void addPost(@NonNull ReaderPost post) {
@@ -335,23 +408,76 @@ public class ReaderPostTable {
     }
 
     public static ReaderPost getBlogPost(long blogId, long postId, boolean excludeTextColumn) {
-        return getPost("blog_id=? AND post_id=?", new String[]{Long.toString(blogId), Long.toString(postId)},
+        return getPost("p.blog_id=? AND p.post_id=?", new String[]{Long.toString(blogId), Long.toString(postId)},
                        excludeTextColumn);
     }
 
     public static ReaderPost getBlogPost(String blogSlug, String postSlug, boolean excludeTextColumn) {
-        return getPost("blog_url LIKE ? AND url LIKE ?", new String[]{"%//" + blogSlug, "%/" + postSlug + "/"},
+        return getPost("p.blog_url LIKE ? AND p.url LIKE ?", new String[]{"%//" + blogSlug, "%/" + postSlug + "/"},
                        excludeTextColumn);
     }
 
     public static ReaderPost getFeedPost(long feedId, long feedItemId, boolean excludeTextColumn) {
-        return getPost("feed_id=? AND feed_item_id=?", new String[]{Long.toString(feedId), Long.toString(feedItemId)},
+        return getPost("p.feed_id=? AND p.feed_item_id=?",
+                       new String[]{Long.toString(feedId), Long.toString(feedItemId)},
                        excludeTextColumn);
     }
 
+    /*
+     * returns the posts with the passed blogId/postId pairs with a single query rather than one
+     * query per post - posts which don't exist are skipped, and the posts aren't in any particular
+     * order. the query matches every blog_id with every post_id, so rows for pairs which weren't
+     * requested are skipped before they're read.
+     */
+    public static ReaderPostList getBlogPosts(@NonNull ReaderBlogIdPostIdList ids, boolean excludeTextColumn) {
+        ReaderPostList posts = new ReaderPostList();
+        if (ids.isEmpty()) {
+            return posts;
+        }
+
+        Map<Long, LongHashSet> requestedPostIds = new HashMap<>();
+        Set<Long> postIds = new HashSet<>();
+        for (ReaderBlogIdPostId id : ids) {
+            LongHashSet postIdsInBlog = requestedPostIds.get(id.getBlogId());
+            if (postIdsInBlog == null) {
+                postIdsInBlog = new LongHashSet();
+                requestedPostIds.put(id.getBlogId(), postIdsInBlog);
+            }
+            postIdsInBlog.add(id.getPostId());
+            postIds.add(id.getPostId());
+        }
+
+        String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : COLUMN_NAMES);
+        // a post is joined with each of its tags, group by the post so each post is read once
+        String sql = "SELECT " + columns + " FROM " + POSTS_WITH_TAGS
+                     + " WHERE p.blog_id IN (" + TextUtils.join(",", requestedPostIds.keySet()) + ")"
+                     + " AND p.post_id IN (" + TextUtils.join(",", postIds) + ")"
+                     + " GROUP BY p.blog_id, p.post_id";
+
+        Cursor cursor = ReaderDatabase.getReadableDb().rawQuery(sql, null);
+        try {
+            if (cursor != null && cursor.moveToFirst()) {
+                int idxBlogId = cursor.getColumnIndex("blog_id");
+                int idxPostId = cursor.getColumnIndex("post_id");
+                ReaderPostCursorProjection projection = new ReaderPostCursorProjection(cursor);
+                do {
+                    LongHashSet postIdsInBlog = requestedPostIds.get(cursor.getLong(idxBlogId));
+                    if (postIdsInBlog != null && postIdsInBlog.contains(cursor.getLong(idxPostId))) {
+                        posts.add(projection.getPost(cursor));
+                    }
+                } while (cursor.moveToNext());
+            }
+        } catch (IllegalStateException e) {
+            AppLog.e(AppLog.T.READER, e);
+        } finally {
+            SqlUtils.closeCursor(cursor);
+        }
+        return posts;
+    }
+
     private static ReaderPost getPost(String where, String[] args, boolean excludeTextColumn) {
-        String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : "*");
-        String sql = "SELECT " + columns + " FROM tbl_posts WHERE " + where + " LIMIT 1";
+        String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : COLUMN_NAMES);
+        String sql = "SELECT " + columns + " FROM " + POSTS_WITH_TAGS + " WHERE " + where + " LIMIT 1";
 
         Cursor c = ReaderDatabase.getReadableDb().rawQuery(sql, args);
         try {
@@ -396,7 +522,8 @@ public class ReaderPostTable {
         String[] args = {Long.toString(blogId), Long.toString(postId), readerTag.getTagSlug(),
                 Integer.toString(readerTag.tagType.toInt())};
         return SqlUtils.boolForQuery(ReaderDatabase.getReadableDb(),
-                "SELECT 1 FROM tbl_posts WHERE blog_id=? AND post_id=? AND tag_name=? AND tag_type=?",
+                "SELECT 1 FROM " + POSTS_WITH_TAGS
+                + " WHERE p.blog_id=? AND p.post_id=? AND t.tag_name=? AND t.tag_type=?",
                 args);
     }
 
@@ -506,6 +633,8 @@ public class ReaderPostTable {
         values.put("is_bookmarked", SqlUtils.boolToSql(bookmark));
 
         update(blogId, postId, values);
+        // after the update, so bookmarks which are being loaded while the post is updated aren't kept
+        updateBookmarkedPostIds(blogId, postId, bookmark);
     }
 
     public static boolean hasBookmarkedPosts() {
@@ -539,13 +668,15 @@ public class ReaderPostTable {
             return 0;
         }
 
+        SQLiteDatabase db = ReaderDatabase.getWritableDb();
         String[] args = {tag.getTagSlug(), Integer.toString(tag.tagType.toInt())};
-        int rowsDeleted = ReaderDatabase.getWritableDb().delete(
-                "tbl_posts",
+        int rowsDeleted = db.delete(
+                "tbl_post_tags",
                 "tag_name=? AND tag_type=?",
                 args);
 
         if (rowsDeleted > 0) {
+            deleteOrphanedPosts(db);
             EventBus.getDefault().post(ReaderPostTableActionEnded.INSTANCE);
         }
         return rowsDeleted;
@@ -556,21 +687,34 @@ public class ReaderPostTable {
             return 0;
         }
 
+        SQLiteDatabase db = ReaderDatabase.getWritableDb();
         String[] args = {Integer.toString(tagType.toInt()), Long.toString(blogId), Long.toString(postId)};
-        int rowsDeleted = ReaderDatabase.getWritableDb().delete(
-                "tbl_posts",
-                "tag_type=? AND blog_id=? AND post_id=?",
+        int rowsDeleted = db.delete(
+                "tbl_post_tags",
+                "tag_type=? AND pseudo_id IN (SELECT pseudo_id FROM tbl_posts WHERE blog_id=? AND post_id=?)",
                 args);
 
         if (rowsDeleted > 0) {
+            deleteOrphanedPosts(db);
             EventBus.getDefault().post(ReaderPostTableActionEnded.INSTANCE);
         }
         return rowsDeleted;
     }
 
     public static int deletePostsInBlog(long blogId) {
+        SQLiteDatabase db = ReaderDatabase.getWritableDb();
         String[] args = {Long.toString(blogId)};
-        int rowsDeleted = ReaderDatabase.getWritableDb().delete("tbl_posts", "blog_id = ?", args);
+        int rowsDeleted;
+        db.beginTransaction();
+        try {
+            rowsDeleted = db.delete("tbl_post_tags",
+                    "pseudo_id IN (SELECT pseudo_id FROM tbl_posts WHERE blog_id=?)", args);
+            db.delete("tbl_posts", "blog_id = ?", args);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            invalidateBookmarkedPostIds();
+        }
         if (rowsDeleted > 0) {
             EventBus.getDefault().post(ReaderPostTableActionEnded.INSTANCE);
         }
@@ -578,8 +722,18 @@ public class ReaderPostTable {
     }
 
     public static void deletePost(long blogId, long postId) {
+        SQLiteDatabase db = ReaderDatabase.getWritableDb();
         String[] args = new String[]{Long.toString(blogId), Long.toString(postId)};
-        ReaderDatabase.getWritableDb().delete("tbl_posts", "blog_id=? AND post_id=?", args);
+        db.beginTransaction();
+        try {
+            db.delete("tbl_post_tags",
+                    "pseudo_id IN (SELECT pseudo_id FROM tbl_posts WHERE blog_id=? AND post_id=?)", args);
+            db.delete("tbl_posts", "blog_id=? AND post_id=?", args);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            invalidateBookmarkedPostIds();
+        }
         EventBus.getDefault().post(ReaderPostTableActionEnded.INSTANCE);
     }
 
@@ -614,8 +768,8 @@ public class ReaderPostTable {
 
         // date field depends on the tag
         String dateColumn = getSortColumnForTag(tag);
-        String sql = "SELECT " + dateColumn + " FROM tbl_posts"
-                     + " WHERE tag_name=? AND tag_type=?"
+        String sql = "SELECT " + dateColumn + " FROM " + POSTS_WITH_TAGS
+                     + " WHERE t.tag_name=? AND t.tag_type=?"
                      + " ORDER BY " + dateColumn + " LIMIT 1";
         String[] args = {tag.getTagSlug(), Integer.toString(tag.tagType.toInt())};
         return SqlUtils.stringForQuery(ReaderDatabase.getReadableDb(), sql, args);
@@ -625,16 +779,16 @@ public class ReaderPostTable {
      * returns the iso8601 pub date of the oldest post in the passed blog
      */
     public static String getOldestPubDateInBlog(long blogId) {
-        String sql = "SELECT date_published FROM tbl_posts"
-                     + " WHERE blog_id=? AND tag_name=''"
-                     + " ORDER BY date_published LIMIT 1";
+        String sql = "SELECT p.date_published FROM " + POSTS_WITH_TAGS
+                     + " WHERE p.blog_id=? AND t.tag_name=''"
+                     + " ORDER BY p.date_published LIMIT 1";
         return SqlUtils.stringForQuery(ReaderDatabase.getReadableDb(), sql, new String[]{Long.toString(blogId)});
     }
 
     public static String getOldestPubDateInFeed(long feedId) {
-        String sql = "SELECT date_published FROM tbl_posts"
-                     + " WHERE feed_id=? AND tag_name=''"
-                     + " ORDER BY date_published LIMIT 1";
+        String sql = "SELECT p.date_published FROM " + POSTS_WITH_TAGS
+                     + " WHERE p.feed_id=? AND t.tag_name=''"
+                     + " ORDER BY p.date_published LIMIT 1";
         return SqlUtils.stringForQuery(ReaderDatabase.getReadableDb(), sql, new String[]{Long.toString(feedId)});
     }
 
@@ -644,7 +798,8 @@ public class ReaderPostTable {
         }
 
         String[] args = {tag.getTagSlug(), Integer.toString(tag.tagType.toInt())};
-        String sql = "UPDATE tbl_posts SET has_gap_marker=0 WHERE has_gap_marker!=0 AND tag_name=? AND tag_type=?";
+        String sql =
+                "UPDATE tbl_post_tags SET has_gap_marker=0 WHERE has_gap_marker!=0 AND tag_name=? AND tag_type=?";
         ReaderDatabase.getWritableDb().execSQL(sql, args);
         EventBus.getDefault().post(ReaderPostTableActionEnded.INSTANCE);
     }
@@ -658,7 +813,8 @@ public class ReaderPostTable {
         }
 
         String[] args = {tag.getTagSlug(), Integer.toString(tag.tagType.toInt())};
-        String sql = "SELECT blog_id, post_id FROM tbl_posts WHERE has_gap_marker!=0 AND tag_name=? AND tag_type=?";
+        String sql = "SELECT p.blog_id, p.post_id FROM " + POSTS_WITH_TAGS
+                     + " WHERE t.has_gap_marker!=0 AND t.tag_name=? AND t.tag_type=?";
         Cursor cursor = ReaderDatabase.getReadableDb().rawQuery(sql, args);
         try {
             if (cursor.moveToFirst()) {
@@ -679,13 +835,13 @@ public class ReaderPostTable {
         }
 
         String[] args = {
-                Long.toString(blogId),
-                Long.toString(postId),
                 tag.getTagSlug(),
-                Integer.toString(tag.tagType.toInt())
+                Integer.toString(tag.tagType.toInt()),
+                Long.toString(blogId),
+                Long.toString(postId)
         };
-        String sql =
-                "UPDATE tbl_posts SET has_gap_marker=1 WHERE blog_id=? AND post_id=? AND tag_name=? AND tag_type=?";
+        String sql = "UPDATE tbl_post_tags SET has_gap_marker=1 WHERE tag_name=? AND tag_type=?"
+                     + " AND pseudo_id IN (SELECT pseudo_id FROM tbl_posts WHERE blog_id=? AND post_id=?)";
         ReaderDatabase.getWritableDb().execSQL(sql, args);
         EventBus.getDefault().post(ReaderPostTableActionEnded.INSTANCE);
     }
@@ -697,8 +853,14 @@ public class ReaderPostTable {
         }
 
         String dateColumn = getSortColumnForTag(tag);
-        String[] args = {Long.toString(ids.getBlogId()), Long.toString(ids.getPostId())};
-        String sql = "SELECT " + dateColumn + " FROM tbl_posts WHERE blog_id=? AND post_id=?";
+        String[] args = {
+                Long.toString(ids.getBlogId()),
+                Long.toString(ids.getPostId()),
+                tag.getTagSlug(),
+                Integer.toString(tag.tagType.toInt())
+        };
+        String sql = "SELECT " + dateColumn + " FROM " + POSTS_WITH_TAGS
+                     + " WHERE p.blog_id=? AND p.post_id=? AND t.tag_name=? AND t.tag_type=?";
         return SqlUtils.stringForQuery(ReaderDatabase.getReadableDb(), sql, args);
     }
 
@@ -709,18 +871,60 @@ public class ReaderPostTable {
      * followed posts sort by the date the post was published
      * search results sort by score
      * tagged posts sort by the date the post was tagged
+     *
+     * note that score and date_tagged belong to tbl_post_tags while the others belong to tbl_posts,
+     * so the returned column may only be used in queries against POSTS_WITH_TAGS
      */
     private static String getSortColumnForTag(ReaderTag tag) {
         if (tag.isPostsILike()) {
-            return "date_liked";
+            return "p.date_liked";
+        } else if (tag.isFollowedSites()) {
+            return "p.date_published";
+        } else if (tag.tagType == ReaderTagType.SEARCH) {
+            return "t.score";
+        } else if (tag.isTagTopic() || tag.isBookmarked()) {
+            return "t.date_tagged";
+        } else {
+            return "p.date_published";
+        }
+    }
+
+    /*
+     * returns the passed sort column with NULLs replaced by the lowest value of its type - score is
+     * the only numeric sort column, the others are iso8601 dates
+     */
+    private static String getNullSafeSortValue(@NonNull String sortColumn) {
+        if (sortColumn.equals("t.score")) {
+            return "IFNULL(t.score, 0)";
+        }
+        return "IFNULL(" + sortColumn + ", '')";
+    }
+
+    /*
+     * IFNULL() drops the column's affinity, so the keyset argument must be cast to the column's
+     * type for the comparison to work
+     */
+    private static String getSortArgPlaceholder(@NonNull String sortColumn) {
+        return sortColumn.equals("t.score") ? "CAST(? AS REAL)" : "?";
+    }
+
+    /*
+     * returns the value of the passed post's sort column (see getSortColumnForTag) as it's stored
+     * in the database, which is used as the keyset when paging through the stream
+     */
+    private static String getSortValueForTag(ReaderTag tag, ReaderPost post) {
+        if (post == null) {
+            return null;
+        } else if (tag.isPostsILike()) {
+            return post.getDateLiked();
         } else if (tag.isFollowedSites()) {
-            return "date_published";
+            return post.getDatePublished();
         } else if (tag.tagType == ReaderTagType.SEARCH) {
-            return "score";
+            return Double.toString(post.score);
         } else if (tag.isTagTopic() || tag.isBookmarked()) {
-            return "date_tagged";
+            return post.getDateTagged();
         } else {
-            return "date_published";
+            return post.getDatePublished();
         }
     }
 
@@ -736,9 +940,12 @@ public class ReaderPostTable {
         }
 
         String dateColumn = getSortColumnForTag(tag);
-        String[] args = {tag.getTagSlug(), Integer.toString(tag.tagType.toInt()), gapMarkerDate};
-        String where = "tag_name=? AND tag_type=? AND " + dateColumn + " < ?";
-        int numDeleted = ReaderDatabase.getWritableDb().delete("tbl_posts", where, args);
+        String tagName = tag.getTagSlug();
+        String tagType = Integer.toString(tag.tagType.toInt());
+        String[] args = {tagName, tagType, tagName, tagType, gapMarkerDate};
+        String where = "tag_name=? AND tag_type=? AND pseudo_id IN (SELECT p.pseudo_id FROM " + POSTS_WITH_TAGS
+                       + " WHERE t.tag_name=? AND t.tag_type=? AND " + dateColumn + " < ?)";
+        int numDeleted = ReaderDatabase.getWritableDb().delete("tbl_post_tags", where, args);
         if (numDeleted > 0) {
             AppLog.d(AppLog.T.READER, "removed " + numDeleted + " posts older than gap marker");
             EventBus.getDefault().post(ReaderPostTableActionEnded.INSTANCE);
@@ -775,12 +982,15 @@ public class ReaderPostTable {
             // if blog/feed is no longer followed, remove its posts tagged with "Followed Sites"
             if (!isFollowed) {
                 if (blogId != 0) {
-                    db.delete("tbl_posts", "blog_id=? AND tag_name=?",
-                              new String[]{Long.toString(blogId), ReaderTag.TAG_TITLE_FOLLOWED_SITES});
+                    db.delete("tbl_post_tags",
+                              "tag_name=? AND pseudo_id IN (SELECT pseudo_id FROM tbl_posts WHERE blog_id=?)",
+                              new String[]{ReaderTag.TAG_TITLE_FOLLOWED_SITES, Long.toString(blogId)});
                 } else {
-                    db.delete("tbl_posts", "feed_id=? AND tag_name=?",
-                              new String[]{Long.toString(feedId), ReaderTag.TAG_TITLE_FOLLOWED_SITES});
+                    db.delete("tbl_post_tags",
+                              "tag_name=? AND pseudo_id IN (SELECT pseudo_id FROM tbl_posts WHERE feed_id=?)",
+                              new String[]{ReaderTag.TAG_TITLE_FOLLOWED_SITES, Long.toString(feedId)});
                 }
+                deleteOrphanedPosts(db);
             }
 
             db.setTransactionSuccessful();
@@ -828,10 +1038,13 @@ public class ReaderPostTable {
         SQLiteDatabase db = ReaderDatabase.getWritableDb();
         SQLiteStatement stmtPosts = db.compileStatement(
                 "INSERT OR REPLACE INTO tbl_posts ("
-                + COLUMN_NAMES
+                + POST_COLUMN_NAMES
                 + ") VALUES (?1,?2,?3,?4,?5,?6,?7,?8,?9,?10,?11,?12,?13,?14,?15,?16,?17,?18,?19,?20,?21,?22,?23,?24,"
-                + "?25,?26,?27,?28,?29,?30,?31,?32,?33,?34,?35,?36,?37,?38,?39,?40,?41,?42,?43,?44, ?45, ?46, ?47,"
-                + "?48)");
+                + "?25,?26,?27,?28,?29,?30,?31,?32,?33,?34,?35,?36,?37,?38,?39,?40,?41,?42,?43)");
+        SQLiteStatement stmtTags = db.compileStatement(
+                "INSERT OR REPLACE INTO tbl_post_tags ("
+                + TAG_COLUMN_NAMES
+                + ") VALUES (?1,?2,?3,?4,?5,?6)");
 
         db.beginTransaction();
         try {
@@ -864,35 +1077,38 @@ public class ReaderPostTable {
                 stmtPosts.bindString(18, post.getFeaturedImage());
                 stmtPosts.bindString(19, post.getFeaturedVideo());
                 stmtPosts.bindString(20, post.getPostAvatar());
-                stmtPosts.bindDouble(21, post.score);
-                stmtPosts.bindString(22, post.getDatePublished());
-                stmtPosts.bindString(23, post.getDateLiked());
-                stmtPosts.bindString(24, post.getDateTagged());
-                stmtPosts.bindLong(25, post.numReplies);
-                stmtPosts.bindLong(26, post.numLikes);
-                stmtPosts.bindLong(27, SqlUtils.boolToSql(post.isLikedByCurrentUser));
-                stmtPosts.bindLong(28, SqlUtils.boolToSql(post.isFollowedByCurrentUser));
-                stmtPosts.bindLong(29, SqlUtils.boolToSql(post.isCommentsOpen));
-                stmtPosts.bindLong(30, SqlUtils.boolToSql(post.isExternal));
-                stmtPosts.bindLong(31, SqlUtils.boolToSql(post.isPrivate));
-                stmtPosts.bindLong(32, SqlUtils.boolToSql(post.isVideoPress));
-                stmtPosts.bindLong(33, SqlUtils.boolToSql(post.isJetpack));
-                stmtPosts.bindString(34, post.getPrimaryTag());
-                stmtPosts.bindString(35, post.getSecondaryTag());
-                stmtPosts.bindString(36, post.getAttachmentsJson());
-                stmtPosts.bindString(37, post.getDiscoverJson());
-                stmtPosts.bindLong(38, post.xpostPostId);
-                stmtPosts.bindLong(39, post.xpostBlogId);
-                stmtPosts.bindString(40, post.getRailcarJson());
-                stmtPosts.bindString(41, tagName);
-                stmtPosts.bindLong(42, tagType);
-                stmtPosts.bindLong(43, SqlUtils.boolToSql(hasGapMarker));
-                stmtPosts.bindString(44, ReaderCardType.toString(post.getCardType()));
-                stmtPosts.bindLong(45, SqlUtils.boolToSql(post.useExcerpt));
-                stmtPosts.bindLong(46, SqlUtils.boolToSql(post.isBookmarked));
-                stmtPosts.bindLong(47, SqlUtils.boolToSql(post.isPrivateAtomic));
-                stmtPosts.bindString(48, ReaderUtils.getCommaSeparatedTagSlugs(post.getTags()));
+                stmtPosts.bindString(21, post.getDatePublished());
+                stmtPosts.bindString(22, post.getDateLiked());
+                stmtPosts.bindLong(23, post.numReplies);
+                stmtPosts.bindLong(24, post.numLikes);
+                stmtPosts.bindLong(25, SqlUtils.boolToSql(post.isLikedByCurrentUser));
+                stmtPosts.bindLong(26, SqlUtils.boolToSql(post.isFollowedByCurrentUser));
+                stmtPosts.bindLong(27, SqlUtils.boolToSql(post.isCommentsOpen));
+                stmtPosts.bindLong(28, SqlUtils.boolToSql(post.isExternal));
+                stmtPosts.bindLong(29, SqlUtils.boolToSql(post.isPrivate));
+                stmtPosts.bindLong(30, SqlUtils.boolToSql(post.isVideoPress));
+                stmtPosts.bindLong(31, SqlUtils.boolToSql(post.isJetpack));
+                stmtPosts.bindString(32, post.getPrimaryTag());
+                stmtPosts.bindString(33, post.getSecondaryTag());
+                stmtPosts.bindString(34, post.getAttachmentsJson());
+                stmtPosts.bindString(35, post.getDiscoverJson());
+                stmtPosts.bindLong(36, post.xpostPostId);
+                stmtPosts.bindLong(37, post.xpostBlogId);
+                stmtPosts.bindString(38, post.getRailcarJson());
+                stmtPosts.bindString(39, ReaderCardType.toString(post.getCardType()));
+                stmtPosts.bindLong(40, SqlUtils.boolToSql(post.useExcerpt));
+                stmtPosts.bindLong(41, SqlUtils.boolToSql(post.isBookmarked));
+                stmtPosts.bindLong(42, SqlUtils.boolToSql(post.isPrivateAtomic));
+                stmtPosts.bindString(43, ReaderUtils.getCommaSeparatedTagSlugs(post.getTags()));
                 stmtPosts.execute();
+
+                stmtTags.bindString(1, post.getPseudoId());
+                stmtTags.bindString(2, tagName);
+                stmtTags.bindLong(3, tagType);
+                stmtTags.bindDouble(4, post.score);
+                stmtTags.bindString(5, post.getDateTagged());
+                stmtTags.bindLong(6, SqlUtils.boolToSql(hasGapMarker));
+                stmtTags.execute();
             }
 
             db.setTransactionSuccessful();
@@ -900,61 +1116,66 @@ public class ReaderPostTable {
         } finally {
             db.endTransaction();
             SqlUtils.closeStatement(stmtPosts);
+            SqlUtils.closeStatement(stmtTags);
         }
     }
 
     public static ReaderPostList getPostsWithTag(ReaderTag tag, int maxPosts, boolean excludeTextColumn) {
+        return getPostsWithTag(tag, null, maxPosts, excludeTextColumn);
+    }
+
+    /*
+     * returns the next page of posts with the passed tag which come after the passed post in the
+     * stream's sort order, or the first page if the passed post is null - pages are read by keyset
+     * (sort column + pseudo_id) rather than by offset, so each page is a single indexed query
+     * regardless of how far into the stream it is
+     */
+    public static ReaderPostList getPostsWithTag(ReaderTag tag,
+                                                 ReaderPost afterPost,
+                                                 int maxPosts,
+                                                 boolean excludeTextColumn) {
         if (tag == null) {
             return new ReaderPostList();
         }
 
-        String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : "*");
-        String sql = "SELECT " + columns + " FROM tbl_posts WHERE tag_name=? AND tag_type=?";
+        String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : COLUMN_NAMES);
+        String sql = "SELECT " + columns + " FROM " + POSTS_WITH_TAGS + " WHERE t.tag_name=? AND t.tag_type=?";
 
         if (tag.tagType == ReaderTagType.DEFAULT) {
             // skip posts that are no longer liked if this is "Posts I Like", skip posts that are no
             // longer followed if this is "Followed Sites"
             if (tag.isPostsILike()) {
-                sql += " AND is_liked != 0";
+                sql += " AND p.is_liked != 0";
             } else if (tag.isFollowedSites()) {
-                sql += " AND is_followed != 0";
+                sql += " AND p.is_followed != 0";
             }
         }
 
-        sql += " ORDER BY " + getSortColumnForTag(tag) + " DESC";
-
-        if (maxPosts > 0) {
-            sql += " LIMIT " + Integer.toString(maxPosts);
-        }
-
         String[] args = {tag.getTagSlug(), Integer.toString(tag.tagType.toInt())};
-        Cursor cursor = ReaderDatabase.getReadableDb().rawQuery(sql, args);
-        try {
-            return getPostListFromCursor(cursor);
-        } finally {
-            SqlUtils.closeCursor(cursor);
-        }
+        return getPostsPage(sql, args, getSortColumnForTag(tag), getSortValueForTag(tag, afterPost), afterPost,
+                maxPosts);
     }
 
     public static ReaderPostList getPostsInBlog(long blogId, int maxPosts, boolean excludeTextColumn) {
-        String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : "*");
-        String sql =
-                "SELECT " + columns + " FROM tbl_posts WHERE blog_id=? AND tag_name='' ORDER BY date_published DESC";
-
-        if (maxPosts > 0) {
-            sql += " LIMIT " + Integer.toString(maxPosts);
-        }
+        return getPostsInBlog(blogId, null, maxPosts, excludeTextColumn);
+    }
 
-        Cursor cursor = ReaderDatabase.getReadableDb().rawQuery(sql, new String[]{Long.toString(blogId)});
-        try {
-            return getPostListFromCursor(cursor);
-        } finally {
-            SqlUtils.closeCursor(cursor);
-        }
+    /*
+     * same as getPostsWithTag() above but returns a page of posts in the passed blog
+     */
+    public static ReaderPostList getPostsInBlog(long blogId,
+                                                ReaderPost afterPost,
+                                                int maxPosts,
+                                                boolean excludeTextColumn) {
+        String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : COLUMN_NAMES);
+        String sql = "SELECT " + columns + " FROM " + POSTS_WITH_TAGS + " WHERE p.blog_id=? AND t.tag_name=''";
+        String afterValue = afterPost != null ? afterPost.getDatePublished() : null;
+        return getPostsPage(sql, new String[]{Long.toString(blogId)}, "p.date_published", afterValue, afterPost,
+                maxPosts);
     }
 
     public static Map<Pair<String, ReaderTagType>, ReaderPostList> getTagPostMap(long blogId) {
-        String sql = "SELECT * FROM tbl_posts WHERE blog_id=?";
+        String sql = "SELECT " + COLUMN_NAMES + " FROM " + POSTS_WITH_TAGS + " WHERE p.blog_id=?";
         Cursor cursor = ReaderDatabase.getReadableDb().rawQuery(sql, new String[]{Long.toString(blogId)});
         try {
             return getTagPostMapFromCursor(cursor);
@@ -964,15 +1185,55 @@ public class ReaderPostTable {
     }
 
     public static ReaderPostList getPostsInFeed(long feedId, int maxPosts, boolean excludeTextColumn) {
-        String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : "*");
-        String sql =
-                "SELECT " + columns + " FROM tbl_posts WHERE feed_id=? AND tag_name='' ORDER BY date_published DESC";
+        return getPostsInFeed(feedId, null, maxPosts, excludeTextColumn);
+    }
+
+    /*
+     * same as getPostsWithTag() above but returns a page of posts in the passed feed
+     */
+    public static ReaderPostList getPostsInFeed(long feedId,
+                                                ReaderPost afterPost,
+                                                int maxPosts,
+                                                boolean excludeTextColumn) {
+        String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : COLUMN_NAMES);
+        String sql = "SELECT " + columns + " FROM " + POSTS_WITH_TAGS + " WHERE p.feed_id=? AND t.tag_name=''";
+        String afterValue = afterPost != null ? afterPost.getDatePublished() : null;
+        return getPostsPage(sql, new String[]{Long.toString(feedId)}, "p.date_published", afterValue, afterPost,
+                maxPosts);
+    }
+
+    /*
+     * appends the keyset condition and sort order to the passed stream query and returns the
+     * resulting posts - posts are sorted by the passed column in descending order with pseudo_id
+     * as the tie-breaker, so the position of afterPost in the stream is always unambiguous
+     */
+    private static ReaderPostList getPostsPage(@NonNull String sql,
+                                               @NonNull String[] args,
+                                               @NonNull String sortColumn,
+                                               String afterValue,
+                                               ReaderPost afterPost,
+                                               int maxPosts) {
+        // posts without a sort value are sorted last rather than being left out of every page
+        String sortValue = getNullSafeSortValue(sortColumn);
+        String[] pageArgs = args;
+        if (afterPost != null) {
+            String afterArg = getSortArgPlaceholder(sortColumn);
+            sql += " AND (" + sortValue + " < " + afterArg
+                   + " OR (" + sortValue + " = " + afterArg + " AND p.pseudo_id < ?))";
+            pageArgs = new String[args.length + 3];
+            System.arraycopy(args, 0, pageArgs, 0, args.length);
+            pageArgs[args.length] = StringUtils.notNullStr(afterValue);
+            pageArgs[args.length + 1] = StringUtils.notNullStr(afterValue);
+            pageArgs[args.length + 2] = afterPost.getPseudoId();
+        }
+
+        sql += " ORDER BY " + sortValue + " DESC, p.pseudo_id DESC";
 
         if (maxPosts > 0) {
             sql += " LIMIT " + Integer.toString(maxPosts);
         }
 
-        Cursor cursor = ReaderDatabase.getReadableDb().rawQuery(sql, new String[]{Long.toString(feedId)});
+        Cursor cursor = ReaderDatabase.getReadableDb().rawQuery(sql, pageArgs);
         try {
             return getPostListFromCursor(cursor);
         } finally {
@@ -988,17 +1249,18 @@ public class ReaderPostTable {
             return new ReaderBlogIdPostIdList();
         }
 
-        String sql = "SELECT blog_id, post_id FROM tbl_posts WHERE tag_name=? AND tag_type=?";
+        String sql = "SELECT p.blog_id, p.post_id FROM " + POSTS_WITH_TAGS + " WHERE t.tag_name=? AND t.tag_type=?";
 
         if (tag.tagType == ReaderTagType.DEFAULT) {
             if (tag.isPostsILike()) {
-                sql += " AND is_liked != 0";
+                sql += " AND p.is_liked != 0";
             } else if (tag.isFollowedSites()) {
-                sql += " AND is_followed != 0";
+                sql += " AND p.is_followed != 0";
             }
         }
 
-        sql += " ORDER BY " + getSortColumnForTag(tag) + " DESC";
+        // same order as getPostsWithTag(), so posts with the same sort value come back in a stable order
+        sql += " ORDER BY " + getNullSafeSortValue(getSortColumnForTag(tag)) + " DESC, p.pseudo_id DESC";
 
         if (maxPosts > 0) {
             sql += " LIMIT " + Integer.toString(maxPosts);
@@ -1008,21 +1270,6 @@ public class ReaderPostTable {
         return getBlogIdPostIds(sql, args);
     }
 
-    private static ReaderBlogIdPostIdList getBlogIdPostIdsWithTagType(ReaderTagType tagType, int maxPosts) {
-        if (tagType == null) {
-            return new ReaderBlogIdPostIdList();
-        }
-
-        String sql = "SELECT blog_id, post_id FROM tbl_posts WHERE tag_type=?";
-
-        if (maxPosts > 0) {
-            sql += " LIMIT " + Integer.toString(maxPosts);
-        }
-
-        String[] args = {Integer.toString(tagType.toInt())};
-        return getBlogIdPostIds(sql, args);
-    }
-
     private static ReaderBlogIdPostIdList getBlogIdPostIds(@NonNull String sql, @NonNull String[] args) {
         ReaderBlogIdPostIdList idList = new ReaderBlogIdPostIdList();
         Cursor cursor = ReaderDatabase.getReadableDb().rawQuery(sql, args);
@@ -1042,7 +1289,9 @@ public class ReaderPostTable {
      * same as getPostsInBlog() but only returns the blogId/postId pairs
      */
     public static ReaderBlogIdPostIdList getBlogIdPostIdsInBlog(long blogId, int maxPosts) {
-        String sql = "SELECT post_id FROM tbl_posts WHERE blog_id=? AND tag_name='' ORDER BY date_published DESC";
+        String sql = "SELECT p.post_id FROM " + POSTS_WITH_TAGS
+                     + " WHERE p.blog_id=? AND t.tag_name='' ORDER BY " + getNullSafeSortValue("p.date_published")
+                     + " DESC, p.pseudo_id DESC";
 
         if (maxPosts > 0) {
             sql += " LIMIT " + Integer.toString(maxPosts);
@@ -1063,97 +1312,21 @@ public class ReaderPostTable {
         }
     }
 
-    private static Pair<String, ReaderTagType> getTagNameAndTypeFromCursor(Cursor c) {
-        if (c == null) {
-            throw new IllegalArgumentException("getPostFromCursor > null cursor");
-        }
-        return new Pair<>(
-                c.getString(c.getColumnIndex("tag_name")),
-                ReaderTagType.fromInt(c.getInt(c.getColumnIndex("tag_type")))
-        );
-    }
-
     private static ReaderPost getPostFromCursor(Cursor c) {
         if (c == null) {
             throw new IllegalArgumentException("getPostFromCursor > null cursor");
         }
-
-        ReaderPost post = new ReaderPost();
-
-        // text column is skipped when retrieving multiple rows
-        int idxText = c.getColumnIndex("text");
-        if (idxText > -1) {
-            post.setText(c.getString(idxText));
-        }
-
-        post.postId = c.getLong(c.getColumnIndex("post_id"));
-        post.blogId = c.getLong(c.getColumnIndex("blog_id"));
-        post.feedId = c.getLong(c.getColumnIndex("feed_id"));
-        post.feedItemId = c.getLong(c.getColumnIndex("feed_item_id"));
-        post.authorId = c.getLong(c.getColumnIndex("author_id"));
-        post.setPseudoId(c.getString(c.getColumnIndex("pseudo_id")));
-
-        post.setAuthorName(c.getString(c.getColumnIndex("author_name")));
-        post.setAuthorFirstName(c.getString(c.getColumnIndex("author_first_name")));
-        post.setBlogName(c.getString(c.getColumnIndex("blog_name")));
-        post.setBlogUrl(c.getString(c.getColumnIndex("blog_url")));
-        post.setBlogImageUrl(c.getString(c.getColumnIndex("blog_image_url")));
-        post.setExcerpt(c.getString(c.getColumnIndex("excerpt")));
-        post.setFormat(c.getString(c.getColumnIndex("format")));
-        post.setFeaturedImage(c.getString(c.getColumnIndex("featured_image")));
-        post.setFeaturedVideo(c.getString(c.getColumnIndex("featured_video")));
-
-        post.setTitle(c.getString(c.getColumnIndex("title")));
-        post.setUrl(c.getString(c.getColumnIndex("url")));
-        post.setShortUrl(c.getString(c.getColumnIndex("short_url")));
-        post.setPostAvatar(c.getString(c.getColumnIndex("post_avatar")));
-
-        post.setDatePublished(c.getString(c.getColumnIndex("date_published")));
-        post.setDateLiked(c.getString(c.getColumnIndex("date_liked")));
-        post.setDateTagged(c.getString(c.getColumnIndex("date_tagged")));
-
-        post.score = c.getDouble(c.getColumnIndex("score"));
-        post.numReplies = c.getInt(c.getColumnIndex("num_replies"));
-        post.numLikes = c.getInt(c.getColumnIndex("num_likes"));
-
-        post.isLikedByCurrentUser = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_liked")));
-        post.isFollowedByCurrentUser = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_followed")));
-        post.isCommentsOpen = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_comments_open")));
-        post.isExternal = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_external")));
-        post.isPrivate = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_private")));
-        post.isPrivateAtomic = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_private_atomic")));
-        post.isVideoPress = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_videopress")));
-        post.isJetpack = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_jetpack")));
-        post.isBookmarked = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_bookmarked")));
-
-        post.setPrimaryTag(c.getString(c.getColumnIndex("primary_tag")));
-        post.setSecondaryTag(c.getString(c.getColumnIndex("secondary_tag")));
-
-        post.setAttachmentsJson(c.getString(c.getColumnIndex("attachments_json")));
-        post.setDiscoverJson(c.getString(c.getColumnIndex("discover_json")));
-
-        post.xpostPostId = c.getLong(c.getColumnIndex("xpost_post_id"));
-        post.xpostBlogId = c.getLong(c.getColumnIndex("xpost_blog_id"));
-
-        post.setRailcarJson(c.getString(c.getColumnIndex("railcar_json")));
-        post.setCardType(ReaderCardType.fromString(c.getString(c.getColumnIndex("card_type"))));
-
-        post.useExcerpt = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("use_excerpt")));
-
-        String commaSeparatedTags = (c.getString(c.getColumnIndex("tags")));
-        if (commaSeparatedTags != null) {
-            post.setTags(ReaderUtils.getTagsFromCommaSeparatedSlugs(commaSeparatedTags));
-        }
-
-        return post;
+        return new ReaderPostCursorProjection(c).getPost(c);
     }
 
     private static ReaderPostList getPostListFromCursor(Cursor cursor) {
         ReaderPostList posts = new ReaderPostList();
         try {
             if (cursor != null && cursor.moveToFirst()) {
+                // resolve the column indexes once for all rows
+                ReaderPostCursorProjection projection = new ReaderPostCursorProjection(cursor);
                 do {
-                    posts.add(getPostFromCursor(cursor));
+                    posts.add(projection.getPost(cursor));
                 } while (cursor.moveToNext());
             }
         } catch (IllegalStateException e) {
@@ -1166,9 +1339,10 @@ public class ReaderPostTable {
         Map<Pair<String, ReaderTagType>, ReaderPostList> posts = new LinkedHashMap<>();
         try {
             if (cursor != null && cursor.moveToFirst()) {
+                ReaderPostCursorProjection projection = new ReaderPostCursorProjection(cursor);
                 do {
-                    ReaderPost post = getPostFromCursor(cursor);
-                    Pair<String, ReaderTagType> tagNameAndType = getTagNameAndTypeFromCursor(cursor);
+                    ReaderPost post = projection.getPost(cursor);
+                    Pair<String, ReaderTagType> tagNameAndType = projection.getTagNameAndType(cursor);
                     if (!posts.containsKey(tagNameAndType)) {
                         posts.put(tagNameAndType, new ReaderPostList());
                     }
@@ -1184,20 +1358,98 @@ public class ReaderPostTable {
     /**
      * Currently "is_bookmarked" field is not supported by the server, therefore posts from the server have always
      * is_bookmarked set to false. This method is a workaround which makes sure, that the field is always up to date
-     * and synced across all instances(rows) of each post.
+     * since replacing the post's row would otherwise clear it.
      */
     private static void updateIsBookmarkedField(final ReaderPostList posts) {
-        ReaderBlogIdPostIdList bookmarkedPosts = getBookmarkedPostIds();
-        for (ReaderPost post : posts) {
-            for (ReaderBlogIdPostId bookmarkedPostId : bookmarkedPosts) {
-                if (post.blogId == bookmarkedPostId.getBlogId() && post.postId == bookmarkedPostId.getPostId()) {
-                    post.isBookmarked = true;
+        Map<Long, LongHashSet> bookmarkedPostIds = getBookmarkedPostIds();
+        synchronized (BOOKMARK_LOCK) {
+            for (ReaderPost post : posts) {
+                if (post.isBookmarked) {
+                    addBookmarkedPostId(bookmarkedPostIds, post.blogId, post.postId);
+                } else {
+                    LongHashSet postIdsInBlog = bookmarkedPostIds.get(post.blogId);
+                    if (postIdsInBlog != null && postIdsInBlog.contains(post.postId)) {
+                        post.isBookmarked = true;
+                    }
                 }
             }
         }
     }
 
-    private static ReaderBlogIdPostIdList getBookmarkedPostIds() {
-        return getBlogIdPostIdsWithTagType(ReaderTagType.BOOKMARKED, 99999);
+    /*
+     * ids of all bookmarked posts, keyed by blog id - loaded from tbl_posts on first use and then
+     * kept current as posts are bookmarked, unbookmarked and deleted, so updateIsBookmarkedField()
+     * doesn't have to query for bookmarks every time posts are written - guarded by BOOKMARK_LOCK.
+     * sBookmarkedPostIdsVersion changes whenever the bookmarks change, so ids loaded while they
+     * changed aren't kept
+     */
+    private static final Object BOOKMARK_LOCK = new Object();
+    private static Map<Long, LongHashSet> sBookmarkedPostIds;
+    private static int sBookmarkedPostIdsVersion;
+
+    /*
+     * the query runs without holding BOOKMARK_LOCK, so bookmarking a post doesn't wait for it
+     */
+    private static Map<Long, LongHashSet> getBookmarkedPostIds() {
+        int version;
+        synchronized (BOOKMARK_LOCK) {
+            if (sBookmarkedPostIds != null) {
+                return sBookmarkedPostIds;
+            }
+            version = sBookmarkedPostIdsVersion;
+        }
+
+        Map<Long, LongHashSet> postIds = new HashMap<>();
+        Cursor cursor = ReaderDatabase.getReadableDb().rawQuery(
+                "SELECT blog_id, post_id FROM tbl_posts WHERE is_bookmarked != 0", null);
+        try {
+            while (cursor.moveToNext()) {
+                addBookmarkedPostId(postIds, cursor.getLong(0), cursor.getLong(1));
+            }
+        } finally {
+            SqlUtils.closeCursor(cursor);
+        }
+
+        synchronized (BOOKMARK_LOCK) {
+            if (sBookmarkedPostIds == null && version == sBookmarkedPostIdsVersion) {
+                sBookmarkedPostIds = postIds;
+            }
+            return sBookmarkedPostIds != null ? sBookmarkedPostIds : postIds;
+        }
+    }
+
+    private static void addBookmarkedPostId(Map<Long, LongHashSet> bookmarkedPostIds, long blogId, long postId) {
+        LongHashSet postIdsInBlog = bookmarkedPostIds.get(blogId);
+        if (postIdsInBlog == null) {
+            postIdsInBlog = new LongHashSet();
+            bookmarkedPostIds.put(blogId, postIdsInBlog);
+        }
+        postIdsInBlog.add(postId);
+    }
+
+    private static void updateBookmarkedPostIds(long blogId, long postId, boolean bookmark) {
+        synchronized (BOOKMARK_LOCK) {
+            sBookmarkedPostIdsVersion++;
+            if (sBookmarkedPostIds != null) {
+                if (bookmark) {
+                    addBookmarkedPostId(sBookmarkedPostIds, blogId, postId);
+                } else {
+                    LongHashSet postIdsInBlog = sBookmarkedPostIds.get(blogId);
+                    if (postIdsInBlog != null) {
+                        postIdsInBlog.remove(postId);
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * must be called whenever posts are deleted so a deleted bookmark isn't restored if the post is added again
+     */
+    private static void invalidateBookmarkedPostIds() {
+        synchronized (BOOKMARK_LOCK) {
+            sBookmarkedPostIdsVersion++;
+            sBookmarkedPostIds = null;
+        }
     }
 }
@@ -32,6 +32,9 @@ public class Note {
     // Maximum character length for a comment preview
     private static final int MAX_COMMENT_PREVIEW_LENGTH = 200;
 
+    // comment id of notes which don't reference a comment
+    public static final long NO_COMMENT_ID = -1;
+
     // Note types
     public static final String NOTE_FOLLOW_TYPE = "follow";
     public static final String NOTE_LIKE_TYPE = "like";
@@ -50,6 +53,10 @@ public class Note {
 
     private JSONObject mActions;
     private JSONObject mNoteJSON;
+    // the note as stored in the db, only parsed into mNoteJSON once something outside of the summary is needed
+    private String mRawNoteJSON;
+    private JSONObject mSubjectJSON;
+    private Summary mSummary;
     private final String mKey;
 
     private final Object mSyncLock = new Object();
@@ -81,8 +88,63 @@ public class Note {
         mKey = mNoteJSON.optString("id", "");
     }
 
+    /**
+     * Creates a note from its stored summary, the raw JSON is only parsed when a field which isn't part of the
+     * summary is requested (e.g. the body, when the note is opened).
+     */
+    public Note(String key, String rawNoteJSON, Summary summary) {
+        mKey = key;
+        mRawNoteJSON = rawNoteJSON;
+        mSummary = summary;
+    }
+
     public JSONObject getJSON() {
-        return mNoteJSON != null ? mNoteJSON : new JSONObject();
+        JSONObject noteJSON = getNoteJSON();
+        return noteJSON != null ? noteJSON : new JSONObject();
+    }
+
+    /**
+     * Returns the note's JSON as a string, without parsing it if it hasn't been parsed yet
+     */
+    public String getRawJSON() {
+        synchronized (mSyncLock) {
+            if (mNoteJSON == null && mRawNoteJSON != null) {
+                return mRawNoteJSON;
+            }
+            return getJSON().toString();
+        }
+    }
+
+    private JSONObject getNoteJSON() {
+        synchronized (mSyncLock) {
+            if (mNoteJSON == null && mRawNoteJSON != null) {
+                try {
+                    mNoteJSON = new JSONObject(mRawNoteJSON);
+                } catch (JSONException e) {
+                    AppLog.e(AppLog.T.NOTIFS, "Can't parse notification with noteId:" + mKey + ", exception:" + e);
+                    mNoteJSON = new JSONObject();
+                }
+                mRawNoteJSON = null;
+                if (mSummary != null && mSummary.read) {
+                    // the note may have been marked as read after it was loaded
+                    putRead(mNoteJSON);
+                }
+            }
+            return mNoteJSON;
+        }
+    }
+
+    /**
+     * Returns the fields shown in the notifications list, which are stored in their own columns so the list can be
+     * loaded without parsing the JSON of every note.
+     */
+    public Summary getSummary() {
+        synchronized (mSyncLock) {
+            if (mSummary == null) {
+                mSummary = new Summary(this);
+            }
+            return mSummary;
+        }
     }
 
     public String getId() {
@@ -90,7 +152,7 @@ public class Note {
     }
 
     public String getType() {
-        return queryJSON("type", NOTE_UNKNOWN_TYPE);
+        return getSummary().type;
     }
 
     private Boolean isType(String type) {
@@ -98,10 +160,7 @@ public class Note {
     }
 
     public Boolean isCommentType() {
-        synchronized (mSyncLock) {
-            return (isAutomattcherType() && JSONUtils.queryJSON(mNoteJSON, "meta.ids.comment", -1) != -1)
-                   || isType(NOTE_COMMENT_TYPE);
-        }
+        return (isAutomattcherType() && getSummary().commentId != NO_COMMENT_ID) || isType(NOTE_COMMENT_TYPE);
     }
 
     public Boolean isAutomattcherType() {
@@ -184,7 +243,10 @@ public class Note {
     public JSONObject getSubject() {
         try {
             synchronized (mSyncLock) {
-                JSONArray subjectArray = mNoteJSON.getJSONArray("subject");
+                if (mNoteJSON == null && mRawNoteJSON != null) {
+                    return getStoredSubject();
+                }
+                JSONArray subjectArray = getJSON().getJSONArray("subject");
                 if (subjectArray.length() > 0) {
                     return subjectArray.getJSONObject(0);
                 }
@@ -196,6 +258,16 @@ public class Note {
         return null;
     }
 
+    /**
+     * Parses just the subject stored in the summary, so the list doesn't need to parse the whole note
+     */
+    private JSONObject getStoredSubject() throws JSONException {
+        if (mSubjectJSON == null && !TextUtils.isEmpty(mSummary.subject)) {
+            mSubjectJSON = new JSONObject(mSummary.subject);
+        }
+        return mSubjectJSON;
+    }
+
     public Spannable getFormattedSubject(NotificationsUtilsWrapper notificationsUtilsWrapper) {
         return notificationsUtilsWrapper.getSpannableContentForRanges(getSubject());
     }
@@ -205,12 +277,16 @@ public class Note {
     }
 
     public String getIconURL() {
-        return queryJSON("icon", "");
+        return getSummary().iconUrl;
     }
 
     public String getCommentSubject() {
+        return getSummary().commentSubject;
+    }
+
+    private String readCommentSubject() {
         synchronized (mSyncLock) {
-            JSONArray subjectArray = mNoteJSON.optJSONArray("subject");
+            JSONArray subjectArray = getJSON().optJSONArray("subject");
             if (subjectArray != null) {
                 String commentSubject = JSONUtils.queryJSON(subjectArray, "subject[1].text", "");
 
@@ -227,6 +303,10 @@ public class Note {
     }
 
     public String getCommentSubjectNoticon() {
+        return getSummary().commentSubjectNoticon;
+    }
+
+    private String readCommentSubjectNoticon() {
         JSONArray subjectRanges = queryJSON("subject[0].ranges", new JSONArray());
         if (subjectRanges != null) {
             for (int i = 0; i < subjectRanges.length(); i++) {
@@ -284,12 +364,22 @@ public class Note {
     }
 
     private Boolean isRead() {
-        return queryJSON("read", 0) == 1;
+        return getSummary().read;
     }
 
     public void setRead() {
+        synchronized (mSyncLock) {
+            getSummary().read = true;
+            // a note loaded from the db gets the flag once its JSON is parsed
+            if (mNoteJSON != null) {
+                putRead(mNoteJSON);
+            }
+        }
+    }
+
+    private static void putRead(JSONObject noteJSON) {
         try {
-            mNoteJSON.putOpt("read", 1);
+            noteJSON.putOpt("read", 1);
         } catch (JSONException e) {
             AppLog.e(AppLog.T.NOTIFS, "Failed to set 'read' property", e);
         }
@@ -299,17 +389,17 @@ public class Note {
      * Get the timestamp provided by the API for the note
      */
     public long getTimestamp() {
-        return DateTimeUtils.timestampFromIso8601(getTimestampString());
+        return getSummary().timestamp;
     }
 
     public String getTimestampString() {
-        return queryJSON("timestamp", "");
+        return getSummary().timestampString;
     }
 
     public JSONArray getBody() {
         try {
             synchronized (mSyncLock) {
-                return mNoteJSON.getJSONArray("body");
+                return getJSON().getJSONArray("body");
             }
         } catch (JSONException e) {
             return new JSONArray();
@@ -318,13 +408,13 @@ public class Note {
 
     // returns character code for notification font
     public String getNoticonCharacter() {
-        return queryJSON("noticon", "");
+        return getSummary().noticon;
     }
 
     private JSONObject getCommentActions() {
         if (mActions == null) {
             // Find comment block that matches the root note comment id
-            long commentId = getCommentId();
+            long commentId = queryJSON("meta.ids.comment", 0);
             JSONArray bodyArray = getBody();
             for (int i = 0; i < bodyArray.length(); i++) {
                 try {
@@ -377,15 +467,16 @@ public class Note {
     }
 
     public int getSiteId() {
-        return queryJSON("meta.ids.site", 0);
+        return getSummary().siteId;
     }
 
     public int getPostId() {
-        return queryJSON("meta.ids.post", 0);
+        return getSummary().postId;
     }
 
     public long getCommentId() {
-        return queryJSON("meta.ids.comment", 0);
+        long commentId = getSummary().commentId;
+        return commentId != NO_COMMENT_ID ? commentId : 0;
     }
 
     public long getParentCommentId() {
@@ -397,10 +488,11 @@ public class Note {
      */
     private <U> U queryJSON(String query, U defaultObject) {
         synchronized (mSyncLock) {
-            if (mNoteJSON == null) {
+            JSONObject noteJSON = getNoteJSON();
+            if (noteJSON == null) {
                 return defaultObject;
             }
-            return JSONUtils.queryJSON(mNoteJSON, query, defaultObject);
+            return JSONUtils.queryJSON(noteJSON, query, defaultObject);
         }
     }
 
@@ -462,6 +554,10 @@ public class Note {
     }
 
     public CommentStatus getCommentStatus() {
+        return getSummary().commentStatus;
+    }
+
+    private CommentStatus readCommentStatus() {
         EnumSet<EnabledActions> enabledActions = getEnabledActions();
 
         if (enabledActions.contains(EnabledActions.ACTION_UNAPPROVE)) {
@@ -484,7 +580,7 @@ public class Note {
 
     public JSONArray getHeader() {
         synchronized (mSyncLock) {
-            return mNoteJSON.optJSONArray("header");
+            return getJSON().optJSONArray("header");
         }
     }
 
@@ -548,4 +644,45 @@ public class Note {
 
         return note;
     }
+
+    /**
+     * The fields of a note shown in the notifications list
+     */
+    public static class Summary {
+        public String type;
+        public String timestampString;
+        public long timestamp;
+        public boolean read;
+        public String iconUrl;
+        public String noticon;
+        // first item of the subject as JSON, used to format the subject
+        public String subject;
+        public String commentSubject;
+        public String commentSubjectNoticon;
+        public int siteId;
+        public int postId;
+        public long commentId = NO_COMMENT_ID;
+        public CommentStatus commentStatus = CommentStatus.ALL;
+
+        public Summary() {
+        }
+
+        private Summary(Note note) {
+            JSONObject noteJSON = note.getJSON();
+            type = JSONUtils.queryJSON(noteJSON, "type", NOTE_UNKNOWN_TYPE);
+            timestampString = JSONUtils.queryJSON(noteJSON, "timestamp", "");
+            timestamp = DateTimeUtils.timestampFromIso8601(timestampString);
+            read = JSONUtils.queryJSON(noteJSON, "read", 0) == 1;
+            iconUrl = JSONUtils.queryJSON(noteJSON, "icon", "");
+            noticon = JSONUtils.queryJSON(noteJSON, "noticon", "");
+            JSONObject subjectJSON = note.getSubject();
+            subject = subjectJSON != null ? subjectJSON.toString() : "";
+            commentSubject = note.readCommentSubject();
+            commentSubjectNoticon = note.readCommentSubjectNoticon();
+            siteId = JSONUtils.queryJSON(noteJSON, "meta.ids.site", 0);
+            postId = JSONUtils.queryJSON(noteJSON, "meta.ids.post", 0);
+            commentId = JSONUtils.queryJSON(noteJSON, "meta.ids.comment", (int) NO_COMMENT_ID);
+            commentStatus = note.readCommentStatus();
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package org.wordpress.android.models;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 
 public class ReaderCommentList extends ArrayList<ReaderComment> {
     public int indexOfCommentId(long commentId) {
@@ -20,8 +22,13 @@ public class ReaderCommentList extends ArrayList<ReaderComment> {
             return false;
         }
 
+        Map<Long, ReaderComment> commentsById = new HashMap<>(this.size());
+        for (ReaderComment comment : this) {
+            commentsById.put(comment.commentId, comment);
+        }
         for (ReaderComment comment : comments) {
-            if (indexOf(comment) == -1) {
+            ReaderComment existing = commentsById.get(comment.commentId);
+            if (existing == null || !existing.equals(comment)) {
                 return false;
             }
         }
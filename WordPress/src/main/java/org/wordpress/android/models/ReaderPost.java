@@ -19,7 +19,9 @@ import org.wordpress.android.util.StringUtils;
 import org.wordpress.android.util.UrlUtils;
 
 import java.text.BreakIterator;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 public class ReaderPost {
     private String mPseudoId;
@@ -40,6 +42,9 @@ public class ReaderPost {
     private String mPostAvatar;
 
     private ReaderTagList mTags = new ReaderTagList();
+    // tags read from the database are only split into a ReaderTagList when getTags() is first called - the
+    // same post may be shared between threads, so the tags are only accessed while holding the post's lock
+    private transient String mCommaSeparatedTagSlugs;
     private String mPrimaryTag; // most popular tag on this post based on usage in blog
     private String mSecondaryTag; // second most popular tag on this post based on usage in blog
 
@@ -136,16 +141,6 @@ public class ReaderPost {
         // "score" only exists for search results
         post.score = json.optDouble("score");
 
-        // if the post is untitled, make up a title from the excerpt
-        if (!post.hasTitle() && post.hasExcerpt()) {
-            post.mTitle = extractTitle(post.mExcerpt, 50);
-        }
-
-        // remove html from title (rare, but does happen)
-        if (post.hasTitle() && post.mTitle.contains("<") && post.mTitle.contains(">")) {
-            post.mTitle = HtmlUtils.stripHtml(post.mTitle);
-        }
-
         // parse the tags section
         assignTagsFromJson(post, json.optJSONObject("tags"));
 
@@ -188,32 +183,50 @@ public class ReaderPost {
             }
         }
 
+        // "railcar" data - currently used in search streams, used by TrainTracks
+        JSONObject jsonRailcar = json.optJSONObject("railcar");
+        if (jsonRailcar != null) {
+            post.setRailcarJson(jsonRailcar.toString());
+        }
+
+        post.assignDerivedFields();
+
+        return post;
+    }
+
+    /*
+     * fills in the fields which are derived from the ones returned by the server, must be called
+     * once all of those have been read - shared with ReaderPostJsonReader
+     */
+    void assignDerivedFields() {
+        // if the post is untitled, make up a title from the excerpt
+        if (!hasTitle() && hasExcerpt()) {
+            mTitle = extractTitle(mExcerpt, 50);
+        }
+
+        // remove html from title (rare, but does happen)
+        if (hasTitle() && mTitle.contains("<") && mTitle.contains(">")) {
+            mTitle = HtmlUtils.stripHtml(mTitle);
+        }
+
         // if the post doesn't have a featured image but it contains an IMG tag, check whether
         // we can find a suitable image from the content
-        if (!post.hasFeaturedImage() && post.hasImages()) {
-            post.mFeaturedImage = new ReaderImageScanner(post.mText, post.isPrivate)
+        if (!hasFeaturedImage() && hasImages()) {
+            mFeaturedImage = new ReaderImageScanner(mText, isPrivate)
                     .getLargestImage(ReaderConstants.MIN_FEATURED_IMAGE_WIDTH);
         }
 
         // if there's no featured image or featured video and the post contains an iframe, scan
         // the content for a suitable featured video
-        if (!post.hasFeaturedImage()
-            && !post.hasFeaturedVideo()
-            && post.getText().contains("<iframe")) {
-            post.setFeaturedVideo(new ReaderIframeScanner(post.getText()).getFirstUsableVideo());
-        }
-
-        // "railcar" data - currently used in search streams, used by TrainTracks
-        JSONObject jsonRailcar = json.optJSONObject("railcar");
-        if (jsonRailcar != null) {
-            post.setRailcarJson(jsonRailcar.toString());
+        if (!hasFeaturedImage()
+            && !hasFeaturedVideo()
+            && getText().contains("<iframe")) {
+            setFeaturedVideo(new ReaderIframeScanner(getText()).getFirstUsableVideo());
         }
 
         // set the card type last since it depends on information contained in the post - note
         // that this is stored in the post table rather than calculated on-the-fly
-        post.setCardType(ReaderCardType.fromReaderPost(post));
-
-        return post;
+        setCardType(ReaderCardType.fromReaderPost(this));
     }
 
     public boolean hasImages() {
@@ -239,21 +252,30 @@ public class ReaderPost {
             JSONObject jsonMetaItem = jsonMetadata.optJSONObject(i);
             if (jsonMetaItem != null) {
                 String metaKey = jsonMetaItem.optString("key");
-                if (!TextUtils.isEmpty(metaKey) && metaKey.equals("xpost_origin")) {
-                    String value = jsonMetaItem.optString("value");
-                    if (!TextUtils.isEmpty(value) && value.contains(":")) {
-                        String[] valuePair = value.split(":");
-                        if (valuePair.length == 2) {
-                            post.xpostBlogId = StringUtils.stringToLong(valuePair[0]);
-                            post.xpostPostId = StringUtils.stringToLong(valuePair[1]);
-                            return;
-                        }
-                    }
+                if (!TextUtils.isEmpty(metaKey) && metaKey.equals("xpost_origin")
+                    && assignXpostIds(post, jsonMetaItem.optString("value"))) {
+                    return;
                 }
             }
         }
     }
 
+    /*
+     * assigns cross post blog & post IDs from the value of an "xpost_origin" metadata item, returns
+     * false if the value isn't a "blogId:postId" pair
+     */
+    static boolean assignXpostIds(ReaderPost post, String value) {
+        if (!TextUtils.isEmpty(value) && value.contains(":")) {
+            String[] valuePair = value.split(":");
+            if (valuePair.length == 2) {
+                post.xpostBlogId = StringUtils.stringToLong(valuePair[0]);
+                post.xpostPostId = StringUtils.stringToLong(valuePair[1]);
+                return true;
+            }
+        }
+        return false;
+    }
+
     /*
      * assigns author-related info to the passed post from the passed JSON "author" object
      */
@@ -293,8 +315,23 @@ public class ReaderPost {
             return;
         }
 
+        List<String> tagSlugs = new ArrayList<>();
+        List<Integer> postCounts = new ArrayList<>();
         Iterator<String> it = jsonTags.keys();
-        if (!it.hasNext()) {
+        while (it.hasNext()) {
+            JSONObject jsonThisTag = jsonTags.optJSONObject(it.next());
+            tagSlugs.add(JSONUtils.getString(jsonThisTag, "slug"));
+            postCounts.add(jsonThisTag.optInt("post_count"));
+        }
+        assignTags(post, tagSlugs, postCounts);
+    }
+
+    /*
+     * assigns the tags and primary/secondary tags to the passed post from the slugs of its tags and
+     * the number of posts using each of them on the blog, in the order they were returned
+     */
+    static void assignTags(ReaderPost post, List<String> tagSlugs, List<Integer> postCounts) {
+        if (tagSlugs.isEmpty()) {
             return;
         }
 
@@ -304,9 +341,8 @@ public class ReaderPost {
         int popularCount = 0;
 
         ReaderTagList tags = new ReaderTagList();
-        while (it.hasNext()) {
-            JSONObject jsonThisTag = jsonTags.optJSONObject(it.next());
-            String thisTagName = UrlUtils.urlDecode(JSONUtils.getString(jsonThisTag, "slug"));
+        for (int i = 0; i < tagSlugs.size(); i++) {
+            String thisTagName = UrlUtils.urlDecode(tagSlugs.get(i));
 
             ReaderTag tag = ReaderUtils.getTagFromTagName(thisTagName, ReaderTagType.DEFAULT);
             tags.add(tag);
@@ -314,7 +350,7 @@ public class ReaderPost {
             // if the number of posts on this blog that use this tag is higher than previous,
             // set this as the most popular tag, and set the second most popular tag to
             // the current most popular tag
-            int postCount = jsonThisTag.optInt("post_count");
+            int postCount = postCounts.get(i);
             if (postCount > popularCount) {
                 nextMostPopularTag = mostPopularTag;
                 mostPopularTag = thisTagName;
@@ -523,12 +559,24 @@ public class ReaderPost {
         this.mDateTagged = StringUtils.notNullStr(dateStr);
     }
 
-    public ReaderTagList getTags() {
+    public synchronized ReaderTagList getTags() {
+        if (mCommaSeparatedTagSlugs != null) {
+            mTags = ReaderUtils.getTagsFromCommaSeparatedSlugs(mCommaSeparatedTagSlugs);
+            mCommaSeparatedTagSlugs = null;
+        }
         return mTags;
     }
 
-    public void setTags(ReaderTagList tagList) {
+    public synchronized void setTags(ReaderTagList tagList) {
         mTags = tagList;
+        mCommaSeparatedTagSlugs = null;
+    }
+
+    /*
+     * sets the tags from their stored form without splitting them - they'll be decoded on first use
+     */
+    public synchronized void setCommaSeparatedTagSlugs(String commaSeparatedTagSlugs) {
+        mCommaSeparatedTagSlugs = commaSeparatedTagSlugs;
     }
 
     public String getPrimaryTag() {
@@ -0,0 +1,666 @@
+package org.wordpress.android.models;
+
+import android.text.TextUtils;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.wordpress.android.ui.reader.ReaderConstants;
+import org.wordpress.android.util.HtmlUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the posts of a reader post stream response straight from its bytes, without building a JSONObject
+ * of the whole response first. The posts are the same as the ones {@link ReaderPost#fromJson} returns for the
+ * same response - values are read with the same rules as {@link org.wordpress.android.util.JSONUtils} and
+ * the org.json opt methods, and the nested objects which are stored as json are copied token by token.
+ */
+final class ReaderPostJsonReader {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private ReaderPostJsonReader() {
+    }
+
+    static ReaderPostList readPostList(byte[] response) throws IOException {
+        ReaderPostList posts = new ReaderPostList();
+        JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(response), UTF_8));
+        try {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("posts") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                            posts.add(readPost(reader));
+                        } else {
+                            reader.skipValue();
+                        }
+                    }
+                    reader.endArray();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } finally {
+            reader.close();
+        }
+        return posts;
+    }
+
+    /*
+     * the fields are first read into locals since the json may list them in any order, then assigned
+     * to the post in the same order as ReaderPost.fromJson() so later fields override earlier ones the same way
+     */
+    private static ReaderPost readPost(JsonReader reader) throws IOException {
+        ReaderPost post = new ReaderPost();
+        // "score" only exists for search results
+        post.score = Double.NaN;
+
+        String pseudoId = null;
+        String globalId = null;
+        String siteUrl = null;
+        String featuredImage = null;
+        String featuredMediaImage = null;
+        boolean hasDiscussion = false;
+        boolean discussionCommentsOpen = false;
+        int discussionCommentCount = 0;
+        boolean commentsOpen = false;
+        int commentCount = 0;
+        Author author = null;
+        Site site = null;
+        List<String> tagSlugs = null;
+        List<Integer> tagPostCounts = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            switch (name) {
+                case ReaderConstants.POST_ID:
+                    post.postId = readLong(reader);
+                    break;
+                case ReaderConstants.POST_SITE_ID:
+                    post.blogId = readLong(reader);
+                    break;
+                case "feed_ID":
+                    post.feedId = readLong(reader);
+                    break;
+                case "feed_item_ID":
+                    post.feedItemId = readLong(reader);
+                    break;
+                case ReaderConstants.POST_PSEUDO_ID:
+                    pseudoId = readString(reader);
+                    break;
+                case "global_ID":
+                    globalId = readString(reader);
+                    break;
+                case "excerpt":
+                    // remove HTML from the excerpt
+                    post.setExcerpt(HtmlUtils.fastStripHtml(readString(reader)).trim());
+                    break;
+                case "content":
+                    post.setText(readString(reader));
+                    break;
+                case "title":
+                    post.setTitle(StringEscapeUtils.unescapeHtml4(readString(reader)));
+                    break;
+                case "format":
+                    post.setFormat(readString(reader));
+                    break;
+                case "URL":
+                    post.setUrl(readString(reader));
+                    break;
+                case "short_URL":
+                    post.setShortUrl(readString(reader));
+                    break;
+                case "site_URL":
+                    siteUrl = readString(reader);
+                    break;
+                case "like_count":
+                    post.numLikes = (int) readLong(reader);
+                    break;
+                case "i_like":
+                    post.isLikedByCurrentUser = readBool(reader);
+                    break;
+                case "is_following":
+                    post.isFollowedByCurrentUser = readBool(reader);
+                    break;
+                case "is_external":
+                    post.isExternal = readBool(reader);
+                    break;
+                case "site_is_private":
+                    post.isPrivate = readBool(reader);
+                    break;
+                case "site_is_atomic":
+                    post.isPrivateAtomic = readBool(reader);
+                    break;
+                case "is_jetpack":
+                    post.isJetpack = readBool(reader);
+                    break;
+                case "use_excerpt":
+                    post.useExcerpt = readBool(reader);
+                    break;
+                case "comments_open":
+                    commentsOpen = readBool(reader);
+                    break;
+                case "comment_count":
+                    commentCount = (int) readLong(reader);
+                    break;
+                case "discussion":
+                    if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                        hasDiscussion = true;
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            String discussionName = reader.nextName();
+                            if (discussionName.equals("comments_open")) {
+                                discussionCommentsOpen = readBool(reader);
+                            } else if (discussionName.equals("comment_count")) {
+                                discussionCommentCount = (int) readLong(reader);
+                            } else {
+                                reader.skipValue();
+                            }
+                        }
+                        reader.endObject();
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                case "author":
+                    author = readAuthor(reader);
+                    break;
+                case "featured_image":
+                    featuredImage = readString(reader);
+                    break;
+                case "site_name":
+                    post.setBlogName(StringEscapeUtils.unescapeHtml4(readString(reader)));
+                    break;
+                case "date":
+                    post.setDatePublished(readString(reader));
+                    break;
+                case "date_liked":
+                    post.setDateLiked(readString(reader));
+                    break;
+                case "tagged_on":
+                    post.setDateTagged(readString(reader));
+                    break;
+                case "score":
+                    post.score = readDouble(reader);
+                    break;
+                case "tags":
+                    if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                        tagSlugs = new ArrayList<>();
+                        tagPostCounts = new ArrayList<>();
+                        readTags(reader, tagSlugs, tagPostCounts);
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                case "attachments":
+                    if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                        String attachmentsJson = copyValue(reader);
+                        if (!attachmentsJson.equals("{}")) {
+                            post.setAttachmentsJson(attachmentsJson);
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                case "meta":
+                    Site metaSite = readMetaSite(reader);
+                    if (metaSite != null) {
+                        site = metaSite;
+                    }
+                    break;
+                case "discover_metadata":
+                    if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                        post.setDiscoverJson(copyValue(reader));
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                case "metadata":
+                    readXpostIds(reader, post);
+                    break;
+                case "featured_media":
+                    featuredMediaImage = readFeaturedMediaImage(reader);
+                    break;
+                case "railcar":
+                    if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                        post.setRailcarJson(copyValue(reader));
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        // pseudo_ID is returned by the read/ endpoints, global_ID by the sites/ endpoints
+        post.setPseudoId(pseudoId != null ? pseudoId : globalId);
+        post.setBlogUrl(siteUrl);
+
+        if (hasDiscussion) {
+            post.isCommentsOpen = discussionCommentsOpen;
+            post.numReplies = discussionCommentCount;
+        } else {
+            post.isCommentsOpen = commentsOpen;
+            post.numReplies = commentCount;
+        }
+
+        if (author != null) {
+            post.setAuthorName(author.mName);
+            post.setAuthorFirstName(author.mFirstName);
+            post.authorId = author.mId;
+            if (author.mHasAvatar) {
+                post.setPostAvatar(author.mAvatarUrl);
+            }
+            // site_URL doesn't exist for /sites/ endpoints, so get it from the author
+            if (TextUtils.isEmpty(post.getBlogUrl())) {
+                post.setBlogUrl(author.mUrl);
+            }
+        }
+
+        post.setFeaturedImage(featuredImage);
+
+        if (tagSlugs != null) {
+            ReaderPost.assignTags(post, tagSlugs, tagPostCounts);
+        }
+
+        // site metadata - returned when ?meta=site was added to the request
+        if (site != null) {
+            post.blogId = site.mId;
+            post.setBlogName(site.mName);
+            post.setBlogUrl(site.mUrl);
+            post.isPrivate = site.mIsPrivate;
+            if (site.mIconImg != null) {
+                post.setBlogImageUrl(site.mIconImg);
+            }
+            post.isJetpack = site.mIsJetpack;
+        }
+
+        // if there's no featured image, check if featured media has been set to an image
+        if (!post.hasFeaturedImage() && featuredMediaImage != null) {
+            post.setFeaturedImage(featuredMediaImage);
+        }
+
+        post.assignDerivedFields();
+
+        return post;
+    }
+
+    private static class Author {
+        private String mName;
+        private String mFirstName;
+        private long mId;
+        private boolean mHasAvatar = true;
+        private String mAvatarUrl;
+        private String mUrl;
+    }
+
+    private static Author readAuthor(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+
+        Author author = new Author();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name":
+                    author.mName = StringEscapeUtils.unescapeHtml4(readString(reader));
+                    break;
+                case "first_name":
+                    author.mFirstName = StringEscapeUtils.unescapeHtml4(readString(reader));
+                    break;
+                case "ID":
+                    author.mId = readLong(reader);
+                    break;
+                case "has_avatar":
+                    // v1.2 endpoint contains a "has_avatar" boolean which tells us whether the author
+                    // has a valid avatar - if this field exists and is set to false, skip setting
+                    // the avatar URL
+                    author.mHasAvatar = readOptBoolean(reader);
+                    break;
+                case "avatar_URL":
+                    author.mAvatarUrl = readString(reader);
+                    break;
+                case "URL":
+                    author.mUrl = readString(reader);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return author;
+    }
+
+    private static void readTags(JsonReader reader, List<String> tagSlugs, List<Integer> postCounts)
+            throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            reader.nextName();
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+            String slug = "";
+            int postCount = 0;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (name.equals("slug")) {
+                    slug = readString(reader);
+                } else if (name.equals("post_count")) {
+                    postCount = (int) readLong(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            tagSlugs.add(slug);
+            postCounts.add(postCount);
+        }
+        reader.endObject();
+    }
+
+    private static class Site {
+        private int mId;
+        private String mName;
+        private String mUrl;
+        private boolean mIsPrivate;
+        private String mIconImg;
+        private boolean mIsJetpack;
+    }
+
+    /*
+     * reads the "meta/data/site" object
+     */
+    private static Site readMetaSite(JsonReader reader) throws IOException {
+        Site site = null;
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("data") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (reader.nextName().equals("site") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                        site = readSite(reader);
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return site;
+    }
+
+    private static Site readSite(JsonReader reader) throws IOException {
+        Site site = new Site();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "ID":
+                    site.mId = (int) readLong(reader);
+                    break;
+                case "name":
+                    site.mName = readString(reader);
+                    break;
+                case "URL":
+                    site.mUrl = readString(reader);
+                    break;
+                case "is_private":
+                    site.mIsPrivate = readBool(reader);
+                    break;
+                case "icon":
+                    if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                        site.mIconImg = "";
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            if (reader.nextName().equals("img")) {
+                                site.mIconImg = readString(reader);
+                            } else {
+                                reader.skipValue();
+                            }
+                        }
+                        reader.endObject();
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                case "jetpack":
+                    site.mIsJetpack = readBool(reader);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return site;
+    }
+
+    /*
+     * assigns cross post blog & post IDs from the first valid "xpost_origin" item of the post's metadata
+     */
+    private static void readXpostIds(JsonReader reader, ReaderPost post) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return;
+        }
+        boolean assigned = false;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+            String key = null;
+            String value = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (name.equals("key")) {
+                    key = readOptString(reader);
+                } else if (name.equals("value")) {
+                    value = readOptString(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            if (!assigned && "xpost_origin".equals(key)) {
+                assigned = ReaderPost.assignXpostIds(post, value);
+            }
+        }
+        reader.endArray();
+    }
+
+    /*
+     * returns the uri of the featured media when it's an image, null otherwise
+     */
+    private static String readFeaturedMediaImage(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        String type = "";
+        String uri = "";
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("type")) {
+                type = readString(reader);
+            } else if (name.equals("uri")) {
+                uri = readString(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return type.equals("image") ? uri : null;
+    }
+
+    /*
+     * same as JSONUtils.getString() - null values are read as an empty string, and other values as their
+     * json text
+     */
+    private static String readString(JsonReader reader) throws IOException {
+        String value = readOptString(reader);
+        return value.equals("null") ? "" : value;
+    }
+
+    /*
+     * same as JSONObject.optString()
+     */
+    private static String readOptString(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case STRING:
+            case NUMBER:
+                return reader.nextString();
+            case BOOLEAN:
+                return String.valueOf(reader.nextBoolean());
+            case NULL:
+                reader.nextNull();
+                return "null";
+            default:
+                return copyValue(reader);
+        }
+    }
+
+    /*
+     * same as JSONUtils.getBool()
+     */
+    private static boolean readBool(JsonReader reader) throws IOException {
+        String value = readString(reader);
+        return !TextUtils.isEmpty(value)
+               && !value.equals("0")
+               && !value.equalsIgnoreCase("false")
+               && !value.equalsIgnoreCase("no");
+    }
+
+    /*
+     * same as JSONObject.optBoolean()
+     */
+    private static boolean readOptBoolean(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case STRING:
+                return reader.nextString().equalsIgnoreCase("true");
+            default:
+                reader.skipValue();
+                return false;
+        }
+    }
+
+    /*
+     * same as JSONObject.optLong(), which also accepts numeric strings and truncates decimals
+     */
+    private static long readLong(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token != JsonToken.NUMBER && token != JsonToken.STRING) {
+            reader.skipValue();
+            return 0;
+        }
+        String value = reader.nextString();
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            try {
+                return (long) Double.parseDouble(value);
+            } catch (NumberFormatException e2) {
+                return 0;
+            }
+        }
+    }
+
+    /*
+     * same as JSONObject.optDouble()
+     */
+    private static double readDouble(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token != JsonToken.NUMBER && token != JsonToken.STRING) {
+            reader.skipValue();
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(reader.nextString());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /*
+     * returns the json of the next value, which is copied token by token rather than parsed into a JSONObject
+     */
+    private static String copyValue(JsonReader reader) throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        JsonWriter writer = new JsonWriter(stringWriter);
+        copyValue(reader, writer);
+        writer.flush();
+        return stringWriter.toString();
+    }
+
+    private static void copyValue(JsonReader reader, JsonWriter writer) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                reader.beginObject();
+                writer.beginObject();
+                while (reader.hasNext()) {
+                    writer.name(reader.nextName());
+                    copyValue(reader, writer);
+                }
+                reader.endObject();
+                writer.endObject();
+                break;
+            case BEGIN_ARRAY:
+                reader.beginArray();
+                writer.beginArray();
+                while (reader.hasNext()) {
+                    copyValue(reader, writer);
+                }
+                reader.endArray();
+                writer.endArray();
+                break;
+            case STRING:
+                writer.value(reader.nextString());
+                break;
+            case NUMBER:
+                // keeps the number as it was returned
+                writer.jsonValue(reader.nextString());
+                break;
+            case BOOLEAN:
+                writer.value(reader.nextBoolean());
+                break;
+            case NULL:
+                reader.nextNull();
+                writer.nullValue();
+                break;
+            default:
+                reader.skipValue();
+                break;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 import org.wordpress.android.ui.reader.models.ReaderBlogIdPostId;
 
+import java.io.IOException;
 import java.util.ArrayList;
 
 public class ReaderPostList extends ArrayList<ReaderPost> {
@@ -23,6 +24,18 @@ public class ReaderPostList extends ArrayList<ReaderPost> {
         return posts;
     }
 
+    /*
+     * same as fromJson() but streams the posts from the bytes of the response, which avoids building
+     * a JSONObject of the whole response first
+     */
+    public static ReaderPostList fromJson(byte[] response) throws IOException {
+        if (response == null) {
+            throw new IllegalArgumentException("null json post list");
+        }
+
+        return ReaderPostJsonReader.readPostList(response);
+    }
+
     @Override
     public Object clone() {
         return super.clone();
@@ -0,0 +1,17 @@
+package org.wordpress.android.models.discover
+
+import org.wordpress.android.models.ReaderTagList
+
+/**
+ * The compact form of a stored discover card. Posts and blogs are only referenced by their ids, as they are stored
+ * in their own tables.
+ */
+sealed class SimplifiedDiscoverCard {
+    data class InterestsYouMayLikeCard(val interests: ReaderTagList) : SimplifiedDiscoverCard()
+    data class PostCard(val blogId: Long, val postId: Long) : SimplifiedDiscoverCard()
+
+    /**
+     * @param blogIds contains a blogId and feedId pair for each recommended blog
+     */
+    data class RecommendedBlogsCard(val blogIds: List<Pair<Long, Long>>) : SimplifiedDiscoverCard()
+}
@@ -16,7 +16,6 @@ import org.greenrobot.eventbus.Subscribe
 import org.greenrobot.eventbus.ThreadMode.MAIN
 import org.wordpress.android.R
 import org.wordpress.android.WordPress
-import org.wordpress.android.datasets.SuggestionTable
 import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.networking.ConnectionChangeReceiver.ConnectionChangeEvent
 import org.wordpress.android.ui.suggestion.adapters.SuggestionAdapter
@@ -226,8 +225,7 @@ class SuggestUsersActivity : LocaleAwareActivity() {
     fun onEventMainThread(event: SuggestionNameListUpdated) {
         // check if the updated suggestions are for the current blog and update the suggestions
         if (siteId != 0L && siteId == event.mRemoteBlogId) {
-            val suggestions = SuggestionTable.getSuggestionsForSite(event.mRemoteBlogId)
-            suggestionAdapter?.setSuggestionList(suggestions)
+            suggestionAdapter?.let { SuggestionUtils.loadSuggestions(it, event.mRemoteBlogId) }
 
             // Calling forceFiltering is the only way I was able to force the suggestions list to immediately refresh
             // with the new data
@@ -72,10 +72,18 @@ public class CommentUtils {
             return;
         }
 
-        SpannableString text = new SpannableString(textView.getText());
-        text.setSpan(new TextWrappingLeadingMarginSpan(textOffsetX), 0, text.length(),
-                     Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
-        textView.setText(text);
+        textView.setText(indentFirstLine(textView.getText(), textOffsetX));
+    }
+
+    /*
+     * same as indentTextViewFirstLine() but for text which isn't shown yet, so the indent can be applied ahead
+     * of binding it
+     */
+    public static SpannableString indentFirstLine(CharSequence text, int textOffsetX) {
+        SpannableString indentedText = new SpannableString(text);
+        indentedText.setSpan(new TextWrappingLeadingMarginSpan(textOffsetX), 0, indentedText.length(),
+                             Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+        return indentedText;
     }
 
     private static class TextWrappingLeadingMarginSpan implements LeadingMarginSpan.LeadingMarginSpan2 {
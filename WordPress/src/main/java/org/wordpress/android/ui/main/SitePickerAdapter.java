@@ -14,6 +14,8 @@ import android.widget.TextView;
 import androidx.annotation.LayoutRes;
 import androidx.annotation.NonNull;
 import androidx.core.graphics.ColorUtils;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
 import androidx.recyclerview.widget.RecyclerView;
 
 import org.wordpress.android.R;
@@ -33,9 +35,10 @@ import org.wordpress.android.util.image.ImageType;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
 import javax.inject.Inject;
@@ -99,6 +102,7 @@ public class SitePickerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
     private boolean mShowSelfHostedSites = true;
     private String mLastSearch;
     private SiteList mAllSites;
+    private SiteSearchIndex mSearchIndex = new SiteSearchIndex();
     private ArrayList<Integer> mIgnoreSitesIds;
 
     private OnSiteClickListener mSiteSelectedListener;
@@ -440,9 +444,21 @@ public class SitePickerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
 
     void searchSites(String searchText) {
         mLastSearch = searchText;
-        mSites = filteredSitesByText(mAllSites);
+        SiteList previousSites = mSites;
+        mSites = mSearchIndex.search(mAllSites, mLastSearch);
 
-        notifyDataSetChanged();
+        DiffUtil.calculateDiff(new SitePickerDiffCallback(previousSites, mSites))
+                .dispatchUpdatesTo(new SiteListUpdateCallback());
+        notifyHeaderAndFooterChanged();
+    }
+
+    private void notifyHeaderAndFooterChanged() {
+        if (mHeaderHandler != null) {
+            notifyItemChanged(0);
+        }
+        if (mFooterHandler != null) {
+            notifyItemChanged(getItemCount() - 1);
+        }
     }
 
     private boolean isValidPosition(int position) {
@@ -625,38 +641,21 @@ public class SitePickerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
         new LoadSitesTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
     }
 
-    private SiteList filteredSitesByTextIfInSearchMode(SiteList sites) {
-        if (!mIsInSearchMode) {
-            return sites;
-        } else {
-            return filteredSitesByText(sites);
-        }
-    }
-
-    private SiteList filteredSitesByText(SiteList sites) {
-        SiteList filteredSiteList = new SiteList();
-
-        for (int i = 0; i < sites.size(); i++) {
-            SiteRecord record = sites.get(i);
-            String siteNameLowerCase = record.mBlogName.toLowerCase(Locale.getDefault());
-            String hostNameLowerCase = record.mHomeURL.toLowerCase(Locale.ROOT);
-
-            if (siteNameLowerCase.contains(mLastSearch.toLowerCase(Locale.getDefault())) || hostNameLowerCase
-                    .contains(mLastSearch.toLowerCase(Locale.ROOT))) {
-                filteredSiteList.add(record);
-            }
-        }
-
-        return filteredSiteList;
-    }
-
     /*
      * AsyncTask which loads sites from database and populates the adapter
      */
     private class LoadSitesTask extends AsyncTask<Void, Void, SiteList[]> {
+        private SiteList mExistingSites;
+        private SiteSearchIndex mUpdatedSearchIndex;
+        private String mSearchText;
+        private DiffUtil.DiffResult mDiffResult;
+
         @Override
         protected void onPreExecute() {
             super.onPreExecute();
+            mExistingSites = mSites;
+            mUpdatedSearchIndex = mSearchIndex;
+            mSearchText = mLastSearch;
             if (mDataLoadedListener != null) {
                 boolean isEmpty = mSites == null || mSites.size() == 0;
                 mDataLoadedListener.onBeforeLoad(isEmpty);
@@ -700,34 +699,32 @@ public class SitePickerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
             // flag recently-picked sites and move them to the top if there are enough sites and
             // the user isn't searching
             if (!mIsInSearchMode && sites.size() >= RECENTLY_PICKED_THRESHOLD) {
-                ArrayList<Integer> pickedIds = AppPrefs.getRecentlyPickedSiteIds();
-                for (int i = pickedIds.size() - 1; i > -1; i--) {
-                    int thisId = pickedIds.get(i);
-                    int indexOfSite = sites.indexOfSiteId(thisId);
-                    if (indexOfSite > -1) {
-                        SiteRecord site = sites.remove(indexOfSite);
-                        site.mIsRecentPick = true;
-                        sites.add(0, site);
-                    }
-                }
+                sites.moveRecentPicksToTop(AppPrefs.getRecentlyPickedSiteIds());
             }
 
-            if (mSites == null || !mSites.isSameList(sites)) {
-                SiteList allSites = (SiteList) sites.clone();
-                SiteList filteredSites = filteredSitesByTextIfInSearchMode(sites);
-
-                return new SiteList[]{allSites, filteredSites};
+            SiteList filteredSites = sites;
+            if (mIsInSearchMode) {
+                // only the sites which were added or changed since the last load are indexed
+                mUpdatedSearchIndex = mUpdatedSearchIndex.update(sites);
+                filteredSites = mUpdatedSearchIndex.search(sites, mSearchText);
             }
+            mDiffResult = DiffUtil.calculateDiff(new SitePickerDiffCallback(mExistingSites, filteredSites));
 
-            return null;
+            return new SiteList[]{sites, filteredSites};
         }
 
         @Override
         protected void onPostExecute(SiteList[] updatedSiteLists) {
-            if (updatedSiteLists != null) {
-                mAllSites = updatedSiteLists[0];
-                mSites = updatedSiteLists[1];
+            mAllSites = updatedSiteLists[0];
+            mSearchIndex = mUpdatedSearchIndex;
+            if (mSites != mExistingSites || !StringUtils.equals(mLastSearch, mSearchText)) {
+                // the user searched while the sites were loading, so the diff no longer applies
+                mSites = mIsInSearchMode ? mSearchIndex.search(mAllSites, mLastSearch) : updatedSiteLists[1];
                 notifyDataSetChanged();
+            } else {
+                mSites = updatedSiteLists[1];
+                mDiffResult.dispatchUpdatesTo(new SiteListUpdateCallback());
+                notifyHeaderAndFooterChanged();
             }
             if (mDataLoadedListener != null) {
                 mDataLoadedListener.onAfterLoad();
@@ -780,6 +777,14 @@ public class SitePickerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
             mIsHidden = !siteModel.isVisible();
         }
 
+        String getBlogName() {
+            return mBlogName;
+        }
+
+        boolean isRecentPick() {
+            return mIsRecentPick;
+        }
+
         String getBlogNameOrHomeURL() {
             if (TextUtils.isEmpty(mBlogName)) {
                 return mHomeURL;
@@ -824,20 +829,39 @@ public class SitePickerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
             }
         }
 
-        boolean isSameList(SiteList sites) {
-            if (sites == null || sites.size() != this.size()) {
-                return false;
+        /*
+         * moves the sites with the passed local IDs to the top of the list in the order of the IDs, and flags
+         * them as recent picks
+         */
+        void moveRecentPicksToTop(List<Integer> pickedIds) {
+            Map<Integer, SiteRecord> sitesByLocalId = new HashMap<>(size());
+            for (SiteRecord site : this) {
+                if (!sitesByLocalId.containsKey(site.mLocalId)) {
+                    sitesByLocalId.put(site.mLocalId, site);
+                }
             }
-            int i;
-            for (SiteRecord site : sites) {
-                i = indexOfSite(site);
-                if (i == -1
-                    || this.get(i).mIsHidden != site.mIsHidden
-                    || this.get(i).mIsRecentPick != site.mIsRecentPick) {
-                    return false;
+
+            SiteList recentPicks = new SiteList();
+            for (Integer pickedId : pickedIds) {
+                SiteRecord site = sitesByLocalId.remove(pickedId);
+                if (site != null) {
+                    site.mIsRecentPick = true;
+                    recentPicks.add(site);
+                }
+            }
+            if (recentPicks.isEmpty()) {
+                return;
+            }
+
+            SiteList otherSites = new SiteList();
+            for (SiteRecord site : this) {
+                if (!site.mIsRecentPick) {
+                    otherSites.add(site);
                 }
             }
-            return true;
+            clear();
+            addAll(recentPicks);
+            addAll(otherSites);
         }
 
         int indexOfSite(SiteRecord site) {
@@ -860,4 +884,26 @@ public class SitePickerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
             return -1;
         }
     }
+
+    private class SiteListUpdateCallback implements ListUpdateCallback {
+        @Override
+        public void onInserted(int position, int count) {
+            notifyItemRangeInserted(position + getPositionOffset(), count);
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            notifyItemRangeRemoved(position + getPositionOffset(), count);
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            notifyItemMoved(fromPosition + getPositionOffset(), toPosition + getPositionOffset());
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            notifyItemRangeChanged(position + getPositionOffset(), count, payload);
+        }
+    }
 }
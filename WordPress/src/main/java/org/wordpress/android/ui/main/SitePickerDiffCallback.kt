@@ -0,0 +1,36 @@
+package org.wordpress.android.ui.main
+
+import androidx.recyclerview.widget.DiffUtil
+import org.wordpress.android.ui.main.SitePickerAdapter.SiteRecord
+
+class SitePickerDiffCallback(
+    private val oldList: List<SiteRecord>,
+    private val newList: List<SiteRecord>
+) : DiffUtil.Callback() {
+    override fun areItemsTheSame(oldItemPosition: Int, newItemPosition: Int): Boolean {
+        return oldList[oldItemPosition].localId == newList[newItemPosition].localId
+    }
+
+    override fun areContentsTheSame(oldItemPosition: Int, newItemPosition: Int): Boolean {
+        val oldItem = oldList[oldItemPosition]
+        val newItem = newList[newItemPosition]
+        return oldItem.blogNameOrHomeURL == newItem.blogNameOrHomeURL &&
+                oldItem.homeURL == newItem.homeURL &&
+                oldItem.blavatarUrl == newItem.blavatarUrl &&
+                oldItem.isHidden == newItem.isHidden &&
+                oldItem.isRecentPick == newItem.isRecentPick &&
+                // the divider after the last recent pick depends on the next site
+                isFollowedByRecentPick(oldList, oldItemPosition) == isFollowedByRecentPick(newList, newItemPosition)
+    }
+
+    override fun getOldListSize(): Int {
+        return oldList.size
+    }
+
+    override fun getNewListSize(): Int {
+        return newList.size
+    }
+
+    private fun isFollowedByRecentPick(list: List<SiteRecord>, position: Int) =
+            list.getOrNull(position + 1)?.isRecentPick == true
+}
@@ -0,0 +1,173 @@
+package org.wordpress.android.ui.main;
+
+import androidx.annotation.NonNull;
+
+import org.wordpress.android.ui.main.SitePickerAdapter.SiteList;
+import org.wordpress.android.ui.main.SitePickerAdapter.SiteRecord;
+import org.wordpress.android.util.StringUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Search index used by the site picker, which holds the lowercased name and host of each site so they aren't
+ * normalized again on every keystroke.
+ *
+ * A site matches when each word of the query appears in its name or host, and sites whose name or host starts
+ * with the query (or which have a word in their name starting with it) are listed first. While the query is
+ * being typed each search only looks at the matches of the previous one, rather than at every site.
+ *
+ * Updating the index returns a new index, which reuses the entries of sites whose name and host didn't change,
+ * so an index can be updated in the background while the current one is being searched.
+ */
+class SiteSearchIndex {
+    private final Map<Integer, Entry> mEntries;
+
+    // the last search, its matches are searched again when the query is extended
+    private SiteList mLastSites;
+    private String mLastQuery;
+    private SiteList mLastMatches;
+
+    SiteSearchIndex() {
+        mEntries = Collections.emptyMap();
+    }
+
+    private SiteSearchIndex(@NonNull Map<Integer, Entry> entries) {
+        mEntries = entries;
+    }
+
+    /**
+     * Returns an index of the passed sites, only normalizing sites which were added or changed since this
+     * index was created
+     */
+    @NonNull SiteSearchIndex update(@NonNull List<SiteRecord> sites) {
+        Map<Integer, Entry> entries = new HashMap<>(sites.size());
+        for (SiteRecord site : sites) {
+            Entry entry = mEntries.get(site.getLocalId());
+            if (entry == null || !entry.isFor(site)) {
+                entry = new Entry(site);
+            }
+            entries.put(site.getLocalId(), entry);
+        }
+        return new SiteSearchIndex(entries);
+    }
+
+    /**
+     * Returns the sites in the passed list which match the query. The passed list must not be modified once it
+     * has been searched, since the next search may only look at the matches of this one.
+     */
+    @NonNull SiteList search(@NonNull SiteList sites, @NonNull String query) {
+        Query normalizedQuery = new Query(query);
+        if (normalizedQuery.isEmpty()) {
+            mLastSites = null;
+            SiteList allSites = new SiteList();
+            allSites.addAll(sites);
+            return allSites;
+        }
+
+        SiteList candidates = sites;
+        if (sites == mLastSites && mLastQuery != null && query.startsWith(mLastQuery)) {
+            // every site matching the extended query also matched the previous one
+            candidates = mLastMatches;
+        }
+
+        SiteList matches = new SiteList();
+        for (SiteRecord site : candidates) {
+            if (getEntry(site).matches(normalizedQuery)) {
+                matches.add(site);
+            }
+        }
+
+        mLastSites = sites;
+        mLastQuery = query;
+        mLastMatches = matches;
+
+        return rankPrefixMatchesFirst(matches, normalizedQuery);
+    }
+
+    @NonNull private SiteList rankPrefixMatchesFirst(@NonNull SiteList matches, @NonNull Query query) {
+        SiteList ranked = new SiteList();
+        SiteList others = new SiteList();
+        for (SiteRecord site : matches) {
+            if (getEntry(site).isPrefixMatch(query)) {
+                ranked.add(site);
+            } else {
+                others.add(site);
+            }
+        }
+        ranked.addAll(others);
+        return ranked;
+    }
+
+    @NonNull private Entry getEntry(@NonNull SiteRecord site) {
+        Entry entry = mEntries.get(site.getLocalId());
+        return entry != null && entry.isFor(site) ? entry : new Entry(site);
+    }
+
+    private static class Entry {
+        private final String mBlogName;
+        private final String mHomeURL;
+        private final String mNormalizedName;
+        private final String mNormalizedHost;
+
+        Entry(@NonNull SiteRecord site) {
+            mBlogName = StringUtils.notNullStr(site.getBlogName());
+            mHomeURL = StringUtils.notNullStr(site.getHomeURL());
+            mNormalizedName = mBlogName.toLowerCase(Locale.getDefault());
+            mNormalizedHost = mHomeURL.toLowerCase(Locale.ROOT);
+        }
+
+        boolean isFor(@NonNull SiteRecord site) {
+            return mBlogName.equals(StringUtils.notNullStr(site.getBlogName()))
+                   && mHomeURL.equals(StringUtils.notNullStr(site.getHomeURL()));
+        }
+
+        boolean matches(@NonNull Query query) {
+            for (int i = 0; i < query.mNameWords.length; i++) {
+                if (!mNormalizedName.contains(query.mNameWords[i])
+                    && !mNormalizedHost.contains(query.mHostWords[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isPrefixMatch(@NonNull Query query) {
+            return mNormalizedName.startsWith(query.mName)
+                   || mNormalizedName.contains(query.mNameWordStart)
+                   || mNormalizedHost.startsWith(query.mHost);
+        }
+    }
+
+    /**
+     * The query lowercased the same way as site names and hosts, and split into words
+     */
+    private static class Query {
+        private final String mName;
+        private final String mNameWordStart;
+        private final String mHost;
+        private final String[] mNameWords;
+        private final String[] mHostWords;
+
+        Query(@NonNull String query) {
+            mName = query.trim().toLowerCase(Locale.getDefault());
+            mNameWordStart = " " + mName;
+            mHost = query.trim().toLowerCase(Locale.ROOT);
+            mNameWords = split(mName);
+            String[] hostWords = split(mHost);
+            // lowercasing with the default locale can't split words, but fall back to the name's words if it did
+            mHostWords = hostWords.length == mNameWords.length ? hostWords : mNameWords;
+        }
+
+        boolean isEmpty() {
+            return mNameWords.length == 0;
+        }
+
+        private static String[] split(@NonNull String text) {
+            return text.isEmpty() ? new String[0] : text.split("\\s+");
+        }
+    }
+}
@@ -478,7 +478,7 @@ public class MediaGridAdapter extends RecyclerView.Adapter<MediaGridAdapter.Grid
             return;
         }
 
-        new Thread() {
+        WordPress.sBackgroundExecutor.executeParse(new Runnable() {
             @Override
             public void run() {
                 final Bitmap thumb =
@@ -500,7 +500,7 @@ public class MediaGridAdapter extends RecyclerView.Adapter<MediaGridAdapter.Grid
                     });
                 }
             }
-        }.start();
+        });
     }
 
     public boolean isEmpty() {
@@ -5,6 +5,8 @@ import androidx.annotation.Nullable;
 import org.wordpress.android.fluxc.model.PostModel;
 import org.wordpress.android.util.helpers.MediaFile;
 
+import java.util.Map;
+
 /**
  * Callbacks - requests for editor capabilities to replace media once it's finished uploading
  * and mark media failed if could not be uploaded
@@ -12,5 +14,7 @@ import org.wordpress.android.util.helpers.MediaFile;
 public interface MediaUploadReadyListener {
     PostModel replaceMediaFileWithUrlInPost(@Nullable PostModel post, String localMediaId, MediaFile mediaFile,
                                             String siteUrl);
+    PostModel replaceMediaFilesWithUrlsInPost(@Nullable PostModel post, Map<String, MediaFile> mediaFiles,
+                                              String siteUrl);
     PostModel markMediaUploadFailedInPost(@Nullable PostModel post, String localMediaId, MediaFile mediaFile);
 }
@@ -0,0 +1,49 @@
+package org.wordpress.android.ui.mediapicker.loader
+
+/**
+ * A list which only grows at its end. The items are kept in fixed size chunks, so adding a page never copies the
+ * items added before it, and the snapshots returned by [snapshot] stay valid while more items are added.
+ */
+class AppendOnlyList<T>(private val chunkSize: Int = DEFAULT_CHUNK_SIZE) {
+    private val chunks = mutableListOf<Array<Any?>>()
+    var size = 0
+        private set
+
+    fun add(item: T) {
+        if (size == chunks.size * chunkSize) {
+            chunks.add(arrayOfNulls(chunkSize))
+        }
+        chunks[size / chunkSize][size % chunkSize] = item
+        size++
+    }
+
+    fun addAll(items: Iterable<T>) {
+        items.forEach { add(it) }
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    operator fun get(index: Int): T {
+        if (index < 0 || index >= size) {
+            throw IndexOutOfBoundsException("Index: $index, size: $size")
+        }
+        return chunks[index / chunkSize][index % chunkSize] as T
+    }
+
+    /**
+     * Returns a read-only view of the items added so far, which isn't affected by the items added later
+     */
+    fun snapshot(): List<T> = Snapshot(size)
+
+    private inner class Snapshot(override val size: Int) : AbstractList<T>() {
+        override fun get(index: Int): T {
+            if (index < 0 || index >= size) {
+                throw IndexOutOfBoundsException("Index: $index, size: $size")
+            }
+            return this@AppendOnlyList[index]
+        }
+    }
+
+    companion object {
+        private const val DEFAULT_CHUNK_SIZE = 256
+    }
+}
@@ -30,6 +30,7 @@ class DeviceListBuilder(
 ) : MediaSource {
     private val mimeTypes = MimeTypes()
     private val cache = mutableMapOf<MediaType, Result>()
+    private var timeline = AppendOnlyList<MediaItem>()
 
     override suspend fun load(
         forced: Boolean,
@@ -38,10 +39,10 @@ class DeviceListBuilder(
     ): MediaLoadingResult {
         if (!loadMore) {
             cache.clear()
+            timeline = AppendOnlyList()
         }
         val lowerCaseFilter = filter?.toLowerCase(localeManagerWrapper.getLocale())
         return withContext(bgDispatcher) {
-            val mediaItems = mutableListOf<MediaItem>()
             val deferredJobs = mediaTypes.map { mediaType ->
                 when (mediaType) {
                     IMAGE, VIDEO, AUDIO -> async {
@@ -70,17 +71,25 @@ class DeviceListBuilder(
                     timestamp
                 }
             }
-            // Here we filter out all the items older than the selected last visible item
-            results.forEach { (mediaType, result) ->
+            // Here we filter out all the items older than the selected last visible item. The threshold only moves
+            // back in time, so the items which become visible are all older than the ones already in the timeline
+            // and they're merged at its end.
+            val newlyVisibleItems = results.mapNotNull { (mediaType, result) ->
                 if (result != null) {
-                    val visibleItems = result.items.takeWhile { it.dataModified >= lastShownTimestamp }
-                    cache[mediaType] = result.copy(visibleItems = visibleItems.size)
-                    mediaItems.addAll(visibleItems)
+                    var visibleItems = result.visibleItems
+                    while (visibleItems < result.items.size &&
+                            result.items[visibleItems].dataModified >= lastShownTimestamp) {
+                        visibleItems++
+                    }
+                    cache[mediaType] = result.copy(visibleItems = visibleItems)
+                    VisibleRange(result.items, result.visibleItems, visibleItems)
+                } else {
+                    null
                 }
             }
-            mediaItems.sortByDescending { it.dataModified }
-            if (filter.isNullOrEmpty() || mediaItems.isNotEmpty()) {
-                MediaLoadingResult.Success(mediaItems, lastShownTimestamp > 0L)
+            mergeIntoTimeline(newlyVisibleItems)
+            if (filter.isNullOrEmpty() || timeline.size > 0) {
+                MediaLoadingResult.Success(timeline.snapshot(), lastShownTimestamp > 0L)
             } else {
                 Empty(
                         UiStringRes(R.string.media_empty_search_list),
@@ -97,15 +106,14 @@ class DeviceListBuilder(
         val lastDateModified = cache[mediaType]?.nextTimestamp
         val deviceMediaList = deviceMediaLoader.loadMedia(mediaType, filter, pageSize, lastDateModified)
         val result = deviceMediaList.items.mapNotNull {
-            val mimeType = deviceMediaLoader.getMimeType(it.uri)
+            val mimeType = it.mimeType ?: deviceMediaLoader.getMimeType(it.uri)
             if (MediaUtils.isSupportedMimeType(mimeType)) {
                 MediaItem(LocalUri(it.uri), it.uri.toString(), it.title, mediaType, mimeType, it.dateModified)
             } else {
                 null
             }
         }
-        addPage(mediaType, result, deviceMediaList.next)
-        return cache[mediaType]
+        return cache[mediaType].addPage(result, deviceMediaList.next)
     }
 
     private suspend fun loadDownloads(filter: String?): Result? = withContext(bgDispatcher) {
@@ -116,7 +124,7 @@ class DeviceListBuilder(
         val documentsList = deviceMediaLoader.loadDocuments(filter, pageSize, lastDateModified)
 
         val filteredPage = documentsList.items.mapNotNull { document ->
-            val mimeType = deviceMediaLoader.getMimeType(document.uri)
+            val mimeType = document.mimeType ?: deviceMediaLoader.getMimeType(document.uri)
             if (mimeType != null && mimeTypes.isSupportedApplicationType(mimeType)) {
                 MediaItem(
                         LocalUri(document.uri),
@@ -130,17 +138,47 @@ class DeviceListBuilder(
                 null
             }
         }
-        addPage(DOCUMENT, filteredPage, documentsList.next)
-        return@withContext cache[DOCUMENT]
+        return@withContext cache[DOCUMENT].addPage(filteredPage, documentsList.next)
     }
 
-    private fun addPage(mediaType: MediaType, page: List<MediaItem>, nextTimestamp: Long?) {
-        val newData = cache[mediaType]?.items?.toMutableList() ?: mutableListOf()
-        newData.addAll(page)
-        cache[mediaType] = Result(newData, nextTimestamp)
+    // The pages are loaded in parallel, so they're only added to the cache once they've all been loaded
+    private fun Result?.addPage(page: List<MediaItem>, nextTimestamp: Long?): Result {
+        val items = this?.items ?: AppendOnlyList()
+        items.addAll(page)
+        return Result(items, nextTimestamp, this?.visibleItems ?: 0)
     }
 
-    data class Result(val items: List<MediaItem>, val nextTimestamp: Long? = null, val visibleItems: Int = 0)
+    // Every range is sorted from the newest item, so the newest of their first items is the next one in the timeline
+    private fun mergeIntoTimeline(ranges: List<VisibleRange>) {
+        while (true) {
+            var newest: VisibleRange? = null
+            for (range in ranges) {
+                if (range.hasNext() && (newest == null || range.peek().dataModified > newest.peek().dataModified)) {
+                    newest = range
+                }
+            }
+            if (newest == null) {
+                return
+            }
+            timeline.add(newest.next())
+        }
+    }
+
+    data class Result(
+        val items: AppendOnlyList<MediaItem>,
+        val nextTimestamp: Long? = null,
+        val visibleItems: Int = 0
+    )
+
+    private class VisibleRange(private val items: AppendOnlyList<MediaItem>, start: Int, private val end: Int) {
+        private var position = start
+
+        fun hasNext() = position < end
+
+        fun peek() = items[position]
+
+        fun next() = items[position++]
+    }
 
     // We only want to show more data if there isn't already a page loaded that wasn't shown before
     private fun Result?.shouldLoadMoreData(): Boolean {
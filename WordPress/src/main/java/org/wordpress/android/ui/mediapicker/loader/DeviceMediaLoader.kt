@@ -37,7 +37,7 @@ class DeviceMediaLoader
             else -> throw IllegalArgumentException("Cannot load media for selected type $mediaType")
         }
         val result = mutableListOf<DeviceMediaItem>()
-        val projection = arrayOf(ID_COL, ID_DATE_MODIFIED, ID_TITLE)
+        val projection = arrayOf(ID_COL, ID_DATE_MODIFIED, ID_TITLE, ID_MIME_TYPE)
         var cursor: Cursor? = null
         val dateCondition = if (limitDate != null && limitDate != 0L) {
             "$ID_DATE_MODIFIED <= \'$limitDate\'"
@@ -64,15 +64,18 @@ class DeviceMediaLoader
             val idIndex = cursor.getColumnIndexOrThrow(ID_COL)
             val dateIndex = cursor.getColumnIndexOrThrow(ID_DATE_MODIFIED)
             val titleIndex = cursor.getColumnIndexOrThrow(ID_TITLE)
+            val mimeTypeIndex = cursor.getColumnIndexOrThrow(ID_MIME_TYPE)
             while (cursor.moveToNext()) {
                 val id = cursor.getLong(idIndex)
                 val dateModified = cursor.getLong(dateIndex)
                 val title = cursor.getString(titleIndex)
+                val mimeType = cursor.getString(mimeTypeIndex)
                 val uri = Uri.withAppendedPath(baseUri, "" + id)
                 val item = DeviceMediaItem(
                         UriWrapper(uri),
                         title,
-                        dateModified
+                        dateModified,
+                        mimeType
                 )
                 result.add(item)
             }
@@ -106,7 +109,8 @@ class DeviceMediaLoader
             DeviceMediaItem(
                     UriWrapper(uri),
                     file.name,
-                    file.lastModifiedInSecs()
+                    file.lastModifiedInSecs(),
+                    getMimeTypeForExtension(uri)
             )
         }
         return DeviceMediaList(result, nextItem)
@@ -118,18 +122,32 @@ class DeviceMediaLoader
         return if (uri.uri.scheme == ContentResolver.SCHEME_CONTENT) {
             context.contentResolver.getType(uri.uri)
         } else {
-            val fileExtension: String = MimeTypeMap.getFileExtensionFromUrl(uri.uri.toString())
-            mimeTypes.getMimeTypeForExtension(fileExtension)
+            getMimeTypeForExtension(uri.uri)
         }
     }
 
+    private fun getMimeTypeForExtension(uri: Uri): String? {
+        val fileExtension: String = MimeTypeMap.getFileExtensionFromUrl(uri.toString())
+        return mimeTypes.getMimeTypeForExtension(fileExtension)
+    }
+
     data class DeviceMediaList(val items: List<DeviceMediaItem>, val next: Long? = null)
 
-    data class DeviceMediaItem(val uri: UriWrapper, val title: String, val dateModified: Long)
+    /**
+     * The MIME type is read along with the rest of the item when it's available, so the items don't have to be
+     * resolved one by one with [getMimeType]
+     */
+    data class DeviceMediaItem(
+        val uri: UriWrapper,
+        val title: String,
+        val dateModified: Long,
+        val mimeType: String? = null
+    )
 
     companion object {
         private const val ID_COL = Media._ID
         private const val ID_DATE_MODIFIED = MediaColumns.DATE_MODIFIED
         private const val ID_TITLE = MediaColumns.TITLE
+        private const val ID_MIME_TYPE = MediaColumns.MIME_TYPE
     }
 }
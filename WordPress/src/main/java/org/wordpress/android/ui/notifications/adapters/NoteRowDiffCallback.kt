@@ -0,0 +1,31 @@
+package org.wordpress.android.ui.notifications.adapters
+
+import androidx.recyclerview.widget.DiffUtil
+
+class NoteRowDiffCallback(
+    private val oldList: List<NoteRowState>,
+    private val newList: List<NoteRowState>
+) : DiffUtil.Callback() {
+    override fun areItemsTheSame(oldItemPosition: Int, newItemPosition: Int): Boolean {
+        val oldId = oldList[oldItemPosition].noteId
+        return oldId != null && oldId == newList[newItemPosition].noteId
+    }
+
+    override fun areContentsTheSame(oldItemPosition: Int, newItemPosition: Int): Boolean {
+        val oldItem = oldList[oldItemPosition]
+        val newItem = newList[newItemPosition]
+        // a row also changes when its time group header is shown or hidden because of the row above it
+        return oldItem.hash == newItem.hash &&
+                oldItem.timeGroup == newItem.timeGroup &&
+                NotesAdapter.isHeaderShown(oldList, oldItemPosition) ==
+                NotesAdapter.isHeaderShown(newList, newItemPosition)
+    }
+
+    override fun getOldListSize(): Int {
+        return oldList.size
+    }
+
+    override fun getNewListSize(): Int {
+        return newList.size
+    }
+}
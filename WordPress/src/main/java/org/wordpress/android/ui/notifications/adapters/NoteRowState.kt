@@ -0,0 +1,26 @@
+package org.wordpress.android.ui.notifications.adapters
+
+import android.text.Spanned
+import org.wordpress.android.models.Note.NoteTimeGroup
+
+/**
+ * The values a row of the notifications list shows for a note, computed off the main thread by
+ * [NoteRowStateBuilder] so binding a row doesn't need to format the note again.
+ *
+ * @param hash identifies the version of the note the row was built from, see [NoteRowStateBuilder.hashNote]
+ * @param subject the formatted subject, trimmed and already indented when there's a [subjectNoticon]
+ */
+data class NoteRowState(
+    val noteId: String?,
+    val hash: Int,
+    val timestamp: Long,
+    val timeGroup: NoteTimeGroup,
+    val subject: Spanned,
+    val isSubjectRtl: Boolean,
+    val subjectNoticon: String,
+    val snippet: String,
+    val avatarUrl: String,
+    val gridicon: Int,
+    val isUnread: Boolean,
+    val isUnapproved: Boolean
+)
@@ -0,0 +1,127 @@
+package org.wordpress.android.ui.notifications.adapters
+
+import android.content.Context
+import android.text.Spanned
+import android.text.TextUtils
+import androidx.core.content.ContextCompat
+import androidx.core.text.BidiFormatter
+import org.wordpress.android.R
+import org.wordpress.android.fluxc.model.CommentStatus
+import org.wordpress.android.models.Note
+import org.wordpress.android.models.NoticonUtils
+import org.wordpress.android.ui.comments.CommentUtils
+import org.wordpress.android.ui.notifications.blocks.NoteBlockClickableSpan
+import org.wordpress.android.ui.notifications.utils.NotificationsUtilsWrapper
+import org.wordpress.android.util.GravatarUtils
+import org.wordpress.android.util.getColorFromAttribute
+
+/**
+ * Builds the [NoteRowState] of each note shown in the notifications list. Rows are memoized by note id and
+ * hash, so reloading the list only formats the notes which are new or have changed since the last load.
+ * Can be called from any thread.
+ */
+class NoteRowStateBuilder(
+    context: Context,
+    private val notificationsUtilsWrapper: NotificationsUtilsWrapper,
+    private val noticonUtils: NoticonUtils,
+    private val avatarSize: Int,
+    private val textIndentSize: Int
+) {
+    // the colors NoteBlockClickableSpan.enableColors() sets, resolved once rather than for every span
+    private val textColor = context.getColorFromAttribute(R.attr.colorOnSurface)
+    private val backgroundColor = ContextCompat.getColor(context, R.color.primary_5)
+    private val linkColor = context.getColorFromAttribute(R.attr.colorPrimary)
+    private val lightTextColor = context.getColorFromAttribute(R.attr.colorOnSurface)
+
+    private val rows = HashMap<String, NoteRowState>()
+
+    @Synchronized
+    fun build(notes: List<Note>): List<NoteRowState> = notes.map { build(it) }
+
+    @Synchronized
+    fun build(note: Note): NoteRowState {
+        val noteId = note.id
+        val hash = hashNote(note)
+        // the time group depends on the current date, so it's the one value which can change for the same note
+        val timeGroup = Note.getTimeGroupForTimestamp(note.timestamp)
+        val cachedRow = noteId?.let { rows[it] }
+        if (cachedRow != null && cachedRow.hash == hash) {
+            return if (cachedRow.timeGroup == timeGroup) cachedRow else cachedRow.copy(timeGroup = timeGroup)
+        }
+
+        val row = buildRow(note, hash, timeGroup)
+        if (noteId != null) {
+            rows[noteId] = row
+        }
+        return row
+    }
+
+    /**
+     * Forgets the rows of the notes which aren't in the passed list, called when the whole list is reloaded
+     */
+    @Synchronized
+    fun retainOnly(notes: List<Note>) {
+        val noteIds = notes.mapNotNullTo(HashSet()) { it.id }
+        rows.keys.retainAll(noteIds)
+    }
+
+    private fun buildRow(note: Note, hash: Int, timeGroup: Note.NoteTimeGroup): NoteRowState {
+        // Subject is stored in db as html to preserve text formatting
+        val formattedSubject = note.getFormattedSubject(notificationsUtilsWrapper)
+        // Trim the '\n\n' added by Html.fromHtml()
+        var subject = formattedSubject.subSequence(0, TextUtils.getTrimmedLength(formattedSubject)) as Spanned
+        subject.getSpans(0, subject.length, NoteBlockClickableSpan::class.java).forEach {
+            it.setColors(textColor, backgroundColor, linkColor, lightTextColor)
+        }
+
+        val subjectNoticon = note.commentSubjectNoticon.orEmpty()
+        val isSubjectRtl = BidiFormatter.getInstance().isRtl(subject)
+        if (subjectNoticon.isNotEmpty()) {
+            subject = CommentUtils.indentFirstLine(subject, textIndentSize)
+        }
+
+        var commentStatus = if (note.commentStatus == CommentStatus.UNAPPROVED) {
+            CommentStatus.UNAPPROVED
+        } else {
+            CommentStatus.ALL
+        }
+        if (!TextUtils.isEmpty(note.localStatus)) {
+            commentStatus = CommentStatus.fromString(note.localStatus)
+        }
+
+        return NoteRowState(
+                noteId = note.id,
+                hash = hash,
+                timestamp = note.timestamp,
+                timeGroup = timeGroup,
+                subject = subject,
+                isSubjectRtl = isSubjectRtl,
+                subjectNoticon = subjectNoticon,
+                snippet = note.commentSubject.orEmpty(),
+                avatarUrl = GravatarUtils.fixGravatarUrl(note.iconURL, avatarSize),
+                gridicon = noticonUtils.noticonToGridicon(note.noticonCharacter),
+                isUnread = note.isUnread,
+                isUnapproved = commentStatus == CommentStatus.UNAPPROVED
+        )
+    }
+
+    companion object {
+        /**
+         * Hashes the fields of the note a row is built from, so a row is rebuilt when any of them changes
+         */
+        fun hashNote(note: Note): Int {
+            val summary = note.summary
+            return arrayOf(
+                    summary.timestampString,
+                    summary.read,
+                    summary.iconUrl,
+                    summary.noticon,
+                    summary.subject,
+                    summary.commentSubject,
+                    summary.commentSubjectNoticon,
+                    summary.commentStatus,
+                    note.localStatus
+            ).contentHashCode()
+        }
+    }
+}
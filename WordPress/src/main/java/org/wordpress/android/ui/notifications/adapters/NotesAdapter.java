@@ -3,8 +3,6 @@ package org.wordpress.android.ui.notifications.adapters;
 import android.content.Context;
 import android.os.AsyncTask;
 import android.os.AsyncTask.Status;
-import android.text.Spanned;
-import android.text.TextUtils;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -12,22 +10,18 @@ import android.view.ViewParent;
 import android.widget.TextView;
 
 import androidx.core.graphics.ColorUtils;
-import androidx.core.text.BidiFormatter;
 import androidx.core.view.ViewCompat;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import org.wordpress.android.R;
 import org.wordpress.android.WordPress;
 import org.wordpress.android.datasets.NotificationsTable;
-import org.wordpress.android.fluxc.model.CommentStatus;
 import org.wordpress.android.models.Note;
 import org.wordpress.android.models.NoticonUtils;
-import org.wordpress.android.ui.comments.CommentUtils;
 import org.wordpress.android.ui.notifications.NotificationsListFragmentPage.OnNoteClickListener;
-import org.wordpress.android.ui.notifications.blocks.NoteBlockClickableSpan;
 import org.wordpress.android.ui.notifications.utils.NotificationsUtilsWrapper;
 import org.wordpress.android.util.ContextExtensionsKt;
-import org.wordpress.android.util.GravatarUtils;
 import org.wordpress.android.util.RtlUtils;
 import org.wordpress.android.util.image.ImageManager;
 import org.wordpress.android.util.image.ImageType;
@@ -40,14 +34,15 @@ import java.util.List;
 import javax.inject.Inject;
 
 public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHolder> {
-    private final int mAvatarSz;
     private final int mColorUnread;
-    private final int mTextIndentSize;
 
     private final DataLoadedListener mDataLoadedListener;
     private final OnLoadMoreListener mOnLoadMoreListener;
     private final ArrayList<Note> mNotes = new ArrayList<>();
     private final ArrayList<Note> mFilteredNotes = new ArrayList<>();
+    // the rows shown for mFilteredNotes, which are formatted ahead of binding them
+    private final ArrayList<NoteRowState> mFilteredRows = new ArrayList<>();
+    private final NoteRowStateBuilder mNoteRowStateBuilder;
     @Inject protected ImageManager mImageManager;
     @Inject protected NotificationsUtilsWrapper mNotificationsUtilsWrapper;
     @Inject protected NoticonUtils mNoticonUtils;
@@ -102,11 +97,12 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
         // will make things go south as in https://github.com/wordpress-mobile/WordPress-Android/issues/8741
         setHasStableIds(false);
 
-        mAvatarSz = (int) context.getResources().getDimension(R.dimen.notifications_avatar_sz);
         mColorUnread = ColorUtils
                 .setAlphaComponent(ContextExtensionsKt.getColorFromAttribute(context, R.attr.colorOnSurface),
                         context.getResources().getInteger(R.integer.selected_list_item_opacity));
-        mTextIndentSize = context.getResources().getDimensionPixelSize(R.dimen.notifications_text_indent_sz);
+        mNoteRowStateBuilder = new NoteRowStateBuilder(context, mNotificationsUtilsWrapper, mNoticonUtils,
+                (int) context.getResources().getDimension(R.dimen.notifications_avatar_sz),
+                context.getResources().getDimensionPixelSize(R.dimen.notifications_text_indent_sz));
     }
 
     public void setFilter(FILTERS newFilter) {
@@ -129,9 +125,17 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
         }
     }
 
+    /*
+     * rebuilds the filtered list and only updates the rows which changed - rows of notes which haven't changed
+     * since they were last shown come from the row builder's cache
+     */
     private void myNotifyDatasetChanged() {
         buildFilteredNotesList(mFilteredNotes, mNotes, mCurrentFilter);
-        notifyDataSetChanged();
+        List<NoteRowState> rows = mNoteRowStateBuilder.build(mFilteredNotes);
+        DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(new NoteRowDiffCallback(mFilteredRows, rows));
+        mFilteredRows.clear();
+        mFilteredRows.addAll(rows);
+        diffResult.dispatchUpdatesTo(this);
         if (mDataLoadedListener != null) {
             mDataLoadedListener.onDataLoaded(getItemCount());
         }
@@ -178,14 +182,21 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
         }
     }
 
-    private Note getNoteAtPosition(int position) {
+    private NoteRowState getRowAtPosition(int position) {
         if (isValidPosition(position)) {
-            return mFilteredNotes.get(position);
+            return mFilteredRows.get(position);
         }
 
         return null;
     }
 
+    /*
+     * the time group header is shown above the first row of each group
+     */
+    static boolean isHeaderShown(List<NoteRowState> rows, int position) {
+        return position == 0 || rows.get(position - 1).getTimeGroup() != rows.get(position).getTimeGroup();
+    }
+
     public void replaceNote(Note newNote) {
         if (newNote != null) {
             int position = getPositionForNoteUnfiltered(newNote.getId());
@@ -196,32 +207,25 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
     }
 
     private boolean isValidPosition(int position) {
-        return (position >= 0 && position < mFilteredNotes.size());
+        return (position >= 0 && position < mFilteredRows.size());
     }
 
     @Override
     public int getItemCount() {
-        return mFilteredNotes.size();
+        return mFilteredRows.size();
     }
 
     @Override
     public void onBindViewHolder(NoteViewHolder noteViewHolder, int position) {
-        final Note note = getNoteAtPosition(position);
-        if (note == null) {
+        final NoteRowState row = getRowAtPosition(position);
+        if (row == null) {
             return;
         }
-        noteViewHolder.mContentView.setTag(note.getId());
+        noteViewHolder.mContentView.setTag(row.getNoteId());
 
         // Display group header
-        Note.NoteTimeGroup timeGroup = Note.getTimeGroupForTimestamp(note.getTimestamp());
-
-        Note.NoteTimeGroup previousTimeGroup = null;
-        if (position > 0) {
-            Note previousNote = getNoteAtPosition(position - 1);
-            previousTimeGroup = Note.getTimeGroupForTimestamp(previousNote.getTimestamp());
-        }
-
-        if (previousTimeGroup != null && previousTimeGroup == timeGroup) {
+        Note.NoteTimeGroup timeGroup = row.getTimeGroup();
+        if (!isHeaderShown(mFilteredRows, position)) {
             noteViewHolder.mHeaderText.setVisibility(View.GONE);
             noteViewHolder.mHeaderDivider.setVisibility(View.GONE);
         } else {
@@ -241,35 +245,15 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
             }
         }
 
-        CommentStatus commentStatus = CommentStatus.ALL;
-        if (note.getCommentStatus() == CommentStatus.UNAPPROVED) {
-            commentStatus = CommentStatus.UNAPPROVED;
-        }
-
-        if (!TextUtils.isEmpty(note.getLocalStatus())) {
-            commentStatus = CommentStatus.fromString(note.getLocalStatus());
-        }
-
-        // Subject is stored in db as html to preserve text formatting
-        Spanned noteSubjectSpanned = note.getFormattedSubject(mNotificationsUtilsWrapper);
-        // Trim the '\n\n' added by Html.fromHtml()
-        noteSubjectSpanned =
-                (Spanned) noteSubjectSpanned.subSequence(0, TextUtils.getTrimmedLength(noteSubjectSpanned));
-
-        NoteBlockClickableSpan[] spans =
-                noteSubjectSpanned.getSpans(0, noteSubjectSpanned.length(), NoteBlockClickableSpan.class);
-        for (NoteBlockClickableSpan span : spans) {
-            span.enableColors(noteViewHolder.mContentView.getContext());
-        }
-
-        noteViewHolder.mTxtSubject.setText(noteSubjectSpanned);
+        // the subject is already formatted, and indented when there's a noticon
+        noteViewHolder.mTxtSubject.setText(row.getSubject());
 
-        String noteSubjectNoticon = note.getCommentSubjectNoticon();
-        if (!TextUtils.isEmpty(noteSubjectNoticon)) {
+        String noteSubjectNoticon = row.getSubjectNoticon();
+        if (!noteSubjectNoticon.isEmpty()) {
             ViewParent parent = noteViewHolder.mTxtSubject.getParent();
             // Fix position of the subject noticon in the RtL mode
             if (parent instanceof ViewGroup) {
-                int textDirection = BidiFormatter.getInstance().isRtl(noteViewHolder.mTxtSubject.getText())
+                int textDirection = row.isSubjectRtl()
                         ? ViewCompat.LAYOUT_DIRECTION_RTL : ViewCompat.LAYOUT_DIRECTION_LTR;
                 ViewCompat.setLayoutDirection((ViewGroup) parent, textDirection);
             }
@@ -277,15 +261,14 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
             if (RtlUtils.isRtl(noteViewHolder.itemView.getContext())) {
                 noteViewHolder.mTxtSubjectNoticon.setScaleX(-1);
             }
-            CommentUtils.indentTextViewFirstLine(noteViewHolder.mTxtSubject, mTextIndentSize);
             noteViewHolder.mTxtSubjectNoticon.setText(noteSubjectNoticon);
             noteViewHolder.mTxtSubjectNoticon.setVisibility(View.VISIBLE);
         } else {
             noteViewHolder.mTxtSubjectNoticon.setVisibility(View.GONE);
         }
 
-        String noteSnippet = note.getCommentSubject();
-        if (!TextUtils.isEmpty(noteSnippet)) {
+        String noteSnippet = row.getSnippet();
+        if (!noteSnippet.isEmpty()) {
             noteViewHolder.mTxtSubject.setMaxLines(2);
             noteViewHolder.mTxtDetail.setText(noteSnippet);
             noteViewHolder.mTxtDetail.setVisibility(View.VISIBLE);
@@ -294,14 +277,12 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
             noteViewHolder.mTxtDetail.setVisibility(View.GONE);
         }
 
-        String avatarUrl = GravatarUtils.fixGravatarUrl(note.getIconURL(), mAvatarSz);
-        mImageManager.loadIntoCircle(noteViewHolder.mImgAvatar, ImageType.AVATAR_WITH_BACKGROUND, avatarUrl);
+        mImageManager.loadIntoCircle(noteViewHolder.mImgAvatar, ImageType.AVATAR_WITH_BACKGROUND, row.getAvatarUrl());
 
-        boolean isUnread = note.isUnread();
+        boolean isUnread = row.isUnread();
 
-        int gridicon = mNoticonUtils.noticonToGridicon(note.getNoticonCharacter());
-        noteViewHolder.mImgAvatar.setBadgeIcon(gridicon);
-        if (commentStatus == CommentStatus.UNAPPROVED) {
+        noteViewHolder.mImgAvatar.setBadgeIcon(row.getGridicon());
+        if (row.isUnapproved()) {
             noteViewHolder.mImgAvatar.setBadgeBackground(R.drawable.bg_oval_warning_dark);
         } else if (isUnread) {
             noteViewHolder.mImgAvatar.setBadgeBackground(R.drawable.bg_oval_primary);
@@ -317,7 +298,7 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
 
         // request to load more comments when we near the end
         if (mOnLoadMoreListener != null && position >= getItemCount() - 1) {
-            mOnLoadMoreListener.onLoadMore(note.getTimestamp());
+            mOnLoadMoreListener.onLoadMore(row.getTimestamp());
         }
     }
 
@@ -357,7 +338,11 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
     private class ReloadNotesFromDBTask extends AsyncTask<Void, Void, ArrayList<Note>> {
         @Override
         protected ArrayList<Note> doInBackground(Void... voids) {
-            return NotificationsTable.getLatestNotes();
+            ArrayList<Note> notes = NotificationsTable.getLatestNotes();
+            // format the rows here so showing the notes on the main thread only reads them from the cache
+            mNoteRowStateBuilder.retainOnly(notes);
+            mNoteRowStateBuilder.build(notes);
+            return notes;
         }
 
         @Override
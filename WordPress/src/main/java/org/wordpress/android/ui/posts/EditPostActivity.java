@@ -3214,6 +3214,10 @@ public class EditPostActivity extends LocaleAwareActivity implements
         }
 
         if (event.isError()) {
+            if (UploadService.isPendingOrInProgressMediaUpload(event.media)) {
+                // the upload will be retried, keep showing it as uploading
+                return;
+            }
             mEditorMedia.onMediaUploadError(mEditorMediaUploadListener, event.media, event.error);
         } else if (event.completed) {
             // if the remote url on completed is null, we consider this upload wasn't successful
@@ -0,0 +1,282 @@
+package org.wordpress.android.ui.posts;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.collection.LruCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Index of the Gutenberg blocks in a post's content, built with a single scan of the block comments.
+ *
+ * Uploads check the same post content several times - whether it has blocks or story blocks, and whether each
+ * media is still in it - so the indexes are cached by content. Strings cache their hash code and compare equal
+ * by reference first, so looking up the index of content which was already indexed doesn't read it again.
+ */
+public class GutenbergBlockIndex {
+    private static final String BLOCK_START = "<!-- wp:";
+    private static final String BLOCK_END = "-->";
+    private static final String STORY_BLOCK_NAME = "jetpack/story";
+
+    // the total length of the indexed content kept in memory
+    private static final int MAX_CACHED_CONTENT_LENGTH = 512 * 1024;
+
+    private static final LruCache<String, GutenbergBlockIndex> CACHE =
+            new LruCache<String, GutenbergBlockIndex>(MAX_CACHED_CONTENT_LENGTH) {
+                @Override protected int sizeOf(@NonNull String content, @NonNull GutenbergBlockIndex index) {
+                    return Math.max(1, content.length());
+                }
+            };
+
+    private static final GutenbergBlockIndex EMPTY = new GutenbergBlockIndex(Collections.emptyList());
+
+    private final List<Block> mBlocks;
+    private final Set<String> mMediaIds = new HashSet<>();
+    private final boolean mHasStoryBlocks;
+
+    /**
+     * The opening comment of a block
+     */
+    public static class Block {
+        private final String mName;
+        private final int mStart;
+        private final int mEnd;
+        private final List<String> mMediaIds;
+
+        Block(@NonNull String name, int start, int end, @NonNull List<String> mediaIds) {
+            mName = name;
+            mStart = start;
+            mEnd = end;
+            mMediaIds = mediaIds;
+        }
+
+        /**
+         * Returns the block type, e.g. "image" or "jetpack/story"
+         */
+        @NonNull public String getName() {
+            return mName;
+        }
+
+        /**
+         * Returns the offset of the block's opening comment in the content
+         */
+        public int getStart() {
+            return mStart;
+        }
+
+        /**
+         * Returns the offset after the block's opening comment in the content
+         */
+        public int getEnd() {
+            return mEnd;
+        }
+
+        /**
+         * Returns the ids of the media in the block's attributes, for blocks which have media
+         */
+        @NonNull public List<String> getMediaIds() {
+            return mMediaIds;
+        }
+    }
+
+    private GutenbergBlockIndex(@NonNull List<Block> blocks) {
+        mBlocks = blocks;
+        boolean hasStoryBlocks = false;
+        for (Block block : blocks) {
+            mMediaIds.addAll(block.mMediaIds);
+            hasStoryBlocks |= block.mName.startsWith(STORY_BLOCK_NAME);
+        }
+        mHasStoryBlocks = hasStoryBlocks;
+    }
+
+    /**
+     * Returns the index of the passed content, which is only built if it isn't cached
+     */
+    @NonNull public static GutenbergBlockIndex of(@Nullable String content) {
+        if (content == null || content.isEmpty()) {
+            return EMPTY;
+        }
+        GutenbergBlockIndex index = CACHE.get(content);
+        if (index == null) {
+            index = new GutenbergBlockIndex(parseBlocks(content));
+            CACHE.put(content, index);
+        }
+        return index;
+    }
+
+    @NonNull public List<Block> getBlocks() {
+        return mBlocks;
+    }
+
+    public boolean hasBlocks() {
+        return !mBlocks.isEmpty();
+    }
+
+    public boolean hasStoryBlocks() {
+        return mHasStoryBlocks;
+    }
+
+    /**
+     * Returns true if an image, video, cover, media & text or gallery block refers to the passed media id
+     */
+    public boolean containsMedia(@Nullable String mediaId) {
+        return mMediaIds.contains(mediaId);
+    }
+
+    public boolean containsAnyMedia(@NonNull Collection<String> mediaIds) {
+        for (String mediaId : mediaIds) {
+            if (mMediaIds.contains(mediaId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @NonNull private static List<Block> parseBlocks(@NonNull String content) {
+        List<Block> blocks = new ArrayList<>();
+        int start = content.indexOf(BLOCK_START);
+        while (start != -1) {
+            int nameStart = start + BLOCK_START.length();
+            int nameEnd = nameStart;
+            while (nameEnd < content.length() && isNameChar(content, nameEnd)) {
+                nameEnd++;
+            }
+            int commentEnd = content.indexOf(BLOCK_END, nameEnd);
+            int end = commentEnd == -1 ? content.length() : commentEnd + BLOCK_END.length();
+
+            String name = content.substring(nameStart, nameEnd);
+            List<String> mediaIds = Collections.emptyList();
+            String mediaIdKey = getMediaIdKey(name);
+            if (mediaIdKey != null && commentEnd != -1) {
+                mediaIds = findMediaIds(content, nameEnd, commentEnd, mediaIdKey);
+            }
+            blocks.add(new Block(name, start, end, mediaIds));
+
+            start = content.indexOf(BLOCK_START, nameStart);
+        }
+        return blocks;
+    }
+
+    private static boolean isNameChar(@NonNull String content, int index) {
+        char c = content.charAt(index);
+        return !Character.isWhitespace(c) && c != '{' && !content.startsWith(BLOCK_END, index);
+    }
+
+    /**
+     * Returns the attribute holding the media ids of the blocks with the passed name, or null if they have no media
+     */
+    @Nullable private static String getMediaIdKey(@NonNull String blockName) {
+        switch (blockName) {
+            case "image":
+            case "video":
+            case "cover":
+                return "id";
+            case "media-text":
+                return "mediaId";
+            case "gallery":
+                return "ids";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the values of the passed top-level key of the json attributes between start and end, which are either
+     * a single id or an array of ids
+     */
+    @NonNull private static List<String> findMediaIds(@NonNull String content, int start, int end,
+                                                      @NonNull String key) {
+        List<String> ids = new ArrayList<>();
+        int depth = 0;
+        int i = start;
+        while (i < end) {
+            char c = content.charAt(i);
+            if (c == '"') {
+                int stringEnd = skipString(content, i, end);
+                int valueStart = skipWhitespace(content, stringEnd, end);
+                if (depth == 1 && valueStart < end && content.charAt(valueStart) == ':'
+                    && stringEnd - i - 2 == key.length() && content.startsWith(key, i + 1)) {
+                    addValues(content, skipWhitespace(content, valueStart + 1, end), end, ids);
+                    return ids;
+                }
+                i = stringEnd;
+                continue;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+            i++;
+        }
+        return ids;
+    }
+
+    /**
+     * Adds the scalar value at start, or each scalar value of the array at start
+     */
+    private static void addValues(@NonNull String content, int start, int end, @NonNull List<String> ids) {
+        boolean isArray = start < end && content.charAt(start) == '[';
+        int i = isArray ? start + 1 : start;
+        while (i < end) {
+            i = skipWhitespace(content, i, end);
+            if (i >= end || content.charAt(i) == ']') {
+                return;
+            }
+            int valueEnd;
+            String value;
+            if (content.charAt(i) == '"') {
+                valueEnd = skipString(content, i, end);
+                value = content.substring(i + 1, Math.max(i + 1, valueEnd - 1));
+            } else {
+                valueEnd = i;
+                while (valueEnd < end && ",]} ".indexOf(content.charAt(valueEnd)) == -1) {
+                    valueEnd++;
+                }
+                value = content.substring(i, valueEnd);
+            }
+            if (!value.isEmpty() && !value.equals("null")) {
+                ids.add(value);
+            }
+            if (!isArray) {
+                return;
+            }
+            i = skipWhitespace(content, valueEnd, end);
+            if (i < end && content.charAt(i) == ',') {
+                i++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the index after the json string starting at start
+     */
+    private static int skipString(@NonNull String content, int start, int end) {
+        int i = start + 1;
+        while (i < end) {
+            char c = content.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '"') {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return end;
+    }
+
+    private static int skipWhitespace(@NonNull String content, int start, int end) {
+        int i = start;
+        while (i < end && Character.isWhitespace(content.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+}
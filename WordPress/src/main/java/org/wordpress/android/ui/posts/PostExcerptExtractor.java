@@ -0,0 +1,181 @@
+package org.wordpress.android.ui.posts;
+
+import androidx.annotation.NonNull;
+
+import org.apache.commons.text.StringEscapeUtils;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts the visible text at the start of a post's content for the post list excerpt.
+ *
+ * Gives the same text as HtmlUtils.fastStripHtml(PostUtils.removeWPGallery(content)) with known shortcodes
+ * collapsed, but strips the gallery blocks, tags and shortcodes in a single scan which stops as soon as there's
+ * enough text, so long posts don't need to be processed in full to show the first few lines of them.
+ */
+class PostExcerptExtractor {
+    private static final String COMMENT_START = "<!--";
+    private static final String GALLERY_BLOCK_NAME = "wp:galler";
+    private static final Pattern GALLERY_END = Pattern.compile("wp:gallery\\s-->");
+
+    // "&thetasym;" and "&#x10FFFF;" are the longest entities
+    private static final int MAX_ENTITY_LENGTH = 10;
+    // how far to look for the closing brace of a shortcode
+    private static final int MAX_SHORTCODE_LENGTH = 1024;
+
+    private final String mHtml;
+    private final int mLength;
+    private final Matcher mGalleryEnd;
+    private final Matcher mShortcode;
+    private final StringBuilder mText = new StringBuilder();
+
+    // set once there's nothing left to find, so malformed html is still only scanned once
+    private boolean mHasGalleryEnd = true;
+    private boolean mHasTagEnd = true;
+
+    private PostExcerptExtractor(@NonNull String html) {
+        mHtml = html;
+        mLength = html.length();
+        mGalleryEnd = GALLERY_END.matcher(html);
+        mShortcode = PostUtils.SHORTCODE_PATTERN.matcher(html);
+    }
+
+    /**
+     * Returns the visible text of the passed html without leading whitespace. The scan stops at the first word
+     * break after minLength chars, so when the returned text is longer than minLength it's only the start of the
+     * text, which ends with a whitespace char.
+     */
+    @NonNull
+    static String extract(@NonNull String html, int minLength) {
+        return new PostExcerptExtractor(html).extract(minLength);
+    }
+
+    private String extract(int minLength) {
+        int i = 0;
+        while (i < mLength && !hasEnoughText(minLength)) {
+            char c = mHtml.charAt(i);
+            if (c == '<') {
+                int galleryEnd = findGalleryEnd(i);
+                if (galleryEnd != -1) {
+                    i = galleryEnd;
+                    continue;
+                }
+                int tagEnd = findTagEnd(i);
+                if (tagEnd != -1) {
+                    // paragraphs and line breaks start a new line
+                    if (mHtml.startsWith("p", i + 1) || mHtml.startsWith("br", i + 1)) {
+                        append('\n');
+                    }
+                    i = tagEnd + 1;
+                    continue;
+                }
+            } else if (c == '&') {
+                int entityEnd = findEntityEnd(i);
+                if (entityEnd != -1) {
+                    String entity = StringEscapeUtils.unescapeHtml4(mHtml.substring(i, entityEnd + 1));
+                    for (int j = 0; j < entity.length(); j++) {
+                        append(entity.charAt(j));
+                    }
+                    i = entityEnd + 1;
+                    continue;
+                }
+            } else if (c == '[') {
+                mShortcode.region(i, Math.min(mLength, i + MAX_SHORTCODE_LENGTH));
+                if (mShortcode.lookingAt() && PostUtils.isKnownShortcode(mShortcode.group(2))) {
+                    mText.append('[').append(mShortcode.group(2)).append(']');
+                    i = mShortcode.end();
+                    continue;
+                }
+            }
+            append(c);
+            i++;
+        }
+
+        return mText.toString();
+    }
+
+    /*
+     * the text is long enough once it ends with whitespace after minLength chars, since that's where the word
+     * the excerpt is cut at ends
+     */
+    private boolean hasEnoughText(int minLength) {
+        int length = mText.length();
+        return length > minLength
+               && Character.isWhitespace(mText.charAt(length - 1))
+               && !Character.isWhitespace(mText.charAt(length - 2));
+    }
+
+    /*
+     * appends the char unless it's leading whitespace, which HtmlUtils.fastStripHtml() trims
+     */
+    private void append(char c) {
+        if (mText.length() > 0 || !(Character.isWhitespace(c) || c == 160)) {
+            mText.append(c);
+        }
+    }
+
+    /*
+     * returns the index after the gallery block starting at the passed index, or -1 when there's no gallery
+     * block there, see PostUtils.removeWPGallery()
+     */
+    private int findGalleryEnd(int index) {
+        if (!mHasGalleryEnd || !isGalleryStart(index)) {
+            return -1;
+        }
+        if (mGalleryEnd.find(index + COMMENT_START.length() + 1 + GALLERY_BLOCK_NAME.length())) {
+            return mGalleryEnd.end();
+        }
+        mHasGalleryEnd = false;
+        return -1;
+    }
+
+    /*
+     * matches the start of PostUtils.removeWPGallery()'s regex, "<!--\swp:gallery?"
+     */
+    private boolean isGalleryStart(int index) {
+        int nameStart = index + COMMENT_START.length() + 1;
+        return mHtml.startsWith(COMMENT_START, index)
+               && nameStart <= mLength
+               && isRegexWhitespace(mHtml.charAt(nameStart - 1))
+               && mHtml.startsWith(GALLERY_BLOCK_NAME, nameStart);
+    }
+
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /*
+     * returns the index of the '>' which closes the tag starting at the passed index, or -1. Gallery blocks are
+     * removed before tags are stripped, so they're skipped here too.
+     */
+    private int findTagEnd(int index) {
+        int i = index + 1;
+        while (mHasTagEnd && i < mLength) {
+            char c = mHtml.charAt(i);
+            if (c == '>') {
+                return i;
+            }
+            int galleryEnd = c == '<' ? findGalleryEnd(i) : -1;
+            i = galleryEnd != -1 ? galleryEnd : i + 1;
+        }
+        mHasTagEnd = false;
+        return -1;
+    }
+
+    /*
+     * returns the index of the semicolon which ends the entity starting at the passed index, or -1
+     */
+    private int findEntityEnd(int index) {
+        int end = Math.min(mLength, index + MAX_ENTITY_LENGTH);
+        for (int i = index + 1; i < end; i++) {
+            char c = mHtml.charAt(i);
+            if (c == ';') {
+                return i;
+            } else if (c == '<' || c == '&' || Character.isWhitespace(c)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+}
@@ -6,6 +6,7 @@ import android.text.format.DateUtils;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.collection.LruCache;
 
 import org.apache.commons.lang3.StringUtils;
 import org.greenrobot.eventbus.EventBus;
@@ -29,7 +30,6 @@ import org.wordpress.android.ui.utils.UiString.UiStringText;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 import org.wordpress.android.util.DateTimeUtils;
-import org.wordpress.android.util.HtmlUtils;
 import org.wordpress.android.util.LocaleManager;
 import org.wordpress.android.util.SiteUtils;
 import org.wordpress.android.util.UrlUtils;
@@ -38,7 +38,6 @@ import org.wordpress.android.util.helpers.MediaFile;
 
 import java.text.BreakIterator;
 import java.text.DateFormat;
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
@@ -51,10 +50,13 @@ import java.util.regex.Pattern;
 
 public class PostUtils {
     private static final int MAX_EXCERPT_LEN = 150;
+    // excerpts are cached by post and version, so the post list doesn't extract them again when it's reloaded
+    private static final int MAX_CACHED_EXCERPTS = 500;
+    private static final LruCache<String, String> EXCERPT_CACHE = new LruCache<>(MAX_CACHED_EXCERPTS);
 
     private static final HashSet<String> SHORTCODE_TABLE = new HashSet<>();
+    static final Pattern SHORTCODE_PATTERN = Pattern.compile("(\\[ *([^ ]+) [^\\[\\]]*\\])");
 
-    private static final String GUTENBERG_BLOCK_START = "<!-- wp:";
     private static final int SRC_ATTRIBUTE_LENGTH_PLUS_ONE = 5;
     private static final String GB_IMG_BLOCK_HEADER_PLACEHOLDER = "<!-- wp:image {\"id\":%s";
     private static final String GB_IMG_BLOCK_CLASS_PLACEHOLDER = "class=\"wp-image-%s\"";
@@ -85,8 +87,7 @@ public class PostUtils {
         }
 
         String shortCode;
-        Pattern p = Pattern.compile("(\\[ *([^ ]+) [^\\[\\]]*\\])");
-        Matcher m = p.matcher(postContent);
+        Matcher m = SHORTCODE_PATTERN.matcher(postContent);
         StringBuffer sb = new StringBuffer();
         while (m.find()) {
             shortCode = m.group(2);
@@ -101,7 +102,7 @@ public class PostUtils {
         return sb.toString();
     }
 
-    private static boolean isKnownShortcode(String shortCode) {
+    static boolean isKnownShortcode(String shortCode) {
         if (shortCode == null) {
             return false;
         }
@@ -242,12 +243,26 @@ public class PostUtils {
         );
     }
 
+    /*
+     * returns the excerpt shown for the post in the post and page lists, with known shortcodes collapsed
+     */
     public static String getPostListExcerptFromPost(PostModel post) {
-        if (StringUtils.isEmpty(post.getExcerpt())) {
-            return makeExcerpt(post.getContent());
-        } else {
-            return makeExcerpt(post.getExcerpt());
+        String description = StringUtils.isEmpty(post.getExcerpt()) ? post.getContent() : post.getExcerpt();
+        if (StringUtils.isEmpty(description)) {
+            return null;
         }
+
+        // edits update one of the post's dates, and the length catches the rest without reading the whole text
+        String key = post.getId() + ":" + post.getLastModified() + ":" + post.getDateLocallyChanged()
+                     + ":" + description.length();
+        String excerpt = EXCERPT_CACHE.get(key);
+        if (excerpt == null) {
+            excerpt = makeExcerpt(description);
+            if (excerpt != null) {
+                EXCERPT_CACHE.put(key, excerpt);
+            }
+        }
+        return excerpt;
     }
 
 
@@ -266,7 +281,8 @@ public class PostUtils {
             return null;
         }
 
-        String s = HtmlUtils.fastStripHtml(removeWPGallery(description));
+        // only the start of long content is extracted, which is all the excerpt needs
+        String s = PostExcerptExtractor.extract(description, MAX_EXCERPT_LEN);
         if (s.length() < MAX_EXCERPT_LEN) {
             return trimEx(s);
         }
@@ -414,7 +430,7 @@ public class PostUtils {
     }
     */
     public static boolean contentContainsGutenbergBlocks(String postContent) {
-        return (postContent != null && postContent.contains(GUTENBERG_BLOCK_START));
+        return GutenbergBlockIndex.of(postContent).hasBlocks();
     }
 
     public static boolean shouldShowGutenbergEditor(boolean isNewPost, String postContent, SiteModel site) {
@@ -431,7 +447,8 @@ public class PostUtils {
 
     public static String replaceMediaFileWithUrlInGutenbergPost(@NonNull String postContent,
                                                  String localMediaId, MediaFile mediaFile, String siteUrl) {
-        if (mediaFile != null && contentContainsGutenbergBlocks(postContent)) {
+        // the processor only changes the blocks referring to the media, so skip it when there are none
+        if (mediaFile != null && GutenbergBlockIndex.of(postContent).containsMedia(localMediaId)) {
             String remoteUrl = org.wordpress.android.util.StringUtils
                     .notNullStr(Utils.escapeQuotes(mediaFile.getFileURL()));
             MediaUploadCompletionProcessor processor = new MediaUploadCompletionProcessor(localMediaId, mediaFile,
@@ -441,31 +458,23 @@ public class PostUtils {
         return postContent;
     }
 
-    public static boolean isMediaInGutenbergPostBody(@NonNull String postContent,
-                                            String localMediaId) {
-        List<String> patterns = new ArrayList<>();
-        // Regex for Image and Video blocks
-        patterns.add("<!-- wp:(?:image|video){1} \\{[^\\}]*\"id\":%s([^\\d\\}][^\\}]*)*\\} -->");
-        // Regex for Media&Text block
-        patterns.add("<!-- wp:media-text \\{[^\\}]*\"mediaId\":%s([^\\d\\}][^\\}]*)*\\} -->");
-        // Regex for Gallery block
-        patterns.add("<!-- wp:gallery \\{[^\\}]*\"ids\":\\[(?:\\d*,)*%s(?:,\\d*)*\\][^\\}]*\\} -->");
-
-        StringBuilder sb = new StringBuilder();
-        // Merge the patterns into one so we don't need to go over the post content multiple times
-        for (int i = 0; i < patterns.size(); i++) {
-            sb.append("(?:")
-              // insert the media id
-              .append(String.format(patterns.get(i), localMediaId))
-              .append(")");
-            boolean notLast = i != patterns.size() - 1;
-            if (notLast) {
-                sb.append("|");
-            }
+    /*
+     * replaces the local ids and urls of all the passed media (keyed by local media id) in a single pass
+     * over the post content, rather than processing the content once per media
+     */
+    public static String replaceMediaFilesWithUrlsInGutenbergPost(@NonNull String postContent,
+                                                                  @NonNull Map<String, MediaFile> mediaFiles,
+                                                                  String siteUrl) {
+        if (GutenbergBlockIndex.of(postContent).containsAnyMedia(mediaFiles.keySet())) {
+            MediaUploadCompletionProcessor processor = new MediaUploadCompletionProcessor(mediaFiles, siteUrl);
+            postContent = processor.processContent(postContent);
         }
+        return postContent;
+    }
 
-        Matcher matcher = Pattern.compile(sb.toString()).matcher(postContent);
-        return matcher.find();
+    public static boolean isMediaInGutenbergPostBody(@NonNull String postContent,
+                                            String localMediaId) {
+        return GutenbergBlockIndex.of(postContent).containsMedia(localMediaId);
     }
 
     public static boolean isPostInConflictWithRemote(PostImmutableModel post) {
@@ -585,6 +594,6 @@ public class PostUtils {
     }
 
     public static boolean contentContainsWPStoryGutenbergBlocks(String postContent) {
-        return (postContent != null && postContent.contains(WP_STORIES_GUTENBERG_BLOCK_START));
+        return GutenbergBlockIndex.of(postContent).hasStoryBlocks();
     }
 }
@@ -2,7 +2,6 @@ package org.wordpress.android.ui.posts;
 
 import android.app.Activity;
 import android.content.Context;
-import android.text.TextUtils;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -13,14 +12,16 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import org.apache.commons.text.StringEscapeUtils;
 import org.wordpress.android.R;
+import org.wordpress.android.WordPress;
 import org.wordpress.android.fluxc.model.TermModel;
+import org.wordpress.android.ui.suggestion.util.SuggestionIndex;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 
 public class TagsRecyclerViewAdapter extends RecyclerView.Adapter<TagsRecyclerViewAdapter.TagViewHolder> {
     private List<TermModel> mAllTags;
+    private volatile SuggestionIndex<TermModel> mTagIndex;
     private List<TermModel> mFilteredTags;
     private Context mContext;
     private TagSelectedListener mTagSelectedListener;
@@ -54,24 +55,21 @@ public class TagsRecyclerViewAdapter extends RecyclerView.Adapter<TagsRecyclerVi
 
     void setAllTags(List<TermModel> allTags) {
         mAllTags = allTags;
+        // indexed by the filter, which runs in the background
+        mTagIndex = null;
     }
 
     public void filter(final String text) {
         final List<TermModel> allTags = mAllTags;
-        new Thread(new Runnable() {
+        WordPress.sBackgroundExecutor.executeParse(new Runnable() {
             @Override
             public void run() {
-                final List<TermModel> filteredTags = new ArrayList<>();
-                if (TextUtils.isEmpty(text)) {
-                    filteredTags.addAll(allTags);
-                } else {
-                    for (TermModel tag : allTags) {
-                        if (tag.getName().toLowerCase(Locale.getDefault())
-                               .contains(text.toLowerCase(Locale.getDefault()))) {
-                            filteredTags.add(tag);
-                        }
-                    }
+                SuggestionIndex<TermModel> index = mTagIndex;
+                if (index == null || index.getSuggestions() != allTags) {
+                    index = SuggestionIndex.forTags(allTags);
+                    mTagIndex = index;
                 }
+                final List<TermModel> filteredTags = index.find(text, Integer.MAX_VALUE);
 
                 ((Activity) mContext).runOnUiThread(new Runnable() {
                     @Override
@@ -81,7 +79,7 @@ public class TagsRecyclerViewAdapter extends RecyclerView.Adapter<TagsRecyclerVi
                     }
                 });
             }
-        }).start();
+        });
     }
 
     class TagViewHolder extends RecyclerView.ViewHolder {
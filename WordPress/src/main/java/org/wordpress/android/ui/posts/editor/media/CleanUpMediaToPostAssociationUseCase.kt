@@ -28,10 +28,10 @@ class CleanUpMediaToPostAssociationUseCase @Inject constructor(
                     uploadStore.getCompletedMediaForPost(post) +
                     uploadStore.getUploadingMediaForPost(post)
 
+            val containsGutenbergBlocks = postUtilsWrapper.contentContainsGutenbergBlocks(post.content)
             mediaAssociatedWithPost
                     .filter { media ->
                         // Find media which is not in the post anymore
-                        val containsGutenbergBlocks = postUtilsWrapper.contentContainsGutenbergBlocks(post.content)
                         if (containsGutenbergBlocks) {
                             !postUtilsWrapper.isMediaInGutenbergPostBody(post.content, media.id.toString())
                         } else {
@@ -9,6 +9,8 @@ import org.jsoup.nodes.Document.OutputSettings;
 import org.wordpress.android.editor.Utils;
 import org.wordpress.android.util.helpers.MediaFile;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.regex.Matcher;
 
 import static org.wordpress.android.ui.posts.mediauploadcompletionprocessors.MediaUploadCompletionProcessorPatterns.PATTERN_BLOCK_CAPTURES;
@@ -27,13 +29,18 @@ abstract class BlockProcessor {
 //            https://stackoverflow.com/questions/26584974/keeping-html-boolean-attributes-in-their-original-form-when-parsing-with-jsoup
             .prettyPrint(false);
 
+    /**
+     * The local id, remote id and remote url of the media last selected via {@link #selectMediaFile(String)}
+     */
     String mLocalId;
     String mRemoteId;
     String mRemoteUrl;
 
+    final Map<String, MediaFile> mMediaFiles;
+
     private String mBlockName;
     private JsonObject mJsonAttributes;
-    private Document mBlockContentDocument;
+    private String mBlockContent;
     private String mClosingComment;
 
 
@@ -42,9 +49,33 @@ abstract class BlockProcessor {
      * @param mediaFile The mediaFile containing the remote id and remote url
      */
     BlockProcessor(String localId, MediaFile mediaFile) {
+        this(Collections.singletonMap(localId, mediaFile));
+    }
+
+    /**
+     * @param mediaFiles The mediaFiles containing the remote ids and remote urls, keyed by the local media id that
+     * needs replacement
+     */
+    BlockProcessor(Map<String, MediaFile> mediaFiles) {
+        mMediaFiles = mediaFiles;
+    }
+
+    /**
+     * Looks up the media with the given local id and, if it's one of the media being replaced, makes it the one
+     * referred to by {@link #mLocalId}, {@link #mRemoteId} and {@link #mRemoteUrl}.
+     *
+     * @param localId The local media id found in the block
+     * @return A boolean value indicating whether or not the local id matched one of the media being replaced
+     */
+    boolean selectMediaFile(String localId) {
+        MediaFile mediaFile = mMediaFiles.get(localId);
+        if (mediaFile == null) {
+            return false;
+        }
         mLocalId = localId;
         mRemoteId = mediaFile.getMediaId();
         mRemoteUrl = org.wordpress.android.util.StringUtils.notNullStr(Utils.escapeQuotes(mediaFile.getFileURL()));
+        return true;
     }
 
     private JsonObject parseJson(String blockJson) {
@@ -67,13 +98,13 @@ abstract class BlockProcessor {
         if (capturesFound) {
             mBlockName = captures.group(1);
             mJsonAttributes = parseJson(captures.group(2));
-            mBlockContentDocument = parseHTML(captures.group(3));
+            mBlockContent = captures.group(3);
             mClosingComment = captures.group(4);
             return true;
         } else {
             mBlockName = null;
             mJsonAttributes = null;
-            mBlockContentDocument = null;
+            mBlockContent = null;
             mClosingComment = null;
             return false;
         }
@@ -81,7 +112,8 @@ abstract class BlockProcessor {
 
     /**
      * Processes a block returning a raw content replacement string. If a match is not found for the block content, this
-     * method should return the original block contents unchanged.
+     * method should return the original block contents unchanged. The html content is only parsed once the json
+     * attributes have matched one of the media being replaced.
      *
      * @param block The raw block contents
      * @return A string containing content with ids and urls replaced
@@ -89,17 +121,20 @@ abstract class BlockProcessor {
     String processBlock(String block) {
         if (splitBlock(block)) {
             if (processBlockJsonAttributes(mJsonAttributes)) {
-                if (processBlockContentDocument(mBlockContentDocument)) {
-                    // return injected block
-                    return new StringBuilder()
+                Document blockContentDocument = parseHTML(mBlockContent);
+                if (processBlockContentDocument(blockContentDocument)) {
+                    String injectedBlock = new StringBuilder()
                             .append("<!-- wp:")
                             .append(mBlockName)
                             .append(" ")
                             .append(mJsonAttributes) // json parser output
                             .append(" -->\n")
-                            .append(mBlockContentDocument.body().html()) // HTML parser output
+                            .append(blockContentDocument.body().html()) // HTML parser output
                             .append(mClosingComment)
                             .toString();
+
+                    // return injected block, after replacing any other media being replaced within its inner blocks
+                    return mMediaFiles.size() > 1 ? processInnerBlock(injectedBlock) : injectedBlock;
                 }
             } else {
                 return processInnerBlock(block); // delegate to inner blocks if needed
@@ -123,8 +158,8 @@ abstract class BlockProcessor {
 
     /**
      * All concrete implementations must implement this method for the particular block type. The jsonAttributes object
-     * is a {@link JsonObject} parsed from the block header attributes. This object can be used to check for a match,
-     * and can be directly mutated if necessary.<br>
+     * is a {@link JsonObject} parsed from the block header attributes. This object can be used to check for a match
+     * (see {@link #selectMediaFile(String)}), and can be directly mutated if necessary.<br>
      * <br>
      * This method should return true to indicate success. Returning false will result in the block contents being
      * unmodified.
@@ -137,7 +172,8 @@ abstract class BlockProcessor {
     /**
      * This method can be optionally overriden by concrete implementations to delegate further processing via recursion
      * when {@link BlockProcessor#processBlockJsonAttributes(JsonObject)} returns false (i.e. the block did not match
-     * the local id being replaced). This is useful for implementing mutual recursion with
+     * any of the local ids being replaced), or after a matching block has been injected when more than one media is
+     * being replaced. This is useful for implementing mutual recursion with
      * {@link MediaUploadCompletionProcessor#processContent(String)} for block types that have media-containing blocks
      * within their inner content.<br>
      * <br>
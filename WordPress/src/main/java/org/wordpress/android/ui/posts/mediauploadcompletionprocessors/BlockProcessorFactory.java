@@ -25,17 +25,17 @@ class BlockProcessorFactory {
     }
 
     /**
-     * @param localId The local media id that needs replacement
-     * @param mediaFile The mediaFile containing the remote id and remote url
+     * @param mediaFiles The mediaFiles containing the remote ids and remote urls, keyed by the local media id that
+     * needs replacement
      * @param siteUrl The site url - used to generate the attachmentPage url
      * @return The factory instance - useful for chaining this method upon instantiation
      */
-    BlockProcessorFactory init(String localId, MediaFile mediaFile, String siteUrl) {
-        mMediaBlockTypeBlockProcessorMap.put(IMAGE, new ImageBlockProcessor(localId, mediaFile));
-        mMediaBlockTypeBlockProcessorMap.put(VIDEO, new VideoBlockProcessor(localId, mediaFile));
-        mMediaBlockTypeBlockProcessorMap.put(MEDIA_TEXT, new MediaTextBlockProcessor(localId, mediaFile));
-        mMediaBlockTypeBlockProcessorMap.put(GALLERY, new GalleryBlockProcessor(localId, mediaFile, siteUrl));
-        mMediaBlockTypeBlockProcessorMap.put(COVER, new CoverBlockProcessor(localId, mediaFile,
+    BlockProcessorFactory init(Map<String, MediaFile> mediaFiles, String siteUrl) {
+        mMediaBlockTypeBlockProcessorMap.put(IMAGE, new ImageBlockProcessor(mediaFiles));
+        mMediaBlockTypeBlockProcessorMap.put(VIDEO, new VideoBlockProcessor(mediaFiles));
+        mMediaBlockTypeBlockProcessorMap.put(MEDIA_TEXT, new MediaTextBlockProcessor(mediaFiles));
+        mMediaBlockTypeBlockProcessorMap.put(GALLERY, new GalleryBlockProcessor(mediaFiles, siteUrl));
+        mMediaBlockTypeBlockProcessorMap.put(COVER, new CoverBlockProcessor(mediaFiles,
                 mMediaUploadCompletionProcessor));
 
         return this;
@@ -7,6 +7,7 @@ import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.wordpress.android.util.helpers.MediaFile;
 
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -35,6 +36,12 @@ public class CoverBlockProcessor extends BlockProcessor {
         mMediaUploadCompletionProcessor = mediaUploadCompletionProcessor;
     }
 
+    public CoverBlockProcessor(Map<String, MediaFile> mediaFiles,
+                               MediaUploadCompletionProcessor mediaUploadCompletionProcessor) {
+        super(mediaFiles);
+        mMediaUploadCompletionProcessor = mediaUploadCompletionProcessor;
+    }
+
     @Override String processInnerBlock(String block) {
         Matcher innerMatcher = PATTERN_COVER_INNER.matcher(block);
         boolean innerCapturesFound = innerMatcher.find();
@@ -54,7 +61,7 @@ public class CoverBlockProcessor extends BlockProcessor {
 
     @Override boolean processBlockJsonAttributes(JsonObject jsonAttributes) {
         JsonElement id = jsonAttributes.get("id");
-        if (id != null && !id.isJsonNull() && id.getAsInt() == Integer.parseInt(mLocalId, 10)) {
+        if (id != null && !id.isJsonNull() && selectMediaFile(String.valueOf(id.getAsInt()))) {
             jsonAttributes.addProperty("id", Integer.parseInt(mRemoteId, 10));
             jsonAttributes.addProperty("url", mRemoteUrl);
 
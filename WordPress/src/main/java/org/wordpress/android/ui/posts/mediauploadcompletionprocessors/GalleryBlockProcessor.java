@@ -9,54 +9,75 @@ import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.wordpress.android.util.helpers.MediaFile;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 public class GalleryBlockProcessor extends BlockProcessor {
-    private String mAttachmentPageUrl;
+    private final String mSiteUrl;
     private String mLinkTo;
 
     /**
-     * Query selector for selecting the img element from gallery which needs processing
+     * Local ids of the gallery images matched by {@link #processBlockJsonAttributes(JsonObject)}, a gallery can
+     * contain several of the media being replaced
      */
-    private String mGalleryImageQuerySelector;
+    private final List<String> mMatchedLocalIds = new ArrayList<>();
 
     public GalleryBlockProcessor(String localId, MediaFile mediaFile, String siteUrl) {
-        super(localId, mediaFile);
-        mGalleryImageQuerySelector = new StringBuilder()
-                .append("img[data-id=\"")
-                .append(localId)
-                .append("\"]")
-                .toString();
-        mAttachmentPageUrl = mediaFile.getAttachmentPageURL(siteUrl);
+        this(Collections.singletonMap(localId, mediaFile), siteUrl);
+    }
+
+    public GalleryBlockProcessor(Map<String, MediaFile> mediaFiles, String siteUrl) {
+        super(mediaFiles);
+        mSiteUrl = siteUrl;
     }
 
+    /**
+     * Replaces each of the matched images on its own, so an image which can't be replaced (because it's missing
+     * from the gallery's html, for example) doesn't keep the others from being replaced
+     */
     @Override boolean processBlockContentDocument(Document document) {
+        boolean replaced = false;
+        for (String localId : mMatchedLocalIds) {
+            selectMediaFile(localId);
+            if (processGalleryImage(document, mMediaFiles.get(localId).getAttachmentPageURL(mSiteUrl))) {
+                replaced = true;
+            }
+        }
+        return replaced;
+    }
+
+    private boolean processGalleryImage(Document document, String attachmentPageUrl) {
         // select image element with our local id
-        Element targetImg = document.select(mGalleryImageQuerySelector).first();
+        Element targetImg = document.select(new StringBuilder()
+                .append("img[data-id=\"")
+                .append(mLocalId)
+                .append("\"]")
+                .toString()).first();
 
         // if a match is found, proceed with replacement
         if (targetImg != null) {
+            // leave the image as is if its parent anchor can't be updated
+            Element parent = targetImg.parent();
+            boolean hasParentAnchor = parent != null && parent.is("a") && mLinkTo != null;
+            if (hasParentAnchor && !mLinkTo.equals("media") && !mLinkTo.equals("attachment")) {
+                return false;
+            }
+
             // replace attributes
             targetImg.attr("src", mRemoteUrl);
             targetImg.attr("data-id", mRemoteId);
             targetImg.attr("data-full-url", mRemoteUrl);
-            targetImg.attr("data-link", mAttachmentPageUrl);
+            targetImg.attr("data-link", attachmentPageUrl);
 
             // replace class
             targetImg.removeClass("wp-image-" + mLocalId);
             targetImg.addClass("wp-image-" + mRemoteId);
 
             // set parent anchor href if necessary
-            Element parent = targetImg.parent();
-            if (parent != null && parent.is("a") && mLinkTo != null) {
-                switch (mLinkTo) {
-                    case "media":
-                        parent.attr("href", mRemoteUrl);
-                        break;
-                    case "attachment":
-                        parent.attr("href", mAttachmentPageUrl);
-                        break;
-                    default:
-                        return false;
-                }
+            if (hasParentAnchor) {
+                parent.attr("href", mLinkTo.equals("media") ? mRemoteUrl : attachmentPageUrl);
             }
 
             // return injected block
@@ -67,21 +88,20 @@ public class GalleryBlockProcessor extends BlockProcessor {
     }
 
     @Override boolean processBlockJsonAttributes(JsonObject jsonAttributes) {
+        mMatchedLocalIds.clear();
         JsonArray ids = jsonAttributes.getAsJsonArray("ids");
         if (ids == null || ids.isJsonNull()) {
             return false;
         }
         JsonElement linkTo = jsonAttributes.get("linkTo");
-        if (linkTo != null && !linkTo.isJsonNull()) {
-            mLinkTo = linkTo.getAsString();
-        }
+        mLinkTo = linkTo != null && !linkTo.isJsonNull() ? linkTo.getAsString() : null;
         for (int i = 0; i < ids.size(); i++) {
             JsonElement id = ids.get(i);
-            if (id != null && !id.isJsonNull() && id.getAsString().equals(mLocalId)) {
+            if (id != null && !id.isJsonNull() && selectMediaFile(id.getAsString())) {
                 ids.set(i, new JsonPrimitive(Integer.parseInt(mRemoteId, 10)));
-                return true;
+                mMatchedLocalIds.add(mLocalId);
             }
         }
-        return false;
+        return !mMatchedLocalIds.isEmpty();
     }
 }
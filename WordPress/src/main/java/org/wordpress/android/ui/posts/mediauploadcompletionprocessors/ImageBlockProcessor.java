@@ -7,11 +7,17 @@ import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.wordpress.android.util.helpers.MediaFile;
 
+import java.util.Map;
+
 public class ImageBlockProcessor extends BlockProcessor {
     public ImageBlockProcessor(String localId, MediaFile mediaFile) {
         super(localId, mediaFile);
     }
 
+    public ImageBlockProcessor(Map<String, MediaFile> mediaFiles) {
+        super(mediaFiles);
+    }
+
     @Override boolean processBlockContentDocument(Document document) {
         // select image element with our local id
         Element targetImg = document.select("img").first();
@@ -33,7 +39,7 @@ public class ImageBlockProcessor extends BlockProcessor {
 
     @Override boolean processBlockJsonAttributes(JsonObject jsonAttributes) {
         JsonElement id = jsonAttributes.get("id");
-        if (id != null && !id.isJsonNull() && id.getAsString().equals(mLocalId)) {
+        if (id != null && !id.isJsonNull() && selectMediaFile(id.getAsString())) {
             jsonAttributes.addProperty("id", Integer.parseInt(mRemoteId));
             return true;
         }
@@ -7,11 +7,17 @@ import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.wordpress.android.util.helpers.MediaFile;
 
+import java.util.Map;
+
 public class MediaTextBlockProcessor extends BlockProcessor {
     public MediaTextBlockProcessor(String localId, MediaFile mediaFile) {
         super(localId, mediaFile);
     }
 
+    public MediaTextBlockProcessor(Map<String, MediaFile> mediaFiles) {
+        super(mediaFiles);
+    }
+
     @Override boolean processBlockContentDocument(Document document) {
         // select image element with our local id
         Element targetImg = document.select("img").first();
@@ -46,7 +52,7 @@ public class MediaTextBlockProcessor extends BlockProcessor {
 
     @Override boolean processBlockJsonAttributes(JsonObject jsonAttributes) {
         JsonElement id = jsonAttributes.get("mediaId");
-        if (id != null && !id.isJsonNull() && id.getAsString().equals(mLocalId)) {
+        if (id != null && !id.isJsonNull() && selectMediaFile(id.getAsString())) {
             jsonAttributes.addProperty("mediaId", Integer.parseInt(mRemoteId));
             return true;
         }
@@ -2,11 +2,11 @@ package org.wordpress.android.ui.posts.mediauploadcompletionprocessors;
 
 import org.wordpress.android.util.helpers.MediaFile;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static org.wordpress.android.ui.posts.mediauploadcompletionprocessors.MediaUploadCompletionProcessorPatterns.PATTERN_BLOCK_HEADER;
-import static org.wordpress.android.ui.posts.mediauploadcompletionprocessors.MediaUploadCompletionProcessorPatterns.PATTERN_TEMPLATE_BLOCK_BOUNDARY;
 
 public class MediaUploadCompletionProcessor {
     private final BlockProcessorFactory mBlockProcessorFactory;
@@ -20,14 +20,27 @@ public class MediaUploadCompletionProcessor {
      * @param siteUrl The site url - used to generate the attachmentPage url
      */
     public MediaUploadCompletionProcessor(String localId, MediaFile mediaFile, String siteUrl) {
+        this(Collections.singletonMap(localId, mediaFile), siteUrl);
+    }
+
+    /**
+     * Processor used for replacing the local ids and urls of several media with their remote counterparts in a single
+     * pass over the content, e.g. after a batch of uploads for the same post has completed.
+     *
+     * @param mediaFiles The mediaFiles containing the remote ids and remote urls, keyed by the local media id that
+     * needs replacement
+     * @param siteUrl The site url - used to generate the attachmentPage url
+     */
+    public MediaUploadCompletionProcessor(Map<String, MediaFile> mediaFiles, String siteUrl) {
         mBlockProcessorFactory = new BlockProcessorFactory(this)
-                .init(localId, mediaFile, siteUrl);
+                .init(mediaFiles, siteUrl);
     }
 
     /**
      * Processes content to replace the local ids and local urls of media with remote ids and remote urls. This method
-     * delineates block boundaries for media-containing blocks and delegates further processing via itself and / or
-     * {@link #processBlock(String)}, via direct and mutual recursion, respectively.
+     * delineates block boundaries for media-containing blocks in a single scan of the content, writing unchanged
+     * content and processed blocks to the same output, and delegates further processing of each block to
+     * {@link #processBlock(String)}, which may in turn call this method for the inner content of the block.
      *
      * @param content The content to be processed
      * @return A string containing the processed content, or the original content if no match was found
@@ -35,33 +48,37 @@ public class MediaUploadCompletionProcessor {
     public String processContent(String content) {
         Matcher headerMatcher = PATTERN_BLOCK_HEADER.matcher(content);
 
-        int positionBlockStart, positionBlockEnd = content.length();
+        if (!headerMatcher.find()) {
+            return content;
+        }
+
+        StringBuilder output = new StringBuilder(content.length());
+        int positionCopyFrom = 0;
 
-        if (headerMatcher.find()) {
-            positionBlockStart = headerMatcher.start();
-            String blockType = headerMatcher.group(1);
-            Matcher blockBoundaryMatcher = Pattern.compile(String.format(PATTERN_TEMPLATE_BLOCK_BOUNDARY, blockType),
-                    Pattern.DOTALL).matcher(content.substring(headerMatcher.end()));
+        do {
+            int positionBlockStart = headerMatcher.start();
+            int positionBlockEnd = content.length();
+            MediaBlockType blockType = MediaBlockType.fromString(headerMatcher.group(1));
+            Matcher blockBoundaryMatcher = blockType.getBlockBoundaryPattern().matcher(content)
+                    .region(headerMatcher.end(), content.length());
 
             int nestLevel = 1;
 
             while (0 < nestLevel && blockBoundaryMatcher.find()) {
                 if (blockBoundaryMatcher.group(1).equals("/")) {
-                    positionBlockEnd = headerMatcher.end() + blockBoundaryMatcher.end();
+                    positionBlockEnd = blockBoundaryMatcher.end();
                     nestLevel--;
                 } else {
                     nestLevel++;
                 }
             }
 
-            return new StringBuilder()
-                    .append(content.substring(0, positionBlockStart))
-                    .append(processBlock(content.substring(positionBlockStart, positionBlockEnd)))
-                    .append(processContent(content.substring(positionBlockEnd)))
-                    .toString();
-        } else {
-            return content;
-        }
+            output.append(content, positionCopyFrom, positionBlockStart)
+                  .append(processBlock(content.substring(positionBlockStart, positionBlockEnd)));
+            positionCopyFrom = positionBlockEnd;
+        } while (positionCopyFrom < content.length() && headerMatcher.find(positionCopyFrom));
+
+        return output.append(content, positionCopyFrom, content.length()).toString();
     }
 
     /**
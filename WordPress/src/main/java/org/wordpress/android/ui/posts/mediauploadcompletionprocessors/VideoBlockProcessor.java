@@ -7,11 +7,17 @@ import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.wordpress.android.util.helpers.MediaFile;
 
+import java.util.Map;
+
 public class VideoBlockProcessor extends BlockProcessor {
     public VideoBlockProcessor(String localId, MediaFile mediaFile) {
         super(localId, mediaFile);
     }
 
+    public VideoBlockProcessor(Map<String, MediaFile> mediaFiles) {
+        super(mediaFiles);
+    }
+
     @Override boolean processBlockContentDocument(Document document) {
         // select video element with our local id
         Element targetVideo = document.select("video").first();
@@ -30,7 +36,7 @@ public class VideoBlockProcessor extends BlockProcessor {
 
     @Override boolean processBlockJsonAttributes(JsonObject jsonAttributes) {
         JsonElement id = jsonAttributes.get("id");
-        if (id != null && !id.isJsonNull() && id.getAsString().equals(mLocalId)) {
+        if (id != null && !id.isJsonNull() && selectMediaFile(id.getAsString())) {
             jsonAttributes.addProperty("id", Integer.parseInt(mRemoteId));
             return true;
         }
@@ -1,11 +1,12 @@
 package org.wordpress.android.ui.prefs;
 
-import android.content.SharedPreferences;
 import android.preference.PreferenceManager;
 import android.text.TextUtils;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Transformations;
 
 import org.wordpress.android.WordPress;
 import org.wordpress.android.analytics.AnalyticsTracker;
@@ -248,8 +249,20 @@ public class AppPrefs {
         SHOULD_SHOW_STORIES_INTRO,
     }
 
-    private static SharedPreferences prefs() {
-        return PreferenceManager.getDefaultSharedPreferences(WordPress.getContext());
+    private static volatile AppPrefsStore sStore;
+
+    private static AppPrefsStore store() {
+        AppPrefsStore store = sStore;
+        if (store == null) {
+            synchronized (AppPrefs.class) {
+                store = sStore;
+                if (store == null) {
+                    store = new AppPrefsStore(PreferenceManager.getDefaultSharedPreferences(WordPress.getContext()));
+                    sStore = store;
+                }
+            }
+        }
+        return store;
     }
 
     private static String getString(PrefKey key) {
@@ -257,17 +270,15 @@ public class AppPrefs {
     }
 
     private static String getString(PrefKey key, String defaultValue) {
-        return prefs().getString(key.name(), defaultValue);
+        return store().getString(key.name(), defaultValue);
     }
 
     private static void setString(PrefKey key, String value) {
-        SharedPreferences.Editor editor = prefs().edit();
         if (TextUtils.isEmpty(value)) {
-            editor.remove(key.name());
+            store().remove(key.name());
         } else {
-            editor.putString(key.name(), value);
+            store().putString(key.name(), value);
         }
-        editor.apply();
     }
 
     private static long getLong(PrefKey key) {
@@ -275,28 +286,15 @@ public class AppPrefs {
     }
 
     private static long getLong(PrefKey key, long defaultValue) {
-        try {
-            String value = getString(key);
-            return Long.parseLong(value);
-        } catch (NumberFormatException e) {
-            return defaultValue;
-        }
+        return store().getLong(key.name(), defaultValue);
     }
 
     private static void setLong(PrefKey key, long value) {
-        setString(key, Long.toString(value));
+        store().putLong(key.name(), value);
     }
 
     private static int getInt(PrefKey key, int def) {
-        try {
-            String value = getString(key);
-            if (value.isEmpty()) {
-                return def;
-            }
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            return def;
-        }
+        return store().getInt(key.name(), def);
     }
 
     public static int getInt(PrefKey key) {
@@ -304,24 +302,54 @@ public class AppPrefs {
     }
 
     public static void setInt(PrefKey key, int value) {
-        setString(key, Integer.toString(value));
+        store().putInt(key.name(), value);
     }
 
     public static boolean getBoolean(PrefKey key, boolean def) {
-        String value = getString(key, Boolean.toString(def));
-        return Boolean.parseBoolean(value);
+        return store().getBoolean(key.name(), def);
     }
 
     public static void setBoolean(PrefKey key, boolean value) {
-        setString(key, Boolean.toString(value));
+        store().putBoolean(key.name(), value);
     }
 
     private static void remove(PrefKey key) {
-        prefs().edit().remove(key.name()).apply();
+        store().remove(key.name());
     }
 
     public static boolean keyExists(@NonNull PrefKey key) {
-        return prefs().contains(key.name());
+        return store().contains(key.name());
+    }
+
+    /*
+     * the methods below return a LiveData which is updated whenever the value of the passed key changes
+     */
+
+    public static LiveData<String> observeString(@NonNull PrefKey key, String def) {
+        return Transformations.distinctUntilChanged(
+                Transformations.map(store().observe(key.name()), value -> AppPrefsStore.decodeString(value, def)));
+    }
+
+    public static LiveData<Boolean> observeBoolean(@NonNull PrefKey key, boolean def) {
+        return Transformations.distinctUntilChanged(
+                Transformations.map(store().observe(key.name()), value -> AppPrefsStore.decodeBoolean(value, def)));
+    }
+
+    public static LiveData<Integer> observeInt(@NonNull PrefKey key, int def) {
+        return Transformations.distinctUntilChanged(
+                Transformations.map(store().observe(key.name()), value -> AppPrefsStore.decodeInt(value, def)));
+    }
+
+    public static LiveData<Long> observeLong(@NonNull PrefKey key, long def) {
+        return Transformations.distinctUntilChanged(
+                Transformations.map(store().observe(key.name()), value -> AppPrefsStore.decodeLong(value, def)));
+    }
+
+    /**
+     * Synchronously hands pending writes to SharedPreferences, which otherwise happens shortly after they're made
+     */
+    public static void flush() {
+        store().flush();
     }
 
     // Exposed methods
@@ -330,11 +358,12 @@ public class AppPrefs {
      * remove all user-related preferences
      */
     public static void reset() {
-        SharedPreferences.Editor editor = prefs().edit();
-        for (DeletablePrefKey key : DeletablePrefKey.values()) {
-            editor.remove(key.name());
+        DeletablePrefKey[] keys = DeletablePrefKey.values();
+        String[] keyNames = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keyNames[i] = keys[i].name();
         }
-        editor.apply();
+        store().remove(keyNames);
     }
 
     public static ReaderTag getReaderTag() {
@@ -369,11 +398,9 @@ public class AppPrefs {
                     tag.isFollowedSites() || tag.isDefaultInMemoryTag()
             );
         } else {
-            prefs().edit()
-                   .remove(DeletablePrefKey.READER_TAG_NAME.name())
-                   .remove(DeletablePrefKey.READER_TAG_TYPE.name())
-                   .remove(DeletablePrefKey.READER_TAG_WAS_FOLLOWING.name())
-                   .apply();
+            store().remove(DeletablePrefKey.READER_TAG_NAME.name(),
+                    DeletablePrefKey.READER_TAG_TYPE.name(),
+                    DeletablePrefKey.READER_TAG_WAS_FOLLOWING.name());
         }
     }
 
@@ -420,9 +447,7 @@ public class AppPrefs {
         if (commentStatus != null) {
             setInt(DeletablePrefKey.COMMENTS_STATUS_TYPE_INDEX, commentStatus.ordinal());
         } else {
-            prefs().edit()
-                   .remove(DeletablePrefKey.COMMENTS_STATUS_TYPE_INDEX.name())
-                   .apply();
+            remove(DeletablePrefKey.COMMENTS_STATUS_TYPE_INDEX);
         }
     }
 
@@ -440,9 +465,7 @@ public class AppPrefs {
         if (peopleListFilter != null) {
             setInt(DeletablePrefKey.PEOPLE_LIST_FILTER_INDEX, peopleListFilter.ordinal());
         } else {
-            prefs().edit()
-                   .remove(DeletablePrefKey.PEOPLE_LIST_FILTER_INDEX.name())
-                   .apply();
+            remove(DeletablePrefKey.PEOPLE_LIST_FILTER_INDEX);
         }
     }
 
@@ -638,14 +661,12 @@ public class AppPrefs {
 
     public static long getPendingDraftsLastNotificationDate(PostModel post) {
         String key = DeletablePrefKey.PENDING_DRAFTS_NOTIFICATION_LAST_NOTIFICATION_DATES.name() + "-" + post.getId();
-        return prefs().getLong(key, 0);
+        return store().getLong(key, 0);
     }
 
     public static void setPendingDraftsLastNotificationDate(PostModel post, long timestamp) {
         String key = DeletablePrefKey.PENDING_DRAFTS_NOTIFICATION_LAST_NOTIFICATION_DATES.name() + "-" + post.getId();
-        SharedPreferences.Editor editor = prefs().edit();
-        editor.putLong(key, timestamp);
-        editor.apply();
+        store().putLong(key, timestamp);
     }
 
     public static boolean isImageOptimize() {
@@ -727,7 +748,7 @@ public class AppPrefs {
 
         Set<String> urls;
         try {
-            urls = prefs().getStringSet(key.name(), null);
+            urls = store().getStringSet(key.name(), null);
         } catch (ClassCastException exp) {
             // no operation - This should not happen.
             return false;
@@ -751,7 +772,7 @@ public class AppPrefs {
         }
         Set<String> urls;
         try {
-            urls = prefs().getStringSet(key.name(), null);
+            urls = store().getStringSet(key.name(), null);
         } catch (ClassCastException exp) {
             // nope - this should never happens
             return;
@@ -769,9 +790,7 @@ public class AppPrefs {
             newUrls.add(siteURL);
         }
 
-        SharedPreferences.Editor editor = prefs().edit();
-        editor.putStringSet(key.name(), newUrls);
-        editor.apply();
+        store().putStringSet(key.name(), newUrls);
     }
 
     public static boolean shouldShowGutenbergInfoPopupPhase2ForNewPosts(String siteURL) {
@@ -801,7 +820,7 @@ public class AppPrefs {
 
         Set<String> urls;
         try {
-            urls = prefs().getStringSet(DeletablePrefKey.GUTENBERG_OPT_IN_DIALOG_SHOWN.name(), null);
+            urls = store().getStringSet(DeletablePrefKey.GUTENBERG_OPT_IN_DIALOG_SHOWN.name(), null);
         } catch (ClassCastException exp) {
             // no operation - This should not happen.
             return false;
@@ -819,7 +838,7 @@ public class AppPrefs {
         }
         Set<String> urls;
         try {
-            urls = prefs().getStringSet(DeletablePrefKey.GUTENBERG_OPT_IN_DIALOG_SHOWN.name(), null);
+            urls = store().getStringSet(DeletablePrefKey.GUTENBERG_OPT_IN_DIALOG_SHOWN.name(), null);
         } catch (ClassCastException exp) {
             // nope - this should never happens
             return;
@@ -835,9 +854,7 @@ public class AppPrefs {
         } else {
             newUrls.remove(siteURL);
         }
-        SharedPreferences.Editor editor = prefs().edit();
-        editor.putStringSet(DeletablePrefKey.GUTENBERG_OPT_IN_DIALOG_SHOWN.name(), newUrls);
-        editor.apply();
+        store().putStringSet(DeletablePrefKey.GUTENBERG_OPT_IN_DIALOG_SHOWN.name(), newUrls);
     }
 
     public static void setVideoOptimizeWidth(int width) {
@@ -1049,15 +1066,15 @@ public class AppPrefs {
     }
 
     public static void setStatsWidgetSelectedSiteId(long siteId, int appWidgetId) {
-        prefs().edit().putLong(getSiteIdWidgetKey(appWidgetId), siteId).apply();
+        store().putLong(getSiteIdWidgetKey(appWidgetId), siteId);
     }
 
     public static long getStatsWidgetSelectedSiteId(int appWidgetId) {
-        return prefs().getLong(getSiteIdWidgetKey(appWidgetId), -1);
+        return store().getLong(getSiteIdWidgetKey(appWidgetId), -1);
     }
 
     public static void removeStatsWidgetSelectedSiteId(int appWidgetId) {
-        prefs().edit().remove(getSiteIdWidgetKey(appWidgetId)).apply();
+        store().remove(getSiteIdWidgetKey(appWidgetId));
     }
 
     @NonNull private static String getSiteIdWidgetKey(int appWidgetId) {
@@ -1065,15 +1082,15 @@ public class AppPrefs {
     }
 
     public static void setStatsWidgetColorModeId(int colorModeId, int appWidgetId) {
-        prefs().edit().putInt(getColorModeIdWidgetKey(appWidgetId), colorModeId).apply();
+        store().putInt(getColorModeIdWidgetKey(appWidgetId), colorModeId);
     }
 
     public static int getStatsWidgetColorModeId(int appWidgetId) {
-        return prefs().getInt(getColorModeIdWidgetKey(appWidgetId), -1);
+        return store().getInt(getColorModeIdWidgetKey(appWidgetId), -1);
     }
 
     public static void removeStatsWidgetColorModeId(int appWidgetId) {
-        prefs().edit().remove(getColorModeIdWidgetKey(appWidgetId)).apply();
+        store().remove(getColorModeIdWidgetKey(appWidgetId));
     }
 
     @NonNull private static String getColorModeIdWidgetKey(int appWidgetId) {
@@ -1081,15 +1098,15 @@ public class AppPrefs {
     }
 
     public static void setStatsWidgetDataTypeId(int dataTypeId, int appWidgetId) {
-        prefs().edit().putInt(getDataTypeIdWidgetKey(appWidgetId), dataTypeId).apply();
+        store().putInt(getDataTypeIdWidgetKey(appWidgetId), dataTypeId);
     }
 
     public static int getStatsWidgetDataTypeId(int appWidgetId) {
-        return prefs().getInt(getDataTypeIdWidgetKey(appWidgetId), -1);
+        return store().getInt(getDataTypeIdWidgetKey(appWidgetId), -1);
     }
 
     public static void removeStatsWidgetDataTypeId(int appWidgetId) {
-        prefs().edit().remove(getDataTypeIdWidgetKey(appWidgetId)).apply();
+        store().remove(getDataTypeIdWidgetKey(appWidgetId));
     }
 
     @NonNull private static String getDataTypeIdWidgetKey(int appWidgetId) {
@@ -1097,15 +1114,15 @@ public class AppPrefs {
     }
 
     public static void setStatsWidgetHasData(boolean hasData, int appWidgetId) {
-        prefs().edit().putBoolean(getHasDataWidgetKey(appWidgetId), hasData).apply();
+        store().putBoolean(getHasDataWidgetKey(appWidgetId), hasData);
     }
 
     public static boolean getStatsWidgetHasData(int appWidgetId) {
-        return prefs().getBoolean(getHasDataWidgetKey(appWidgetId), false);
+        return store().getBoolean(getHasDataWidgetKey(appWidgetId), false);
     }
 
     public static void removeStatsWidgetHasData(int appWidgetId) {
-        prefs().edit().remove(getHasDataWidgetKey(appWidgetId)).apply();
+        store().remove(getHasDataWidgetKey(appWidgetId));
     }
 
     @NonNull private static String getHasDataWidgetKey(int appWidgetId) {
@@ -1222,15 +1239,15 @@ public class AppPrefs {
     }
 
     public static void setManualFeatureConfig(boolean isEnabled, String featureKey) {
-        prefs().edit().putBoolean(getManualFeatureConfigKey(featureKey), isEnabled).apply();
+        store().putBoolean(getManualFeatureConfigKey(featureKey), isEnabled);
     }
 
     public static boolean getManualFeatureConfig(String featureKey) {
-        return prefs().getBoolean(getManualFeatureConfigKey(featureKey), false);
+        return store().getBoolean(getManualFeatureConfigKey(featureKey), false);
     }
 
     public static boolean hasManualFeatureConfig(String featureKey) {
-        return prefs().contains(getManualFeatureConfigKey(featureKey));
+        return store().contains(getManualFeatureConfigKey(featureKey));
     }
 
     @NonNull private static String getManualFeatureConfigKey(String featureKey) {
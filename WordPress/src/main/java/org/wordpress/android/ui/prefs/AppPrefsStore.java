@@ -0,0 +1,293 @@
+package org.wordpress.android.ui.prefs;
+
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory copy of the preferences used by {@link AppPrefs}.
+ *
+ * The preferences are loaded once and decoded values are kept in memory, so reads don't go through
+ * SharedPreferences. AppPrefs used to store ints, longs and booleans as strings - these legacy values are
+ * decoded the first time they're read with their type and written back using the native type, so they're
+ * only parsed once.
+ *
+ * Writes update the in-memory copy immediately and are persisted together on a background thread shortly
+ * after, and each key can be observed through {@link #observe(String)}.
+ */
+class AppPrefsStore {
+    /**
+     * Writes made within this many ms of each other are persisted together
+     */
+    private static final long FLUSH_DELAY_MS = 100;
+
+    /**
+     * Pending write for a removed key
+     */
+    private static final Object REMOVED = new Object();
+
+    private final SharedPreferences mPrefs;
+    private final ConcurrentHashMap<String, Object> mValues;
+
+    private final Object mLock = new Object();
+    private final Object mFlushLock = new Object();
+    private final Map<String, Object> mPendingWrites = new HashMap<>();
+    private final Map<String, MutableLiveData<Object>> mObservers = new ConcurrentHashMap<>();
+    private final AtomicBoolean mIsFlushScheduled = new AtomicBoolean();
+
+    private final ScheduledExecutorService mExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "AppPrefsStore");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    AppPrefsStore(@NonNull SharedPreferences prefs) {
+        mPrefs = prefs;
+        mValues = new ConcurrentHashMap<>(prefs.getAll());
+    }
+
+    boolean contains(@NonNull String key) {
+        return mValues.containsKey(key);
+    }
+
+    @Nullable Object get(@NonNull String key) {
+        return mValues.get(key);
+    }
+
+    String getString(@NonNull String key, String defaultValue) {
+        return decodeString(mValues.get(key), defaultValue);
+    }
+
+    boolean getBoolean(@NonNull String key, boolean defaultValue) {
+        Object value = mValues.get(key);
+        if (value instanceof String) {
+            Boolean decoded = Boolean.parseBoolean((String) value);
+            migrate(key, value, decoded);
+            return decoded;
+        }
+        return decodeBoolean(value, defaultValue);
+    }
+
+    int getInt(@NonNull String key, int defaultValue) {
+        Object value = mValues.get(key);
+        if (value instanceof String) {
+            try {
+                Integer decoded = Integer.parseInt((String) value);
+                migrate(key, value, decoded);
+                return decoded;
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return decodeInt(value, defaultValue);
+    }
+
+    long getLong(@NonNull String key, long defaultValue) {
+        Object value = mValues.get(key);
+        if (value instanceof String) {
+            try {
+                Long decoded = Long.parseLong((String) value);
+                migrate(key, value, decoded);
+                return decoded;
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return decodeLong(value, defaultValue);
+    }
+
+    /**
+     * Returns the stored set, which must not be modified
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable Set<String> getStringSet(@NonNull String key, @Nullable Set<String> defaultValue) {
+        Object value = mValues.get(key);
+        return value instanceof Set ? (Set<String>) value : defaultValue;
+    }
+
+    void putString(@NonNull String key, @NonNull String value) {
+        put(key, value);
+    }
+
+    void putBoolean(@NonNull String key, boolean value) {
+        put(key, value);
+    }
+
+    void putInt(@NonNull String key, int value) {
+        put(key, value);
+    }
+
+    void putLong(@NonNull String key, long value) {
+        put(key, value);
+    }
+
+    void putStringSet(@NonNull String key, @NonNull Set<String> value) {
+        put(key, Collections.unmodifiableSet(new HashSet<>(value)));
+    }
+
+    void remove(@NonNull String... keys) {
+        synchronized (mLock) {
+            for (String key : keys) {
+                mValues.remove(key);
+                mPendingWrites.put(key, REMOVED);
+                notifyObserver(key, null);
+            }
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * Returns a LiveData holding the current value of the passed key, which is null when it isn't set. The
+     * value is the one which was stored, so legacy values may be strings rather than their native type.
+     */
+    @NonNull LiveData<Object> observe(@NonNull String key) {
+        synchronized (mLock) {
+            MutableLiveData<Object> observer = mObservers.get(key);
+            if (observer == null) {
+                observer = new MutableLiveData<>(mValues.get(key));
+                mObservers.put(key, observer);
+            }
+            return observer;
+        }
+    }
+
+    /**
+     * Synchronously hands all pending writes to SharedPreferences
+     */
+    void flush() {
+        synchronized (mFlushLock) {
+            Map<String, Object> writes;
+            synchronized (mLock) {
+                if (mPendingWrites.isEmpty()) {
+                    return;
+                }
+                writes = new HashMap<>(mPendingWrites);
+                mPendingWrites.clear();
+            }
+
+            SharedPreferences.Editor editor = mPrefs.edit();
+            for (Map.Entry<String, Object> write : writes.entrySet()) {
+                putInEditor(editor, write.getKey(), write.getValue());
+            }
+            editor.apply();
+        }
+    }
+
+    private void put(@NonNull String key, @NonNull Object value) {
+        synchronized (mLock) {
+            mValues.put(key, value);
+            mPendingWrites.put(key, value);
+            notifyObserver(key, value);
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * Replaces a legacy string value with its decoded value, unless it was changed in the meantime
+     */
+    private void migrate(@NonNull String key, @NonNull Object legacyValue, @NonNull Object decodedValue) {
+        synchronized (mLock) {
+            if (!mValues.replace(key, legacyValue, decodedValue)) {
+                return;
+            }
+            mPendingWrites.put(key, decodedValue);
+        }
+        scheduleFlush();
+    }
+
+    private void notifyObserver(@NonNull String key, @Nullable Object value) {
+        MutableLiveData<Object> observer = mObservers.get(key);
+        if (observer != null) {
+            observer.postValue(value);
+        }
+    }
+
+    private void scheduleFlush() {
+        if (mIsFlushScheduled.compareAndSet(false, true)) {
+            mExecutor.schedule(() -> {
+                mIsFlushScheduled.set(false);
+                flush();
+            }, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void putInEditor(@NonNull SharedPreferences.Editor editor, @NonNull String key,
+                                    @NonNull Object value) {
+        if (value == REMOVED) {
+            editor.remove(key);
+        } else if (value instanceof Boolean) {
+            editor.putBoolean(key, (Boolean) value);
+        } else if (value instanceof Integer) {
+            editor.putInt(key, (Integer) value);
+        } else if (value instanceof Long) {
+            editor.putLong(key, (Long) value);
+        } else if (value instanceof Float) {
+            editor.putFloat(key, (Float) value);
+        } else if (value instanceof Set) {
+            editor.putStringSet(key, (Set<String>) value);
+        } else {
+            editor.putString(key, value.toString());
+        }
+    }
+
+    /*
+     * the methods below decode a stored value, which may be a legacy string or a native value
+     */
+
+    static String decodeString(@Nullable Object value, String defaultValue) {
+        if (value == null || value instanceof Set) {
+            return defaultValue;
+        }
+        return value.toString();
+    }
+
+    static boolean decodeBoolean(@Nullable Object value, boolean defaultValue) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        } else if (value instanceof String) {
+            return Boolean.parseBoolean((String) value);
+        }
+        return defaultValue;
+    }
+
+    static int decodeInt(@Nullable Object value, int defaultValue) {
+        if (value instanceof Integer || value instanceof Long) {
+            return ((Number) value).intValue();
+        } else if (value instanceof String) {
+            try {
+                return Integer.parseInt((String) value);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
+    static long decodeLong(@Nullable Object value, long defaultValue) {
+        if (value instanceof Integer || value instanceof Long) {
+            return ((Number) value).longValue();
+        } else if (value instanceof String) {
+            try {
+                return Long.parseLong((String) value);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+}
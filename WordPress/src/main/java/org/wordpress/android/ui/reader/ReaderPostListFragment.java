@@ -2230,7 +2230,7 @@ public class ReaderPostListFragment extends ViewPagerFragment
         if (!isAdded() || !hasCurrentTag()) {
             return;
         }
-        new Thread() {
+        WordPress.sBackgroundExecutor.executeParse(new Runnable() {
             @Override
             public void run() {
                 if (ReaderTagTable.shouldAutoUpdateTag(getCurrentTag()) && isAdded()) {
@@ -2242,7 +2242,7 @@ public class ReaderPostListFragment extends ViewPagerFragment
                     });
                 }
             }
-        }.start();
+        });
     }
 
     private boolean isUpdating() {
@@ -47,12 +47,14 @@ import org.wordpress.android.ui.reader.models.ReaderBlogIdPostIdList;
 import org.wordpress.android.ui.reader.services.post.ReaderPostServiceStarter;
 import org.wordpress.android.ui.reader.tracker.ReaderTracker;
 import org.wordpress.android.ui.reader.tracker.ReaderTrackerType;
+import org.wordpress.android.ui.reader.utils.FeaturedImageUtils;
 import org.wordpress.android.ui.uploads.UploadActionUseCase;
 import org.wordpress.android.ui.uploads.UploadUtils;
 import org.wordpress.android.ui.uploads.UploadUtilsWrapper;
 import org.wordpress.android.util.ActivityUtils;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
+import org.wordpress.android.util.BackgroundExecutor;
 import org.wordpress.android.util.NetworkUtils;
 import org.wordpress.android.util.ToastUtils;
 import org.wordpress.android.util.analytics.AnalyticsUtils;
@@ -123,6 +125,7 @@ public class ReaderPostPagerActivity extends LocaleAwareActivity {
     private boolean mBackFromLogin;
 
     private final HashSet<Integer> mTrackedPositions = new HashSet<>();
+    private ReaderResourceVars mPrerenderResourceVars;
 
     @Inject SiteStore mSiteStore;
     @Inject ReaderTracker mReaderTracker;
@@ -130,6 +133,9 @@ public class ReaderPostPagerActivity extends LocaleAwareActivity {
     @Inject Dispatcher mDispatcher;
     @Inject UploadActionUseCase mUploadActionUseCase;
     @Inject UploadUtilsWrapper mUploadUtilsWrapper;
+    @Inject FeaturedImageUtils mFeaturedImageUtils;
+    @Inject ReaderCssProvider mReaderCssProvider;
+    @Inject BackgroundExecutor mBackgroundExecutor;
 
     @Override
     public void onCreate(Bundle savedInstanceState) {
@@ -192,6 +198,7 @@ public class ReaderPostPagerActivity extends LocaleAwareActivity {
             public void onPageSelected(int position) {
                 super.onPageSelected(position);
                 trackPostAtPositionIfNeeded(position);
+                prerenderAdjacentPosts(position);
 
                 if (mLastSelectedPosition > -1 && mLastSelectedPosition != position) {
                     // pause the previous web view - important because otherwise embedded content
@@ -591,6 +598,46 @@ public class ReaderPostPagerActivity extends LocaleAwareActivity {
         trackPost(idPair.getBlogId(), idPair.getPostId());
     }
 
+    /*
+     * renders the posts before and after the passed position into ReaderPostHtmlCache in the background,
+     * so they can be shown immediately when the user swipes to them
+     */
+    private void prerenderAdjacentPosts(int position) {
+        final ReaderBlogIdPostId previousId = getAdapterBlogIdPostIdAtPosition(position - 1);
+        final ReaderBlogIdPostId nextId = getAdapterBlogIdPostIdAtPosition(position + 1);
+        if (previousId == null && nextId == null) {
+            return;
+        }
+
+        // the resource vars are resolved here since they depend on the activity's theme, and the posts are
+        // rendered by a static task so it doesn't keep the activity alive while it waits in the queue
+        if (mPrerenderResourceVars == null) {
+            mPrerenderResourceVars = new ReaderResourceVars(this);
+        }
+        mBackgroundExecutor.executeParse(
+                newPrerenderTask(mPrerenderResourceVars, mFeaturedImageUtils, mReaderCssProvider, nextId, previousId));
+    }
+
+    private static Runnable newPrerenderTask(final ReaderResourceVars resourceVars,
+                                             final FeaturedImageUtils featuredImageUtils,
+                                             final ReaderCssProvider cssProvider,
+                                             final ReaderBlogIdPostId... ids) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                for (ReaderBlogIdPostId id : ids) {
+                    if (id == null) {
+                        continue;
+                    }
+                    ReaderPost post = ReaderPostTable.getBlogPost(id.getBlogId(), id.getPostId(), false);
+                    if (post != null && post.hasText()) {
+                        new ReaderPostRenderer(resourceVars, post, featuredImageUtils, cssProvider).renderToCache();
+                    }
+                }
+            }
+        };
+    }
+
     /*
      * perform analytics tracking and bump the page view for the post
      */
@@ -610,7 +657,7 @@ public class ReaderPostPagerActivity extends LocaleAwareActivity {
      * one will be made active
      */
     private void loadPosts(final long blogId, final long postId) {
-        new Thread() {
+        mBackgroundExecutor.executeParse(new Runnable() {
             @Override
             public void run() {
                 final ReaderBlogIdPostIdList idList;
@@ -650,9 +697,11 @@ public class ReaderPostPagerActivity extends LocaleAwareActivity {
                         if (adapter.isValidPosition(newPosition)) {
                             mViewPager.setCurrentItem(newPosition);
                             trackPostAtPositionIfNeeded(newPosition);
+                            prerenderAdjacentPosts(newPosition);
                         } else if (adapter.isValidPosition(currentPosition)) {
                             mViewPager.setCurrentItem(currentPosition);
                             trackPostAtPositionIfNeeded(currentPosition);
+                            prerenderAdjacentPosts(currentPosition);
                         }
 
                         // let the user know they can swipe between posts
@@ -663,7 +712,7 @@ public class ReaderPostPagerActivity extends LocaleAwareActivity {
                     }
                 });
             }
-        }.start();
+        });
     }
 
     private ReaderTag getCurrentTag() {
@@ -4,17 +4,18 @@ import android.annotation.SuppressLint;
 import android.net.Uri;
 import android.os.Handler;
 
+import androidx.annotation.NonNull;
+
 import org.wordpress.android.R;
 import org.wordpress.android.WordPress;
+import org.wordpress.android.datasets.ReaderPostHtmlCache;
 import org.wordpress.android.models.ReaderPost;
 import org.wordpress.android.models.ReaderPostDiscoverData;
 import org.wordpress.android.ui.reader.utils.FeaturedImageUtils;
 import org.wordpress.android.ui.reader.utils.ImageSizeMap;
 import org.wordpress.android.ui.reader.utils.ImageSizeMap.ImageSize;
-import org.wordpress.android.ui.reader.utils.ReaderEmbedScanner;
+import org.wordpress.android.ui.reader.utils.ReaderHtmlRewriter;
 import org.wordpress.android.ui.reader.utils.ReaderHtmlUtils;
-import org.wordpress.android.ui.reader.utils.ReaderIframeScanner;
-import org.wordpress.android.ui.reader.utils.ReaderImageScanner;
 import org.wordpress.android.ui.reader.utils.ReaderUtils;
 import org.wordpress.android.ui.reader.views.ReaderWebView;
 import org.wordpress.android.util.AppLog;
@@ -23,8 +24,8 @@ import org.wordpress.android.util.StringUtils;
 
 import java.lang.ref.WeakReference;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Random;
 import java.util.Set;
 import java.util.regex.Pattern;
@@ -39,13 +40,16 @@ import java.util.regex.Pattern;
  * http://developer.android.com/guide/webapps/targeting.html
  */
 public class ReaderPostRenderer {
+    // bump this whenever the rendered HTML changes so posts cached by earlier versions aren't used
+    private static final int RENDER_VERSION = 1;
+    private static final Pattern TILED_GALLERY_PATTERN = Pattern.compile("tiled-gallery[\\s\"']");
+
     private final ReaderResourceVars mResourceVars;
     private final ReaderPost mPost;
     private final int mMinFullSizeWidthDp;
     private final int mMinMidSizeWidthDp;
     private final WeakReference<ReaderWebView> mWeakWebView;
 
-    private StringBuilder mRenderBuilder;
     private String mRenderedHtml;
     private ImageSizeMap mAttachmentSizes;
     private FeaturedImageUtils mFeaturedImageUtils;
@@ -54,53 +58,54 @@ public class ReaderPostRenderer {
     @SuppressLint("SetJavaScriptEnabled")
     public ReaderPostRenderer(ReaderWebView webView, ReaderPost post, FeaturedImageUtils featuredImageUtils,
                               ReaderCssProvider cssProvider) {
-        if (webView == null) {
-            throw new IllegalArgumentException("ReaderPostRenderer requires a webView");
-        }
+        this(new ReaderResourceVars(requireWebView(webView).getContext()), webView, post, featuredImageUtils,
+                cssProvider);
+
+        // enable JavaScript in the webView, otherwise videos and other embedded content won't
+        // work - note that the content is scrubbed on the backend so this is considered safe
+        webView.getSettings().setJavaScriptEnabled(true);
+    }
+
+    /*
+     * creates a renderer which isn't attached to a webView, used to pre-render posts with renderToCache() -
+     * takes the resource vars resolved from the themed context rather than the context itself, so rendering
+     * in the background doesn't keep the activity alive
+     */
+    ReaderPostRenderer(ReaderResourceVars resourceVars, ReaderPost post, FeaturedImageUtils featuredImageUtils,
+                       ReaderCssProvider cssProvider) {
+        this(resourceVars, null, post, featuredImageUtils, cssProvider);
+    }
+
+    private ReaderPostRenderer(ReaderResourceVars resourceVars, ReaderWebView webView, ReaderPost post,
+                               FeaturedImageUtils featuredImageUtils, ReaderCssProvider cssProvider) {
         if (post == null) {
             throw new IllegalArgumentException("ReaderPostRenderer requires a post");
         }
 
         mPost = post;
         mWeakWebView = new WeakReference<>(webView);
-        mResourceVars = new ReaderResourceVars(webView.getContext());
+        mResourceVars = resourceVars;
         mFeaturedImageUtils = featuredImageUtils;
         mCssProvider = cssProvider;
 
         mMinFullSizeWidthDp = pxToDp(mResourceVars.mFullSizeImageWidthPx / 3);
         mMinMidSizeWidthDp = mMinFullSizeWidthDp / 2;
+    }
 
-        // enable JavaScript in the webView, otherwise videos and other embedded content won't
-        // work - note that the content is scrubbed on the backend so this is considered safe
-        webView.getSettings().setJavaScriptEnabled(true);
+    private static ReaderWebView requireWebView(ReaderWebView webView) {
+        if (webView == null) {
+            throw new IllegalArgumentException("ReaderPostRenderer requires a webView");
+        }
+        return webView;
     }
 
     public void beginRender() {
         final Handler handler = new Handler();
-        mRenderBuilder = new StringBuilder(getPostContent());
 
-        new Thread() {
+        WordPress.sBackgroundExecutor.executeParse(new Runnable() {
             @Override
             public void run() {
-                final boolean hasTiledGallery = hasTiledGallery(mRenderBuilder.toString());
-
-                if (!(hasTiledGallery && mResourceVars.mIsWideDisplay)) {
-                    resizeImages();
-                }
-
-                resizeIframes();
-
-                // Get the set of JS scripts to inject in our Webview to support some specific Embeds.
-                Set<String> jsToInject = injectJSForSpecificEmbedSupport();
-
-                final String htmlContent =
-                        formatPostContentForWebView(
-                                mRenderBuilder.toString(),
-                                jsToInject,
-                                hasTiledGallery,
-                                mResourceVars.mIsWideDisplay);
-
-                mRenderBuilder = null;
+                final String htmlContent = getHtmlContent();
                 handler.post(new Runnable() {
                     @Override
                     public void run() {
@@ -108,60 +113,84 @@ public class ReaderPostRenderer {
                     }
                 });
             }
-        }.start();
+        });
     }
 
-    public static boolean hasTiledGallery(String text) {
-        // determine whether a tiled-gallery exists in the content
-        return Pattern.compile("tiled-gallery[\\s\"']").matcher(text).find();
+    /*
+     * renders the post into ReaderPostHtmlCache (unless it's already there) so it can be shown without
+     * delay once it's opened - must be called from a background thread
+     */
+    public void renderToCache() {
+        getHtmlContent();
+    }
+
+    /*
+     * returns the HTML for the post, which is only rendered if the cache doesn't already have it for
+     * the current post content, display and CSS
+     */
+    private String getHtmlContent() {
+        String cssUrl = mCssProvider.getCssUrl();
+        String cacheKey = getCacheKey(cssUrl);
+        String htmlContent = ReaderPostHtmlCache.get(mPost.getPseudoId(), cacheKey);
+        if (htmlContent == null) {
+            htmlContent = buildHtmlContent(cssUrl);
+            ReaderPostHtmlCache.put(mPost.getPseudoId(), cacheKey, htmlContent);
+        }
+        return htmlContent;
     }
 
     /*
-     * scan the content for images and make sure they're correctly sized for the device
+     * returns a key which changes whenever something the rendered HTML depends on changes - posts don't
+     * store their modified date, so a fingerprint of their content is used instead
      */
-    private void resizeImages() {
-        ReaderHtmlUtils.HtmlScannerListener imageListener = new ReaderHtmlUtils.HtmlScannerListener() {
+    private String getCacheKey(String cssUrl) {
+        String content = mPost.shouldShowExcerpt() ? mPost.getExcerpt() : mPost.getText();
+        return RENDER_VERSION
+               + "|" + content.length() + ":" + content.hashCode()
+               + "|" + mPost.getAttachmentsJson().hashCode()
+               + "|" + mPost.getDiscoverJson().hashCode()
+               + "|" + mPost.isPrivate
+               + "|" + mResourceVars.mFullSizeImageWidthPx
+               + "|" + mResourceVars.mTextColor + mResourceVars.mLinkColorStr
+               + "|" + Locale.getDefault()
+               + "|" + cssUrl;
+    }
+
+    private String buildHtmlContent(String cssUrl) {
+        final String postContent = getPostContent();
+
+        // tiled galleries are only rendered as such on wide displays, where their images are left as is
+        final boolean renderAsTiledGallery = mResourceVars.mIsWideDisplay && hasTiledGallery(postContent);
+
+        // size images and iframes for the device and collect the JS needed by specific embeds in one pass
+        ReaderHtmlRewriter rewriter = new ReaderHtmlRewriter(postContent, !renderAsTiledGallery);
+        String content = rewriter.rewrite(new ReaderHtmlRewriter.TagRewriter() {
             @Override
-            public void onTagFound(String imageTag, String imageUrl) {
+            public String rewriteImageTag(@NonNull String imageTag, @NonNull String imageUrl) {
                 // Exceptions which should keep their original tag attributes
                 if (imageUrl.contains("wpcom-smileys") || imageTag.contains("wp-story")) {
-                    return;
+                    return null;
                 }
-                replaceImageTag(imageTag, imageUrl);
+                return makeResizedImageTag(imageTag, imageUrl);
             }
-        };
-        String content = mRenderBuilder.toString();
-        ReaderImageScanner scanner = new ReaderImageScanner(content, mPost.isPrivate);
-        scanner.beginScan(imageListener);
-    }
 
-    /*
-     * scan the content for iframes and make sure they're correctly sized for the device
-     */
-    private void resizeIframes() {
-        ReaderHtmlUtils.HtmlScannerListener iframeListener = new ReaderHtmlUtils.HtmlScannerListener() {
             @Override
-            public void onTagFound(String tag, String src) {
-                replaceIframeTag(tag, src);
+            public String rewriteIframeTag(@NonNull String iframeTag, @NonNull String src) {
+                return makeResizedIframeTag(iframeTag, src);
             }
-        };
-        String content = mRenderBuilder.toString();
-        ReaderIframeScanner scanner = new ReaderIframeScanner(content);
-        scanner.beginScan(iframeListener);
+        });
+
+        return formatPostContentForWebView(
+                content,
+                rewriter.getJsToInject(),
+                cssUrl,
+                renderAsTiledGallery,
+                mResourceVars.mIsWideDisplay);
     }
 
-    private Set<String> injectJSForSpecificEmbedSupport() {
-        final Set<String> jsToInject = new HashSet<>();
-        ReaderHtmlUtils.HtmlScannerListener embedListener = new ReaderHtmlUtils.HtmlScannerListener() {
-            @Override
-            public void onTagFound(String tag, String src) {
-                jsToInject.add(src);
-            }
-        };
-        String content = mRenderBuilder.toString();
-        ReaderEmbedScanner scanner = new ReaderEmbedScanner(content);
-        scanner.beginScan(embedListener);
-        return jsToInject;
+    public static boolean hasTiledGallery(String text) {
+        // determine whether a tiled-gallery exists in the content
+        return TILED_GALLERY_PATTERN.matcher(text).find();
     }
 
     /*
@@ -185,11 +214,11 @@ public class ReaderPostRenderer {
     }
 
     /*
-     * called when image scanner finds an image, tries to replace the image tag with one that
-     * has height & width attributes set correctly for the current display, if that fails
-     * replaces it with one that has our 'size-none' class
+     * called when the rewriter finds an image, returns an image tag that has height & width
+     * attributes set correctly for the current display, if that fails returns one that has
+     * our 'size-none' class
      */
-    private void replaceImageTag(final String imageTag, final String imageUrl) {
+    private String makeResizedImageTag(final String imageTag, final String imageUrl) {
         ImageSize origSize = getImageSize(imageTag, imageUrl);
         boolean hasWidth = (origSize != null && origSize.width > 0);
         boolean isFullSize = hasWidth && (origSize.width >= mMinFullSizeWidthDp);
@@ -208,13 +237,7 @@ public class ReaderPostRenderer {
             newImageTag = "<img class='size-none' src='" + imageUrl + "' />";
         }
 
-        int start = mRenderBuilder.indexOf(imageTag);
-        if (start == -1) {
-            AppLog.w(AppLog.T.READER, "reader renderer > image not found in builder");
-            return;
-        }
-
-        mRenderBuilder.replace(start, start + imageTag.length(), newImageTag);
+        return newImageTag;
     }
 
     private String makeImageTag(final String imageUrl, int width, int height, final String imageClass) {
@@ -258,9 +281,8 @@ public class ReaderPostRenderer {
      * returns the basic content of the post tweaked for use here
      */
     private String getPostContent() {
+        // note that protocol-relative src attributes (such as Vimeo embeds) are fixed by ReaderHtmlRewriter
         String content = mPost.shouldShowExcerpt() ? mPost.getExcerpt() : mPost.getText();
-        // some content (such as Vimeo embeds) don't have "http:" before links
-        content = content.replace("src=\"//", "src=\"http://");
 
         // if this is a Discover post, add a link which shows the blog preview
         if (mPost.isDiscoverPost()) {
@@ -289,9 +311,9 @@ public class ReaderPostRenderer {
     }
 
     /*
-     * replace the passed iframe tag with one that's correctly sized for the device
+     * returns an iframe tag to replace the passed one that's correctly sized for the device
      */
-    private void replaceIframeTag(final String tag, final String src) {
+    private String makeResizedIframeTag(final String tag, final String src) {
         int width = ReaderHtmlUtils.getWidthAttrValue(tag);
         int height = ReaderHtmlUtils.getHeightAttrValue(tag);
 
@@ -306,25 +328,18 @@ public class ReaderPostRenderer {
             newHeight = mResourceVars.mVideoHeightPx;
         }
 
-        String newTag = "<iframe src='" + src + "'"
-                        + " frameborder='0' allowfullscreen='true' allowtransparency='true'"
-                        + " width='" + pxToDp(newWidth) + "'"
-                        + " height='" + pxToDp(newHeight) + "' />";
-
-        int start = mRenderBuilder.indexOf(tag);
-        if (start == -1) {
-            AppLog.w(AppLog.T.READER, "reader renderer > iframe not found in builder");
-            return;
-        }
-
-        mRenderBuilder.replace(start, start + tag.length(), newTag);
+        return "<iframe src='" + src + "'"
+               + " frameborder='0' allowfullscreen='true' allowtransparency='true'"
+               + " width='" + pxToDp(newWidth) + "'"
+               + " height='" + pxToDp(newHeight) + "' />";
     }
 
     /*
      * returns the full content, including CSS, that will be shown in the WebView for this post
      */
     private String formatPostContentForWebView(final String content, final Set<String> jsToInject,
-                                               boolean hasTiledGallery, boolean isWideDisplay) {
+                                               final String cssUrl, boolean hasTiledGallery,
+                                               boolean isWideDisplay) {
         final boolean renderAsTiledGallery = hasTiledGallery && isWideDisplay;
 
         // unique CSS class assigned to the gallery elements for easy selection
@@ -336,7 +351,7 @@ public class ReaderPostRenderer {
         // title isn't necessary, but it's invalid html5 without one
         sbHtml.append("<title>Reader Post</title>")
               .append("<link rel=\"stylesheet\" type=\"text/css\"\n"
-                      + "          href=\"" + mCssProvider.getCssUrl() + "\">");
+                      + "          href=\"" + cssUrl + "\">");
         // https://developers.google.com/chrome/mobile/docs/webview/pixelperfect
         sbHtml.append("<meta name='viewport' content='width=device-width, initial-scale=1'>")
               .append("<style type='text/css'>");
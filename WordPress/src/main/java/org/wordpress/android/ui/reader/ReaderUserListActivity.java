@@ -10,6 +10,7 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import com.google.android.material.appbar.AppBarLayout;
 
 import org.wordpress.android.R;
+import org.wordpress.android.WordPress;
 import org.wordpress.android.datasets.ReaderCommentTable;
 import org.wordpress.android.datasets.ReaderPostTable;
 import org.wordpress.android.datasets.ReaderUserTable;
@@ -101,7 +102,7 @@ public class ReaderUserListActivity extends LocaleAwareActivity {
     private void loadUsers(final long blogId,
                            final long postId,
                            final long commentId) {
-        new Thread() {
+        WordPress.sBackgroundExecutor.executeParse(new Runnable() {
             @Override
             public void run() {
                 final String title = getTitleString(blogId, postId, commentId);
@@ -131,7 +132,7 @@ public class ReaderUserListActivity extends LocaleAwareActivity {
                     }
                 });
             }
-        }.start();
+        });
     }
 
     private String getTitleString(final long blogId,
@@ -176,7 +176,7 @@ public class ReaderPostActions {
 
         final Handler handler = new Handler();
 
-        new Thread() {
+        WordPress.sBackgroundExecutor.executeDbWrite(new Runnable() {
             @Override
             public void run() {
                 ReaderPost serverPost = ReaderPost.fromJson(jsonObject);
@@ -228,7 +228,7 @@ public class ReaderPostActions {
                     });
                 }
             }
-        }.start();
+        });
     }
 
     /*
@@ -421,7 +421,7 @@ public class ReaderPostActions {
             return;
         }
 
-        new Thread() {
+        WordPress.sBackgroundExecutor.executeParse(new Runnable() {
             @Override
             public void run() {
                 JSONArray jsonPosts = jsonObject.optJSONArray("posts");
@@ -441,7 +441,7 @@ public class ReaderPostActions {
                                                                                     globalRelatedPosts));
                 }
             }
-        }.start();
+        });
     }
 
     public static void addToBookmarked(@NonNull final ReaderPost post) {
@@ -514,12 +514,14 @@ public class ReaderCommentAdapter extends RecyclerView.Adapter<RecyclerView.View
     private boolean mIsTaskRunning = false;
 
     private class LoadCommentsTask extends AsyncTask<Void, Void, Boolean> {
+        private final ReaderCommentList mCurrentComments = new ReaderCommentList();
         private ReaderCommentList mTmpComments;
         private boolean mTmpMoreCommentsExist;
 
         @Override
         protected void onPreExecute() {
             mIsTaskRunning = true;
+            mCurrentComments.addAll(mComments);
         }
 
         @Override
@@ -540,8 +542,15 @@ public class ReaderCommentAdapter extends RecyclerView.Adapter<RecyclerView.View
             int numLocalComments = ReaderCommentTable.getNumCommentsForPost(mPost);
             mTmpMoreCommentsExist = (numServerComments > numLocalComments);
 
-            mTmpComments = ReaderCommentTable.getCommentsForPost(mPost);
-            return !mComments.isSameList(mTmpComments);
+            ReaderCommentList comments = ReaderCommentTable.getCommentsForPost(mPost);
+            if (mCurrentComments.isSameList(comments)) {
+                return false;
+            }
+
+            // sort children under their parents and apply indent levels, splicing newly loaded comments
+            // into the existing list when possible
+            mTmpComments = new ReaderCommentLeveler(comments).updateLevelList(mCurrentComments);
+            return true;
         }
 
         @Override
@@ -549,8 +558,7 @@ public class ReaderCommentAdapter extends RecyclerView.Adapter<RecyclerView.View
             mMoreCommentsExist = mTmpMoreCommentsExist;
 
             if (result) {
-                // assign the comments with children sorted under their parents and indent levels applied
-                mComments = new ReaderCommentLeveler(mTmpComments).createLevelList();
+                mComments = mTmpComments;
                 notifyDataSetChanged();
             }
             if (mDataLoadedListener != null) {
@@ -14,6 +14,8 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
 import androidx.recyclerview.widget.RecyclerView;
 
 import org.jetbrains.annotations.NotNull;
@@ -87,6 +89,9 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
     private final int mAvatarSzSmall;
 
     private boolean mCanRequestMorePosts;
+    private boolean mHasMoreLocalPosts;
+    // set when the next page is needed while another load is running, so it's loaded once that one ends
+    private boolean mIsNextPagePending;
 
     private final ReaderTypes.ReaderPostListType mPostListType;
     private final ReaderPostList mPosts = new ReaderPostList();
@@ -102,6 +107,8 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
     // the large "tbl_posts.text" column is unused here, so skip it when querying
     private static final boolean EXCLUDE_TEXT_COLUMN = true;
     private static final int MAX_ROWS = ReaderConstants.READER_MAX_POSTS_TO_DISPLAY;
+    // posts are read from the database a page at a time as the user scrolls
+    private static final int POSTS_PER_PAGE = ReaderConstants.READER_MAX_POSTS_TO_REQUEST * 2;
 
     private static final int VIEW_TYPE_POST = 0;
     private static final int VIEW_TYPE_XPOST = 1;
@@ -474,12 +481,16 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
     }
 
     /*
-     * if we're nearing the end of the posts, fire request to load more
+     * if we're nearing the end of the posts, load the next page from the database or, once all
+     * local posts are shown, fire request to load more
      */
     private void checkLoadMore(int position) {
-        if (mCanRequestMorePosts
-            && mDataRequestedListener != null
-            && (position >= getItemCount() - 1)) {
+        if (position < getItemCount() - 1) {
+            return;
+        }
+        if (mHasMoreLocalPosts) {
+            loadNextPage();
+        } else if (mCanRequestMorePosts && mDataRequestedListener != null) {
             mDataRequestedListener.onRequestData();
         }
     }
@@ -578,6 +589,8 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
 
     public void clear() {
         mGapMarkerPosition = -1;
+        mHasMoreLocalPosts = false;
+        mIsNextPagePending = false;
         if (!mPosts.isEmpty()) {
             mPosts.clear();
             notifyDataSetChanged();
@@ -611,12 +624,27 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
         }
     }
 
+    /*
+     * reloads the posts that are currently loaded (or the first page if none are)
+     */
     private void loadPosts() {
         if (mIsTaskRunning) {
             AppLog.w(AppLog.T.READER, "reader posts task already running");
             return;
         }
-        new LoadPostsTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+        new LoadPostsTask(false).executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+    }
+
+    /*
+     * appends the next page of posts from the database
+     */
+    private void loadNextPage() {
+        if (mIsTaskRunning) {
+            mIsNextPagePending = true;
+            return;
+        }
+        mIsNextPagePending = false;
+        new LoadPostsTask(true).executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
     }
 
     private ReaderPost getItem(int position) {
@@ -723,42 +751,72 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
     }
 
     /*
-     * AsyncTask to load posts in the current tag
+     * AsyncTask to load posts in the current tag - posts are read a page at a time by keyset, and
+     * changes are applied to the adapter as a diff of the previous list rather than a full rebind
      */
     private boolean mIsTaskRunning = false;
 
     private class LoadPostsTask extends AsyncTask<Void, Void, Boolean> {
+        private final boolean mIsNextPage;
+        private ReaderPostList mExistingPosts;
         private ReaderPostList mAllPosts;
 
         private boolean mCanRequestMorePostsTemp;
+        private boolean mHasMoreLocalPostsTemp;
         private int mGapMarkerPositionTemp;
+        private DiffUtil.DiffResult mDiffResult;
+
+        LoadPostsTask(boolean isNextPage) {
+            mIsNextPage = isNextPage;
+        }
 
         @Override
         protected void onPreExecute() {
             mIsTaskRunning = true;
+            mExistingPosts = new ReaderPostList();
+            mExistingPosts.addAll(mPosts);
         }
 
         @Override
         protected void onCancelled() {
             mIsTaskRunning = false;
+            loadPendingNextPage();
         }
 
         @Override
         protected Boolean doInBackground(Void... params) {
+            // when loading the next page we read the posts after the last one we already have,
+            // otherwise we re-read everything that's loaded so far starting at the top
+            ReaderPost afterPost;
+            int maxPosts;
+            if (mIsNextPage && !mExistingPosts.isEmpty()) {
+                afterPost = mExistingPosts.get(mExistingPosts.size() - 1);
+                maxPosts = Math.min(POSTS_PER_PAGE, MAX_ROWS - mExistingPosts.size());
+            } else {
+                afterPost = null;
+                maxPosts = Math.min(Math.max(mExistingPosts.size(), POSTS_PER_PAGE), MAX_ROWS);
+            }
+            if (maxPosts <= 0) {
+                return false;
+            }
+
+            ReaderPostList posts;
             int numExisting;
             switch (getPostListType()) {
                 case TAG_PREVIEW:
                 case TAG_FOLLOWED:
                 case SEARCH_RESULTS:
-                    mAllPosts = ReaderPostTable.getPostsWithTag(mCurrentTag, MAX_ROWS, EXCLUDE_TEXT_COLUMN);
+                    posts = ReaderPostTable.getPostsWithTag(mCurrentTag, afterPost, maxPosts, EXCLUDE_TEXT_COLUMN);
                     numExisting = ReaderPostTable.getNumPostsWithTag(mCurrentTag);
                     break;
                 case BLOG_PREVIEW:
                     if (mCurrentFeedId != 0) {
-                        mAllPosts = ReaderPostTable.getPostsInFeed(mCurrentFeedId, MAX_ROWS, EXCLUDE_TEXT_COLUMN);
+                        posts = ReaderPostTable.getPostsInFeed(mCurrentFeedId, afterPost, maxPosts,
+                                EXCLUDE_TEXT_COLUMN);
                         numExisting = ReaderPostTable.getNumPostsInFeed(mCurrentFeedId);
                     } else {
-                        mAllPosts = ReaderPostTable.getPostsInBlog(mCurrentBlogId, MAX_ROWS, EXCLUDE_TEXT_COLUMN);
+                        posts = ReaderPostTable.getPostsInBlog(mCurrentBlogId, afterPost, maxPosts,
+                                EXCLUDE_TEXT_COLUMN);
                         numExisting = ReaderPostTable.getNumPostsInBlog(mCurrentBlogId);
                     }
                     break;
@@ -766,7 +824,18 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
                     return false;
             }
 
-            if (mPosts.isSameListWithBookmark(mAllPosts)) {
+            if (afterPost != null) {
+                mAllPosts = new ReaderPostList();
+                mAllPosts.addAll(mExistingPosts);
+                mAllPosts.addAll(posts);
+            } else {
+                mAllPosts = posts;
+            }
+
+            // a full page means there may be more posts in the database after this one
+            mHasMoreLocalPostsTemp = posts.size() == maxPosts && mAllPosts.size() < MAX_ROWS;
+
+            if (mExistingPosts.isSameListWithBookmark(mAllPosts)) {
                 return false;
             }
 
@@ -777,6 +846,11 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
             // determine whether a gap marker exists - only applies to tagged posts
             mGapMarkerPositionTemp = getGapMarkerPosition();
 
+            // the diff can only be applied directly when there's no gap marker shifting positions
+            if (mGapMarkerPositionTemp == -1 && !mExistingPosts.isEmpty()) {
+                mDiffResult = DiffUtil.calculateDiff(new ReaderPostDiffCallback(mExistingPosts, mAllPosts));
+            }
+
             return true;
         }
 
@@ -795,7 +869,7 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
             if (gapMarkerPostPosition > -1) {
                 // remove the gap marker if it's on the last post (edge case but
                 // it can happen following a purge)
-                if (gapMarkerPostPosition == mAllPosts.size() - 1) {
+                if (gapMarkerPostPosition == mAllPosts.size() - 1 && !mHasMoreLocalPostsTemp) {
                     AppLog.w(AppLog.T.READER, "gap marker at/after last post, removed");
                     ReaderPostTable.removeGapMarkerForTag(mCurrentTag);
                 } else {
@@ -809,14 +883,38 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
             return gapMarkerPosition;
         }
 
+        /*
+         * the diff was calculated against the posts as they were when the task started, so it can
+         * only be used if nothing else changed them while it ran
+         */
+        private boolean canApplyDiff() {
+            if (mDiffResult == null
+                || ReaderPostAdapter.this.mGapMarkerPosition != -1
+                || mPosts.size() != mExistingPosts.size()) {
+                return false;
+            }
+            for (int i = 0; i < mPosts.size(); i++) {
+                if (mPosts.get(i) != mExistingPosts.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         @Override
         protected void onPostExecute(Boolean result) {
+            ReaderPostAdapter.this.mHasMoreLocalPosts = mHasMoreLocalPostsTemp;
             if (result) {
+                boolean canApplyDiff = canApplyDiff();
                 ReaderPostAdapter.this.mGapMarkerPosition = mGapMarkerPositionTemp;
                 ReaderPostAdapter.this.mCanRequestMorePosts = mCanRequestMorePostsTemp;
                 mPosts.clear();
                 mPosts.addAll(mAllPosts);
-                notifyDataSetChanged();
+                if (canApplyDiff) {
+                    mDiffResult.dispatchUpdatesTo(new PostListUpdateCallback());
+                } else {
+                    notifyDataSetChanged();
+                }
             }
 
             if (mDataLoadedListener != null) {
@@ -824,6 +922,41 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
             }
 
             mIsTaskRunning = false;
+            loadPendingNextPage();
+        }
+    }
+
+    private void loadPendingNextPage() {
+        if (mIsNextPagePending) {
+            mIsNextPagePending = false;
+            if (mHasMoreLocalPosts) {
+                loadNextPage();
+            }
+        }
+    }
+
+    /*
+     * dispatches changes to the post list to the adapter, offsetting them by the header
+     */
+    private class PostListUpdateCallback implements ListUpdateCallback {
+        @Override
+        public void onInserted(int position, int count) {
+            notifyItemRangeInserted(position + getItemPositionOffset(), count);
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            notifyItemRangeRemoved(position + getItemPositionOffset(), count);
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            notifyItemMoved(fromPosition + getItemPositionOffset(), toPosition + getItemPositionOffset());
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            notifyItemRangeChanged(position + getItemPositionOffset(), count, payload);
         }
     }
 }
@@ -0,0 +1,27 @@
+package org.wordpress.android.ui.reader.adapters
+
+import androidx.recyclerview.widget.DiffUtil
+import org.wordpress.android.models.ReaderPost
+
+class ReaderPostDiffCallback(
+    private val oldList: List<ReaderPost>,
+    private val newList: List<ReaderPost>
+) : DiffUtil.Callback() {
+    override fun areItemsTheSame(oldItemPosition: Int, newItemPosition: Int): Boolean {
+        return oldList[oldItemPosition].pseudoId == newList[newItemPosition].pseudoId
+    }
+
+    override fun areContentsTheSame(oldItemPosition: Int, newItemPosition: Int): Boolean {
+        val oldItem = oldList[oldItemPosition]
+        val newItem = newList[newItemPosition]
+        return oldItem.isSamePost(newItem) && oldItem.isBookmarked == newItem.isBookmarked
+    }
+
+    override fun getOldListSize(): Int {
+        return oldList.size
+    }
+
+    override fun getNewListSize(): Int {
+        return newList.size
+    }
+}
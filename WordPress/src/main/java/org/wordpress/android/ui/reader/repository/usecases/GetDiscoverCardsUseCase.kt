@@ -7,15 +7,22 @@ import org.wordpress.android.datasets.ReaderBlogTableWrapper
 import org.wordpress.android.datasets.ReaderDiscoverCardsTableWrapper
 import org.wordpress.android.datasets.wrappers.ReaderPostTableWrapper
 import org.wordpress.android.fluxc.utils.AppLogWrapper
+import org.wordpress.android.models.ReaderBlog
+import org.wordpress.android.models.ReaderCardType.GALLERY
+import org.wordpress.android.models.ReaderPost
 import org.wordpress.android.models.discover.ReaderDiscoverCard
 import org.wordpress.android.models.discover.ReaderDiscoverCard.InterestsYouMayLikeCard
 import org.wordpress.android.models.discover.ReaderDiscoverCard.ReaderPostCard
 import org.wordpress.android.models.discover.ReaderDiscoverCard.ReaderRecommendedBlogsCard
 import org.wordpress.android.models.discover.ReaderDiscoverCard.WelcomeBannerCard
 import org.wordpress.android.models.discover.ReaderDiscoverCards
+import org.wordpress.android.models.discover.SimplifiedDiscoverCard
+import org.wordpress.android.models.discover.SimplifiedDiscoverCard.PostCard
+import org.wordpress.android.models.discover.SimplifiedDiscoverCard.RecommendedBlogsCard
 import org.wordpress.android.modules.IO_THREAD
 import org.wordpress.android.ui.prefs.AppPrefsWrapper
-import org.wordpress.android.ui.reader.ReaderConstants
+import org.wordpress.android.ui.reader.models.ReaderBlogIdPostId
+import org.wordpress.android.ui.reader.models.ReaderBlogIdPostIdList
 import org.wordpress.android.util.AppLog.T.READER
 import javax.inject.Inject
 import javax.inject.Named
@@ -31,40 +38,32 @@ class GetDiscoverCardsUseCase @Inject constructor(
     @Named(IO_THREAD) private val ioDispatcher: CoroutineDispatcher
 ) {
     suspend fun get(): ReaderDiscoverCards = withContext(ioDispatcher) {
-        val cardJsonList = readerDiscoverCardsTableWrapper.loadDiscoverCardsJsons()
+        val simplifiedCards = readerDiscoverCardsTableWrapper.loadDiscoverCards { cardsJsons ->
+            parseDiscoverCardsJsonUseCase.parseSimplifiedCards(cardsJsons)
+        }
         val cards: ArrayList<ReaderDiscoverCard> = arrayListOf()
 
-        if (cardJsonList.isNotEmpty()) {
-            val jsonObjects = parseDiscoverCardsJsonUseCase.convertListOfJsonArraysIntoSingleJsonArray(
-                    cardJsonList
-            )
+        if (simplifiedCards.isNotEmpty()) {
+            // the posts and blogs of all the cards are loaded at once rather than one by one for each card
+            val posts = loadPosts(simplifiedCards.filterIsInstance<PostCard>())
+            val recommendedBlogs = loadRecommendedBlogs(simplifiedCards.filterIsInstance<RecommendedBlogsCard>())
 
-            forLoop@ for (i in 0 until jsonObjects.length()) {
-                val cardJson = jsonObjects.getJSONObject(i)
-                when (cardJson.getString(ReaderConstants.JSON_CARD_TYPE)) {
-                    ReaderConstants.JSON_CARD_INTERESTS_YOU_MAY_LIKE -> {
-                        val interests = parseDiscoverCardsJsonUseCase.parseInterestCard(cardJson)
-                        cards.add(InterestsYouMayLikeCard(interests))
+            for (simplifiedCard in simplifiedCards) {
+                when (simplifiedCard) {
+                    is SimplifiedDiscoverCard.InterestsYouMayLikeCard -> {
+                        cards.add(InterestsYouMayLikeCard(simplifiedCard.interests))
                     }
-                    ReaderConstants.JSON_CARD_POST -> {
-                        // TODO we might want to load the data in batch
-                        val (blogId, postId) = parseDiscoverCardsJsonUseCase.parseSimplifiedPostCard(cardJson)
-                        val post = readerPostTableWrapper.getBlogPost(blogId, postId, false)
+                    is PostCard -> {
+                        val post = posts[Pair(simplifiedCard.blogId, simplifiedCard.postId)]
                         if (post != null) {
                             cards.add(ReaderPostCard(post))
                         } else {
                             appLogWrapper.d(READER, "Post from /cards json not found in ReaderDatabase")
-                            continue@forLoop
                         }
                     }
-                    ReaderConstants.JSON_CARD_RECOMMENDED_BLOGS -> {
-                        cardJson?.let {
-                            val recommendedBlogs = parseDiscoverCardsJsonUseCase.parseSimplifiedRecommendedBlogsCard(it)
-                                    .mapNotNull { (blogId, feedId) ->
-                                        readerBlogTableWrapper.getReaderBlog(blogId, feedId)
-                                    }
-                            cards.add(ReaderRecommendedBlogsCard(recommendedBlogs))
-                        }
+                    is RecommendedBlogsCard -> {
+                        val blogs = simplifiedCard.blogIds.mapNotNull { recommendedBlogs[it] }
+                        cards.add(ReaderRecommendedBlogsCard(blogs))
                     }
                 }
             }
@@ -75,4 +74,46 @@ class GetDiscoverCardsUseCase @Inject constructor(
         }
         return@withContext ReaderDiscoverCards(cards)
     }
+
+    /**
+     * Returns the posts of the cards by their blogId and postId. The posts are loaded without their text, except for
+     * gallery posts which need it for their thumbnail strip.
+     */
+    private fun loadPosts(postCards: List<PostCard>): Map<Pair<Long, Long>, ReaderPost> {
+        if (postCards.isEmpty()) {
+            return emptyMap()
+        }
+        val ids = ReaderBlogIdPostIdList()
+        postCards.forEach { ids.add(ReaderBlogIdPostId(it.blogId, it.postId)) }
+        return readerPostTableWrapper.getBlogPosts(ids, true)
+                .map { post ->
+                    if (post.cardType == GALLERY) {
+                        readerPostTableWrapper.getBlogPost(post.blogId, post.postId, false) ?: post
+                    } else {
+                        post
+                    }
+                }
+                .associateBy { Pair(it.blogId, it.postId) }
+    }
+
+    private fun loadRecommendedBlogs(recommendedBlogsCards: List<RecommendedBlogsCard>): RecommendedBlogs {
+        val (feeds, blogs) = recommendedBlogsCards.flatMap { it.blogIds }.partition { (_, feedId) -> feedId != 0L }
+        val blogIds = blogs.map { (blogId, _) -> blogId }.filter { it != 0L }.toSet()
+        val feedIds = feeds.map { (_, feedId) -> feedId }.toSet()
+        return RecommendedBlogs(
+                readerBlogTableWrapper.getBlogInfos(blogIds).associateBy { it.blogId },
+                readerBlogTableWrapper.getFeedInfos(feedIds).associateBy { it.feedId }
+        )
+    }
+
+    /**
+     * The recommended blogs are looked up by their feedId when they have one and by their blogId otherwise, the same
+     * way as [ReaderBlogTableWrapper.getReaderBlog]
+     */
+    private class RecommendedBlogs(val blogs: Map<Long, ReaderBlog>, val feeds: Map<Long, ReaderBlog>) {
+        operator fun get(blogIdAndFeedId: Pair<Long, Long>): ReaderBlog? {
+            val (blogId, feedId) = blogIdAndFeedId
+            return if (feedId != 0L) feeds[feedId] else blogs[blogId]
+        }
+    }
 }
@@ -8,6 +8,10 @@ import org.wordpress.android.models.ReaderPost
 import org.wordpress.android.models.ReaderTag
 import org.wordpress.android.models.ReaderTagList
 import org.wordpress.android.models.ReaderTagType.DEFAULT
+import org.wordpress.android.models.discover.SimplifiedDiscoverCard
+import org.wordpress.android.models.discover.SimplifiedDiscoverCard.InterestsYouMayLikeCard
+import org.wordpress.android.models.discover.SimplifiedDiscoverCard.PostCard
+import org.wordpress.android.models.discover.SimplifiedDiscoverCard.RecommendedBlogsCard
 import org.wordpress.android.ui.reader.ReaderConstants
 import org.wordpress.android.util.JSONUtils
 import javax.inject.Inject
@@ -64,9 +68,31 @@ class ParseDiscoverCardsJsonUseCase @Inject constructor() {
     fun parseNextPageHandle(jsonObject: JSONObject): String =
             jsonObject.getString(ReaderConstants.JSON_NEXT_PAGE_HANDLE)
 
-    fun convertListOfJsonArraysIntoSingleJsonArray(jsons: List<String>): JSONArray {
-        val arrays = jsons.map { JSONArray(it) }
-        return concatArrays(arrays)
+    /**
+     * Parses the simplified json of the stored pages into the compact cards, in the order of the pages
+     */
+    fun parseSimplifiedCards(simplifiedCardsJsons: List<String>): List<SimplifiedDiscoverCard> {
+        return simplifiedCardsJsons.flatMap { parseSimplifiedCards(JSONArray(it)) }
+    }
+
+    fun parseSimplifiedCards(simplifiedCardsJson: JSONArray): List<SimplifiedDiscoverCard> {
+        val cards = arrayListOf<SimplifiedDiscoverCard>()
+        for (i in 0 until simplifiedCardsJson.length()) {
+            val cardJson = simplifiedCardsJson.getJSONObject(i)
+            when (cardJson.getString(ReaderConstants.JSON_CARD_TYPE)) {
+                ReaderConstants.JSON_CARD_INTERESTS_YOU_MAY_LIKE -> {
+                    cards.add(InterestsYouMayLikeCard(parseInterestCard(cardJson)))
+                }
+                ReaderConstants.JSON_CARD_POST -> {
+                    val (blogId, postId) = parseSimplifiedPostCard(cardJson)
+                    cards.add(PostCard(blogId, postId))
+                }
+                ReaderConstants.JSON_CARD_RECOMMENDED_BLOGS -> {
+                    cards.add(RecommendedBlogsCard(parseSimplifiedRecommendedBlogsCard(cardJson)))
+                }
+            }
+        }
+        return cards
     }
 
     private fun parseInterestTag(interestJsonCard: JSONObject): ReaderTag {
@@ -74,14 +100,4 @@ class ParseDiscoverCardsJsonUseCase @Inject constructor() {
         val tagSlug = JSONUtils.getStringDecoded(interestJsonCard, ReaderConstants.JSON_TAG_SLUG)
         return ReaderTag(tagSlug, tagTitle, tagTitle, "", DEFAULT)
     }
-
-    private fun concatArrays(arrays: List<JSONArray>): JSONArray {
-        val result = JSONArray()
-        for (item in arrays) {
-            for (i in 0 until item.length()) {
-                result.put(item[i])
-            }
-        }
-        return result
-    }
 }
@@ -264,7 +264,11 @@ class ReaderDiscoverLogic(
     }
 
     private fun insertCardsJsonIntoDb(simplifiedCardsJson: JSONArray) {
-        ReaderDiscoverCardsTable.addCardsPage(simplifiedCardsJson.toString())
+        // the cards are parsed into their compact form once, rather than every time they're loaded
+        ReaderDiscoverCardsTable.addCardsPage(
+                simplifiedCardsJson.toString(),
+                parseDiscoverCardsJsonUseCase.parseSimplifiedCards(simplifiedCardsJson)
+        )
     }
 
     private suspend fun clearCache() {
@@ -2,11 +2,11 @@ package org.wordpress.android.ui.reader.services.post;
 
 import android.text.TextUtils;
 
+import com.android.volley.Response;
 import com.android.volley.VolleyError;
 import com.wordpress.rest.RestRequest;
 
 import org.greenrobot.eventbus.EventBus;
-import org.json.JSONObject;
 import org.wordpress.android.WordPress;
 import org.wordpress.android.datasets.ReaderPostTable;
 import org.wordpress.android.datasets.ReaderTagTable;
@@ -25,6 +25,8 @@ import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.StringUtils;
 import org.wordpress.android.util.UrlUtils;
 
+import java.io.IOException;
+
 public class ReaderPostLogic {
     private ServiceCompletionListener mCompletionListener;
     private Object mListenerCompanion;
@@ -123,14 +125,14 @@ public class ReaderPostLogic {
 
         sb.append("&meta=site,likes");
 
-        com.wordpress.rest.RestRequest.Listener listener = new RestRequest.Listener() {
+        Response.Listener<byte[]> listener = new Response.Listener<byte[]>() {
             @Override
-            public void onResponse(JSONObject jsonObject) {
+            public void onResponse(byte[] response) {
                 // remember when this tag was updated if newer posts were requested
                 if (updateAction == UpdateAction.REQUEST_NEWER || updateAction == UpdateAction.REQUEST_REFRESH) {
                     ReaderTagTable.setTagLastUpdated(tag);
                 }
-                handleUpdatePostsResponse(tag, jsonObject, updateAction, resultListener);
+                handleUpdatePostsResponse(tag, response, updateAction, resultListener);
             }
         };
         RestRequest.ErrorListener errorListener = new RestRequest.ErrorListener() {
@@ -141,7 +143,7 @@ public class ReaderPostLogic {
             }
         };
 
-        WordPress.getRestClientUtilsV1_2().get(sb.toString(), null, null, listener, errorListener);
+        WordPress.getRestClientUtilsV1_2().getRaw(sb.toString(), null, null, listener, errorListener);
     }
 
     private static void requestPostsForBlog(final long blogId,
@@ -157,10 +159,10 @@ public class ReaderPostLogic {
             }
         }
 
-        com.wordpress.rest.RestRequest.Listener listener = new RestRequest.Listener() {
+        Response.Listener<byte[]> listener = new Response.Listener<byte[]>() {
             @Override
-            public void onResponse(JSONObject jsonObject) {
-                handleUpdatePostsResponse(null, jsonObject, updateAction, resultListener);
+            public void onResponse(byte[] response) {
+                handleUpdatePostsResponse(null, response, updateAction, resultListener);
             }
         };
         RestRequest.ErrorListener errorListener = new RestRequest.ErrorListener() {
@@ -171,7 +173,7 @@ public class ReaderPostLogic {
             }
         };
         AppLog.d(AppLog.T.READER, "updating posts in blog " + blogId);
-        WordPress.getRestClientUtilsV1_2().get(path, null, null, listener, errorListener);
+        WordPress.getRestClientUtilsV1_2().getRaw(path, null, null, listener, errorListener);
     }
 
     private static void requestPostsForFeed(final long feedId,
@@ -185,10 +187,10 @@ public class ReaderPostLogic {
             }
         }
 
-        com.wordpress.rest.RestRequest.Listener listener = new RestRequest.Listener() {
+        Response.Listener<byte[]> listener = new Response.Listener<byte[]>() {
             @Override
-            public void onResponse(JSONObject jsonObject) {
-                handleUpdatePostsResponse(null, jsonObject, updateAction, resultListener);
+            public void onResponse(byte[] response) {
+                handleUpdatePostsResponse(null, response, updateAction, resultListener);
             }
         };
         RestRequest.ErrorListener errorListener = new RestRequest.ErrorListener() {
@@ -200,84 +202,108 @@ public class ReaderPostLogic {
         };
 
         AppLog.d(AppLog.T.READER, "updating posts in feed " + feedId);
-        WordPress.getRestClientUtilsV1_2().get(path, null, null, listener, errorListener);
+        WordPress.getRestClientUtilsV1_2().getRaw(path, null, null, listener, errorListener);
     }
 
     /*
-     * called after requesting posts with a specific tag or in a specific blog/feed
+     * called after requesting posts with a specific tag or in a specific blog/feed, the response
+     * is streamed into posts rather than parsed into a JSONObject first
      */
     private static void handleUpdatePostsResponse(final ReaderTag tag,
-                                                  final JSONObject jsonObject,
+                                                  final byte[] response,
                                                   final UpdateAction updateAction,
                                                   final ReaderActions.UpdateResultListener resultListener) {
-        if (jsonObject == null) {
+        if (response == null) {
             resultListener.onUpdateResult(ReaderActions.UpdateResult.FAILED);
             return;
         }
 
-        new Thread() {
+        // parse the response in parallel with other work, then save the posts in order with other writes
+        WordPress.sBackgroundExecutor.executeParse(new Runnable() {
             @Override
             public void run() {
-                ReaderPostList serverPosts = ReaderPostList.fromJson(jsonObject);
-                ReaderActions.UpdateResult updateResult = ReaderPostTable.comparePosts(serverPosts);
-                if (updateResult.isNewOrChanged()) {
-                    // gap detection - only applies to posts with a specific tag
-                    ReaderPost postWithGap = null;
-                    if (tag != null) {
-                        switch (updateAction) {
-                            case REQUEST_NEWER:
-                                // if there's no overlap between server and local (ie: all server
-                                // posts are new), assume there's a gap between server and local
-                                // provided that local posts exist
-                                int numServerPosts = serverPosts.size();
-                                if (numServerPosts >= 2
-                                    && ReaderPostTable.getNumPostsWithTag(tag) > 0
-                                    && !ReaderPostTable.hasOverlap(serverPosts, tag)) {
-                                    // treat the second to last server post as having a gap
-                                    postWithGap = serverPosts.get(numServerPosts - 2);
-                                    // remove the last server post to deal with the edge case of
-                                    // there actually not being a gap between local & server
-                                    serverPosts.remove(numServerPosts - 1);
-                                    ReaderBlogIdPostId gapMarker = ReaderPostTable.getGapMarkerIdsForTag(tag);
-                                    if (gapMarker != null) {
-                                        // We mustn't have two gapMarkers at the same time. Therefor we need to
-                                        // delete all posts before the current gapMarker and clear the gapMarker flag.
-                                        ReaderPostTable.deletePostsBeforeGapMarkerForTag(tag);
-                                        ReaderPostTable.removeGapMarkerForTag(tag);
-                                    }
-                                }
-                                break;
-                            case REQUEST_OLDER_THAN_GAP:
-                                // if service was started as a request to fill a gap, delete existing posts
-                                // before the one with the gap marker, then remove the existing gap marker
+                final ReaderPostList serverPosts;
+                try {
+                    serverPosts = ReaderPostList.fromJson(response);
+                } catch (IOException | IllegalStateException e) {
+                    AppLog.e(AppLog.T.READER, e);
+                    resultListener.onUpdateResult(ReaderActions.UpdateResult.FAILED);
+                    return;
+                }
+                WordPress.sBackgroundExecutor.executeDbWrite(new Runnable() {
+                    @Override
+                    public void run() {
+                        saveUpdatedPosts(tag, serverPosts, updateAction, resultListener);
+                    }
+                });
+            }
+        });
+    }
+
+    /*
+     * saves the posts from handleUpdatePostsResponse(), must be called from the database write lane
+     */
+    private static void saveUpdatedPosts(final ReaderTag tag,
+                                         final ReaderPostList serverPosts,
+                                         final UpdateAction updateAction,
+                                         final ReaderActions.UpdateResultListener resultListener) {
+        ReaderActions.UpdateResult updateResult = ReaderPostTable.comparePosts(serverPosts);
+        if (updateResult.isNewOrChanged()) {
+            // gap detection - only applies to posts with a specific tag
+            ReaderPost postWithGap = null;
+            if (tag != null) {
+                switch (updateAction) {
+                    case REQUEST_NEWER:
+                        // if there's no overlap between server and local (ie: all server
+                        // posts are new), assume there's a gap between server and local
+                        // provided that local posts exist
+                        int numServerPosts = serverPosts.size();
+                        if (numServerPosts >= 2
+                            && ReaderPostTable.getNumPostsWithTag(tag) > 0
+                            && !ReaderPostTable.hasOverlap(serverPosts, tag)) {
+                            // treat the second to last server post as having a gap
+                            postWithGap = serverPosts.get(numServerPosts - 2);
+                            // remove the last server post to deal with the edge case of
+                            // there actually not being a gap between local & server
+                            serverPosts.remove(numServerPosts - 1);
+                            ReaderBlogIdPostId gapMarker = ReaderPostTable.getGapMarkerIdsForTag(tag);
+                            if (gapMarker != null) {
+                                // We mustn't have two gapMarkers at the same time. Therefor we need to
+                                // delete all posts before the current gapMarker and clear the gapMarker flag.
                                 ReaderPostTable.deletePostsBeforeGapMarkerForTag(tag);
                                 ReaderPostTable.removeGapMarkerForTag(tag);
-                                break;
-                            case REQUEST_REFRESH:
-                                ReaderPostTable.deletePostsWithTag(tag);
-                                break;
-                            case REQUEST_OLDER:
-                                // no-op
-                                break;
+                            }
                         }
-                    }
-                    ReaderPostTable.addOrUpdatePosts(tag, serverPosts);
-
-                    // gap marker must be set after saving server posts
-                    if (postWithGap != null) {
-                        ReaderPostTable.setGapMarkerForTag(postWithGap.blogId, postWithGap.postId, tag);
-                        AppLog.d(AppLog.T.READER, "added gap marker to tag " + tag.getTagNameForLog());
-                    }
-                } else if (updateResult == ReaderActions.UpdateResult.UNCHANGED
-                           && updateAction == UpdateAction.REQUEST_OLDER_THAN_GAP) {
-                    // edge case - request to fill gap returned nothing new, so remove the gap marker
-                    ReaderPostTable.removeGapMarkerForTag(tag);
-                    AppLog.w(AppLog.T.READER, "attempt to fill gap returned nothing new");
+                        break;
+                    case REQUEST_OLDER_THAN_GAP:
+                        // if service was started as a request to fill a gap, delete existing posts
+                        // before the one with the gap marker, then remove the existing gap marker
+                        ReaderPostTable.deletePostsBeforeGapMarkerForTag(tag);
+                        ReaderPostTable.removeGapMarkerForTag(tag);
+                        break;
+                    case REQUEST_REFRESH:
+                        ReaderPostTable.deletePostsWithTag(tag);
+                        break;
+                    case REQUEST_OLDER:
+                        // no-op
+                        break;
                 }
-                AppLog.d(AppLog.T.READER, "requested posts response = " + updateResult.toString());
-                resultListener.onUpdateResult(updateResult);
             }
-        }.start();
+            ReaderPostTable.addOrUpdatePosts(tag, serverPosts);
+
+            // gap marker must be set after saving server posts
+            if (postWithGap != null) {
+                ReaderPostTable.setGapMarkerForTag(postWithGap.blogId, postWithGap.postId, tag);
+                AppLog.d(AppLog.T.READER, "added gap marker to tag " + tag.getTagNameForLog());
+            }
+        } else if (updateResult == ReaderActions.UpdateResult.UNCHANGED
+                   && updateAction == UpdateAction.REQUEST_OLDER_THAN_GAP) {
+            // edge case - request to fill gap returned nothing new, so remove the gap marker
+            ReaderPostTable.removeGapMarkerForTag(tag);
+            AppLog.w(AppLog.T.READER, "attempt to fill gap returned nothing new");
+        }
+        AppLog.d(AppLog.T.READER, "requested posts response = " + updateResult.toString());
+        resultListener.onUpdateResult(updateResult);
     }
 
     /*
@@ -57,14 +57,19 @@ public class ReaderSearchLogic {
     }
 
     private void handleSearchResponse(final String query, final int offset, final JSONObject jsonObject) {
-        new Thread() {
+        WordPress.sBackgroundExecutor.executeParse(new Runnable() {
             @Override
             public void run() {
-                ReaderPostList serverPosts = ReaderPostList.fromJson(jsonObject);
-                ReaderPostTable.addOrUpdatePosts(getTagForSearchQuery(query), serverPosts);
-                EventBus.getDefault().post(new ReaderEvents.SearchPostsEnded(query, offset, true));
-                mCompletionListener.onCompleted(mListenerCompanion);
+                final ReaderPostList serverPosts = ReaderPostList.fromJson(jsonObject);
+                WordPress.sBackgroundExecutor.executeDbWrite(new Runnable() {
+                    @Override
+                    public void run() {
+                        ReaderPostTable.addOrUpdatePosts(getTagForSearchQuery(query), serverPosts);
+                        EventBus.getDefault().post(new ReaderEvents.SearchPostsEnded(query, offset, true));
+                        mCompletionListener.onCompleted(mListenerCompanion);
+                    }
+                });
             }
-        }.start();
+        });
     }
 }
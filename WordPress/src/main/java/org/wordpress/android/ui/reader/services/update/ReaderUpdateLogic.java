@@ -140,7 +140,7 @@ public class ReaderUpdateLogic {
     }
 
     private void handleUpdateTagsResponse(final JSONObject jsonObject) {
-        new Thread() {
+        WordPress.sBackgroundExecutor.executeDbWrite(new Runnable() {
             @Override
             public void run() {
                 // get server topics, both default & followed - but use "recommended" for logged-out
@@ -198,7 +198,7 @@ public class ReaderUpdateLogic {
 
                 taskCompleted(UpdateTask.TAGS);
             }
-        }.start();
+        });
     }
 
     /*
@@ -281,7 +281,7 @@ public class ReaderUpdateLogic {
     }
 
     private void handleInterestTagsResponse(final JSONObject jsonObject) {
-        new Thread() {
+        WordPress.sBackgroundExecutor.executeParse(new Runnable() {
             @Override
             public void run() {
                 ReaderTagList interestTags = new ReaderTagList();
@@ -289,7 +289,7 @@ public class ReaderUpdateLogic {
                 EventBus.getDefault().post(new InterestTagsFetchEnded(interestTags, true));
                 taskCompleted(UpdateTask.INTEREST_TAGS);
             }
-        }.start();
+        });
     }
 
     /***
@@ -316,7 +316,7 @@ public class ReaderUpdateLogic {
     }
 
     private void handleFollowedBlogsResponse(final JSONObject jsonObject) {
-        new Thread() {
+        WordPress.sBackgroundExecutor.executeDbWrite(new Runnable() {
             @Override
             public void run() {
                 ReaderBlogList serverBlogs = ReaderBlogList.fromJson(jsonObject);
@@ -338,6 +338,6 @@ public class ReaderUpdateLogic {
 
                 taskCompleted(UpdateTask.FOLLOWED_BLOGS);
             }
-        }.start();
+        });
     }
 }
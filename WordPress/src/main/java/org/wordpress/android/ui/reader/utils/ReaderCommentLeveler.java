@@ -5,6 +5,11 @@ import androidx.annotation.NonNull;
 import org.wordpress.android.models.ReaderComment;
 import org.wordpress.android.models.ReaderCommentList;
 import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.LongHashSet;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
 
 /*
  * utility class which accepts a list of comments and then creates a "level list" from it
@@ -12,6 +17,9 @@ import org.wordpress.android.util.AppLog;
  */
 
 public class ReaderCommentLeveler {
+    // beyond this many new comments it's cheaper to rebuild the level list than to splice them in one by one
+    private static final int MAX_SPLICED_COMMENTS = 100;
+
     private final ReaderCommentList mComments;
 
     public ReaderCommentLeveler(@NonNull ReaderCommentList comments) {
@@ -21,27 +29,36 @@ public class ReaderCommentLeveler {
     public ReaderCommentList createLevelList() {
         ReaderCommentList result = new ReaderCommentList();
 
-        // reset all levels, and add root comments to result
+        // reset all levels, and index the children of each comment in the order they appear
+        Map<Long, ReaderCommentList> childrenByParentId = new HashMap<>();
+        LongHashSet commentIds = new LongHashSet(mComments.size());
         for (ReaderComment comment : mComments) {
             comment.level = 0;
-            if (comment.parentId == 0) {
-                result.add(comment);
+            commentIds.add(comment.commentId);
+            if (comment.parentId != 0) {
+                ReaderCommentList children = childrenByParentId.get(comment.parentId);
+                if (children == null) {
+                    children = new ReaderCommentList();
+                    childrenByParentId.put(comment.parentId, children);
+                }
+                children.add(comment);
             }
         }
 
-        // add children at each level
-        int level = 0;
-        while (walkCommentsAtLevel(result, level)) {
-            level++;
+        // add each root comment followed by its replies
+        LongHashSet addedIds = new LongHashSet(mComments.size());
+        for (ReaderComment comment : mComments) {
+            if (comment.parentId == 0) {
+                addThread(result, comment, 0, childrenByParentId, addedIds);
+            }
         }
 
-        // check for orphans (child comments whose parents weren't found above) and give them
-        // a non-zero level so they're indented by ReaderCommentAdapter
-        for (ReaderComment comment : result) {
-            if (comment.level == 0 && comment.parentId != 0) {
-                comment.level = 1;
-                result.add(comment);
+        // add orphans (child comments whose parents aren't in the list) at the end, with a non-zero
+        // level so they're indented by ReaderCommentAdapter
+        for (ReaderComment comment : mComments) {
+            if (comment.parentId != 0 && !commentIds.contains(comment.parentId)) {
                 AppLog.d(AppLog.T.READER, "Orphan comment encountered");
+                addThread(result, comment, 1, childrenByParentId, addedIds);
             }
         }
 
@@ -49,48 +66,175 @@ public class ReaderCommentLeveler {
     }
 
     /*
-     * walk comments in the passed list that have the passed level and add their children
-     * beneath them
+     * adds the passed comment and all of its replies depth-first, so every reply appears
+     * beneath its parent
      */
-    private boolean walkCommentsAtLevel(@NonNull ReaderCommentList comments, int level) {
-        boolean hasChanges = false;
-        for (int index = 0; index < comments.size(); index++) {
-            ReaderComment parent = comments.get(index);
-            if (parent.level == level && hasChildren(parent.commentId)) {
-                // get children for this comment, set their level, then add them below the parent
-                ReaderCommentList children = getChildren(parent.commentId);
-                setLevel(children, level + 1);
-                comments.addAll(index + 1, children);
-                hasChanges = true;
-                // skip past the children we just added
-                index += children.size();
+    private static void addThread(@NonNull ReaderCommentList result,
+                                  @NonNull ReaderComment root,
+                                  int level,
+                                  @NonNull Map<Long, ReaderCommentList> childrenByParentId,
+                                  @NonNull LongHashSet addedIds) {
+        ArrayDeque<ReaderComment> stack = new ArrayDeque<>();
+        root.level = level;
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            ReaderComment comment = stack.pop();
+            // skip comments which were already added, which can only happen if the replies form a cycle
+            if (!addedIds.add(comment.commentId)) {
+                continue;
+            }
+            result.add(comment);
+
+            ReaderCommentList children = childrenByParentId.get(comment.commentId);
+            if (children != null) {
+                // pushed in reverse so they're popped in their original order
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    ReaderComment child = children.get(i);
+                    child.level = comment.level + 1;
+                    stack.push(child);
+                }
             }
         }
-        return hasChanges;
     }
 
-    private boolean hasChildren(long commentId) {
+    /*
+     * returns the level list for the comments passed to the constructor, given a level list created
+     * earlier for the same post - comments which were added since (such as a newly loaded page) are
+     * spliced into a copy of the existing list rather than rebuilding it, and the list is only
+     * rebuilt when comments were removed or moved to a different parent. the passed comments
+     * must be ordered by timestamp, as returned by ReaderCommentTable.getCommentsForPost()
+     */
+    public ReaderCommentList updateLevelList(@NonNull ReaderCommentList levelList) {
+        if (levelList.isEmpty()) {
+            return createLevelList();
+        }
+
+        Map<Long, Integer> indexById = new HashMap<>(levelList.size());
+        for (int i = 0; i < levelList.size(); i++) {
+            indexById.put(levelList.get(i).commentId, i);
+        }
+
+        ReaderCommentList result = new ReaderCommentList();
+        result.addAll(levelList);
+        ReaderCommentList newComments = new ReaderCommentList();
         for (ReaderComment comment : mComments) {
-            if (comment.parentId == commentId) {
-                return true;
+            Integer index = indexById.remove(comment.commentId);
+            if (index == null) {
+                newComments.add(comment);
+            } else {
+                ReaderComment existing = result.get(index);
+                if (existing.parentId != comment.parentId) {
+                    return createLevelList();
+                }
+                if (!existing.equals(comment)) {
+                    comment.level = existing.level;
+                    result.set(index, comment);
+                }
             }
         }
-        return false;
+
+        // comments which are no longer in the list were deleted
+        if (!indexById.isEmpty() || newComments.size() > MAX_SPLICED_COMMENTS) {
+            return createLevelList();
+        }
+
+        LongHashSet commentIds = new LongHashSet(mComments.size());
+        for (ReaderComment comment : result) {
+            commentIds.add(comment.commentId);
+        }
+        for (ReaderComment comment : newComments) {
+            if (!spliceComment(result, commentIds, comment)) {
+                return createLevelList();
+            }
+        }
+
+        return result;
     }
 
-    private ReaderCommentList getChildren(long commentId) {
-        ReaderCommentList children = new ReaderCommentList();
-        for (ReaderComment comment : mComments) {
-            if (comment.parentId == commentId) {
-                children.add(comment);
+    /*
+     * inserts a new comment into the passed level list where createLevelList() would have placed it,
+     * returns false if that isn't possible without moving other comments
+     */
+    private static boolean spliceComment(@NonNull ReaderCommentList levelList,
+                                         @NonNull LongHashSet commentIds,
+                                         @NonNull ReaderComment comment) {
+        // orphans which reply to this comment would have to move beneath it
+        for (ReaderComment existing : levelList) {
+            if (existing.parentId == comment.commentId) {
+                return false;
+            }
+        }
+
+        int index;
+        if (comment.parentId == 0) {
+            comment.level = 0;
+            index = indexForRoot(levelList, commentIds, comment.timestamp);
+        } else if (commentIds.contains(comment.parentId)) {
+            int parentIndex = levelList.indexOfCommentId(comment.parentId);
+            comment.level = levelList.get(parentIndex).level + 1;
+            index = indexForReply(levelList, commentIds, parentIndex, comment.timestamp);
+        } else {
+            comment.level = 1;
+            index = indexForOrphan(levelList, commentIds, comment.timestamp);
+        }
+
+        levelList.add(index, comment);
+        commentIds.add(comment.commentId);
+        return true;
+    }
+
+    /*
+     * root comments are ordered by timestamp and come before all orphans
+     */
+    private static int indexForRoot(@NonNull ReaderCommentList levelList,
+                                    @NonNull LongHashSet commentIds,
+                                    long timestamp) {
+        for (int i = 0; i < levelList.size(); i++) {
+            ReaderComment comment = levelList.get(i);
+            if (isOrphan(comment, commentIds) || (comment.parentId == 0 && comment.timestamp > timestamp)) {
+                return i;
             }
         }
-        return children;
+        return levelList.size();
     }
 
-    private void setLevel(@NonNull ReaderCommentList comments, int level) {
-        for (ReaderComment comment : comments) {
-            comment.level = level;
+    /*
+     * replies are ordered by timestamp among their siblings, each sibling followed by its own replies
+     */
+    private static int indexForReply(@NonNull ReaderCommentList levelList,
+                                     @NonNull LongHashSet commentIds,
+                                     int parentIndex,
+                                     long timestamp) {
+        ReaderComment parent = levelList.get(parentIndex);
+        for (int i = parentIndex + 1; i < levelList.size(); i++) {
+            ReaderComment comment = levelList.get(i);
+            // stop at the end of the parent's thread
+            if (comment.level <= parent.level || isOrphan(comment, commentIds)) {
+                return i;
+            }
+            if (comment.parentId == parent.commentId && comment.timestamp > timestamp) {
+                return i;
+            }
         }
+        return levelList.size();
+    }
+
+    /*
+     * orphans are at the end of the list, ordered by timestamp
+     */
+    private static int indexForOrphan(@NonNull ReaderCommentList levelList,
+                                      @NonNull LongHashSet commentIds,
+                                      long timestamp) {
+        for (int i = 0; i < levelList.size(); i++) {
+            ReaderComment comment = levelList.get(i);
+            if (isOrphan(comment, commentIds) && comment.timestamp > timestamp) {
+                return i;
+            }
+        }
+        return levelList.size();
+    }
+
+    private static boolean isOrphan(@NonNull ReaderComment comment, @NonNull LongHashSet commentIds) {
+        return comment.parentId != 0 && !commentIds.contains(comment.parentId);
     }
 }
@@ -0,0 +1,192 @@
+package org.wordpress.android.ui.reader.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * rewrites post content for the reader's post detail in a single sweep - image and iframe tags
+ * are handed to a TagRewriter as they're found and its replacements are written to the output
+ * as it's built, protocol-relative src attributes get an explicit protocol, and the scripts
+ * needed by known embeds (Instagram, Facebook) are collected along the way. tags are matched
+ * the same way ReaderImageScanner and ReaderIframeScanner match them, but replacements are made
+ * by position so the content is never searched again.
+ */
+public class ReaderHtmlRewriter {
+    public interface TagRewriter {
+        /*
+         * returns the tag which should replace the passed image tag, or null to leave it as is
+         */
+        @Nullable String rewriteImageTag(@NonNull String imageTag, @NonNull String imageUrl);
+
+        /*
+         * returns the tag which should replace the passed iframe tag, or null to leave it as is
+         */
+        @Nullable String rewriteIframeTag(@NonNull String iframeTag, @NonNull String src);
+    }
+
+    private static final String IMG_TAG_START = "<img";
+    private static final String IMG_SRC_ATTR = " src=\"";
+    private static final String IFRAME_TAG_START = "<iframe";
+    private static final String IFRAME_SRC_ATTR = " src='";
+
+    // some content (such as Vimeo embeds) don't have "http:" before links
+    private static final String PROTOCOL_RELATIVE_SRC = "src=\"//";
+    private static final String HTTP_SRC = "src=\"http://";
+
+    private static final String INSTAGRAM_TAG_START = "<blockquote";
+    private static final String INSTAGRAM_CLASS = "class=\"instagram-";
+    private static final String INSTAGRAM_JS = "https://platform.instagram.com/en_US/embeds.js";
+    private static final String FACEBOOK_TAG_START = "<fb:post";
+    private static final String FACEBOOK_JS = "https://connect.facebook.net/en_US/sdk.js#xfbml=1&amp;version=v2.8";
+
+    private final String mContent;
+    private final boolean mRewriteImages;
+    private final Set<String> mJsToInject = new HashSet<>();
+
+    // position of the next protocol-relative src at or after the text being copied, -1 if there are no more
+    private int mNextRelativeSrc;
+
+    public ReaderHtmlRewriter(@NonNull String contentOfPost, boolean rewriteImages) {
+        mContent = contentOfPost;
+        mRewriteImages = rewriteImages;
+    }
+
+    /*
+     * returns the rewritten content - may only be called once per rewriter
+     */
+    @NonNull
+    public String rewrite(@NonNull TagRewriter tagRewriter) {
+        final String content = mContent;
+        final int length = content.length();
+        final StringBuilder output = new StringBuilder(length + (length >> 3));
+        mNextRelativeSrc = content.indexOf(PROTOCOL_RELATIVE_SRC);
+
+        int copyFrom = 0;
+        int tagStart = content.indexOf('<');
+        while (tagStart != -1) {
+            int[] match = null;
+            String newTag = null;
+
+            if (mRewriteImages && content.regionMatches(true, tagStart, IMG_TAG_START, 0, IMG_TAG_START.length())) {
+                match = matchTag(content, tagStart, IMG_TAG_START.length(), IMG_SRC_ATTR, '"');
+                if (match != null) {
+                    String tag = fixRelativeSrc(content.substring(tagStart, match[0]));
+                    String url = content.substring(match[1], match[2]);
+                    if (content.startsWith(PROTOCOL_RELATIVE_SRC, match[1] - PROTOCOL_RELATIVE_SRC.length() + 2)) {
+                        url = "http:" + url;
+                    }
+                    newTag = tagRewriter.rewriteImageTag(tag, url);
+                }
+            } else if (content.regionMatches(true, tagStart, IFRAME_TAG_START, 0, IFRAME_TAG_START.length())) {
+                match = matchTag(content, tagStart, IFRAME_TAG_START.length(), IFRAME_SRC_ATTR, '\'');
+                if (match != null) {
+                    String tag = fixRelativeSrc(content.substring(tagStart, match[0]));
+                    String src = fixRelativeSrc(content.substring(match[1], match[2]));
+                    newTag = tagRewriter.rewriteIframeTag(tag, src);
+                }
+            } else {
+                scanForEmbed(content, tagStart);
+            }
+
+            if (match == null) {
+                tagStart = content.indexOf('<', tagStart + 1);
+                continue;
+            }
+
+            if (newTag != null) {
+                appendContent(output, copyFrom, tagStart);
+                output.append(newTag);
+                copyFrom = match[0];
+                // the src is all that's left of a replaced tag, so embeds are only looked for there
+                scanForEmbeds(content, match[1], match[2]);
+            } else {
+                scanForEmbeds(content, tagStart + 1, match[0]);
+            }
+            tagStart = content.indexOf('<', match[0]);
+        }
+
+        appendContent(output, copyFrom, length);
+        return output.toString();
+    }
+
+    /*
+     * returns the URLs of the scripts which must be injected to support embeds found by rewrite()
+     */
+    @NonNull
+    public Set<String> getJsToInject() {
+        return mJsToInject;
+    }
+
+    private void scanForEmbeds(@NonNull String content, int from, int to) {
+        for (int i = content.indexOf('<', from); i != -1 && i < to; i = content.indexOf('<', i + 1)) {
+            scanForEmbed(content, i);
+        }
+    }
+
+    private void scanForEmbed(@NonNull String content, int tagStart) {
+        int classStart = tagStart + INSTAGRAM_TAG_START.length() + 1;
+        if (content.regionMatches(true, tagStart, INSTAGRAM_TAG_START, 0, INSTAGRAM_TAG_START.length())
+            && classStart < content.length()
+            && content.charAt(classStart - 1) != '<'
+            && content.charAt(classStart - 1) != '>'
+            && content.regionMatches(true, classStart, INSTAGRAM_CLASS, 0, INSTAGRAM_CLASS.length())) {
+            mJsToInject.add(INSTAGRAM_JS);
+        } else if (content.regionMatches(true, tagStart, FACEBOOK_TAG_START, 0, FACEBOOK_TAG_START.length())) {
+            mJsToInject.add(FACEBOOK_JS);
+        }
+    }
+
+    /*
+     * matches the tag starting at tagStart the way "<tag[^>]* src=Q([^Q]*)Q[^>]*>" would (where Q is the
+     * passed quote char), returns {tag end, src start, src end} or null if the tag doesn't match
+     */
+    @Nullable
+    private static int[] matchTag(@NonNull String content, int tagStart, int nameLength,
+                                  @NonNull String srcAttr, char quote) {
+        int firstClose = content.indexOf('>', tagStart + nameLength);
+        if (firstClose == -1) {
+            return null;
+        }
+
+        // the src attribute may not follow a '>', and like the greedy regex we prefer the last one
+        for (int attr = firstClose - srcAttr.length(); attr >= tagStart + nameLength; attr--) {
+            if (!content.regionMatches(true, attr, srcAttr, 0, srcAttr.length())) {
+                continue;
+            }
+            int srcStart = attr + srcAttr.length();
+            int srcEnd = content.indexOf(quote, srcStart);
+            if (srcEnd == -1) {
+                continue;
+            }
+            int tagClose = content.indexOf('>', srcEnd + 1);
+            if (tagClose == -1) {
+                continue;
+            }
+            return new int[]{tagClose + 1, srcStart, srcEnd};
+        }
+
+        return null;
+    }
+
+    /*
+     * copies content[from, to) to the output, giving protocol-relative src attributes a protocol
+     */
+    private void appendContent(@NonNull StringBuilder output, int from, int to) {
+        if (mNextRelativeSrc != -1 && mNextRelativeSrc < from) {
+            mNextRelativeSrc = mContent.indexOf(PROTOCOL_RELATIVE_SRC, from);
+        }
+        while (mNextRelativeSrc != -1 && mNextRelativeSrc + PROTOCOL_RELATIVE_SRC.length() <= to) {
+            output.append(mContent, from, mNextRelativeSrc).append(HTTP_SRC);
+            from = mNextRelativeSrc + PROTOCOL_RELATIVE_SRC.length();
+            mNextRelativeSrc = mContent.indexOf(PROTOCOL_RELATIVE_SRC, from);
+        }
+        output.append(mContent, from, to);
+    }
+
+    private static String fixRelativeSrc(@NonNull String tag) {
+        return tag.contains(PROTOCOL_RELATIVE_SRC) ? tag.replace(PROTOCOL_RELATIVE_SRC, HTTP_SRC) : tag;
+    }
+}
@@ -36,6 +36,8 @@ import org.wordpress.android.ui.stats.refresh.lists.sections.granular.GranularUs
 import org.wordpress.android.ui.stats.refresh.lists.sections.granular.SelectedDateProvider
 import org.wordpress.android.ui.stats.refresh.lists.sections.granular.usecases.AuthorsUseCase.SelectedAuthor
 import org.wordpress.android.ui.stats.refresh.utils.ContentDescriptionHelper
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache.Key
 import org.wordpress.android.ui.stats.refresh.utils.StatsSiteProvider
 import org.wordpress.android.ui.stats.refresh.utils.StatsUtils
 import org.wordpress.android.ui.stats.refresh.utils.getBarWidth
@@ -51,6 +53,7 @@ constructor(
     @Named(UI_THREAD) private val mainDispatcher: CoroutineDispatcher,
     @Named(BG_THREAD) private val backgroundDispatcher: CoroutineDispatcher,
     private val authorsStore: AuthorsStore,
+    private val statsRequestCache: StatsRequestCache,
     statsSiteProvider: StatsSiteProvider,
     selectedDateProvider: SelectedDateProvider,
     private val analyticsTracker: AnalyticsTrackerWrapper,
@@ -80,13 +83,18 @@ constructor(
     }
 
     override suspend fun fetchRemoteData(selectedDate: Date, site: SiteModel, forced: Boolean): State<AuthorsModel> {
-        val response = authorsStore.fetchAuthors(
-                site,
-                statsGranularity,
-                LimitMode.Top(itemsToLoad),
-                selectedDate,
+        val response = statsRequestCache.fetch(
+                Key(site.siteId, type, statsGranularity, selectedDate, itemsToLoad),
                 forced
-        )
+        ) {
+            authorsStore.fetchAuthors(
+                    site,
+                    statsGranularity,
+                    LimitMode.Top(itemsToLoad),
+                    selectedDate,
+                    forced
+            )
+        }
         val model = response.model
         val error = response.error
 
@@ -203,6 +211,7 @@ constructor(
         @Named(UI_THREAD) private val mainDispatcher: CoroutineDispatcher,
         @Named(BG_THREAD) private val backgroundDispatcher: CoroutineDispatcher,
         private val authorsStore: AuthorsStore,
+        private val statsRequestCache: StatsRequestCache,
         private val statsSiteProvider: StatsSiteProvider,
         private val selectedDateProvider: SelectedDateProvider,
         private val analyticsTracker: AnalyticsTrackerWrapper,
@@ -215,6 +224,7 @@ constructor(
                         mainDispatcher,
                         backgroundDispatcher,
                         authorsStore,
+                        statsRequestCache,
                         statsSiteProvider,
                         selectedDateProvider,
                         analyticsTracker,
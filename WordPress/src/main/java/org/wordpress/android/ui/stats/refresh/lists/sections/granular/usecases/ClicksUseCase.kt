@@ -32,6 +32,8 @@ import org.wordpress.android.ui.stats.refresh.lists.sections.granular.GranularUs
 import org.wordpress.android.ui.stats.refresh.lists.sections.granular.SelectedDateProvider
 import org.wordpress.android.ui.stats.refresh.lists.sections.granular.usecases.ClicksUseCase.SelectedClicksGroup
 import org.wordpress.android.ui.stats.refresh.utils.ContentDescriptionHelper
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache.Key
 import org.wordpress.android.ui.stats.refresh.utils.StatsSiteProvider
 import org.wordpress.android.ui.stats.refresh.utils.StatsUtils
 import org.wordpress.android.ui.stats.refresh.utils.trackGranular
@@ -46,6 +48,7 @@ constructor(
     @Named(UI_THREAD) private val mainDispatcher: CoroutineDispatcher,
     @Named(BG_THREAD) private val backgroundDispatcher: CoroutineDispatcher,
     private val store: ClicksStore,
+    private val statsRequestCache: StatsRequestCache,
     statsSiteProvider: StatsSiteProvider,
     selectedDateProvider: SelectedDateProvider,
     private val analyticsTracker: AnalyticsTrackerWrapper,
@@ -75,13 +78,18 @@ constructor(
     }
 
     override suspend fun fetchRemoteData(selectedDate: Date, site: SiteModel, forced: Boolean): State<ClicksModel> {
-        val response = store.fetchClicks(
-                site,
-                statsGranularity,
-                LimitMode.Top(itemsToLoad),
-                selectedDate,
+        val response = statsRequestCache.fetch(
+                Key(site.siteId, type, statsGranularity, selectedDate, itemsToLoad),
                 forced
-        )
+        ) {
+            store.fetchClicks(
+                    site,
+                    statsGranularity,
+                    LimitMode.Top(itemsToLoad),
+                    selectedDate,
+                    forced
+            )
+        }
         val model = response.model
         val error = response.error
 
@@ -179,6 +187,7 @@ constructor(
         @Named(UI_THREAD) private val mainDispatcher: CoroutineDispatcher,
         @Named(BG_THREAD) private val backgroundDispatcher: CoroutineDispatcher,
         private val store: ClicksStore,
+        private val statsRequestCache: StatsRequestCache,
         private val statsSiteProvider: StatsSiteProvider,
         private val selectedDateProvider: SelectedDateProvider,
         private val contentDescriptionHelper: ContentDescriptionHelper,
@@ -191,6 +200,7 @@ constructor(
                         mainDispatcher,
                         backgroundDispatcher,
                         store,
+                        statsRequestCache,
                         statsSiteProvider,
                         selectedDateProvider,
                         analyticsTracker,
@@ -29,6 +29,8 @@ import org.wordpress.android.ui.stats.refresh.lists.sections.granular.GranularSt
 import org.wordpress.android.ui.stats.refresh.lists.sections.granular.GranularUseCaseFactory
 import org.wordpress.android.ui.stats.refresh.lists.sections.granular.SelectedDateProvider
 import org.wordpress.android.ui.stats.refresh.utils.ContentDescriptionHelper
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache.Key
 import org.wordpress.android.ui.stats.refresh.utils.StatsSiteProvider
 import org.wordpress.android.ui.stats.refresh.utils.StatsUtils
 import org.wordpress.android.ui.stats.refresh.utils.trackGranular
@@ -43,6 +45,7 @@ constructor(
     @Named(UI_THREAD) private val mainDispatcher: CoroutineDispatcher,
     @Named(BG_THREAD) private val backgroundDispatcher: CoroutineDispatcher,
     private val store: CountryViewsStore,
+    private val statsRequestCache: StatsRequestCache,
     statsSiteProvider: StatsSiteProvider,
     selectedDateProvider: SelectedDateProvider,
     private val analyticsTracker: AnalyticsTrackerWrapper,
@@ -75,13 +78,18 @@ constructor(
         site: SiteModel,
         forced: Boolean
     ): State<CountryViewsModel> {
-        val response = store.fetchCountryViews(
-                site,
-                statsGranularity,
-                LimitMode.Top(itemsToLoad),
-                selectedDate,
+        val response = statsRequestCache.fetch(
+                Key(site.siteId, type, statsGranularity, selectedDate, itemsToLoad),
                 forced
-        )
+        ) {
+            store.fetchCountryViews(
+                    site,
+                    statsGranularity,
+                    LimitMode.Top(itemsToLoad),
+                    selectedDate,
+                    forced
+            )
+        }
         val model = response.model
         val error = response.error
 
@@ -167,6 +175,7 @@ constructor(
         @Named(UI_THREAD) private val mainDispatcher: CoroutineDispatcher,
         @Named(BG_THREAD) private val backgroundDispatcher: CoroutineDispatcher,
         private val store: CountryViewsStore,
+        private val statsRequestCache: StatsRequestCache,
         private val statsSiteProvider: StatsSiteProvider,
         private val selectedDateProvider: SelectedDateProvider,
         private val analyticsTracker: AnalyticsTrackerWrapper,
@@ -179,6 +188,7 @@ constructor(
                         mainDispatcher,
                         backgroundDispatcher,
                         store,
+                        statsRequestCache,
                         statsSiteProvider,
                         selectedDateProvider,
                         analyticsTracker,
@@ -27,6 +27,8 @@ import org.wordpress.android.ui.stats.refresh.lists.sections.granular.GranularSt
 import org.wordpress.android.ui.stats.refresh.lists.sections.granular.GranularUseCaseFactory
 import org.wordpress.android.ui.stats.refresh.lists.sections.granular.SelectedDateProvider
 import org.wordpress.android.ui.stats.refresh.utils.ContentDescriptionHelper
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache.Key
 import org.wordpress.android.ui.stats.refresh.utils.StatsSiteProvider
 import org.wordpress.android.ui.stats.refresh.utils.StatsUtils
 import org.wordpress.android.ui.stats.refresh.utils.trackGranular
@@ -47,6 +49,7 @@ constructor(
     @Named(UI_THREAD) private val mainDispatcher: CoroutineDispatcher,
     @Named(BG_THREAD) private val backgroundDispatcher: CoroutineDispatcher,
     private val store: FileDownloadsStore,
+    private val statsRequestCache: StatsRequestCache,
     statsSiteProvider: StatsSiteProvider,
     selectedDateProvider: SelectedDateProvider,
     private val analyticsTracker: AnalyticsTrackerWrapper,
@@ -91,13 +94,18 @@ constructor(
         site: SiteModel,
         forced: Boolean
     ): State<FileDownloadsModel> {
-        val response = store.fetchFileDownloads(
-                site,
-                statsGranularity,
-                LimitMode.Top(itemsToLoad),
-                selectedDate,
+        val response = statsRequestCache.fetch(
+                Key(site.siteId, type, statsGranularity, selectedDate, itemsToLoad),
                 forced
-        )
+        ) {
+            store.fetchFileDownloads(
+                    site,
+                    statsGranularity,
+                    LimitMode.Top(itemsToLoad),
+                    selectedDate,
+                    forced
+            )
+        }
         val model = response.model
         val error = response.error
 
@@ -160,6 +168,7 @@ constructor(
         @Named(UI_THREAD) private val mainDispatcher: CoroutineDispatcher,
         @Named(BG_THREAD) private val backgroundDispatcher: CoroutineDispatcher,
         private val store: FileDownloadsStore,
+        private val statsRequestCache: StatsRequestCache,
         private val selectedDateProvider: SelectedDateProvider,
         private val statsSiteProvider: StatsSiteProvider,
         private val analyticsTracker: AnalyticsTrackerWrapper,
@@ -173,6 +182,7 @@ constructor(
                         mainDispatcher,
                         backgroundDispatcher,
                         store,
+                        statsRequestCache,
                         statsSiteProvider,
                         selectedDateProvider,
                         analyticsTracker,
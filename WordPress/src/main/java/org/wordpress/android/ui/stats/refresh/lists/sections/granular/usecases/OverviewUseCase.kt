@@ -18,6 +18,8 @@ import org.wordpress.android.ui.stats.refresh.lists.sections.granular.SelectedDa
 import org.wordpress.android.ui.stats.refresh.lists.sections.granular.usecases.OverviewUseCase.UiState
 import org.wordpress.android.ui.stats.refresh.lists.widget.WidgetUpdater.StatsWidgetUpdaters
 import org.wordpress.android.ui.stats.refresh.utils.StatsDateFormatter
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache.Key
 import org.wordpress.android.ui.stats.refresh.utils.StatsSiteProvider
 import org.wordpress.android.ui.stats.refresh.utils.toStatsSection
 import org.wordpress.android.ui.stats.refresh.utils.trackGranular
@@ -34,6 +36,7 @@ class OverviewUseCase
 constructor(
     private val statsGranularity: StatsGranularity,
     private val visitsAndViewsStore: VisitsAndViewsStore,
+    private val statsRequestCache: StatsRequestCache,
     private val selectedDateProvider: SelectedDateProvider,
     private val statsSiteProvider: StatsSiteProvider,
     private val statsDateFormatter: StatsDateFormatter,
@@ -74,12 +77,18 @@ constructor(
     }
 
     override suspend fun fetchRemoteData(forced: Boolean): State<VisitsAndViewsModel> {
-        val response = visitsAndViewsStore.fetchVisits(
-                statsSiteProvider.siteModel,
-                statsGranularity,
-                LimitMode.Top(OVERVIEW_ITEMS_TO_LOAD),
+        val site = statsSiteProvider.siteModel
+        val response = statsRequestCache.fetch(
+                Key(site.siteId, type, statsGranularity, limit = OVERVIEW_ITEMS_TO_LOAD),
                 forced
-        )
+        ) {
+            visitsAndViewsStore.fetchVisits(
+                    site,
+                    statsGranularity,
+                    LimitMode.Top(OVERVIEW_ITEMS_TO_LOAD),
+                    forced
+            )
+        }
         val model = response.model
         val error = response.error
 
@@ -193,6 +202,7 @@ constructor(
         private val statsDateFormatter: StatsDateFormatter,
         private val overviewMapper: OverviewMapper,
         private val visitsAndViewsStore: VisitsAndViewsStore,
+        private val statsRequestCache: StatsRequestCache,
         private val analyticsTracker: AnalyticsTrackerWrapper,
         private val statsWidgetUpdaters: StatsWidgetUpdaters,
         private val resourceProvider: ResourceProvider
@@ -201,6 +211,7 @@ constructor(
                 OverviewUseCase(
                         granularity,
                         visitsAndViewsStore,
+                        statsRequestCache,
                         selectedDateProvider,
                         statsSiteProvider,
                         statsDateFormatter,
@@ -36,6 +36,8 @@ import org.wordpress.android.ui.stats.refresh.lists.sections.granular.GranularSt
 import org.wordpress.android.ui.stats.refresh.lists.sections.granular.GranularUseCaseFactory
 import org.wordpress.android.ui.stats.refresh.lists.sections.granular.SelectedDateProvider
 import org.wordpress.android.ui.stats.refresh.utils.ContentDescriptionHelper
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache.Key
 import org.wordpress.android.ui.stats.refresh.utils.StatsSiteProvider
 import org.wordpress.android.ui.stats.refresh.utils.StatsUtils
 import org.wordpress.android.ui.stats.refresh.utils.getBarWidth
@@ -51,6 +53,7 @@ constructor(
     @Named(UI_THREAD) private val mainDispatcher: CoroutineDispatcher,
     @Named(BG_THREAD) private val backgroundDispatcher: CoroutineDispatcher,
     private val postsAndPageViewsStore: PostAndPageViewsStore,
+    private val statsRequestCache: StatsRequestCache,
     statsSiteProvider: StatsSiteProvider,
     selectedDateProvider: SelectedDateProvider,
     private val analyticsTracker: AnalyticsTrackerWrapper,
@@ -83,13 +86,18 @@ constructor(
         site: SiteModel,
         forced: Boolean
     ): State<PostAndPageViewsModel> {
-        val response = postsAndPageViewsStore.fetchPostAndPageViews(
-                site,
-                statsGranularity,
-                LimitMode.Top(itemsToLoad),
-                selectedDate,
+        val response = statsRequestCache.fetch(
+                Key(site.siteId, type, statsGranularity, selectedDate, itemsToLoad),
                 forced
-        )
+        ) {
+            postsAndPageViewsStore.fetchPostAndPageViews(
+                    site,
+                    statsGranularity,
+                    LimitMode.Top(itemsToLoad),
+                    selectedDate,
+                    forced
+            )
+        }
         val model = response.model
         val error = response.error
 
@@ -186,6 +194,7 @@ constructor(
         @Named(UI_THREAD) private val mainDispatcher: CoroutineDispatcher,
         @Named(BG_THREAD) private val backgroundDispatcher: CoroutineDispatcher,
         private val postsAndPageViewsStore: PostAndPageViewsStore,
+        private val statsRequestCache: StatsRequestCache,
         private val selectedDateProvider: SelectedDateProvider,
         private val statsSiteProvider: StatsSiteProvider,
         private val contentDescriptionHelper: ContentDescriptionHelper,
@@ -198,6 +207,7 @@ constructor(
                         mainDispatcher,
                         backgroundDispatcher,
                         postsAndPageViewsStore,
+                        statsRequestCache,
                         statsSiteProvider,
                         selectedDateProvider,
                         analyticsTracker,
@@ -17,6 +17,8 @@ import org.wordpress.android.ui.stats.refresh.lists.sections.BlockListItem.Title
 import org.wordpress.android.ui.stats.refresh.lists.widget.WidgetUpdater.StatsWidgetUpdaters
 import org.wordpress.android.ui.stats.refresh.utils.ItemPopupMenuHandler
 import org.wordpress.android.ui.stats.refresh.utils.StatsDateFormatter
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache.Key
 import org.wordpress.android.ui.stats.refresh.utils.StatsSiteProvider
 import org.wordpress.android.ui.stats.refresh.utils.StatsUtils
 import javax.inject.Inject
@@ -27,6 +29,7 @@ class AllTimeStatsUseCase
     @Named(UI_THREAD) private val mainDispatcher: CoroutineDispatcher,
     @Named(BG_THREAD) private val backgroundDispatcher: CoroutineDispatcher,
     private val allTimeStore: AllTimeInsightsStore,
+    private val statsRequestCache: StatsRequestCache,
     private val statsSiteProvider: StatsSiteProvider,
     private val statsDateFormatter: StatsDateFormatter,
     private val statsWidgetUpdaters: StatsWidgetUpdaters,
@@ -45,7 +48,10 @@ class AllTimeStatsUseCase
     }
 
     override suspend fun fetchRemoteData(forced: Boolean): State<InsightsAllTimeModel> {
-        val response = allTimeStore.fetchAllTimeInsights(statsSiteProvider.siteModel, forced)
+        val site = statsSiteProvider.siteModel
+        val response = statsRequestCache.fetch(Key(site.siteId, type), forced) {
+            allTimeStore.fetchAllTimeInsights(site, forced)
+        }
         val model = response.model
         val error = response.error
 
@@ -17,6 +17,8 @@ import org.wordpress.android.ui.stats.refresh.lists.sections.BlockListItem.Quick
 import org.wordpress.android.ui.stats.refresh.lists.sections.BlockListItem.Title
 import org.wordpress.android.ui.stats.refresh.lists.widget.WidgetUpdater.StatsWidgetUpdaters
 import org.wordpress.android.ui.stats.refresh.utils.ItemPopupMenuHandler
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache.Key
 import org.wordpress.android.ui.stats.refresh.utils.StatsSiteProvider
 import org.wordpress.android.ui.stats.refresh.utils.StatsUtils
 import javax.inject.Inject
@@ -27,6 +29,7 @@ class TodayStatsUseCase
     @Named(UI_THREAD) private val mainDispatcher: CoroutineDispatcher,
     @Named(BG_THREAD) private val backgroundDispatcher: CoroutineDispatcher,
     private val todayStore: TodayInsightsStore,
+    private val statsRequestCache: StatsRequestCache,
     private val statsSiteProvider: StatsSiteProvider,
     private val statsWidgetUpdaters: StatsWidgetUpdaters,
     private val statsUtils: StatsUtils,
@@ -38,7 +41,10 @@ class TodayStatsUseCase
     }
 
     override suspend fun fetchRemoteData(forced: Boolean): State<VisitsModel> {
-        val response = todayStore.fetchTodayInsights(statsSiteProvider.siteModel, forced)
+        val site = statsSiteProvider.siteModel
+        val response = statsRequestCache.fetch(Key(site.siteId, type), forced) {
+            todayStore.fetchTodayInsights(site, forced)
+        }
         val model = response.model
         val error = response.error
 
@@ -5,10 +5,13 @@ import kotlinx.coroutines.runBlocking
 import org.wordpress.android.R
 import org.wordpress.android.fluxc.model.stats.InsightsAllTimeModel
 import org.wordpress.android.fluxc.store.SiteStore
+import org.wordpress.android.fluxc.store.StatsStore.InsightType.ALL_TIME_STATS
 import org.wordpress.android.fluxc.store.stats.insights.AllTimeInsightsStore
 import org.wordpress.android.ui.prefs.AppPrefsWrapper
 import org.wordpress.android.ui.stats.refresh.lists.widget.configuration.StatsColorSelectionViewModel.Color
 import org.wordpress.android.ui.stats.refresh.utils.ONE_THOUSAND
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache.Key
 import org.wordpress.android.ui.stats.refresh.utils.StatsUtils
 import org.wordpress.android.viewmodel.ResourceProvider
 import javax.inject.Inject
@@ -17,6 +20,7 @@ class AllTimeWidgetListViewModel
 @Inject constructor(
     private val siteStore: SiteStore,
     private val allTimeStore: AllTimeInsightsStore,
+    private val statsRequestCache: StatsRequestCache,
     private val resourceProvider: ResourceProvider,
     private val appPrefsWrapper: AppPrefsWrapper,
     private val statsUtils: StatsUtils
@@ -37,7 +41,9 @@ class AllTimeWidgetListViewModel
             val site = siteStore.getSiteByLocalId(this)
             if (site != null) {
                 runBlocking {
-                    allTimeStore.fetchAllTimeInsights(site)
+                    statsRequestCache.fetch(Key(site.siteId, ALL_TIME_STATS), forced = false) {
+                        allTimeStore.fetchAllTimeInsights(site)
+                    }
                 }
                 allTimeStore.getAllTimeInsights(site)?.let { visitsAndViewsModel ->
                     val uiModels = buildListItemUiModel(visitsAndViewsModel, this)
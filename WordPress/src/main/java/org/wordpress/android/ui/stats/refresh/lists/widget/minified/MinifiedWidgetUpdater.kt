@@ -13,6 +13,7 @@ import org.wordpress.android.analytics.AnalyticsTracker
 import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.store.AccountStore
 import org.wordpress.android.fluxc.store.SiteStore
+import org.wordpress.android.fluxc.store.StatsStore.InsightType.TODAY_STATS
 import org.wordpress.android.fluxc.store.stats.insights.TodayInsightsStore
 import org.wordpress.android.modules.BG_THREAD
 import org.wordpress.android.ui.prefs.AppPrefsWrapper
@@ -28,6 +29,8 @@ import org.wordpress.android.ui.stats.refresh.lists.widget.configuration.StatsDa
 import org.wordpress.android.ui.stats.refresh.lists.widget.utils.WidgetUtils
 import org.wordpress.android.ui.stats.refresh.utils.MILLION
 import org.wordpress.android.ui.stats.refresh.utils.ONE_THOUSAND
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache.Key
 import org.wordpress.android.ui.stats.refresh.utils.StatsUtils
 import org.wordpress.android.ui.stats.refresh.utils.trackMinifiedWidget
 import org.wordpress.android.util.NetworkUtilsWrapper
@@ -46,6 +49,7 @@ class MinifiedWidgetUpdater
     private val resourceProvider: ResourceProvider,
     private val statsUtils: StatsUtils,
     private val todayInsightsStore: TodayInsightsStore,
+    private val statsRequestCache: StatsRequestCache,
     private val widgetUtils: WidgetUtils,
     private val analyticsTrackerWrapper: AnalyticsTrackerWrapper
 ) : WidgetUpdater {
@@ -101,7 +105,9 @@ class MinifiedWidgetUpdater
     ) {
         loadValue(appWidgetManager, appWidgetId, site, views, dataType, isWideView)
         coroutineScope.launch {
-            todayInsightsStore.fetchTodayInsights(site)
+            statsRequestCache.fetch(Key(site.siteId, TODAY_STATS), forced = false) {
+                todayInsightsStore.fetchTodayInsights(site)
+            }
             loadValue(appWidgetManager, appWidgetId, site, views, dataType, isWideView)
         }
     }
@@ -5,12 +5,15 @@ import kotlinx.coroutines.runBlocking
 import org.wordpress.android.R
 import org.wordpress.android.fluxc.model.stats.VisitsModel
 import org.wordpress.android.fluxc.store.SiteStore
+import org.wordpress.android.fluxc.store.StatsStore.InsightType.TODAY_STATS
 import org.wordpress.android.fluxc.store.stats.insights.TodayInsightsStore
 import org.wordpress.android.ui.prefs.AppPrefsWrapper
 import org.wordpress.android.ui.stats.refresh.lists.widget.WidgetBlockListProvider.BlockItemUiModel
 import org.wordpress.android.ui.stats.refresh.lists.widget.WidgetBlockListProvider.WidgetBlockListViewModel
 import org.wordpress.android.ui.stats.refresh.lists.widget.configuration.StatsColorSelectionViewModel.Color
 import org.wordpress.android.ui.stats.refresh.utils.MILLION
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache.Key
 import org.wordpress.android.ui.stats.refresh.utils.StatsUtils
 import org.wordpress.android.viewmodel.ResourceProvider
 import javax.inject.Inject
@@ -19,6 +22,7 @@ class TodayWidgetBlockListViewModel
 @Inject constructor(
     private val siteStore: SiteStore,
     private val todayInsightsStore: TodayInsightsStore,
+    private val statsRequestCache: StatsRequestCache,
     private val resourceProvider: ResourceProvider,
     private val todayWidgetUpdater: TodayWidgetUpdater,
     private val appPrefsWrapper: AppPrefsWrapper,
@@ -44,7 +48,9 @@ class TodayWidgetBlockListViewModel
             val site = siteStore.getSiteByLocalId(this)
             if (site != null) {
                 runBlocking {
-                    todayInsightsStore.fetchTodayInsights(site)
+                    statsRequestCache.fetch(Key(site.siteId, TODAY_STATS), forced = false) {
+                        todayInsightsStore.fetchTodayInsights(site)
+                    }
                 }
                 todayInsightsStore.getTodayInsights(site)?.let { visitsAndViewsModel ->
                     val uiModels = buildListItemUiModel(visitsAndViewsModel, this)
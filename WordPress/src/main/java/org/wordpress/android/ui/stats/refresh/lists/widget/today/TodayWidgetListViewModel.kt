@@ -5,10 +5,13 @@ import kotlinx.coroutines.runBlocking
 import org.wordpress.android.R
 import org.wordpress.android.fluxc.model.stats.VisitsModel
 import org.wordpress.android.fluxc.store.SiteStore
+import org.wordpress.android.fluxc.store.StatsStore.InsightType.TODAY_STATS
 import org.wordpress.android.fluxc.store.stats.insights.TodayInsightsStore
 import org.wordpress.android.ui.prefs.AppPrefsWrapper
 import org.wordpress.android.ui.stats.refresh.lists.widget.configuration.StatsColorSelectionViewModel.Color
 import org.wordpress.android.ui.stats.refresh.utils.ONE_THOUSAND
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache.Key
 import org.wordpress.android.ui.stats.refresh.utils.StatsUtils
 import org.wordpress.android.viewmodel.ResourceProvider
 import javax.inject.Inject
@@ -17,6 +20,7 @@ class TodayWidgetListViewModel
 @Inject constructor(
     private val siteStore: SiteStore,
     private val todayInsightsStore: TodayInsightsStore,
+    private val statsRequestCache: StatsRequestCache,
     private val resourceProvider: ResourceProvider,
     private val appPrefsWrapper: AppPrefsWrapper,
     private val statsUtils: StatsUtils
@@ -37,7 +41,9 @@ class TodayWidgetListViewModel
             val site = siteStore.getSiteByLocalId(nonNullSiteId)
             if (site != null) {
                 runBlocking {
-                    todayInsightsStore.fetchTodayInsights(site)
+                    statsRequestCache.fetch(Key(site.siteId, TODAY_STATS), forced = false) {
+                        todayInsightsStore.fetchTodayInsights(site)
+                    }
                 }
                 todayInsightsStore.getTodayInsights(site)?.let { visitsAndViewsModel ->
                     val uiModels = buildListItemUiModel(visitsAndViewsModel, nonNullSiteId)
@@ -8,6 +8,7 @@ import org.wordpress.android.fluxc.model.stats.LimitMode.Top
 import org.wordpress.android.fluxc.model.stats.time.VisitsAndViewsModel.PeriodData
 import org.wordpress.android.fluxc.network.utils.StatsGranularity.DAYS
 import org.wordpress.android.fluxc.store.SiteStore
+import org.wordpress.android.fluxc.store.StatsStore.TimeStatsType.OVERVIEW
 import org.wordpress.android.fluxc.store.stats.time.VisitsAndViewsStore
 import org.wordpress.android.ui.prefs.AppPrefsWrapper
 import org.wordpress.android.ui.stats.refresh.lists.sections.BlockListItem.ValueItem.State.NEGATIVE
@@ -19,6 +20,8 @@ import org.wordpress.android.ui.stats.refresh.lists.widget.configuration.StatsCo
 import org.wordpress.android.ui.stats.refresh.utils.MILLION
 import org.wordpress.android.ui.stats.refresh.utils.ONE_THOUSAND
 import org.wordpress.android.ui.stats.refresh.utils.StatsDateFormatter
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache.Key
 import org.wordpress.android.viewmodel.ResourceProvider
 import javax.inject.Inject
 
@@ -28,6 +31,7 @@ class ViewsWidgetListViewModel
 @Inject constructor(
     private val siteStore: SiteStore,
     private val visitsAndViewsStore: VisitsAndViewsStore,
+    private val statsRequestCache: StatsRequestCache,
     private val overviewMapper: OverviewMapper,
     private val resourceProvider: ResourceProvider,
     private val statsDateFormatter: StatsDateFormatter,
@@ -51,7 +55,12 @@ class ViewsWidgetListViewModel
             val site = siteStore.getSiteByLocalId(this)
             if (site != null) {
                 runBlocking {
-                    visitsAndViewsStore.fetchVisits(site, DAYS, Top(OVERVIEW_ITEMS_TO_LOAD))
+                    statsRequestCache.fetch(
+                            Key(site.siteId, OVERVIEW, DAYS, limit = OVERVIEW_ITEMS_TO_LOAD),
+                            forced = false
+                    ) {
+                        visitsAndViewsStore.fetchVisits(site, DAYS, Top(OVERVIEW_ITEMS_TO_LOAD))
+                    }
                 }
                 val visitsAndViewsModel = visitsAndViewsStore.getVisits(
                         site,
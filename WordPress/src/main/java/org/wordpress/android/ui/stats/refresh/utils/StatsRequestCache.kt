@@ -0,0 +1,129 @@
+package org.wordpress.android.ui.stats.refresh.utils
+
+import androidx.collection.LruCache
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart.LAZY
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import org.wordpress.android.fluxc.network.utils.StatsGranularity
+import org.wordpress.android.fluxc.store.StatsStore.InsightType
+import org.wordpress.android.fluxc.store.StatsStore.OnStatsFetched
+import org.wordpress.android.fluxc.store.StatsStore.StatsType
+import org.wordpress.android.fluxc.store.StatsStore.TimeStatsType
+import org.wordpress.android.modules.BG_THREAD
+import org.wordpress.android.util.CurrentTimeProvider
+import java.util.Date
+import javax.inject.Inject
+import javax.inject.Named
+import javax.inject.Singleton
+
+/**
+ * Shares the stats requests made by the stats screen and the widgets. A response is reused while it's younger than
+ * the time to live of its stats type. For as long again after that it's stale - it's still returned right away, but
+ * it's requested again in the background so the next caller gets fresh data. Older responses are requested again
+ * and awaited. A request which is already running is awaited instead of being sent again. Forced requests always go
+ * to the network.
+ */
+@Singleton
+class StatsRequestCache
+@Inject constructor(
+    private val currentTimeProvider: CurrentTimeProvider,
+    @Named(BG_THREAD) private val bgDispatcher: CoroutineDispatcher
+) {
+    // the requests don't belong to any of the callers awaiting them, so a caller being cancelled doesn't cancel the
+    // request for the others
+    private val scope = CoroutineScope(SupervisorJob() + bgDispatcher)
+    private val responses = LruCache<Key, Response>(MAX_CACHED_RESPONSES)
+    private val inFlightRequests = mutableMapOf<Key, Deferred<OnStatsFetched<*>>>()
+
+    /**
+     * Returns a fresh or stale cached response for the key, or awaits the same request if it's running, or runs the
+     * request
+     * @param key identifies the request - the site, the stats type and its parameters
+     * @param forced is true when we want to get fresh data and skip the cache
+     */
+    @Suppress("UNCHECKED_CAST")
+    suspend fun <T> fetch(
+        key: Key,
+        forced: Boolean,
+        request: suspend () -> OnStatsFetched<T>
+    ): OnStatsFetched<T> {
+        val now = currentTimeProvider.currentTimeMillis()
+        var staleResponse: OnStatsFetched<*>? = null
+        val sharedRequest = synchronized(this) {
+            val cachedResponse = if (forced) null else responses.get(key)
+            if (cachedResponse != null) {
+                val age = now - cachedResponse.timestamp
+                val timeToLive = key.type.timeToLive()
+                if (age < timeToLive) {
+                    return cachedResponse.response as OnStatsFetched<T>
+                } else if (age < 2 * timeToLive) {
+                    staleResponse = cachedResponse.response
+                }
+            }
+            (if (forced) null else inFlightRequests[key]) ?: startRequest(key, request)
+        }
+        // the request is started once it's registered, so it can't complete before that
+        sharedRequest.start()
+        staleResponse?.let { return it as OnStatsFetched<T> }
+        return sharedRequest.await() as OnStatsFetched<T>
+    }
+
+    private fun startRequest(
+        key: Key,
+        request: suspend () -> OnStatsFetched<*>
+    ): Deferred<OnStatsFetched<*>> {
+        val sharedRequest = scope.async(start = LAZY) {
+            try {
+                val response = request()
+                if (response.error == null) {
+                    synchronized(this@StatsRequestCache) {
+                        responses.put(key, Response(response, currentTimeProvider.currentTimeMillis()))
+                    }
+                }
+                response
+            } finally {
+                synchronized(this@StatsRequestCache) {
+                    if (inFlightRequests[key] === coroutineContext[Job]) {
+                        inFlightRequests.remove(key)
+                    }
+                }
+            }
+        }
+        inFlightRequests[key] = sharedRequest
+        return sharedRequest
+    }
+
+    private fun StatsType.timeToLive(): Long {
+        return when (this) {
+            InsightType.TODAY_STATS, TimeStatsType.OVERVIEW -> ONE_MINUTE
+            is TimeStatsType -> FIVE_MINUTES
+            is InsightType -> FIFTEEN_MINUTES
+            else -> 0L
+        }
+    }
+
+    /**
+     * @param date is the selected date of the granular stats, or null for the current period
+     * @param limit is the number of items requested, or null when all the items are requested
+     */
+    data class Key(
+        val siteId: Long,
+        val type: StatsType,
+        val granularity: StatsGranularity? = null,
+        val date: Date? = null,
+        val limit: Int? = null
+    )
+
+    private class Response(val response: OnStatsFetched<*>, val timestamp: Long)
+
+    companion object {
+        private const val MAX_CACHED_RESPONSES = 100
+        private const val ONE_MINUTE = 60 * 1000L
+        private const val FIVE_MINUTES = 5 * ONE_MINUTE
+        private const val FIFTEEN_MINUTES = 15 * ONE_MINUTE
+    }
+}
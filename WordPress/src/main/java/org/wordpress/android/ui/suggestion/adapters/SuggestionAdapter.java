@@ -18,22 +18,25 @@ import androidx.annotation.Nullable;
 import org.wordpress.android.R;
 import org.wordpress.android.WordPress;
 import org.wordpress.android.models.Suggestion;
+import org.wordpress.android.ui.suggestion.util.SuggestionIndex;
 import org.wordpress.android.util.GravatarUtils;
 import org.wordpress.android.util.image.ImageManager;
 import org.wordpress.android.util.image.ImageType;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 
 import javax.inject.Inject;
 
 public class SuggestionAdapter extends BaseAdapter implements Filterable {
+    // the most suggestions shown while typing
+    private static final int MAX_FILTERED_SUGGESTIONS = 100;
+
     private final LayoutInflater mInflater;
     private Filter mSuggestionFilter;
     private List<Suggestion> mSuggestionList;
     private List<Suggestion> mOrigSuggestionList;
+    private volatile SuggestionIndex<Suggestion> mSuggestionIndex;
     private int mAvatarSz;
     private @Nullable @AttrRes Integer mBackgroundColor;
 
@@ -51,6 +54,13 @@ public class SuggestionAdapter extends BaseAdapter implements Filterable {
 
     public void setSuggestionList(List<Suggestion> suggestionList) {
         mOrigSuggestionList = suggestionList;
+        // indexed by the filter, which runs in the background
+        mSuggestionIndex = null;
+    }
+
+    public void setSuggestionIndex(@NonNull SuggestionIndex<Suggestion> suggestionIndex) {
+        mOrigSuggestionList = suggestionIndex.getSuggestions();
+        mSuggestionIndex = suggestionIndex;
     }
 
     public List<Suggestion> getSuggestionList() {
@@ -142,26 +152,19 @@ public class SuggestionAdapter extends BaseAdapter implements Filterable {
 
         @NonNull
         private List<Suggestion> getFilteredSuggestions(CharSequence constraint) {
-            if (mOrigSuggestionList == null) {
+            List<Suggestion> suggestions = mOrigSuggestionList;
+            if (suggestions == null) {
                 return Collections.emptyList();
             } else if (constraint == null || constraint.length() == 0) {
-                return mOrigSuggestionList;
-            } else {
-                List<Suggestion> filteredSuggestions = new ArrayList<>();
-                for (Suggestion suggestion : mOrigSuggestionList) {
-                    String lowerCaseConstraint = constraint.toString().toLowerCase(Locale.getDefault());
-                    boolean suggestionMatchesConstraint =
-                            suggestion.getUserLogin().toLowerCase(Locale.ROOT).startsWith(lowerCaseConstraint)
-                            || suggestion.getDisplayName().toLowerCase(Locale.getDefault())
-                                         .startsWith(lowerCaseConstraint)
-                            || suggestion.getDisplayName().toLowerCase(Locale.getDefault())
-                                         .contains(" " + lowerCaseConstraint);
-                    if (suggestionMatchesConstraint) {
-                        filteredSuggestions.add(suggestion);
-                    }
-                }
-                return filteredSuggestions;
+                return suggestions;
+            }
+
+            SuggestionIndex<Suggestion> index = mSuggestionIndex;
+            if (index == null || index.getSuggestions() != suggestions) {
+                index = SuggestionIndex.forUsers(suggestions);
+                mSuggestionIndex = index;
             }
+            return index.find(constraint, MAX_FILTERED_SUGGESTIONS);
         }
 
         @SuppressWarnings("unchecked")
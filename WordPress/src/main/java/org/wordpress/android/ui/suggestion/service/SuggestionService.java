@@ -14,6 +14,7 @@ import org.wordpress.android.WordPress;
 import org.wordpress.android.datasets.SuggestionTable;
 import org.wordpress.android.models.Suggestion;
 import org.wordpress.android.models.Tag;
+import org.wordpress.android.ui.suggestion.util.SuggestionUtils;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 
@@ -95,7 +96,7 @@ public class SuggestionService extends Service {
     }
 
     private void handleSuggestionsUpdatedResponse(final long siteId, final JSONObject jsonObject) {
-        new Thread() {
+        WordPress.sBackgroundExecutor.executeDbWrite(new Runnable() {
             @Override
             public void run() {
                 if (jsonObject == null) {
@@ -106,10 +107,11 @@ public class SuggestionService extends Service {
                 List<Suggestion> suggestions = Suggestion.suggestionListFromJSON(jsonSuggestions, siteId);
                 if (suggestions != null) {
                     SuggestionTable.insertSuggestionsForSite(siteId, suggestions);
+                    SuggestionUtils.cacheSuggestions(siteId, suggestions);
                     EventBus.getDefault().post(new SuggestionEvents.SuggestionNameListUpdated(siteId));
                 }
             }
-        }.start();
+        });
     }
 
     private void removeSiteIdFromSuggestionRequestsAndStopServiceIfNecessary(long siteId) {
@@ -140,7 +142,7 @@ public class SuggestionService extends Service {
     }
 
     private void handleTagsUpdatedResponse(final long siteId, final JSONObject jsonObject) {
-        new Thread() {
+        WordPress.sBackgroundExecutor.executeDbWrite(new Runnable() {
             @Override
             public void run() {
                 if (jsonObject == null) {
@@ -154,7 +156,7 @@ public class SuggestionService extends Service {
                     EventBus.getDefault().post(new SuggestionEvents.SuggestionTagListUpdated(siteId));
                 }
             }
-        }.start();
+        });
     }
 
     private void removeSiteIdFromTagRequestsAndStopServiceIfNecessary(long siteId) {
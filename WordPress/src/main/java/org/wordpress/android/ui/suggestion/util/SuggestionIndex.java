@@ -0,0 +1,200 @@
+package org.wordpress.android.ui.suggestion.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.wordpress.android.fluxc.model.TermModel;
+import org.wordpress.android.models.Suggestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Index of the suggestions for a site, used to autocomplete @-mentions from the user suggestions and tags from the
+ * site's tags.
+ *
+ * A suggestion matches when its login or display name starts with the typed text, or when a word in its display
+ * name does. Logins, display names and the display name from each word onwards are lowercased once and kept in
+ * sorted arrays, so the matches are found with a binary search rather than by scanning every suggestion.
+ *
+ * Matches are ranked by login matches first, then display name matches, then display name word matches, each in
+ * alphabetical order. Tags have no login, so they only match by name.
+ */
+public class SuggestionIndex<T> {
+    private final List<T> mSuggestions;
+    private final SortedKeys mLogins;
+    private final SortedKeys mDisplayNames;
+    private final SortedKeys mDisplayNameWords;
+
+    /**
+     * The names a suggestion is matched by
+     */
+    private interface Names<T> {
+        /**
+         * Returns the login of the suggestion, or null if it has none
+         */
+        @Nullable String getLogin(@NonNull T suggestion);
+
+        @NonNull String getDisplayName(@NonNull T suggestion);
+    }
+
+    private static final Names<Suggestion> USER_NAMES = new Names<Suggestion>() {
+        @Nullable @Override public String getLogin(@NonNull Suggestion suggestion) {
+            return suggestion.getUserLogin();
+        }
+
+        @NonNull @Override public String getDisplayName(@NonNull Suggestion suggestion) {
+            return suggestion.getDisplayName();
+        }
+    };
+
+    private static final Names<TermModel> TAG_NAMES = new Names<TermModel>() {
+        @Nullable @Override public String getLogin(@NonNull TermModel tag) {
+            return null;
+        }
+
+        @NonNull @Override public String getDisplayName(@NonNull TermModel tag) {
+            // tag names are stored HTML escaped, and shown unescaped
+            return tag.getName() != null ? StringEscapeUtils.unescapeHtml4(tag.getName()) : "";
+        }
+    };
+
+    /**
+     * Indexes the user suggestions of a site, which must not be modified afterwards
+     */
+    @NonNull public static SuggestionIndex<Suggestion> forUsers(@NonNull List<Suggestion> suggestions) {
+        return new SuggestionIndex<>(suggestions, USER_NAMES);
+    }
+
+    /**
+     * Indexes the tags of a site, which must not be modified afterwards
+     */
+    @NonNull public static SuggestionIndex<TermModel> forTags(@NonNull List<TermModel> tags) {
+        return new SuggestionIndex<>(tags, TAG_NAMES);
+    }
+
+    private SuggestionIndex(@NonNull List<T> suggestions, @NonNull Names<T> names) {
+        mSuggestions = suggestions;
+
+        List<String> logins = new ArrayList<>(suggestions.size());
+        List<Integer> loginSuggestions = new ArrayList<>(suggestions.size());
+        List<String> displayNames = new ArrayList<>(suggestions.size());
+        List<String> words = new ArrayList<>();
+        List<Integer> wordSuggestions = new ArrayList<>();
+        for (int i = 0; i < mSuggestions.size(); i++) {
+            T suggestion = mSuggestions.get(i);
+            String login = names.getLogin(suggestion);
+            if (login != null) {
+                logins.add(login.toLowerCase(Locale.ROOT));
+                loginSuggestions.add(i);
+            }
+            String displayName = names.getDisplayName(suggestion).toLowerCase(Locale.getDefault());
+            displayNames.add(displayName);
+
+            // the display name from each word onwards, so typing several words still matches
+            int space = displayName.indexOf(' ');
+            while (space != -1) {
+                words.add(displayName.substring(space + 1));
+                wordSuggestions.add(i);
+                space = displayName.indexOf(' ', space + 1);
+            }
+        }
+
+        mLogins = new SortedKeys(logins, loginSuggestions);
+        mDisplayNames = new SortedKeys(displayNames, null);
+        mDisplayNameWords = new SortedKeys(words, wordSuggestions);
+    }
+
+    /**
+     * Returns the list of suggestions passed to the constructor
+     */
+    @NonNull public List<T> getSuggestions() {
+        return mSuggestions;
+    }
+
+    /**
+     * Returns up to maxResults suggestions matching the passed text, ranked as described above. All of the
+     * suggestions are returned when the text is empty.
+     */
+    @NonNull public List<T> find(CharSequence text, int maxResults) {
+        if (text == null || text.length() == 0) {
+            return mSuggestions;
+        }
+
+        String prefix = text.toString().toLowerCase(Locale.getDefault());
+        List<T> matches = new ArrayList<>();
+        boolean[] isMatched = new boolean[mSuggestions.size()];
+        addMatches(mLogins, prefix, maxResults, matches, isMatched);
+        addMatches(mDisplayNames, prefix, maxResults, matches, isMatched);
+        addMatches(mDisplayNameWords, prefix, maxResults, matches, isMatched);
+        return matches;
+    }
+
+    private void addMatches(@NonNull SortedKeys keys,
+                            @NonNull String prefix,
+                            int maxResults,
+                            @NonNull List<T> matches,
+                            @NonNull boolean[] isMatched) {
+        for (int i = keys.indexOfFirst(prefix); i < keys.size() && matches.size() < maxResults; i++) {
+            if (!keys.mKeys[i].startsWith(prefix)) {
+                return;
+            }
+            int suggestion = keys.mSuggestions[i];
+            if (!isMatched[suggestion]) {
+                isMatched[suggestion] = true;
+                matches.add(mSuggestions.get(suggestion));
+            }
+        }
+    }
+
+    /**
+     * Sorted keys, each with the position of the suggestion it belongs to
+     */
+    private static class SortedKeys {
+        private final String[] mKeys;
+        private final int[] mSuggestions;
+
+        /**
+         * @param suggestions position of the suggestion of each key, or null if the keys are in suggestion order
+         */
+        SortedKeys(@NonNull final List<String> keys, final List<Integer> suggestions) {
+            Integer[] order = new Integer[keys.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            // stable, so keys which are equal stay in suggestion order
+            Arrays.sort(order, (first, second) -> keys.get(first).compareTo(keys.get(second)));
+
+            mKeys = new String[order.length];
+            mSuggestions = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                mKeys[i] = keys.get(order[i]);
+                mSuggestions[i] = suggestions != null ? suggestions.get(order[i]) : order[i];
+            }
+        }
+
+        int size() {
+            return mKeys.length;
+        }
+
+        /**
+         * Returns the position of the first key which isn't less than the passed prefix
+         */
+        int indexOfFirst(@NonNull String prefix) {
+            int low = 0;
+            int high = mKeys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (mKeys[middle].compareTo(prefix) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.wordpress.android.ui.suggestion.util;
 
 import android.content.Context;
+import android.util.LruCache;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -14,6 +15,11 @@ import org.wordpress.android.util.SiteUtils;
 import java.util.List;
 
 public class SuggestionUtils {
+    // the suggestions of the sites used most recently are indexed and kept across editor sessions
+    private static final int MAX_CACHED_SITES = 5;
+    private static final LruCache<Long, SuggestionIndex<Suggestion>> SUGGESTION_INDEXES =
+            new LruCache<>(MAX_CACHED_SITES);
+
     @Nullable
     public static SuggestionAdapter setupSuggestions(
             SiteModel site,
@@ -38,10 +44,30 @@ public class SuggestionUtils {
 
         serviceConnectionManager.bindToService();
 
-        List<Suggestion> suggestions = SuggestionTable.getSuggestionsForSite(siteId);
         SuggestionAdapter suggestionAdapter = new SuggestionAdapter(context);
-        suggestionAdapter.setSuggestionList(suggestions);
+        loadSuggestions(suggestionAdapter, siteId);
 
         return suggestionAdapter;
     }
+
+    /**
+     * Sets the suggestions of the passed site on the adapter, using the cached index when there is one
+     */
+    public static void loadSuggestions(@NonNull SuggestionAdapter suggestionAdapter, long siteId) {
+        SuggestionIndex<Suggestion> suggestionIndex = SUGGESTION_INDEXES.get(siteId);
+        if (suggestionIndex != null) {
+            suggestionAdapter.setSuggestionIndex(suggestionIndex);
+        } else {
+            // the adapter indexes these when they're first filtered
+            List<Suggestion> suggestions = SuggestionTable.getSuggestionsForSite(siteId);
+            suggestionAdapter.setSuggestionList(suggestions);
+        }
+    }
+
+    /**
+     * Indexes and caches the updated suggestions of the passed site, should be called from a background thread
+     */
+    public static void cacheSuggestions(long siteId, @NonNull List<Suggestion> suggestions) {
+        SUGGESTION_INDEXES.put(siteId, SuggestionIndex.forUsers(suggestions));
+    }
 }
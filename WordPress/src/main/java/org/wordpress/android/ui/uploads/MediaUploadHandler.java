@@ -1,5 +1,8 @@
 package org.wordpress.android.ui.uploads;
 
+import android.os.Handler;
+import android.os.Looper;
+
 import androidx.annotation.NonNull;
 
 import org.greenrobot.eventbus.EventBus;
@@ -10,20 +13,21 @@ import org.wordpress.android.analytics.AnalyticsTracker;
 import org.wordpress.android.fluxc.Dispatcher;
 import org.wordpress.android.fluxc.generated.MediaActionBuilder;
 import org.wordpress.android.fluxc.model.MediaModel;
+import org.wordpress.android.fluxc.model.MediaModel.MediaUploadState;
 import org.wordpress.android.fluxc.model.PostImmutableModel;
 import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.store.MediaStore.CancelMediaPayload;
+import org.wordpress.android.fluxc.store.MediaStore.MediaError;
+import org.wordpress.android.fluxc.store.MediaStore.MediaErrorType;
 import org.wordpress.android.fluxc.store.MediaStore.OnMediaUploaded;
 import org.wordpress.android.fluxc.store.MediaStore.UploadMediaPayload;
 import org.wordpress.android.fluxc.store.SiteStore;
 import org.wordpress.android.ui.prefs.AppPrefs;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
-import org.wordpress.android.util.StringUtils;
 import org.wordpress.android.util.WPMediaUtils;
 import org.wordpress.android.util.analytics.AnalyticsUtils;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -33,13 +37,31 @@ import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
 
 public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptimizer.VideoOptimizationListener {
-    private static List<MediaModel> sPendingUploads = new ArrayList<>();
-    private static List<MediaModel> sInProgressUploads = new ArrayList<>();
+    private static final int MAX_CONCURRENT_UPLOADS_PER_SITE = 3;
+    private static final int MAX_CONCURRENT_VIDEO_OPTIMIZATIONS = 1;
+    private static final int MAX_UPLOAD_RETRIES = 3;
+
+    private static MediaUploadScheduler sScheduler = new MediaUploadScheduler(MAX_CONCURRENT_UPLOADS_PER_SITE,
+            MAX_CONCURRENT_VIDEO_OPTIMIZATIONS, MAX_UPLOAD_RETRIES);
     private static ConcurrentHashMap<Integer, Float> sOptimizationProgressByMediaId = new ConcurrentHashMap<>();
 
     @Inject Dispatcher mDispatcher;
     @Inject SiteStore mSiteStore;
 
+    private final Handler mRetryHandler = new Handler(Looper.getMainLooper());
+
+    private final MediaUploadScheduler.UploadStarter mUploadStarter = new MediaUploadScheduler.UploadStarter() {
+        @Override
+        public void startOptimization(@NonNull MediaModel media) {
+            new VideoOptimizer(media, MediaUploadHandler.this).start();
+        }
+
+        @Override
+        public void startUpload(@NonNull MediaModel media) {
+            dispatchUploadAction(media);
+        }
+    };
+
     MediaUploadHandler() {
         ((WordPress) WordPress.getContext().getApplicationContext()).component().inject(this);
         AppLog.i(T.MEDIA, "MediaUploadHandler > Created");
@@ -49,18 +71,20 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
 
     void unregister() {
         sOptimizationProgressByMediaId.clear();
+        mRetryHandler.removeCallbacksAndMessages(null);
+        failUploadsWaitingForRetry();
         mDispatcher.unregister(this);
         EventBus.getDefault().unregister(this);
     }
 
     @Override
     public boolean hasInProgressUploads() {
-        return !sInProgressUploads.isEmpty() || !sPendingUploads.isEmpty();
+        return !sScheduler.isEmpty();
     }
 
     @Override
     public void cancelInProgressUploads() {
-        for (MediaModel oneUpload : sInProgressUploads) {
+        for (MediaModel oneUpload : sScheduler.getInProgress()) {
             cancelUpload(oneUpload, false);
         }
     }
@@ -72,26 +96,11 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
     }
 
     static boolean hasInProgressMediaUploadsForPost(int postId) {
-        synchronized (sInProgressUploads) {
-            for (MediaModel queuedMedia : sInProgressUploads) {
-                if (queuedMedia.getLocalPostId() == postId) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        return !sScheduler.getMediaForPost(postId, true).isEmpty();
     }
 
     static boolean hasPendingMediaUploadsForPost(int postId) {
-        synchronized (sPendingUploads) {
-            for (MediaModel queuedMedia : sPendingUploads) {
-                if (queuedMedia.getLocalPostId() == postId) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return !sScheduler.getMediaForPost(postId, false).isEmpty();
     }
 
     static boolean hasPendingOrInProgressMediaUploadsForPost(int postId) {
@@ -118,42 +127,17 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
             return Collections.emptyList();
         }
 
-        List<MediaModel> mediaList = new ArrayList<>();
-        synchronized (sInProgressUploads) {
-            for (MediaModel queuedMedia : sInProgressUploads) {
-                if (queuedMedia.getLocalPostId() == postModel.getId()) {
-                    mediaList.add(queuedMedia);
-                }
-            }
-        }
-
-        synchronized (sPendingUploads) {
-            for (MediaModel queuedMedia : sPendingUploads) {
-                if (queuedMedia.getLocalPostId() == postModel.getId()) {
-                    mediaList.add(queuedMedia);
-                }
-            }
-        }
+        List<MediaModel> mediaList = sScheduler.getMediaForPost(postModel.getId(), true);
+        mediaList.addAll(sScheduler.getMediaForPost(postModel.getId(), false));
         return mediaList;
     }
 
+    /**
+     * Media which failed to upload is still pending while its upload is waiting to be retried, so subscribers that
+     * receive the error after this handler can use this to tell it's not a final failure.
+     */
     static boolean isPendingOrInProgressMediaUpload(int mediaId) {
-        synchronized (sInProgressUploads) {
-            for (MediaModel uploadingMedia : sInProgressUploads) {
-                if (uploadingMedia.getId() == mediaId) {
-                    return true;
-                }
-            }
-        }
-
-        synchronized (sPendingUploads) {
-            for (MediaModel queuedMedia : sPendingUploads) {
-                if (queuedMedia.getId() == mediaId) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return sScheduler.contains(mediaId);
     }
 
     /**
@@ -189,6 +173,11 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
 
     private void handleOnMediaUploadedError(@NonNull OnMediaUploaded event) {
         AppLog.w(T.MEDIA, "MediaUploadHandler > Error uploading media: " + event.error.message);
+        if (isRetriableError(event.error) && scheduleRetry(event.media.getId())) {
+            uploadNextInQueue();
+            return;
+        }
+
         MediaModel media = getMediaFromInProgressQueueById(event.media.getId());
         if (media != null) {
             mDispatcher.dispatch(MediaActionBuilder.newUpdateMediaAction(media));
@@ -205,87 +194,114 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
         uploadNextInQueue();
     }
 
-    private synchronized void uploadNextInQueue() {
-        MediaModel next = getNextMediaToUpload();
-
-        if (next == null) {
-            AppLog.w(T.MEDIA, "MediaUploadHandler > No more media items to upload. Skipping this request.");
-            checkIfUploadsComplete();
-            return;
-        }
-
-        prepareForUpload(next);
+    private void uploadNextInQueue() {
+        sScheduler.startNext(mUploadStarter);
+        checkIfUploadsComplete();
     }
 
-    private synchronized void completeUploadWithId(int id) {
-        MediaModel media = getMediaFromInProgressQueueById(id);
+    private void completeUploadWithId(int id) {
+        MediaModel media = sScheduler.remove(id);
         if (media != null) {
-            sInProgressUploads.remove(media);
             trackUploadMediaEvents(AnalyticsTracker.Stat.MEDIA_UPLOAD_STARTED, media, null);
         }
     }
 
     private MediaModel getMediaFromInProgressQueueById(int id) {
-        for (MediaModel media : sInProgressUploads) {
-            if (media.getId() == id) {
-                return media;
-            }
-        }
-        return null;
-    }
-
-    private MediaModel getNextMediaToUpload() {
-        synchronized (sPendingUploads) {
-            if (!sPendingUploads.isEmpty()) {
-                return sPendingUploads.remove(0);
-            }
-        }
-        return null;
+        return sScheduler.getMedia(id);
     }
 
     private void addUniqueMediaToQueue(MediaModel media) {
         if (media != null) {
-            if (mediaAlreadyQueuedOrUploading(media)) {
-                return;
-            }
-
-            synchronized (sPendingUploads) {
-                // no match found in queue
-                sPendingUploads.add(media);
+            boolean needsOptimization = media.isVideo() && WPMediaUtils.isVideoOptimizationEnabled();
+            if (!sScheduler.enqueue(media, needsOptimization)) {
+                AppLog.i(T.MEDIA, "MediaUploadHandler > Media with path " + media.getFilePath() + " and site id "
+                                  + media.getLocalSiteId() + " is already queued or uploading");
             }
         }
     }
 
-    private void addUniqueMediaToInProgressUploads(@NonNull MediaModel mediaToAdd) {
-        synchronized (sInProgressUploads) {
-            for (MediaModel media : sInProgressUploads) {
-                if (media.getId() == mediaToAdd.getId()) {
-                    return;
+    /**
+     * Network timeouts and server errors are usually transient, so uploads failing with them are retried a few times
+     * with increasing delays before the failure is reported
+     */
+    private static boolean isRetriableError(@NonNull MediaError error) {
+        return error.type == MediaErrorType.TIMEOUT || error.type == MediaErrorType.SERVER_ERROR;
+    }
+
+    private boolean scheduleRetry(final int mediaId) {
+        long delayMs = sScheduler.prepareRetry(mediaId);
+        if (delayMs < 0) {
+            return false;
+        }
+
+        AppLog.i(T.MEDIA, "MediaUploadHandler > Retrying upload of media with local id " + mediaId + " in "
+                          + delayMs + "ms");
+        mRetryHandler.postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                MediaModel media = sScheduler.retry(mediaId);
+                if (media != null) {
+                    media.setUploadState(MediaUploadState.QUEUED);
+                    mDispatcher.dispatch(MediaActionBuilder.newUpdateMediaAction(media));
+                    uploadNextInQueue();
                 }
             }
-            sInProgressUploads.add(mediaToAdd);
-        }
+        }, delayMs);
+        return true;
     }
 
-    private void cancelUpload(MediaModel oneUpload, boolean delete) {
-        if (oneUpload != null) {
-            SiteModel site = mSiteStore.getSiteByLocalId(oneUpload.getLocalSiteId());
-            if (site != null) {
-                dispatchCancelAction(oneUpload, site, delete);
-            } else {
-                AppLog.w(T.MEDIA, "MediaUploadHandler > Unexpected state, site is null. "
-                                  + "Skipping cancellation of this request.");
-            }
+    /*
+     * the retries of uploads waiting for them are dropped when the handler is unregistered, so these uploads are
+     * failed right away instead of being left pending forever
+     */
+    private void failUploadsWaitingForRetry() {
+        for (MediaModel media : sScheduler.removeWaitingForRetry()) {
+            AppLog.i(T.MEDIA, "MediaUploadHandler > Upload of media with local id " + media.getId()
+                              + " won't be retried, marking it failed");
+            media.setUploadState(MediaUploadState.FAILED);
+            mDispatcher.dispatch(MediaActionBuilder.newUpdateMediaAction(media));
+            trackUploadMediaEvents(AnalyticsTracker.Stat.MEDIA_UPLOAD_ERROR, media, null);
         }
     }
 
-    private void prepareForUpload(@NonNull MediaModel media) {
-        if (media.isVideo() && WPMediaUtils.isVideoOptimizationEnabled()) {
-            addUniqueMediaToInProgressUploads(media);
-            new VideoOptimizer(media, this).start();
+    /**
+     * @return true if the media was queued or waiting for a retry, and so was removed from the scheduler right away
+     * instead of when FluxC reports the cancellation - the caller is responsible for starting the next upload then
+     */
+    private boolean cancelUpload(MediaModel oneUpload, boolean delete) {
+        if (oneUpload == null) {
+            return false;
+        }
+
+        // media which is queued or waiting for a retry has no request FluxC could cancel, so it won't report
+        // the cancellation - it's removed here instead so it's never started
+        MediaModel notStartedUpload = sScheduler.removeIfNotInProgress(oneUpload.getId());
+        if (notStartedUpload != null) {
+            failCanceledUpload(notStartedUpload, delete);
+        }
+
+        SiteModel site = mSiteStore.getSiteByLocalId(oneUpload.getLocalSiteId());
+        if (site != null) {
+            dispatchCancelAction(oneUpload, site, delete);
         } else {
-            dispatchUploadAction(media);
+            AppLog.w(T.MEDIA, "MediaUploadHandler > Unexpected state, site is null. "
+                              + "Skipping cancellation of this request.");
         }
+        return notStartedUpload != null;
+    }
+
+    /*
+     * marks media whose upload was cancelled before it started as failed, unless the cancel action is about to
+     * delete it
+     */
+    private void failCanceledUpload(@NonNull MediaModel media, boolean delete) {
+        AppLog.i(T.MEDIA, "MediaUploadHandler > Upload of media with local id " + media.getId()
+                          + " canceled before it started");
+        media.setUploadState(MediaUploadState.FAILED);
+        if (!delete) {
+            mDispatcher.dispatch(MediaActionBuilder.newUpdateMediaAction(media));
+        }
+        trackUploadMediaEvents(AnalyticsTracker.Stat.MEDIA_UPLOAD_CANCELED, media, null);
     }
 
     private void dispatchUploadAction(@NonNull final MediaModel media) {
@@ -294,13 +310,13 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
         // somehow lost our reference to the site, complete this action
         if (site == null) {
             AppLog.w(T.MEDIA, "MediaUploadHandler > Unexpected state, site is null. Skipping this request.");
-            checkIfUploadsComplete();
+            sScheduler.remove(media.getId());
+            uploadNextInQueue();
             return;
         }
 
         AppLog.i(T.MEDIA, "MediaUploadHandler > Dispatching upload action for media with local id: "
                           + media.getId() + " and path: " + media.getFilePath());
-        addUniqueMediaToInProgressUploads(media);
 
         mDispatcher.dispatch(MediaActionBuilder.newUpdateMediaAction(media));
         UploadMediaPayload payload = new UploadMediaPayload(site, media, AppPrefs.isStripImageLocation());
@@ -315,7 +331,7 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
     }
 
     private boolean checkIfUploadsComplete() {
-        if (sPendingUploads.isEmpty() && sInProgressUploads.isEmpty()) {
+        if (sScheduler.isEmpty()) {
             AppLog.i(T.MEDIA, "MediaUploadHandler > Completed");
             return true;
         }
@@ -330,19 +346,17 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
         if (event.post == null) {
             return;
         }
-        synchronized (sInProgressUploads) {
-            for (MediaModel inProgressUpload : sInProgressUploads) {
-                if (inProgressUpload.getLocalPostId() == event.post.getId()) {
-                    cancelUpload(inProgressUpload, true);
-                }
-            }
+        // the pending uploads are cancelled first, so none of them is started when an upload in progress frees
+        // its lane
+        boolean removedPendingUploads = false;
+        for (MediaModel pendingUpload : sScheduler.getMediaForPost(event.post.getId(), false)) {
+            removedPendingUploads |= cancelUpload(pendingUpload, true);
         }
-        synchronized (sPendingUploads) {
-            for (MediaModel pendingUpload : sPendingUploads) {
-                if (pendingUpload.getLocalPostId() == event.post.getId()) {
-                    cancelUpload(pendingUpload, true);
-                }
-            }
+        for (MediaModel inProgressUpload : sScheduler.getMediaForPost(event.post.getId(), true)) {
+            cancelUpload(inProgressUpload, true);
+        }
+        if (removedPendingUploads) {
+            uploadNextInQueue();
         }
     }
 
@@ -387,58 +401,6 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
         AnalyticsTracker.track(stat, mediaProperties);
     }
 
-    private boolean mediaAlreadyQueuedOrUploading(MediaModel mediaModel) {
-        for (MediaModel queuedMedia : sInProgressUploads) {
-            AppLog.i(T.MEDIA, "MediaUploadHandler > Attempting to add media with path " + mediaModel.getFilePath()
-                              + " and site id " + mediaModel.getLocalSiteId() + ". Comparing with " + queuedMedia
-                                      .getFilePath()
-                              + ", " + queuedMedia.getLocalSiteId());
-            if (isSameMediaFileQueuedForThisPost(queuedMedia, mediaModel)) {
-                return true;
-            }
-        }
-
-        synchronized (sPendingUploads) {
-            for (MediaModel queuedMedia : sPendingUploads) {
-                AppLog.i(T.MEDIA, "MediaUploadHandler > Attempting to add media with path " + mediaModel.getFilePath()
-                                  + " and site id " + mediaModel.getLocalSiteId() + ". Comparing with " + queuedMedia
-                                          .getFilePath()
-                                  + ", " + queuedMedia.getLocalSiteId());
-                if (isSameMediaFileQueuedForThisPost(queuedMedia, mediaModel)) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
-    private boolean isSameMediaFileQueuedForThisPost(MediaModel media1, MediaModel media2) {
-        /*
-            This method used to be called "compareBySiteAndFilePath" and compared just siteId and filePath. It made
-            sense since a media file is tied to a site and can be referenced from multiple posts on that site. This
-            approach tried to prevent wasting users' data.
-
-            The issue was that when a same image was added to content of two posts only a single MediaModel was
-            enqueued. However, MediaModel references only a single post (`localPostId`). When the upload finished
-            only the first post got updated with the url. The second post got uploaded to the server with a path to
-            local image. We decided to check whether the image belongs to the same post so we can be sure the local
-            path gets replaced with the url.
-
-            More info can be found here - https://github.com/wordpress-mobile/WordPress-Android/pull/10204.
-
-            We also need to check the `markedLocallyAsFeatured` flag is equal as we might lose it otherwise. If the
-            user adds an image into the post content and they set the same image as featured image, we need to enqueue
-            both uploads. Otherwise, we could lose the information what we need to update - the featured image or post
-            content.
-
-            Issue with a proper fix - https://github.com/wordpress-mobile/WordPress-Android/issues/10210
-         */
-        return (media1.getLocalSiteId() == media2.getLocalSiteId()
-                && media1.getLocalPostId() == media2.getLocalPostId()
-                && StringUtils.equals(media1.getFilePath(), media2.getFilePath()))
-                && media1.getMarkedLocallyAsFeatured() == media2.getMarkedLocallyAsFeatured();
-    }
-
     @Override
     public void onVideoOptimizationProgress(@NonNull MediaModel media, float progress) {
         sOptimizationProgressByMediaId.put(media.getId(), progress);
@@ -451,8 +413,8 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
     public void onVideoOptimizationCompleted(@NonNull MediaModel media) {
         sOptimizationProgressByMediaId.remove(media.getId());
         // make sure this media should still be uploaded (may have been cancelled during optimization)
-        if (sInProgressUploads.contains(media)) {
-            dispatchUploadAction(media);
+        if (sScheduler.onOptimizationCompleted(media.getId())) {
+            uploadNextInQueue();
         } else {
             AppLog.d(T.MEDIA, "MediaUploadHandler > skipping upload of optimized media");
         }
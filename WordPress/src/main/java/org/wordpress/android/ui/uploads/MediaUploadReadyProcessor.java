@@ -11,6 +11,7 @@ import org.wordpress.android.ui.prefs.AppPrefs;
 import org.wordpress.android.ui.stories.SaveStoryGutenbergBlockUseCase;
 import org.wordpress.android.util.helpers.MediaFile;
 
+import java.util.Map;
 
 public class MediaUploadReadyProcessor implements MediaUploadReadyListener {
     @Override
@@ -37,6 +38,27 @@ public class MediaUploadReadyProcessor implements MediaUploadReadyListener {
         return post;
     }
 
+    @Override
+    public PostModel replaceMediaFilesWithUrlsInPost(@Nullable PostModel post, Map<String, MediaFile> mediaFiles,
+                                                     String siteUrl) {
+        if (post != null && !mediaFiles.isEmpty()) {
+            boolean showGutenbergEditor = AppPrefs.isGutenbergEditorEnabled();
+
+            if (!PostUtils.contentContainsWPStoryGutenbergBlocks(post.getContent())
+                && showGutenbergEditor && PostUtils.contentContainsGutenbergBlocks(post.getContent())) {
+                // Gutenberg content is rewritten once for the whole batch
+                post.setContent(PostUtils.replaceMediaFilesWithUrlsInGutenbergPost(post.getContent(), mediaFiles,
+                        siteUrl));
+            } else {
+                for (Map.Entry<String, MediaFile> entry : mediaFiles.entrySet()) {
+                    replaceMediaFileWithUrlInPost(post, entry.getKey(), entry.getValue(), siteUrl);
+                }
+            }
+        }
+
+        return post;
+    }
+
     @Override
     public PostModel markMediaUploadFailedInPost(@Nullable PostModel post, String localMediaId,
                                                  final MediaFile mediaFile) {
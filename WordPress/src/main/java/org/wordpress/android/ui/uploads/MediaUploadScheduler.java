@@ -0,0 +1,376 @@
+package org.wordpress.android.ui.uploads;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.wordpress.android.fluxc.model.MediaModel;
+import org.wordpress.android.util.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of the media queued by {@link MediaUploadHandler} and decides when each of them starts. Every site gets
+ * a fixed number of upload lanes, so a large batch is uploaded a few items at a time instead of all at once, and
+ * videos which need optimizing go through a separate optimization lane so they don't hold up the uploads of other
+ * media while they're being transcoded. Optimized videos and retried uploads are started ahead of media which hasn't
+ * been tried yet. Media is indexed by local id (and by the fields used to detect duplicates), so lookups don't need to
+ * scan the queue.
+ */
+class MediaUploadScheduler {
+    interface UploadStarter {
+        void startOptimization(@NonNull MediaModel media);
+
+        void startUpload(@NonNull MediaModel media);
+    }
+
+    private enum State {
+        QUEUED,
+        OPTIMIZING,
+        UPLOADING,
+        WAITING_FOR_RETRY
+    }
+
+    private static final long RETRY_BASE_DELAY_MS = 2000;
+    private static final long RETRY_MAX_DELAY_MS = 30000;
+
+    private final int mMaxUploadsPerSite;
+    private final int mMaxOptimizations;
+    private final int mMaxRetries;
+
+    private final Map<Integer, Entry> mEntriesById = new HashMap<>();
+    private final Map<QueueKey, Entry> mEntriesByKey = new HashMap<>();
+    private final Map<Integer, SiteLanes> mLanesBySiteId = new HashMap<>();
+    private final ArrayDeque<Entry> mOptimizationQueue = new ArrayDeque<>();
+    private int mOptimizationCount;
+
+    MediaUploadScheduler(int maxUploadsPerSite, int maxOptimizations, int maxRetries) {
+        mMaxUploadsPerSite = maxUploadsPerSite;
+        mMaxOptimizations = maxOptimizations;
+        mMaxRetries = maxRetries;
+    }
+
+    /**
+     * Adds the media to the queue unless the same file is already queued or uploading for the same post.
+     *
+     * @return true if the media was added
+     */
+    synchronized boolean enqueue(@NonNull MediaModel media, boolean needsOptimization) {
+        QueueKey key = new QueueKey(media);
+        if (mEntriesByKey.containsKey(key) || mEntriesById.containsKey(media.getId())) {
+            return false;
+        }
+
+        Entry entry = new Entry(media, key);
+        mEntriesById.put(media.getId(), entry);
+        mEntriesByKey.put(key, entry);
+        if (needsOptimization) {
+            mOptimizationQueue.add(entry);
+        } else {
+            getLanes(media.getLocalSiteId()).mQueue.add(entry);
+        }
+        return true;
+    }
+
+    /**
+     * Starts as many queued optimizations and uploads as the free lanes allow. The starter is called outside of the
+     * scheduler's lock, so it may call back into the scheduler.
+     */
+    void startNext(@NonNull UploadStarter starter) {
+        List<MediaModel> toOptimize = new ArrayList<>();
+        List<MediaModel> toUpload = new ArrayList<>();
+        takeStartable(toOptimize, toUpload);
+
+        for (MediaModel media : toOptimize) {
+            starter.startOptimization(media);
+        }
+        for (MediaModel media : toUpload) {
+            starter.startUpload(media);
+        }
+    }
+
+    private synchronized void takeStartable(@NonNull List<MediaModel> toOptimize, @NonNull List<MediaModel> toUpload) {
+        while (mOptimizationCount < mMaxOptimizations) {
+            Entry entry = pollQueued(mOptimizationQueue);
+            if (entry == null) {
+                break;
+            }
+            entry.mState = State.OPTIMIZING;
+            mOptimizationCount++;
+            toOptimize.add(entry.mMedia);
+        }
+
+        for (SiteLanes lanes : mLanesBySiteId.values()) {
+            while (lanes.mUploadCount < mMaxUploadsPerSite) {
+                Entry entry = pollQueued(lanes.mPriorityQueue);
+                if (entry == null) {
+                    entry = pollQueued(lanes.mQueue);
+                }
+                if (entry == null) {
+                    break;
+                }
+                entry.mState = State.UPLOADING;
+                lanes.mUploadCount++;
+                toUpload.add(entry.mMedia);
+            }
+        }
+    }
+
+    /**
+     * Called once a video has been optimized, queues its upload ahead of media which hasn't started yet.
+     *
+     * @return false if the media isn't being optimized anymore (e.g. it was cancelled in the meantime)
+     */
+    synchronized boolean onOptimizationCompleted(int mediaId) {
+        Entry entry = mEntriesById.get(mediaId);
+        if (entry == null || entry.mState != State.OPTIMIZING) {
+            return false;
+        }
+        mOptimizationCount--;
+        entry.mState = State.QUEUED;
+        getLanes(entry.mMedia.getLocalSiteId()).mPriorityQueue.add(entry);
+        return true;
+    }
+
+    /**
+     * Frees the lane used by the given upload so it can be retried later, see {@link #retry(int)}.
+     *
+     * @return the delay before the upload should be retried, which doubles with every attempt, or -1 if the media
+     * isn't uploading or has been retried too many times already
+     */
+    synchronized long prepareRetry(int mediaId) {
+        Entry entry = mEntriesById.get(mediaId);
+        if (entry == null || entry.mState != State.UPLOADING || entry.mRetryCount >= mMaxRetries) {
+            return -1;
+        }
+        releaseLane(entry);
+        entry.mState = State.WAITING_FOR_RETRY;
+        entry.mRetryCount++;
+        return Math.min(RETRY_BASE_DELAY_MS << (entry.mRetryCount - 1), RETRY_MAX_DELAY_MS);
+    }
+
+    /**
+     * Queues an upload prepared by {@link #prepareRetry(int)} ahead of media which hasn't started yet.
+     *
+     * @return the media to retry, or null if it was removed while waiting
+     */
+    @Nullable
+    synchronized MediaModel retry(int mediaId) {
+        Entry entry = mEntriesById.get(mediaId);
+        if (entry == null || entry.mState != State.WAITING_FOR_RETRY) {
+            return null;
+        }
+        entry.mState = State.QUEUED;
+        getLanes(entry.mMedia.getLocalSiteId()).mPriorityQueue.add(entry);
+        return entry.mMedia;
+    }
+
+    /**
+     * Removes the media from the scheduler, freeing its lane if it was being optimized or uploaded.
+     *
+     * @return the removed media, or null if it wasn't scheduled
+     */
+    @Nullable
+    synchronized MediaModel remove(int mediaId) {
+        Entry entry = mEntriesById.remove(mediaId);
+        if (entry == null) {
+            return null;
+        }
+        mEntriesByKey.remove(entry.mKey);
+        releaseLane(entry);
+        // queued entries are left in their queue and skipped when they're polled
+        entry.mRemoved = true;
+        return entry.mMedia;
+    }
+
+    /**
+     * Removes the media unless it's being optimized or uploaded, for cancelling media which nothing is working on.
+     *
+     * @return the removed media, or null if it's in progress or wasn't scheduled
+     */
+    @Nullable
+    synchronized MediaModel removeIfNotInProgress(int mediaId) {
+        Entry entry = mEntriesById.get(mediaId);
+        if (entry == null || entry.isInProgress()) {
+            return null;
+        }
+        return remove(mediaId);
+    }
+
+    /**
+     * Removes the media whose uploads are waiting to be retried, for when the retries won't run anymore.
+     *
+     * @return the removed media
+     */
+    @NonNull
+    synchronized List<MediaModel> removeWaitingForRetry() {
+        List<MediaModel> mediaList = new ArrayList<>();
+        for (Entry entry : new ArrayList<>(mEntriesById.values())) {
+            if (entry.mState == State.WAITING_FOR_RETRY) {
+                remove(entry.mMedia.getId());
+                mediaList.add(entry.mMedia);
+            }
+        }
+        return mediaList;
+    }
+
+    @Nullable
+    synchronized MediaModel getMedia(int mediaId) {
+        Entry entry = mEntriesById.get(mediaId);
+        return entry != null ? entry.mMedia : null;
+    }
+
+    synchronized boolean contains(int mediaId) {
+        return mEntriesById.containsKey(mediaId);
+    }
+
+    synchronized boolean isEmpty() {
+        return mEntriesById.isEmpty();
+    }
+
+    /**
+     * @return media which is being optimized or uploaded
+     */
+    @NonNull
+    synchronized List<MediaModel> getInProgress() {
+        List<MediaModel> mediaList = new ArrayList<>();
+        for (Entry entry : mEntriesById.values()) {
+            if (entry.isInProgress()) {
+                mediaList.add(entry.mMedia);
+            }
+        }
+        return mediaList;
+    }
+
+    /**
+     * @return media for the given post which is waiting to start (or be retried) if inProgress is false, or which is
+     * being optimized or uploaded if it's true
+     */
+    @NonNull
+    synchronized List<MediaModel> getMediaForPost(int postId, boolean inProgress) {
+        List<MediaModel> mediaList = new ArrayList<>();
+        for (Entry entry : mEntriesById.values()) {
+            if (entry.mMedia.getLocalPostId() == postId && entry.isInProgress() == inProgress) {
+                mediaList.add(entry.mMedia);
+            }
+        }
+        return mediaList;
+    }
+
+    private void releaseLane(@NonNull Entry entry) {
+        if (entry.mState == State.OPTIMIZING) {
+            mOptimizationCount--;
+        } else if (entry.mState == State.UPLOADING) {
+            getLanes(entry.mMedia.getLocalSiteId()).mUploadCount--;
+        }
+    }
+
+    @NonNull
+    private SiteLanes getLanes(int siteId) {
+        SiteLanes lanes = mLanesBySiteId.get(siteId);
+        if (lanes == null) {
+            lanes = new SiteLanes();
+            mLanesBySiteId.put(siteId, lanes);
+        }
+        return lanes;
+    }
+
+    @Nullable
+    private static Entry pollQueued(@NonNull ArrayDeque<Entry> queue) {
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            if (!entry.mRemoved && entry.mState == State.QUEUED) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private static class SiteLanes {
+        private final ArrayDeque<Entry> mPriorityQueue = new ArrayDeque<>();
+        private final ArrayDeque<Entry> mQueue = new ArrayDeque<>();
+        private int mUploadCount;
+    }
+
+    private static class Entry {
+        private final MediaModel mMedia;
+        private final QueueKey mKey;
+        private State mState = State.QUEUED;
+        private int mRetryCount;
+        private boolean mRemoved;
+
+        Entry(@NonNull MediaModel media, @NonNull QueueKey key) {
+            mMedia = media;
+            mKey = key;
+        }
+
+        boolean isInProgress() {
+            return mState == State.OPTIMIZING || mState == State.UPLOADING;
+        }
+    }
+
+    /**
+     * Media is considered a duplicate when the same file is added to the same site and post with the same featured
+     * image flag. The key is computed when the media is queued, since optimizing a video changes its file path.
+     */
+    private static class QueueKey {
+        private final int mSiteId;
+        private final int mPostId;
+        private final String mFilePath;
+        private final boolean mMarkedLocallyAsFeatured;
+
+        QueueKey(@NonNull MediaModel media) {
+            mSiteId = media.getLocalSiteId();
+            mPostId = media.getLocalPostId();
+            mFilePath = media.getFilePath();
+            mMarkedLocallyAsFeatured = media.getMarkedLocallyAsFeatured();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof QueueKey)) {
+                return false;
+            }
+            QueueKey key = (QueueKey) other;
+            /*
+                The method doing this comparison used to be called "compareBySiteAndFilePath" and compared just
+                siteId and filePath. It made sense since a media file is tied to a site and can be referenced from
+                multiple posts on that site. This approach tried to prevent wasting users' data.
+
+                The issue was that when a same image was added to content of two posts only a single MediaModel was
+                enqueued. However, MediaModel references only a single post (`localPostId`). When the upload
+                finished only the first post got updated with the url. The second post got uploaded to the server
+                with a path to local image. We decided to check whether the image belongs to the same post so we can
+                be sure the local path gets replaced with the url.
+
+                More info can be found here - https://github.com/wordpress-mobile/WordPress-Android/pull/10204.
+
+                We also need to check the `markedLocallyAsFeatured` flag is equal as we might lose it otherwise. If
+                the user adds an image into the post content and they set the same image as featured image, we need
+                to enqueue both uploads. Otherwise, we could lose the information what we need to update - the
+                featured image or post content.
+
+                Issue with a proper fix - https://github.com/wordpress-mobile/WordPress-Android/issues/10210
+             */
+            return mSiteId == key.mSiteId
+                   && mPostId == key.mPostId
+                   && mMarkedLocallyAsFeatured == key.mMarkedLocallyAsFeatured
+                   && StringUtils.equals(mFilePath, key.mFilePath);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = mSiteId;
+            result = 31 * result + mPostId;
+            result = 31 * result + (mFilePath != null ? mFilePath.hashCode() : 0);
+            result = 31 * result + (mMarkedLocallyAsFeatured ? 1 : 0);
+            return result;
+        }
+    }
+}
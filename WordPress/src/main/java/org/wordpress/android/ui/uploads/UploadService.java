@@ -47,11 +47,14 @@ import org.wordpress.android.util.NetworkUtils;
 import org.wordpress.android.util.StringUtils;
 import org.wordpress.android.util.ToastUtils;
 import org.wordpress.android.util.WPMediaUtils;
+import org.wordpress.android.util.helpers.MediaFile;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.inject.Inject;
@@ -452,13 +455,15 @@ public class UploadService extends Service {
             // updates in one go and save only once
             MediaUploadReadyListener processor = new MediaUploadReadyProcessor();
             Set<MediaModel> completedMedia = sInstance.mUploadStore.getCompletedMediaForPost(post);
+            List<MediaModel> completedContentMedia = new ArrayList<>();
             for (MediaModel media : completedMedia) {
                 if (media.getMarkedLocallyAsFeatured()) {
                     post = updatePostWithNewFeaturedImg(post, media.getMediaId());
                 } else {
-                    post = updatePostWithMediaUrl(post, media, processor);
+                    completedContentMedia.add(media);
                 }
             }
+            post = updatePostWithMediaUrls(post, completedContentMedia, processor);
 
             if (completedMedia != null && !completedMedia.isEmpty()) {
                 // finally remove all completed uploads for this post, as they've been taken care of
@@ -599,17 +604,20 @@ public class UploadService extends Service {
         }
         return post;
     }
-    private static synchronized PostModel updatePostWithMediaUrl(PostModel post, MediaModel media,
-                                                                 MediaUploadReadyListener processor) {
-        if (media != null && post != null && processor != null && sInstance != null) {
+    private static synchronized PostModel updatePostWithMediaUrls(PostModel post, List<MediaModel> mediaList,
+                                                                  MediaUploadReadyListener processor) {
+        if (!mediaList.isEmpty() && post != null && processor != null && sInstance != null) {
             boolean changesConfirmed = post.contentHashcode() == post.getChangesConfirmedContentHashcode();
 
-            // obtain site url used to generate attachment page url
-            SiteModel site = sInstance.mSiteStore.getSiteByLocalId(media.getLocalSiteId());
+            // obtain site url used to generate attachment page url - all media of a post belong to its site
+            SiteModel site = sInstance.mSiteStore.getSiteByLocalId(mediaList.get(0).getLocalSiteId());
 
-            // actually replace the media ID with the media uri
-            processor.replaceMediaFileWithUrlInPost(post, String.valueOf(media.getId()),
-                    FluxCUtils.mediaFileFromMediaModel(media), site.getUrl());
+            // actually replace the media IDs with the media uris, all in one go
+            Map<String, MediaFile> mediaFiles = new LinkedHashMap<>();
+            for (MediaModel media : mediaList) {
+                mediaFiles.put(String.valueOf(media.getId()), FluxCUtils.mediaFileFromMediaModel(media));
+            }
+            processor.replaceMediaFilesWithUrlsInPost(post, mediaFiles, site.getUrl());
 
             // we changed the post, so let’s mark this down
             if (!post.isLocalDraft()) {
@@ -891,6 +899,11 @@ public class UploadService extends Service {
         }
 
         if (event.isError()) {
+            if (MediaUploadHandler.isPendingOrInProgressMediaUpload(event.media.getId())) {
+                // MediaUploadHandler has queued this media to be retried, so this isn't a final failure yet
+                AppLog.i(T.MAIN, "UploadService > Media upload failed and will be retried: " + event.error.type);
+                return;
+            }
             if (event.media.getLocalPostId() > 0) {
                 AppLog.w(T.MAIN, "UploadService > Media upload failed for post " + event.media.getLocalPostId() + " : "
                                  + event.error.type + ": " + event.error.message);
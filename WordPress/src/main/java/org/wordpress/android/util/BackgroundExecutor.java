@@ -0,0 +1,197 @@
+package org.wordpress.android.util;
+
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Shared pool for background work which used to start its own thread. Work runs in one of two lanes:
+ * {@link Lane#DB_WRITE} is serial, so database writes never contend with each other for the SQLite writer
+ * and are applied in the order they were submitted, while {@link Lane#PARSE} runs a bounded number of tasks
+ * in parallel for network response parsing and other CPU-bound work. Threads are created on demand and time
+ * out when idle. Queue depth and task latency are tracked per lane and available through {@link #getStats}.
+ *
+ * The parse lane only queues {@link #MAX_QUEUED_PARSE_TASKS} tasks - once it's full, the thread submitting
+ * a task runs it itself, which slows down whatever is producing the burst. The database write lane can't
+ * do that without giving up its ordering, and its tasks can't be dropped without losing data, so its queue
+ * is unbounded. Most of its tasks are submitted from the parse lane or from network responses, so the
+ * parse lane's bound and the network request queue keep it from growing without limit.
+ */
+@Singleton
+public class BackgroundExecutor {
+    public enum Lane {
+        DB_WRITE("wp-db-write"),
+        PARSE("wp-parse");
+
+        private final String mThreadName;
+
+        Lane(String threadName) {
+            mThreadName = threadName;
+        }
+    }
+
+    private static final long KEEP_ALIVE_SECONDS = 30;
+    private static final int MAX_PARSE_THREADS = 4;
+    @VisibleForTesting
+    static final int MAX_QUEUED_PARSE_TASKS = 64;
+
+    private final LaneExecutor mDbWriteExecutor;
+    private final LaneExecutor mParseExecutor;
+
+    @Inject
+    public BackgroundExecutor() {
+        int parseThreads = Math.max(2, Math.min(MAX_PARSE_THREADS, Runtime.getRuntime().availableProcessors()));
+        mDbWriteExecutor = new LaneExecutor(Lane.DB_WRITE, 1, new LinkedBlockingQueue<Runnable>());
+        mParseExecutor = new LaneExecutor(Lane.PARSE, parseThreads,
+                new LinkedBlockingQueue<Runnable>(MAX_QUEUED_PARSE_TASKS));
+    }
+
+    /*
+     * runs the passed task after all database writes submitted before it have completed
+     */
+    public void executeDbWrite(@NonNull Runnable task) {
+        mDbWriteExecutor.execute(task);
+    }
+
+    /*
+     * runs the passed task as soon as one of the parse lane's threads is available
+     */
+    public void executeParse(@NonNull Runnable task) {
+        mParseExecutor.execute(task);
+    }
+
+    @NonNull
+    public LaneStats getStats(@NonNull Lane lane) {
+        return getExecutor(lane).getStats();
+    }
+
+    private LaneExecutor getExecutor(@NonNull Lane lane) {
+        return lane == Lane.DB_WRITE ? mDbWriteExecutor : mParseExecutor;
+    }
+
+    /**
+     * Snapshot of a lane's queue and the latency of the tasks it has completed.
+     */
+    public static class LaneStats {
+        public final int queueDepth;
+        public final int activeCount;
+        public final long completedCount;
+        public final long averageWaitMs;
+        public final long maxWaitMs;
+        public final long averageRunMs;
+        public final long maxRunMs;
+
+        LaneStats(int queueDepth, int activeCount, long completedCount, long totalWaitNanos, long maxWaitNanos,
+                  long totalRunNanos, long maxRunNanos) {
+            this.queueDepth = queueDepth;
+            this.activeCount = activeCount;
+            this.completedCount = completedCount;
+            this.averageWaitMs = completedCount > 0 ? TimeUnit.NANOSECONDS.toMillis(totalWaitNanos / completedCount) : 0;
+            this.maxWaitMs = TimeUnit.NANOSECONDS.toMillis(maxWaitNanos);
+            this.averageRunMs = completedCount > 0 ? TimeUnit.NANOSECONDS.toMillis(totalRunNanos / completedCount) : 0;
+            this.maxRunMs = TimeUnit.NANOSECONDS.toMillis(maxRunNanos);
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US,
+                    "queued=%d active=%d completed=%d wait(avg/max)=%d/%dms run(avg/max)=%d/%dms",
+                    queueDepth, activeCount, completedCount, averageWaitMs, maxWaitMs, averageRunMs, maxRunMs);
+        }
+    }
+
+    private static class LaneExecutor extends ThreadPoolExecutor {
+        private final AtomicLong mCompletedCount = new AtomicLong();
+        private final AtomicLong mTotalWaitNanos = new AtomicLong();
+        private final AtomicLong mMaxWaitNanos = new AtomicLong();
+        private final AtomicLong mTotalRunNanos = new AtomicLong();
+        private final AtomicLong mMaxRunNanos = new AtomicLong();
+
+        LaneExecutor(@NonNull Lane lane, int numThreads, @NonNull BlockingQueue<Runnable> queue) {
+            super(numThreads, numThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, queue, new LaneThreadFactory(lane),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            allowCoreThreadTimeOut(true);
+        }
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            super.execute(new TimedTask(command));
+        }
+
+        @NonNull
+        LaneStats getStats() {
+            return new LaneStats(getQueue().size(), getActiveCount(), mCompletedCount.get(), mTotalWaitNanos.get(),
+                    mMaxWaitNanos.get(), mTotalRunNanos.get(), mMaxRunNanos.get());
+        }
+
+        private void recordTask(long waitNanos, long runNanos) {
+            mCompletedCount.incrementAndGet();
+            mTotalWaitNanos.addAndGet(waitNanos);
+            mTotalRunNanos.addAndGet(runNanos);
+            updateMax(mMaxWaitNanos, waitNanos);
+            updateMax(mMaxRunNanos, runNanos);
+        }
+
+        private static void updateMax(@NonNull AtomicLong max, long value) {
+            long current = max.get();
+            while (value > current && !max.compareAndSet(current, value)) {
+                current = max.get();
+            }
+        }
+
+        private class TimedTask implements Runnable {
+            private final Runnable mTask;
+            private final long mSubmittedAt = System.nanoTime();
+
+            TimedTask(@NonNull Runnable task) {
+                mTask = task;
+            }
+
+            @Override
+            public void run() {
+                long startedAt = System.nanoTime();
+                try {
+                    mTask.run();
+                } finally {
+                    recordTask(startedAt - mSubmittedAt, System.nanoTime() - startedAt);
+                }
+            }
+        }
+    }
+
+    private static class LaneThreadFactory implements ThreadFactory {
+        private final Lane mLane;
+        private final AtomicInteger mThreadCount = new AtomicInteger();
+
+        LaneThreadFactory(@NonNull Lane lane) {
+            mLane = lane;
+        }
+
+        @Override
+        public Thread newThread(@NonNull final Runnable runnable) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }
+            }, mLane.mThreadName + "-" + mThreadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
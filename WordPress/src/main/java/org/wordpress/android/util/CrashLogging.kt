@@ -66,6 +66,8 @@ class CrashLogging @Inject constructor(
                  * We can simply fix this issue by checking if the [EXTRA_UUID] field is already set.
                  */
                 if (event.getExtra(EXTRA_UUID) == null) {
+                    // make sure the lines logged right before the event are in the file before it's encrypted
+                    AppLog.flushLogFile()
                     LogFileProvider.fromContext(context).getLogFiles().lastOrNull()?.let { logFile ->
                         if (logFile.exists()) {
                             encryptedLogging.encryptAndUploadLogFile(
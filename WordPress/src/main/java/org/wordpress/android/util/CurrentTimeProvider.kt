@@ -0,0 +1,7 @@
+package org.wordpress.android.util
+
+import javax.inject.Inject
+
+class CurrentTimeProvider @Inject constructor() {
+    fun currentTimeMillis() = System.currentTimeMillis()
+}
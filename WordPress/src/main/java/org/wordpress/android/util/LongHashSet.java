@@ -0,0 +1,145 @@
+package org.wordpress.android.util;
+
+import java.util.Arrays;
+
+/**
+ * Set of primitive longs backed by an open-addressing hash table, used where boxing every
+ * value into a HashSet<Long> would be wasteful. Not thread-safe.
+ */
+public class LongHashSet {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    // zero marks an empty slot, so whether the set contains zero is tracked separately
+    private long[] mSlots;
+    private boolean mHasZero;
+    private int mSize;
+
+    public LongHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongHashSet(int expectedSize) {
+        mSlots = new long[tableSizeFor(expectedSize)];
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    public boolean contains(long value) {
+        if (value == 0) {
+            return mHasZero;
+        }
+        long[] slots = mSlots;
+        int mask = slots.length - 1;
+        for (int i = indexFor(value, mask); ; i = (i + 1) & mask) {
+            long slot = slots[i];
+            if (slot == 0) {
+                return false;
+            } else if (slot == value) {
+                return true;
+            }
+        }
+    }
+
+    /*
+     * returns true if the value was added, false if it was already in the set
+     */
+    public boolean add(long value) {
+        if (value == 0) {
+            if (mHasZero) {
+                return false;
+            }
+            mHasZero = true;
+            mSize++;
+            return true;
+        }
+        int mask = mSlots.length - 1;
+        int i = indexFor(value, mask);
+        while (mSlots[i] != 0) {
+            if (mSlots[i] == value) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        mSlots[i] = value;
+        mSize++;
+        if (mSize > mSlots.length * LOAD_FACTOR) {
+            resize(mSlots.length * 2);
+        }
+        return true;
+    }
+
+    /*
+     * returns true if the value was removed, false if it wasn't in the set
+     */
+    public boolean remove(long value) {
+        if (value == 0) {
+            if (!mHasZero) {
+                return false;
+            }
+            mHasZero = false;
+            mSize--;
+            return true;
+        }
+        long[] slots = mSlots;
+        int mask = slots.length - 1;
+        int i = indexFor(value, mask);
+        while (slots[i] != value) {
+            if (slots[i] == 0) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        // shift back any following entries that would no longer be reachable from their home slot
+        int gap = i;
+        for (int j = (gap + 1) & mask; slots[j] != 0; j = (j + 1) & mask) {
+            int home = indexFor(slots[j], mask);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                slots[gap] = slots[j];
+                gap = j;
+            }
+        }
+        slots[gap] = 0;
+        mSize--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(mSlots, 0);
+        mHasZero = false;
+        mSize = 0;
+    }
+
+    private void resize(int newCapacity) {
+        long[] oldSlots = mSlots;
+        mSlots = new long[newCapacity];
+        int mask = newCapacity - 1;
+        for (long value : oldSlots) {
+            if (value != 0) {
+                int i = indexFor(value, mask);
+                while (mSlots[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                mSlots[i] = value;
+            }
+        }
+    }
+
+    private static int indexFor(long value, int mask) {
+        // spread the bits so sequential ids don't cluster
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int minCapacity = (int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR) + 1;
+        int capacity = Integer.highestOneBit(minCapacity);
+        return capacity < minCapacity ? capacity << 1 : capacity;
+    }
+}
@@ -0,0 +1,342 @@
+package org.wordpress.android.util;
+
+import android.content.Context;
+import android.graphics.BitmapFactory;
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.wordpress.android.util.AppLog.T;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Optimizes images with ImageUtils.optimizeImage() and keeps the optimized images in the app's cache dir.
+ *
+ * Optimized images are stored by the hash of the original image's content and the optimization settings, so
+ * adding a picture which was already optimized - to another post, or again after a failed upload - reuses the
+ * optimized image instead of decoding and encoding the picture again. The least recently used images are deleted
+ * once the cache grows over its size, so callers get a copy of the cached image which stays around for as long as
+ * the optimized images did before they were cached - uploads and drafts may refer to it long after it's evicted.
+ *
+ * Can be called from several threads to optimize a batch of pictures in parallel: the same picture is only
+ * optimized once, and pictures are only optimized at the same time while their bitmaps fit in a part of the heap.
+ */
+public class OptimizedImageCache {
+    private static final String CACHE_DIR_NAME = "optimized_images";
+    private static final String TEMP_FILE_NAME = "optimizing.tmp";
+    private static final long MAX_CACHE_SIZE = 256 * 1024 * 1024;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final int BYTES_PER_PIXEL = 4;
+    private static final int BYTES_PER_PERMIT = 1024;
+    // the bitmaps of the images being optimized can use a quarter of the heap
+    private static final int MEMORY_PERMITS =
+            (int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / 4 / BYTES_PER_PERMIT);
+    private static final Semaphore MEMORY = new Semaphore(MEMORY_PERMITS, true);
+
+    // one lock per cache entry which is in use, so different pictures are optimized in parallel
+    private static final Map<String, KeyLock> KEY_LOCKS = new HashMap<>();
+    private static final Object EVICTION_LOCK = new Object();
+
+    private OptimizedImageCache() {
+    }
+
+    /**
+     * Same as ImageUtils.optimizeImage(), but returns the cached image when the same picture was already
+     * optimized with the same settings
+     * @return the path to a copy of the optimized image, or the passed path when the image wasn't optimized
+     */
+    public static String optimizeImage(Context context, String path, int maxImageSize, int quality) {
+        if (context == null || TextUtils.isEmpty(path)) {
+            return path;
+        }
+
+        File file = new File(path);
+        File cacheDir = getCacheDir(context);
+        String contentHash = file.exists() && cacheDir != null ? hashContent(file) : null;
+        if (contentHash == null) {
+            return optimizeWithMemoryBudget(context, file, maxImageSize, quality, null);
+        }
+
+        String key = contentHash + "-" + maxImageSize + "-" + quality;
+        File entryDir = new File(cacheDir, key);
+        File copy;
+        boolean isNewEntry = false;
+        KeyLock keyLock = acquireKeyLock(key);
+        try {
+            synchronized (keyLock) {
+                File cachedImage = getCachedImage(entryDir);
+                if (cachedImage != null) {
+                    // mark the image as recently used
+                    entryDir.setLastModified(System.currentTimeMillis());
+                } else {
+                    String optimizedPath = optimizeIntoCache(context, file, maxImageSize, quality, entryDir);
+                    cachedImage = getCachedImage(entryDir);
+                    if (cachedImage == null) {
+                        // the image wasn't optimized, or it couldn't be cached
+                        return optimizedPath;
+                    }
+                    isNewEntry = true;
+                }
+                // the image is copied while its key is locked, so it can't be evicted in the meantime
+                copy = copyOutOfCache(cachedImage);
+            }
+        } finally {
+            releaseKeyLock(key, keyLock);
+        }
+
+        if (isNewEntry) {
+            evict(cacheDir, MAX_CACHE_SIZE);
+        }
+        if (copy == null) {
+            return optimizeWithMemoryBudget(context, file, maxImageSize, quality, null);
+        }
+        return copy.getPath();
+    }
+
+    private static String optimizeIntoCache(Context context, File file, int maxImageSize, int quality,
+                                            File entryDir) {
+        if (!entryDir.isDirectory() && !entryDir.mkdirs()) {
+            return optimizeWithMemoryBudget(context, file, maxImageSize, quality, null);
+        }
+
+        File tempFile = new File(entryDir, TEMP_FILE_NAME);
+        String optimizedPath = optimizeWithMemoryBudget(context, file, maxImageSize, quality, tempFile);
+        if (tempFile.getPath().equals(optimizedPath)) {
+            String fileName = MediaUtils.getMediaFileName(file, MediaUtils.getMediaFileMimeType(file));
+            File cachedImage = new File(entryDir, fileName);
+            if (tempFile.renameTo(cachedImage)) {
+                return cachedImage.getPath();
+            }
+            AppLog.w(T.MEDIA, "Can't move the optimized image into the cache");
+            tempFile.delete();
+            entryDir.delete();
+            return optimizeWithMemoryBudget(context, file, maxImageSize, quality, null);
+        }
+
+        // the image wasn't optimized, so there's nothing to cache
+        tempFile.delete();
+        entryDir.delete();
+        return optimizedPath;
+    }
+
+    /*
+     * waits until the bitmaps of the image fit in the memory budget, so optimizing several images in parallel
+     * doesn't run out of memory
+     */
+    private static String optimizeWithMemoryBudget(Context context, File file, int maxImageSize, int quality,
+                                                   @Nullable File outputFile) {
+        int permits = getMemoryPermits(file, maxImageSize);
+        MEMORY.acquireUninterruptibly(permits);
+        try {
+            return ImageUtils.optimizeImage(context, file.getPath(), maxImageSize, quality, outputFile);
+        } finally {
+            MEMORY.release(permits);
+        }
+    }
+
+    /*
+     * estimates the memory the image needs while it's optimized: the subsampled bitmap and its scaled copy
+     */
+    private static int getMemoryPermits(File file, int maxImageSize) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(file.getPath(), options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return 1;
+        }
+
+        int scale = 1;
+        int maxDimension = Math.max(options.outWidth, options.outHeight);
+        while (maxImageSize > 0 && maxDimension / scale / 2 >= maxImageSize) {
+            scale *= 2;
+        }
+        long decodedBytes = (long) (options.outWidth / scale) * (options.outHeight / scale) * BYTES_PER_PIXEL;
+        long permits = 2 * decodedBytes / BYTES_PER_PERMIT;
+        // an image which needs more than the whole budget is optimized on its own
+        return (int) Math.max(1, Math.min(MEMORY_PERMITS, permits));
+    }
+
+    @Nullable
+    private static File getCacheDir(Context context) {
+        File cacheDir = new File(context.getCacheDir(), CACHE_DIR_NAME);
+        if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+            AppLog.w(T.MEDIA, "Can't create the optimized images cache dir");
+            return null;
+        }
+        return cacheDir;
+    }
+
+    @Nullable
+    static File getCachedImage(File entryDir) {
+        File[] files = entryDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (!file.getName().equals(TEMP_FILE_NAME)) {
+                    return file;
+                }
+            }
+        }
+        return null;
+    }
+
+    /*
+     * copies the cached image, which is named after the original picture, to a new temp file named the same way
+     * ImageUtils.optimizeImage() names the optimized images it doesn't cache - the name is the name of the uploaded
+     * media
+     */
+    @Nullable
+    private static File copyOutOfCache(File cachedImage) {
+        String fileName = cachedImage.getName();
+        String prefix = FileUtils.getFileNameFromPath(fileName);
+        if (TextUtils.isEmpty(prefix) || prefix.length() < 3) {
+            // prefix must be at least 3 characters
+            prefix = "wp-image";
+        }
+        int extensionStart = fileName.lastIndexOf('.');
+        String suffix = extensionStart != -1 ? fileName.substring(extensionStart) : null;
+
+        File copy = null;
+        try {
+            copy = File.createTempFile(prefix, suffix);
+            try (InputStream input = new FileInputStream(cachedImage);
+                 OutputStream output = new FileOutputStream(copy)) {
+                byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    output.write(buffer, 0, read);
+                }
+            }
+            return copy;
+        } catch (IOException | SecurityException e) {
+            AppLog.e(T.MEDIA, "Can't copy the optimized image out of the cache", e);
+            if (copy != null) {
+                copy.delete();
+            }
+            return null;
+        }
+    }
+
+    private static KeyLock acquireKeyLock(String key) {
+        synchronized (KEY_LOCKS) {
+            KeyLock keyLock = KEY_LOCKS.get(key);
+            if (keyLock == null) {
+                keyLock = new KeyLock();
+                KEY_LOCKS.put(key, keyLock);
+            }
+            keyLock.mUsers++;
+            return keyLock;
+        }
+    }
+
+    private static void releaseKeyLock(String key, KeyLock keyLock) {
+        synchronized (KEY_LOCKS) {
+            if (--keyLock.mUsers == 0) {
+                KEY_LOCKS.remove(key);
+            }
+        }
+    }
+
+    @Nullable
+    static String hashContent(File file) {
+        try (InputStream input = new FileInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return String.format(Locale.ROOT, "%040x", new BigInteger(1, digest.digest()));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            AppLog.e(T.MEDIA, "Can't hash the image to optimize", e);
+            return null;
+        }
+    }
+
+    /**
+     * Deletes the least recently used images until the cache fits in the passed size
+     */
+    static void evict(@NonNull File cacheDir, long maxSize) {
+        synchronized (EVICTION_LOCK) {
+            File[] entries = cacheDir.listFiles();
+            if (entries == null) {
+                return;
+            }
+
+            long cacheSize = 0;
+            final Map<File, Long> lastUsed = new HashMap<>();
+            for (File entryDir : entries) {
+                cacheSize += getSize(entryDir);
+                lastUsed.put(entryDir, entryDir.lastModified());
+            }
+            if (cacheSize <= maxSize) {
+                return;
+            }
+
+            List<File> leastRecentlyUsed = new ArrayList<>(lastUsed.keySet());
+            Collections.sort(leastRecentlyUsed,
+                    (first, second) -> Long.compare(lastUsed.get(first), lastUsed.get(second)));
+
+            for (File entryDir : leastRecentlyUsed) {
+                if (cacheSize <= maxSize) {
+                    break;
+                }
+                String key = entryDir.getName();
+                KeyLock keyLock = acquireKeyLock(key);
+                try {
+                    synchronized (keyLock) {
+                        long size = getSize(entryDir);
+                        if (deleteEntry(entryDir)) {
+                            cacheSize -= size;
+                        }
+                    }
+                } finally {
+                    releaseKeyLock(key, keyLock);
+                }
+            }
+        }
+    }
+
+    private static long getSize(File entryDir) {
+        File[] files = entryDir.listFiles();
+        if (files == null) {
+            return entryDir.length();
+        }
+        long size = 0;
+        for (File file : files) {
+            size += file.length();
+        }
+        return size;
+    }
+
+    private static boolean deleteEntry(File entryDir) {
+        File[] files = entryDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        return entryDir.delete();
+    }
+
+    private static class KeyLock {
+        private int mUsers;
+    }
+}
@@ -0,0 +1,28 @@
+package org.wordpress.android.util.encryptedlogging
+
+import com.goterl.lazycode.lazysodium.interfaces.SecretStream
+import okio.ByteString.Companion.encodeUtf8
+
+/**
+ * The file formats of encrypted logs.
+ */
+enum class EncryptedLogFormat {
+    /**
+     * A JSON object containing the base64 encoded key, header and messages.
+     */
+    V1,
+
+    /**
+     * A binary file – the magic bytes and format version, followed by the UUID, the encrypted key and the stream
+     * header, then a series of frames each holding an encrypted message prefixed by its length. The last frame is
+     * tagged as final. Long messages are split across several frames, so a frame is never larger than
+     * `V2_MAX_FRAME_SIZE`. Messages don't need to be base64 encoded, which makes logs roughly a quarter smaller
+     * than V1.
+     */
+    V2
+}
+
+internal val V2_MAGIC = "WPEL".encodeUtf8()
+internal const val V2_VERSION: Byte = 2
+internal const val V2_MAX_MESSAGE_SIZE = 64 * 1024
+internal val V2_MAX_FRAME_SIZE = V2_MAX_MESSAGE_SIZE + SecretStream.ABYTES
@@ -2,21 +2,17 @@ package org.wordpress.android.util.encryptedlogging
 
 import android.util.Base64
 import android.util.Base64.DEFAULT
-
+import android.util.JsonReader
 import com.goterl.lazycode.lazysodium.interfaces.SecretStream
 import com.goterl.lazycode.lazysodium.utils.KeyPair
-import org.json.JSONObject
+import okio.BufferedSource
+import okio.buffer
+import okio.source
+import java.io.ByteArrayOutputStream
+import java.io.Closeable
 import java.io.File
-
-/**
- * EncryptedStream represents the encrypted stream once the key has been decrypted. It exists to separate
- *  the key decryption from the stream decryption while decoding.
- *
- * @param key An unencrypted SecretStreamKey used to decrypt the remainder of the log.
- * @param header A `ByteArray` representing the stream header – it's used to initialize the decryption stream.
- * @param messages A `List<ByteArray>` of encrypted messages
- */
-class EncryptedStream(val key: SecretStreamKey, val header: ByteArray, val messages: List<ByteArray>)
+import java.io.InputStreamReader
+import java.io.OutputStream
 
 private const val JSON_KEYED_WITH_KEY = "keyedWith"
 private const val JSON_UUID_KEY = "uuid"
@@ -25,55 +21,188 @@ private const val JSON_ENCRYPTED_KEY_KEY = "encryptedKey"
 private const val JSON_MESSAGES_KEY = "messages"
 
 /**
- * EncryptedLogReader allows decrypting encrypted log files.
+ * EncryptedLogReader allows decrypting encrypted log files, in either of the `EncryptedLogFormat`s.
  *
- * This implementation isn't particularly efficient – it loads the entire file into memory to decrypt it. Given
- * that it's currently only used for tests, this isn't a problem, but if it were to be used in production, it'd likely
- * make sense to implement a streaming JSON parser for this purpose.
+ * The file is streamed – messages are read, decrypted and written out one at a time, so only a single message is held
+ * in memory no matter how large the log is.
  *
  * @param file The encrypted log file to read.
  * @param keyPair The public and secret key pair associated with this file. Both are required to decrypt the file.
  */
-class EncryptedLogReader(file: File, keyPair: KeyPair) {
+class EncryptedLogReader(private val file: File, keyPair: KeyPair) {
     private val sodium = EncryptionUtils.sodium
-    private val state = SecretStream.State.ByReference()
-    private val encryptedStream: EncryptedStream
+    private val key: SecretStreamKey
+    private val header: ByteArray
 
     /**
      * The Encrypted Log File's UUID
      */
     val uuid: String
 
-    init {
-        val json = JSONObject(file.readText())
+    /**
+     * The Encrypted Log File's format
+     */
+    val format: EncryptedLogFormat
 
-        require(json.getString(JSON_KEYED_WITH_KEY) == "v1") {
-            "This class can only parse files keyedWith the v1 implementation"
+    init {
+        val messages = openMessages()
+        try {
+            this.format = messages.format
+            this.uuid = messages.uuid
+            this.header = messages.header
+            this.key = messages.encryptedKey.decrypt(keyPair)
+        } finally {
+            messages.close()
         }
+    }
+
+    /**
+     * Decrypts and returns the log file as a String.
+     */
+    fun decrypt(): String {
+        val output = ByteArrayOutputStream()
+        decryptTo(output)
+        return output.toString(Charsets.UTF_8.name())
+    }
 
-        this.uuid = json.getString(JSON_UUID_KEY)
-        val header = json.getString(JSON_HEADER_KEY).base64Decode()
-        val encryptedKey = EncryptedSecretStreamKey(json.getString(JSON_ENCRYPTED_KEY_KEY).base64Decode())
-        val messagesJson = json.getJSONArray(JSON_MESSAGES_KEY)
+    /**
+     * Decrypts the log file message by message into the given stream. The stream isn't closed.
+     */
+    fun decryptTo(output: OutputStream) {
+        val state = SecretStream.State.ByReference()
+        check(sodium.cryptoSecretStreamInitPull(state, header, key.bytes))
+
+        val tag = ByteArray(1) // Stores the extracted tag
+        openMessages().use { messages ->
+            while (true) {
+                val cipherBytes = messages.nextMessage() ?: break
+                val plainBytes = ByteArray(cipherBytes.size - SecretStream.ABYTES)
+                check(sodium.cryptoSecretStreamPull(state, plainBytes, tag, cipherBytes, cipherBytes.size.toLong()))
+                output.write(plainBytes)
 
-        val messages = (0 until messagesJson.length()).map { messagesJson.getString(it).base64Decode() }
+                if (tag[0] == SecretStream.TAG_FINAL) {
+                    return
+                }
+            }
+        }
+        throw IllegalStateException("The log ended without its closing tag, it's likely been truncated")
+    }
 
-        this.encryptedStream = EncryptedStream(encryptedKey.decrypt(keyPair), header, messages)
-        check(sodium.cryptoSecretStreamInitPull(state, encryptedStream.header, encryptedStream.key.bytes))
+    private fun openMessages(): MessageSource {
+        val source = file.source().buffer()
+        return try {
+            if (source.rangeEquals(0, V2_MAGIC)) {
+                V2MessageSource(source)
+            } else {
+                V1MessageSource(source)
+            }
+        } catch (e: Exception) {
+            source.close()
+            throw e
+        }
     }
+}
+
+/**
+ * Reads the header of an encrypted log, then its encrypted messages one at a time.
+ */
+private interface MessageSource : Closeable {
+    val format: EncryptedLogFormat
+    val uuid: String
+    val header: ByteArray
+    val encryptedKey: EncryptedSecretStreamKey
 
     /**
-     * Decrypts and returns the log file as a String.
+     * Returns the next encrypted message, or null if there are no more messages.
      */
-    fun decrypt(): String {
-        return encryptedStream.messages.fold("") { accumulated: String, cipherBytes: ByteArray -> String
-            val plainBytes = ByteArray(cipherBytes.size - SecretStream.ABYTES)
+    fun nextMessage(): ByteArray?
+}
+
+private class V1MessageSource(private val source: BufferedSource) : MessageSource {
+    private val reader = JsonReader(InputStreamReader(source.inputStream(), Charsets.UTF_8))
+
+    override val format = EncryptedLogFormat.V1
+    override val uuid: String
+    override val header: ByteArray
+    override val encryptedKey: EncryptedSecretStreamKey
+
+    init {
+        var keyedWith: String? = null
+        var uuid: String? = null
+        var header: String? = null
+        var encryptedKey: String? = null
+        var hasMessages = false
+
+        // the messages come last, so the reader is left at the start of the messages array
+        reader.beginObject()
+        while (!hasMessages && reader.hasNext()) {
+            when (reader.nextName()) {
+                JSON_KEYED_WITH_KEY -> keyedWith = reader.nextString()
+                JSON_UUID_KEY -> uuid = reader.nextString()
+                JSON_HEADER_KEY -> header = reader.nextString()
+                JSON_ENCRYPTED_KEY_KEY -> encryptedKey = reader.nextString()
+                JSON_MESSAGES_KEY -> {
+                    reader.beginArray()
+                    hasMessages = true
+                }
+                else -> reader.skipValue()
+            }
+        }
+
+        require(keyedWith == "v1") {
+            "This class can only parse files keyedWith the v1 implementation"
+        }
+        require(hasMessages && uuid != null && header != null && encryptedKey != null) {
+            "The log must contain the uuid, header and encrypted key before its messages"
+        }
+
+        this.uuid = uuid
+        this.header = header.base64Decode()
+        this.encryptedKey = EncryptedSecretStreamKey(encryptedKey.base64Decode())
+    }
+
+    override fun nextMessage(): ByteArray? {
+        return if (reader.hasNext()) reader.nextString().base64Decode() else null
+    }
+
+    override fun close() {
+        reader.close()
+    }
+}
+
+private class V2MessageSource(private val source: BufferedSource) : MessageSource {
+    override val format = EncryptedLogFormat.V2
+    override val uuid: String
+    override val header: ByteArray
+    override val encryptedKey: EncryptedSecretStreamKey
 
-            val tag = ByteArray(1) // Stores the extracted tag. This implementation doesn't do anything with it.
-            check(sodium.cryptoSecretStreamPull(state, plainBytes, tag, cipherBytes, cipherBytes.size.toLong()))
+    init {
+        source.skip(V2_MAGIC.size.toLong())
+        val version = source.readByte()
+        require(version == V2_VERSION) {
+            "This class can't parse version $version of the binary format"
+        }
+
+        val uuidLength = source.readShort().toLong() and 0xffff
+        uuid = source.readUtf8(uuidLength)
+        encryptedKey = EncryptedSecretStreamKey(source.readByteArray(EncryptedSecretStreamKey.size.toLong()))
+        header = source.readByteArray(SecretStream.HEADERBYTES.toLong())
+    }
 
-            accumulated + String(plainBytes)
+    override fun nextMessage(): ByteArray? {
+        if (source.exhausted()) {
+            return null
         }
+        // the length is checked before allocating the frame, so a corrupted log can't exhaust the memory
+        val length = source.readInt()
+        require(length in SecretStream.ABYTES..V2_MAX_FRAME_SIZE) {
+            "The log contains a frame of $length bytes, it's likely been corrupted"
+        }
+        return source.readByteArray(length.toLong())
+    }
+
+    override fun close() {
+        source.close()
     }
 }
 
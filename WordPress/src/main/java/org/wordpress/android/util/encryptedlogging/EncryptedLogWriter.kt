@@ -3,8 +3,10 @@ package org.wordpress.android.util.encryptedlogging
 import android.util.Base64
 import com.goterl.lazycode.lazysodium.interfaces.SecretStream
 import com.goterl.lazycode.lazysodium.utils.Key
+import okio.BufferedSink
+import okio.buffer
+import okio.sink
 import java.io.File
-import java.io.FileWriter
 import java.util.UUID
 
 /**
@@ -13,15 +15,17 @@ import java.util.UUID
  * @param file A file object representing the log file destination.
  * @param publicKey The public key used to encrypt the log.
  * @param uuid (Optional) The UUID string associated with the encrypted log. If one is not provided, it is generated for you.
+ * @param format (Optional) The file format to write, `V2` unless specified.
  * @constructor Creates the `EncryptedLogWriter`. Call `write` to append data, and `close` when to write out the postamble.
  *
  */
 class EncryptedLogWriter(
     val file: File,
     publicKey: Key,
-    private val uuid: String = UUID.randomUUID().toString()
+    private val uuid: String = UUID.randomUUID().toString(),
+    private val format: EncryptedLogFormat = EncryptedLogFormat.V2
 ) {
-    private val fileWriter: FileWriter = FileWriter(file)
+    private val sink: BufferedSink = file.sink().buffer()
     private val sodium = EncryptionUtils.sodium
     private val state = SecretStream.State.ByReference()
 
@@ -37,33 +41,54 @@ class EncryptedLogWriter(
      * @param string: The string to be written to the file.
      */
     fun write(string: String) {
-        val encryptedString = encryptMessage(string, SecretStream.TAG_MESSAGE)
-        fileWriter.write("\t\t\"$encryptedString\",\n")
+        val plainBytes = string.toByteArray()
+        if (format == EncryptedLogFormat.V1 || plainBytes.size <= V2_MAX_MESSAGE_SIZE) {
+            writeMessage(encryptMessage(plainBytes, SecretStream.TAG_MESSAGE), isLast = false)
+            return
+        }
+
+        // the reader rejects larger frames, so long messages are split – they're decrypted back to back anyway
+        for (start in plainBytes.indices step V2_MAX_MESSAGE_SIZE) {
+            val end = minOf(start + V2_MAX_MESSAGE_SIZE, plainBytes.size)
+            writeMessage(encryptMessage(plainBytes.copyOfRange(start, end), SecretStream.TAG_MESSAGE), isLast = false)
+        }
     }
 
     /**
-     * Add the closing file tag, and ensure that all buffers are flushed to disk.
+     * Add the closing file tag, flush all buffers to disk and close the file.
      */
     fun close() {
-        val encryptedClosingTag = encryptMessage("", SecretStream.TAG_FINAL)
-        fileWriter.write("\t\t\"$encryptedClosingTag\"\n")
-        fileWriter.write("\t]\n")
-        fileWriter.write("}")
-        fileWriter.flush()
+        writeMessage(encryptMessage(ByteArray(0), SecretStream.TAG_FINAL), isLast = true)
+        if (format == EncryptedLogFormat.V1) {
+            sink.writeUtf8("\t]\n")
+            sink.writeUtf8("}")
+        }
+        sink.close()
+    }
+
+    private fun writeMessage(encryptedBytes: ByteArray, isLast: Boolean) {
+        when (format) {
+            EncryptedLogFormat.V1 -> {
+                val separator = if (isLast) "" else ","
+                sink.writeUtf8("\t\t\"${base64Encode(encryptedBytes)}\"$separator\n")
+            }
+            EncryptedLogFormat.V2 -> {
+                sink.writeInt(encryptedBytes.size)
+                sink.write(encryptedBytes)
+            }
+        }
     }
 
     /**
      * An internal convenience function to push more data into the sodium secret stream.
      */
-    private fun encryptMessage(string: String, tag: Byte): String {
-        val plainBytes = string.toByteArray()
-
+    private fun encryptMessage(plainBytes: ByteArray, tag: Byte): ByteArray {
         val encryptedBytes = ByteArray(SecretStream.ABYTES + plainBytes.size) // Stores the encrypted bytes
         check(sodium.cryptoSecretStreamPush(this.state, encryptedBytes, plainBytes, plainBytes.size.toLong(), tag)) {
-            "Unable to encrypt message: $string"
+            "Unable to encrypt message: ${String(plainBytes)}"
         }
 
-        return base64Encode(encryptedBytes)
+        return encryptedBytes
     }
 
     /**
@@ -74,6 +99,13 @@ class EncryptedLogWriter(
             "The secret stream header must be the correct length"
         }
 
+        when (format) {
+            EncryptedLogFormat.V1 -> writeV1Header(key, header)
+            EncryptedLogFormat.V2 -> writeV2Header(key, header)
+        }
+    }
+
+    private fun writeV1Header(key: EncryptedSecretStreamKey, header: ByteArray) {
         val encodedEncryptedKey = base64Encode(key.bytes)
         check(encodedEncryptedKey.length == 108) {
             "The encoded, encrypted key must always be 108 bytes long"
@@ -84,12 +116,25 @@ class EncryptedLogWriter(
             "The encoded header must always be 32 bytes long"
         }
 
-        fileWriter.write("{")
-        fileWriter.write("\t\"keyedWith\": \"v1\",\n")
-        fileWriter.write("\t\"encryptedKey\": \"$encodedEncryptedKey\",\n")
-        fileWriter.write("\t\"header\": \"$encodedHeader\",\n")
-        fileWriter.write("\t\"uuid\": \"$uuid\",\n")
-        fileWriter.write("\t\"messages\": [\n")
+        sink.writeUtf8("{")
+        sink.writeUtf8("\t\"keyedWith\": \"v1\",\n")
+        sink.writeUtf8("\t\"encryptedKey\": \"$encodedEncryptedKey\",\n")
+        sink.writeUtf8("\t\"header\": \"$encodedHeader\",\n")
+        sink.writeUtf8("\t\"uuid\": \"$uuid\",\n")
+        sink.writeUtf8("\t\"messages\": [\n")
+    }
+
+    /**
+     * The key and header have a fixed size, so only the UUID is prefixed by its length.
+     */
+    private fun writeV2Header(key: EncryptedSecretStreamKey, header: ByteArray) {
+        val uuidBytes = uuid.toByteArray()
+        sink.write(V2_MAGIC)
+        sink.writeByte(V2_VERSION.toInt())
+        sink.writeShort(uuidBytes.size)
+        sink.write(uuidBytes)
+        sink.write(key.bytes)
+        sink.write(header)
     }
 }
 
@@ -0,0 +1,218 @@
+package org.wordpress.android.datasets
+
+import android.content.ContentValues
+import android.database.Cursor
+import android.database.sqlite.SQLiteDatabase
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Assume.assumeTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import org.wordpress.android.TestApplication
+import org.wordpress.android.models.ReaderPost
+import org.wordpress.android.models.ReaderTagType
+import org.wordpress.android.util.SqlUtils
+
+/**
+ * Loads a synthetic 1,000 post stream and checks that mapping it with [ReaderPostCursorProjection] gives the
+ * same posts as looking up every column index for every row, which is what the reader list used to do.
+ *
+ * The benchmark comparing the per-row cost of both is only run when the RUN_BENCHMARKS environment variable
+ * is set, so it doesn't slow down the unit tests.
+ */
+@Config(application = TestApplication::class)
+@RunWith(RobolectricTestRunner::class)
+class ReaderPostCursorProjectionTest {
+    private lateinit var db: SQLiteDatabase
+
+    @Before
+    fun setUp() {
+        db = SQLiteDatabase.create(null)
+        ReaderPostTable.createTables(db)
+        db.beginTransaction()
+        try {
+            for (i in 1..NUM_POSTS) {
+                db.insert("tbl_posts", null, postValues(i))
+                db.insert("tbl_post_tags", null, tagValues(i))
+            }
+            db.setTransactionSuccessful()
+        } finally {
+            db.endTransaction()
+        }
+    }
+
+    @After
+    fun tearDown() {
+        db.close()
+    }
+
+    @Test
+    fun `projection maps every row like the per-row column lookup`() {
+        val projected = mapStream(::projectionMapper)
+        val legacy = mapStream(::legacyMapper)
+
+        assertThat(projected).hasSize(NUM_POSTS)
+        projected.zip(legacy).forEach { (post, expected) ->
+            assertThat(post.pseudoId).isEqualTo(expected.pseudoId)
+            assertThat(post.blogId).isEqualTo(expected.blogId)
+            assertThat(post.postId).isEqualTo(expected.postId)
+            assertThat(post.title).isEqualTo(expected.title)
+            assertThat(post.excerpt).isEqualTo(expected.excerpt)
+            assertThat(post.score).isEqualTo(expected.score)
+            assertThat(post.dateTagged).isEqualTo(expected.dateTagged)
+            assertThat(post.isLikedByCurrentUser).isEqualTo(expected.isLikedByCurrentUser)
+            assertThat(post.discoverJson).isEqualTo(expected.discoverJson)
+            assertThat(post.railcarJson).isEqualTo(expected.railcarJson)
+            assertThat(post.hasText()).isFalse()
+        }
+    }
+
+    @Test
+    fun `benchmark mapping a 1000 post stream`() {
+        assumeTrue("Set RUN_BENCHMARKS to run the benchmarks", System.getenv("RUN_BENCHMARKS") != null)
+        repeat(WARMUP_RUNS) {
+            mapStream(::legacyMapper)
+            mapStream(::projectionMapper)
+        }
+
+        val legacyNanosPerRow = timeRuns { mapStream(::legacyMapper) } / (NUM_POSTS * MEASURED_RUNS)
+        val projectionNanosPerRow = timeRuns { mapStream(::projectionMapper) } / (NUM_POSTS * MEASURED_RUNS)
+
+        assertThat(projectionNanosPerRow)
+                .describedAs(
+                        "cached projection: $projectionNanosPerRow ns/row," +
+                                " getColumnIndex per row: $legacyNanosPerRow ns/row"
+                )
+                .isLessThan(legacyNanosPerRow)
+    }
+
+    private fun timeRuns(block: () -> Unit): Long {
+        val start = System.nanoTime()
+        repeat(MEASURED_RUNS) { block() }
+        return System.nanoTime() - start
+    }
+
+    /*
+     * runs the same query the reader list uses (text column excluded) and maps every row with
+     * the row mapper returned by the passed factory
+     */
+    private fun mapStream(mapperFactory: (Cursor) -> () -> ReaderPost): List<ReaderPost> {
+        val posts = ArrayList<ReaderPost>(NUM_POSTS)
+        val cursor = db.rawQuery(STREAM_QUERY, arrayOf(TAG_NAME, ReaderTagType.DEFAULT.toInt().toString()))
+        try {
+            if (cursor.moveToFirst()) {
+                val mapper = mapperFactory(cursor)
+                do {
+                    posts.add(mapper())
+                } while (cursor.moveToNext())
+            }
+        } finally {
+            SqlUtils.closeCursor(cursor)
+        }
+        return posts
+    }
+
+    private fun projectionMapper(cursor: Cursor): () -> ReaderPost {
+        val projection = ReaderPostCursorProjection(cursor)
+        return { projection.getPost(cursor) }
+    }
+
+    private fun legacyMapper(cursor: Cursor): () -> ReaderPost = { legacyPostFromCursor(cursor) }
+
+    private fun legacyPostFromCursor(c: Cursor): ReaderPost {
+        val post = ReaderPost()
+        val idxText = c.getColumnIndex("text")
+        if (idxText > -1) {
+            post.text = c.getString(idxText)
+        }
+        post.postId = c.getLong(c.getColumnIndex("post_id"))
+        post.blogId = c.getLong(c.getColumnIndex("blog_id"))
+        post.feedId = c.getLong(c.getColumnIndex("feed_id"))
+        post.feedItemId = c.getLong(c.getColumnIndex("feed_item_id"))
+        post.authorId = c.getLong(c.getColumnIndex("author_id"))
+        post.pseudoId = c.getString(c.getColumnIndex("pseudo_id"))
+        post.authorName = c.getString(c.getColumnIndex("author_name"))
+        post.authorFirstName = c.getString(c.getColumnIndex("author_first_name"))
+        post.blogName = c.getString(c.getColumnIndex("blog_name"))
+        post.blogUrl = c.getString(c.getColumnIndex("blog_url"))
+        post.blogImageUrl = c.getString(c.getColumnIndex("blog_image_url"))
+        post.excerpt = c.getString(c.getColumnIndex("excerpt"))
+        post.format = c.getString(c.getColumnIndex("format"))
+        post.featuredImage = c.getString(c.getColumnIndex("featured_image"))
+        post.featuredVideo = c.getString(c.getColumnIndex("featured_video"))
+        post.title = c.getString(c.getColumnIndex("title"))
+        post.url = c.getString(c.getColumnIndex("url"))
+        post.shortUrl = c.getString(c.getColumnIndex("short_url"))
+        post.postAvatar = c.getString(c.getColumnIndex("post_avatar"))
+        post.datePublished = c.getString(c.getColumnIndex("date_published"))
+        post.dateLiked = c.getString(c.getColumnIndex("date_liked"))
+        post.dateTagged = c.getString(c.getColumnIndex("date_tagged"))
+        post.score = c.getDouble(c.getColumnIndex("score"))
+        post.numReplies = c.getInt(c.getColumnIndex("num_replies"))
+        post.numLikes = c.getInt(c.getColumnIndex("num_likes"))
+        post.isLikedByCurrentUser = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_liked")))
+        post.isFollowedByCurrentUser = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_followed")))
+        post.isCommentsOpen = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_comments_open")))
+        post.isExternal = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_external")))
+        post.isPrivate = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_private")))
+        post.isPrivateAtomic = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_private_atomic")))
+        post.isVideoPress = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_videopress")))
+        post.isJetpack = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_jetpack")))
+        post.isBookmarked = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("is_bookmarked")))
+        post.primaryTag = c.getString(c.getColumnIndex("primary_tag"))
+        post.secondaryTag = c.getString(c.getColumnIndex("secondary_tag"))
+        post.attachmentsJson = c.getString(c.getColumnIndex("attachments_json"))
+        post.discoverJson = c.getString(c.getColumnIndex("discover_json"))
+        post.xpostPostId = c.getLong(c.getColumnIndex("xpost_post_id"))
+        post.xpostBlogId = c.getLong(c.getColumnIndex("xpost_blog_id"))
+        post.railcarJson = c.getString(c.getColumnIndex("railcar_json"))
+        post.useExcerpt = SqlUtils.sqlToBool(c.getInt(c.getColumnIndex("use_excerpt")))
+        return post
+    }
+
+    private fun postValues(i: Int) = ContentValues().apply {
+        put("post_id", i.toLong())
+        put("blog_id", (i % 50).toLong())
+        put("pseudo_id", "pseudo-$i")
+        put("author_name", "Author $i")
+        put("author_first_name", "Author")
+        put("title", "Synthetic post $i")
+        put("text", "<p>" + "Lorem ipsum dolor sit amet. ".repeat(200) + "</p>")
+        put("excerpt", "Lorem ipsum dolor sit amet, excerpt for post $i")
+        put("url", "https://example.wordpress.com/2020/01/01/post-$i/")
+        put("blog_name", "Blog ${i % 50}")
+        put("blog_url", "https://example${i % 50}.wordpress.com")
+        put("featured_image", "https://example.files.wordpress.com/image-$i.jpg")
+        put("date_published", "2020-01-01T00:00:%02d+00:00".format(i % 60))
+        put("num_likes", i % 7)
+        put("num_replies", i % 11)
+        put("is_liked", i % 2)
+        put("is_followed", 1)
+        put("attachments_json", "{\"$i\":{\"URL\":\"https://example.files.wordpress.com/image-$i.jpg\"}}")
+        put("discover_json", if (i % 5 == 0) "{\"permalink\":\"https://example.com/$i\"}" else "")
+        put("railcar_json", "{\"railcar\":\"$i\",\"fetch_algo\":\"reader:synthetic\"}")
+        put("card_type", "default")
+        put("tags", "")
+    }
+
+    private fun tagValues(i: Int) = ContentValues().apply {
+        put("pseudo_id", "pseudo-$i")
+        put("tag_name", TAG_NAME)
+        put("tag_type", ReaderTagType.DEFAULT.toInt())
+        put("score", i.toDouble())
+        put("date_tagged", "2020-01-01T00:00:%02d+00:00".format(i % 60))
+    }
+
+    companion object {
+        private const val NUM_POSTS = 1000
+        private const val WARMUP_RUNS = 3
+        private const val MEASURED_RUNS = 10
+        private const val TAG_NAME = "synthetic"
+        private val STREAM_QUERY = "SELECT ${ReaderPostTable.COLUMN_NAMES_NO_TEXT}" +
+                " FROM ${ReaderPostTable.POSTS_WITH_TAGS}" +
+                " WHERE t.tag_name=? AND t.tag_type=? ORDER BY t.score DESC"
+    }
+}
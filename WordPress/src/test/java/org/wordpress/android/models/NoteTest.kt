@@ -0,0 +1,98 @@
+package org.wordpress.android.models
+
+import org.assertj.core.api.Assertions.assertThat
+import org.json.JSONObject
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import org.wordpress.android.TestApplication
+import org.wordpress.android.fluxc.model.CommentStatus
+
+@Config(application = TestApplication::class)
+@RunWith(RobolectricTestRunner::class)
+class NoteTest {
+    @Test
+    fun `summary holds the fields shown in the list`() {
+        val summary = Note(JSONObject(COMMENT_NOTE)).summary
+
+        assertThat(summary.type).isEqualTo(Note.NOTE_COMMENT_TYPE)
+        assertThat(summary.timestampString).isEqualTo("2020-10-01T10:00:00+00:00")
+        assertThat(summary.timestamp).isEqualTo(1601546400L)
+        assertThat(summary.read).isFalse()
+        assertThat(summary.iconUrl).isEqualTo("https://example.com/icon.png")
+        assertThat(summary.noticon).isEqualTo("")
+        assertThat(JSONObject(summary.subject).getString("text")).isEqualTo("Someone commented on Post")
+        assertThat(summary.commentSubject).isEqualTo("Nice post!")
+        assertThat(summary.commentSubjectNoticon).isEqualTo("")
+        assertThat(summary.siteId).isEqualTo(11)
+        assertThat(summary.postId).isEqualTo(22)
+        assertThat(summary.commentId).isEqualTo(33L)
+        assertThat(summary.commentStatus).isEqualTo(CommentStatus.UNAPPROVED)
+    }
+
+    @Test
+    fun `note loaded from its summary matches the parsed note`() {
+        val parsed = Note(JSONObject(COMMENT_NOTE))
+        val loaded = Note(parsed.id, parsed.rawJSON, parsed.summary)
+
+        assertThat(loaded.isCommentType()).isTrue()
+        assertThat(loaded.isUnread()).isTrue()
+        assertThat(loaded.commentId).isEqualTo(parsed.commentId)
+        assertThat(loaded.commentStatus).isEqualTo(parsed.commentStatus)
+        assertThat(loaded.subject.toString()).isEqualTo(parsed.subject.toString())
+        assertThat(loaded.canReply()).isTrue()
+        assertThat(loaded.body.length()).isEqualTo(1)
+    }
+
+    @Test
+    fun `raw json is only parsed when needed`() {
+        val summary = Note(JSONObject(COMMENT_NOTE)).summary
+        val loaded = Note("1", "not json", summary)
+
+        assertThat(loaded.commentSubject).isEqualTo("Nice post!")
+        assertThat(loaded.rawJSON).isEqualTo("not json")
+
+        assertThat(loaded.body.length()).isEqualTo(0)
+    }
+
+    @Test
+    fun `marking a loaded note as read updates its json`() {
+        val parsed = Note(JSONObject(COMMENT_NOTE))
+        val loaded = Note(parsed.id, parsed.rawJSON, Note(JSONObject(COMMENT_NOTE)).summary)
+
+        loaded.setRead()
+
+        assertThat(loaded.isUnread()).isFalse()
+        assertThat(loaded.json.getInt("read")).isEqualTo(1)
+    }
+
+    @Test
+    fun `notes without a comment id aren't comments`() {
+        val note = Note(JSONObject("""{"id":2,"type":"automattcher","meta":{"ids":{"site":1}}}"""))
+        val loaded = Note(note.id, note.rawJSON, note.summary)
+
+        assertThat(loaded.isCommentType()).isFalse()
+        assertThat(loaded.commentId).isEqualTo(0L)
+    }
+
+    private companion object {
+        private const val COMMENT_NOTE = """{
+            "id": 1,
+            "type": "comment",
+            "read": 0,
+            "timestamp": "2020-10-01T10:00:00+00:00",
+            "icon": "https://example.com/icon.png",
+            "noticon": "",
+            "subject": [
+                {"text": "Someone commented on Post", "ranges": [{"type": "noticon", "value": ""}]},
+                {"text": "Nice post!"}
+            ],
+            "meta": {"ids": {"site": 11, "post": 22, "comment": 33}},
+            "body": [
+                {"type": "comment", "text": "Nice post!", "meta": {"ids": {"comment": 33}},
+                    "actions": {"replyto-comment": true, "approve-comment": false}}
+            ]
+        }"""
+    }
+}
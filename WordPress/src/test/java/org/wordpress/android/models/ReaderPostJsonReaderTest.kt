@@ -0,0 +1,325 @@
+package org.wordpress.android.models
+
+import org.assertj.core.api.Assertions.assertThat
+import org.json.JSONArray
+import org.json.JSONObject
+import org.junit.Assume.assumeTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import org.wordpress.android.TestApplication
+import java.lang.management.ManagementFactory
+
+/**
+ * Parses synthetic read/ stream responses with [ReaderPostJsonReader] and with [ReaderPost.fromJson] and checks both
+ * return the same posts.
+ *
+ * The benchmark comparing their parse time and allocations per page is only run when the RUN_BENCHMARKS
+ * environment variable is set, so it doesn't slow down the unit tests.
+ */
+@Config(application = TestApplication::class)
+@RunWith(RobolectricTestRunner::class)
+class ReaderPostJsonReaderTest {
+    @Test
+    fun `streamed posts are the same as the ones parsed from a JSONObject`() {
+        listOf(SMALL_PAGE, LARGE_PAGE).forEach { numPosts ->
+            val response = streamResponse(numPosts)
+
+            val streamed = ReaderPostList.fromJson(response.toByteArray())
+            val expected = ReaderPostList.fromJson(JSONObject(response))
+
+            assertThat(streamed).hasSize(numPosts)
+            streamed.zip(expected).forEach { (post, expectedPost) -> assertSamePost(post, expectedPost) }
+        }
+    }
+
+    @Test
+    fun `values are read with the same rules as JSONUtils`() {
+        val json = JSONObject().apply {
+            put("ID", "12")
+            put("site_ID", 34.0)
+            put("pseudo_ID", JSONObject.NULL)
+            put("title", "")
+            put("excerpt", "<p>An excerpt which is long enough to be shortened into the title of the post</p>")
+            put("i_like", "no")
+            put("is_following", 1)
+            put("comments_open", true)
+            put("comment_count", 9)
+            put("author", JSONObject().apply {
+                put("name", "Author &amp; co")
+                put("has_avatar", false)
+                put("avatar_URL", "https://example.com/avatar.jpg")
+                put("URL", "https://author.example.com")
+            })
+            put("tags", JSONObject())
+            put("attachments", JSONObject())
+            put("metadata", JSONArray().apply {
+                put(JSONObject().apply {
+                    put("key", "xpost_origin")
+                    put("value", "invalid")
+                })
+                put(JSONObject().apply {
+                    put("key", "xpost_origin")
+                    put("value", "11:22")
+                })
+            })
+            put("featured_media", JSONObject().apply {
+                put("type", "image")
+                put("uri", "https://example.com/media.jpg")
+            })
+        }
+        val response = JSONObject().put("posts", JSONArray().put(json)).toString()
+
+        val streamed = ReaderPostList.fromJson(response.toByteArray())[0]
+
+        assertSamePost(streamed, ReaderPost.fromJson(json))
+        assertThat(streamed.postId).isEqualTo(12L)
+        assertThat(streamed.blogId).isEqualTo(34L)
+        assertThat(streamed.pseudoId).isEmpty()
+        assertThat(streamed.hasTitle()).isTrue()
+        assertThat(streamed.isLikedByCurrentUser).isFalse()
+        assertThat(streamed.isFollowedByCurrentUser).isTrue()
+        assertThat(streamed.postAvatar).isEmpty()
+        assertThat(streamed.blogUrl).isEqualTo("https://author.example.com")
+        assertThat(streamed.hasAttachments()).isFalse()
+        assertThat(streamed.xpostBlogId).isEqualTo(11L)
+        assertThat(streamed.xpostPostId).isEqualTo(22L)
+        assertThat(streamed.featuredImage).isEqualTo("https://example.com/media.jpg")
+        assertThat(streamed.score).isNaN()
+    }
+
+    @Test
+    fun `benchmark parsing stream pages`() {
+        assumeTrue("Set RUN_BENCHMARKS to run the benchmarks", System.getenv("RUN_BENCHMARKS") != null)
+        listOf(SMALL_PAGE, LARGE_PAGE).forEach { numPosts ->
+            val bytes = streamResponse(numPosts).toByteArray()
+            val parseJsonObject = { ReaderPostList.fromJson(JSONObject(String(bytes))) }
+            val parseStream = { ReaderPostList.fromJson(bytes) }
+
+            repeat(WARMUP_RUNS) {
+                parseJsonObject()
+                parseStream()
+            }
+
+            val jsonObjectMicros = timeRuns(parseJsonObject) / MEASURED_RUNS / 1000
+            val streamMicros = timeRuns(parseStream) / MEASURED_RUNS / 1000
+            val jsonObjectBytes = allocatedBytes(parseJsonObject)
+            val streamBytes = allocatedBytes(parseStream)
+            val results = "$numPosts posts (${bytes.size} bytes)," +
+                    " JSONObject: $jsonObjectMicros us/page, $jsonObjectBytes bytes/page," +
+                    " JsonReader: $streamMicros us/page, $streamBytes bytes/page"
+
+            assertThat(streamMicros).describedAs(results).isLessThan(jsonObjectMicros)
+            if (streamBytes != -1L) {
+                assertThat(streamBytes).describedAs(results).isLessThan(jsonObjectBytes)
+            }
+        }
+    }
+
+    private fun timeRuns(block: () -> Unit): Long {
+        val start = System.nanoTime()
+        repeat(MEASURED_RUNS) { block() }
+        return System.nanoTime() - start
+    }
+
+    /*
+     * returns the bytes allocated by the current thread for a single run, or -1 if the JVM doesn't report them
+     */
+    private fun allocatedBytes(block: () -> Unit): Long {
+        val threadBean = ManagementFactory.getThreadMXBean() as? com.sun.management.ThreadMXBean
+        if (threadBean == null || !threadBean.isThreadAllocatedMemorySupported) {
+            return -1
+        }
+        val threadId = Thread.currentThread().id
+        val start = threadBean.getThreadAllocatedBytes(threadId)
+        repeat(MEASURED_RUNS) { block() }
+        return (threadBean.getThreadAllocatedBytes(threadId) - start) / MEASURED_RUNS
+    }
+
+    private fun assertSamePost(post: ReaderPost, expected: ReaderPost) {
+        assertThat(post.postId).isEqualTo(expected.postId)
+        assertThat(post.blogId).isEqualTo(expected.blogId)
+        assertThat(post.feedId).isEqualTo(expected.feedId)
+        assertThat(post.feedItemId).isEqualTo(expected.feedItemId)
+        assertThat(post.authorId).isEqualTo(expected.authorId)
+        assertThat(post.pseudoId).isEqualTo(expected.pseudoId)
+        assertThat(post.title).isEqualTo(expected.title)
+        assertThat(post.text).isEqualTo(expected.text)
+        assertThat(post.excerpt).isEqualTo(expected.excerpt)
+        assertThat(post.authorName).isEqualTo(expected.authorName)
+        assertThat(post.authorFirstName).isEqualTo(expected.authorFirstName)
+        assertThat(post.blogName).isEqualTo(expected.blogName)
+        assertThat(post.blogUrl).isEqualTo(expected.blogUrl)
+        assertThat(post.blogImageUrl).isEqualTo(expected.blogImageUrl)
+        assertThat(post.postAvatar).isEqualTo(expected.postAvatar)
+        assertThat(post.tags.map { it.tagSlug }).isEqualTo(expected.tags.map { it.tagSlug })
+        assertThat(post.primaryTag).isEqualTo(expected.primaryTag)
+        assertThat(post.secondaryTag).isEqualTo(expected.secondaryTag)
+        assertThat(post.datePublished).isEqualTo(expected.datePublished)
+        assertThat(post.dateLiked).isEqualTo(expected.dateLiked)
+        assertThat(post.dateTagged).isEqualTo(expected.dateTagged)
+        assertThat(post.score).isEqualTo(expected.score)
+        assertThat(post.url).isEqualTo(expected.url)
+        assertThat(post.shortUrl).isEqualTo(expected.shortUrl)
+        assertThat(post.featuredImage).isEqualTo(expected.featuredImage)
+        assertThat(post.featuredVideo).isEqualTo(expected.featuredVideo)
+        assertThat(post.numReplies).isEqualTo(expected.numReplies)
+        assertThat(post.numLikes).isEqualTo(expected.numLikes)
+        assertThat(post.isLikedByCurrentUser).isEqualTo(expected.isLikedByCurrentUser)
+        assertThat(post.isFollowedByCurrentUser).isEqualTo(expected.isFollowedByCurrentUser)
+        assertThat(post.isCommentsOpen).isEqualTo(expected.isCommentsOpen)
+        assertThat(post.isExternal).isEqualTo(expected.isExternal)
+        assertThat(post.isPrivate).isEqualTo(expected.isPrivate)
+        assertThat(post.isPrivateAtomic).isEqualTo(expected.isPrivateAtomic)
+        assertThat(post.isJetpack).isEqualTo(expected.isJetpack)
+        assertThat(post.useExcerpt).isEqualTo(expected.useExcerpt)
+        assertThat(post.format).isEqualTo(expected.format)
+        assertThat(post.xpostPostId).isEqualTo(expected.xpostPostId)
+        assertThat(post.xpostBlogId).isEqualTo(expected.xpostBlogId)
+        // nested objects are compared by their content since org.json escapes slashes when writing them
+        assertThat(normalizedJson(post.attachmentsJson)).isEqualTo(normalizedJson(expected.attachmentsJson))
+        assertThat(normalizedJson(post.discoverJson)).isEqualTo(normalizedJson(expected.discoverJson))
+        assertThat(normalizedJson(post.railcarJson)).isEqualTo(normalizedJson(expected.railcarJson))
+        assertThat(post.cardType).isEqualTo(expected.cardType)
+    }
+
+    private fun normalizedJson(json: String) = if (json.isEmpty()) json else JSONObject(json).toString()
+
+    /*
+     * builds a response shaped like the read/tags/$tag/posts endpoint requested with ?meta=site,likes
+     */
+    private fun streamResponse(numPosts: Int): String {
+        val posts = JSONArray()
+        for (i in 1..numPosts) {
+            posts.put(postJson(i))
+        }
+        return JSONObject().apply {
+            put("found", numPosts * 10)
+            put("posts", posts)
+            put("date_range", JSONObject().apply {
+                put("before", "2020-01-01T00:00:00+00:00")
+                put("after", "2019-12-01T00:00:00+00:00")
+            })
+        }.toString()
+    }
+
+    private fun postJson(i: Int) = JSONObject().apply {
+        val blogId = 1000L + i % 7
+        put("ID", i)
+        put("site_ID", blogId)
+        put("feed_ID", 5000 + i)
+        put("feed_item_ID", 9000 + i)
+        put("pseudo_ID", "pseudo-$i")
+        put("author", JSONObject().apply {
+            put("ID", 200 + i)
+            put("login", "author$i")
+            put("name", "Author &amp; $i")
+            put("first_name", "Author")
+            put("avatar_URL", "https://0.gravatar.com/avatar/$i?s=96")
+            put("URL", "https://author$i.example.com")
+            put("has_avatar", i % 3 != 0)
+        })
+        put("date", "2020-01-01T00:00:%02d+00:00".format(i % 60))
+        put("modified", "2020-01-02T00:00:%02d+00:00".format(i % 60))
+        put("title", if (i % 4 == 0) "" else "Synthetic &#8220;post&#8221; $i")
+        put("URL", "https://example$blogId.wordpress.com/2020/01/01/post-$i/")
+        put("short_URL", "https://wp.me/p$i")
+        put("content", postContent(i))
+        put("excerpt", "<p>Lorem ipsum dolor sit amet, consectetur adipiscing elit, excerpt for post $i</p>\n")
+        put("site_URL", "https://example$blogId.wordpress.com")
+        put("site_name", "Blog &amp; $blogId")
+        put("site_is_private", false)
+        put("site_is_atomic", i % 5 == 0)
+        put("is_external", false)
+        put("is_jetpack", i % 2 == 0)
+        put("is_following", true)
+        put("i_like", i % 2 == 0)
+        put("like_count", i % 13)
+        put("use_excerpt", false)
+        put("format", if (i % 9 == 0) "gallery" else "standard")
+        put("featured_image", if (i % 3 == 0) "https://example.files.wordpress.com/featured-$i.jpg" else "")
+        put("discussion", JSONObject().apply {
+            put("comments_open", i % 4 != 1)
+            put("comment_status", "open")
+            put("comment_count", i % 11)
+        })
+        put("tags", JSONObject().apply {
+            for (t in 1..3) {
+                put("Tag $t", JSONObject().apply {
+                    put("ID", t)
+                    put("name", "Tag $t")
+                    put("slug", "tag-$t-${i % 5}")
+                    put("post_count", (i * t) % 17)
+                })
+            }
+        })
+        put("attachments", JSONObject().apply {
+            if (i % 2 == 0) {
+                put("$i", JSONObject().apply {
+                    put("ID", i)
+                    put("URL", "https://example.files.wordpress.com/image-$i.jpg")
+                    put("mime_type", "image/jpeg")
+                    put("width", 1024)
+                    put("height", 768.5)
+                    put("exif", JSONObject().put("caption", JSONObject.NULL).put("keywords", JSONArray()))
+                })
+            }
+        })
+        put("metadata", if (i % 6 == 0) {
+            JSONArray().put(JSONObject().put("id", "1").put("key", "xpost_origin").put("value", "$blogId:$i"))
+        } else {
+            false
+        })
+        put("meta", JSONObject().apply {
+            put("links", JSONObject().put("self", "https://public-api.wordpress.com/rest/v1.2/sites/$blogId/posts/$i"))
+            put("data", JSONObject().apply {
+                put("site", JSONObject().apply {
+                    put("ID", blogId)
+                    put("name", "Blog &amp; $blogId")
+                    put("URL", "https://example$blogId.wordpress.com")
+                    put("is_private", false)
+                    put("jetpack", i % 2 == 0)
+                    put("icon", JSONObject().put("img", "https://example$blogId.files.wordpress.com/icon.png"))
+                })
+                put("likes", JSONObject().put("found", i % 13).put("likes", JSONArray()))
+            })
+        })
+        if (i % 10 == 0) {
+            put("discover_metadata", JSONObject().apply {
+                put("permalink", "https://discover.wordpress.com/$i")
+                put("attribution", JSONObject().put("author_name", "Author $i"))
+                put("discover_fp_post_formats", JSONArray().put(JSONObject().put("name", "Pick").put("slug", "pick")))
+            })
+        }
+        put("railcar", JSONObject().apply {
+            put("railcar", "railcar-$i")
+            put("fetch_algo", "reader:synthetic")
+            put("fetch_position", i)
+            put("rec_blog_id", blogId)
+        })
+    }
+
+    private fun postContent(i: Int): String {
+        val content = StringBuilder("<p>")
+        content.append("Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(30))
+        content.append("</p>")
+        if (i % 3 == 1) {
+            content.append("<p><img src=\"https://example.files.wordpress.com/image-$i.jpg?w=1024\" ")
+            content.append("width=\"1024\" height=\"768\" /></p>")
+        }
+        if (i % 8 == 0) {
+            content.append("<iframe src=\"https://www.youtube.com/embed/video$i\" ")
+            content.append("width=\"640\" height=\"360\"></iframe>")
+        }
+        content.append("<p>").append("Sed do eiusmod tempor incididunt ut labore. ".repeat(20)).append("</p>")
+        return content.toString()
+    }
+
+    companion object {
+        private const val SMALL_PAGE = 20
+        private const val LARGE_PAGE = 40
+        private const val WARMUP_RUNS = 20
+        private const val MEASURED_RUNS = 50
+    }
+}
@@ -0,0 +1,101 @@
+package org.wordpress.android.ui.main
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import org.wordpress.android.TestApplication
+import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.ui.main.SitePickerAdapter.SiteList
+import org.wordpress.android.ui.main.SitePickerAdapter.SiteRecord
+
+@Config(application = TestApplication::class)
+@RunWith(RobolectricTestRunner::class)
+class SiteSearchIndexTest {
+    private val sites = siteList(
+            site(1, "Acme Travel Blog", "https://acmetravel.blog"),
+            site(2, "Cooking with Acme", "https://cooking.example.com"),
+            site(3, "My Photos", "https://photos.wordpress.com"),
+            site(4, "Wordsmith", "https://wordsmith.example.com")
+    )
+
+    @Test
+    fun `sites match when the query is in their name or host`() {
+        val index = SiteSearchIndex().update(sites)
+
+        assertThat(index.search(sites, "PHOTO").localIds()).containsExactly(3)
+        assertThat(index.search(sites, "example").localIds()).containsExactly(2, 4)
+    }
+
+    @Test
+    fun `each word of the query must match`() {
+        val index = SiteSearchIndex().update(sites)
+
+        assertThat(index.search(sites, "acme blog").localIds()).containsExactly(1)
+        assertThat(index.search(sites, "acme cooking").localIds()).containsExactly(2)
+    }
+
+    @Test
+    fun `prefix matches are listed first`() {
+        val index = SiteSearchIndex().update(sites)
+
+        assertThat(index.search(sites, "wor").localIds()).containsExactly(4, 3)
+        assertThat(index.search(sites, "acme").localIds()).containsExactly(1, 2)
+    }
+
+    @Test
+    fun `an empty query matches every site`() {
+        val index = SiteSearchIndex().update(sites)
+
+        assertThat(index.search(sites, " ").localIds()).containsExactly(1, 2, 3, 4)
+    }
+
+    @Test
+    fun `extending the query narrows the previous matches`() {
+        val index = SiteSearchIndex().update(sites)
+
+        assertThat(index.search(sites, "w").localIds()).containsExactly(2, 4, 3)
+        assertThat(index.search(sites, "wo").localIds()).containsExactly(4, 3)
+        assertThat(index.search(sites, "wor").localIds()).containsExactly(4, 3)
+        assertThat(index.search(sites, "word").localIds()).containsExactly(4, 3)
+        // shortening the query searches every site again
+        assertThat(index.search(sites, "o").localIds()).containsExactly(1, 2, 3, 4)
+    }
+
+    @Test
+    fun `updated index matches renamed and added sites`() {
+        val index = SiteSearchIndex().update(sites)
+        val updatedSites = siteList(
+                site(1, "Acme Travel Blog", "https://acmetravel.blog"),
+                site(3, "Holiday Pictures", "https://photos.wordpress.com"),
+                site(5, "Holiday Recipes", "https://recipes.example.com")
+        )
+
+        val updatedIndex = index.update(updatedSites)
+
+        assertThat(updatedIndex.search(updatedSites, "holiday").localIds()).containsExactly(3, 5)
+        assertThat(updatedIndex.search(updatedSites, "my photos").localIds()).isEmpty()
+    }
+
+    @Test
+    fun `recent picks are moved to the top in the order they were picked`() {
+        val list = siteList(*sites.toTypedArray())
+
+        list.moveRecentPicksToTop(listOf(3, 99, 1))
+
+        assertThat(list.localIds()).containsExactly(3, 1, 2, 4)
+        assertThat(list.map { it.isRecentPick }).containsExactly(true, true, false, false)
+    }
+
+    private fun List<SiteRecord>.localIds() = map { it.localId }
+
+    private fun siteList(vararg sites: SiteRecord) = SiteList().apply { addAll(sites) }
+
+    private fun site(id: Int, name: String, url: String) = SiteRecord(SiteModel().apply {
+        this.id = id
+        this.name = name
+        this.url = url
+        setIsVisible(true)
+    })
+}
@@ -0,0 +1,39 @@
+package org.wordpress.android.ui.mediapicker.loader
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class AppendOnlyListTest {
+    @Test
+    fun `items are added across chunks`() {
+        val list = AppendOnlyList<Int>(chunkSize = 3)
+
+        list.addAll(0 until 7)
+        list.add(7)
+
+        assertThat(list.size).isEqualTo(8)
+        assertThat((0 until list.size).map { list[it] }).containsExactly(0, 1, 2, 3, 4, 5, 6, 7)
+    }
+
+    @Test
+    fun `snapshots are not affected by the items added later`() {
+        val list = AppendOnlyList<String>(chunkSize = 2)
+        list.addAll(listOf("a", "b", "c"))
+
+        val snapshot = list.snapshot()
+        list.addAll(listOf("d", "e"))
+
+        assertThat(snapshot).containsExactly("a", "b", "c")
+        assertThat(list.snapshot()).containsExactly("a", "b", "c", "d", "e")
+    }
+
+    @Test(expected = IndexOutOfBoundsException::class)
+    fun `snapshots don't expose the items added later`() {
+        val list = AppendOnlyList<String>(chunkSize = 2)
+        list.add("a")
+        val snapshot = list.snapshot()
+        list.add("b")
+
+        snapshot[1]
+    }
+}
@@ -1,6 +1,8 @@
 package org.wordpress.android.ui.mediapicker.loader
 
 import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.verify
 import com.nhaarman.mockitokotlin2.whenever
 import kotlinx.coroutines.InternalCoroutinesApi
 import org.assertj.core.api.Assertions.assertThat
@@ -109,6 +111,36 @@ class DeviceListBuilderTest : BaseUnitTest() {
         }
     }
 
+    @Test
+    fun `media - uses the mime type loaded with the items`() = test {
+        setUp(setOf(mediaType))
+        setupMedia(mediaType, null, DeviceMediaList(listOf(newestItem.copy(mimeType = mediaMimeType))))
+
+        val result = deviceListBuilder.load(forced = false, loadMore = false, filter = null)
+
+        (result as MediaLoadingResult.Success).apply {
+            assertThat(this.data).hasSize(1)
+            assertMediaItem(newestItem)
+        }
+        verify(deviceMediaLoader, never()).getMimeType(any())
+    }
+
+    @Test
+    fun `media - loading the next page doesn't change the previous result`() = test {
+        setUp(setOf(mediaType))
+        setupMedia(mediaType, null, DeviceMediaList(listOf(newestItem), middleItem.dateModified))
+        setupMedia(mediaType, middleItem.dateModified, DeviceMediaList(listOf(middleItem)))
+        whenever(deviceMediaLoader.getMimeType(any())).thenReturn(mediaMimeType)
+
+        val firstPage = deviceListBuilder.load(forced = false, loadMore = false, filter = null)
+        deviceListBuilder.load(forced = false, loadMore = true, filter = null)
+
+        (firstPage as MediaLoadingResult.Success).apply {
+            assertThat(this.data).hasSize(1)
+            assertMediaItem(newestItem)
+        }
+    }
+
     @Test
     fun `document - loads first page and has more is false when next item is missing`() = test {
         setUp(setOf(DOCUMENT))
@@ -0,0 +1,119 @@
+package org.wordpress.android.ui.notifications.adapters
+
+import android.text.SpannableStringBuilder
+import android.text.style.LeadingMarginSpan
+import android.view.ContextThemeWrapper
+import androidx.test.core.app.ApplicationProvider
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.times
+import com.nhaarman.mockitokotlin2.verify
+import com.nhaarman.mockitokotlin2.whenever
+import org.assertj.core.api.Assertions.assertThat
+import org.json.JSONObject
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import org.wordpress.android.R
+import org.wordpress.android.TestApplication
+import org.wordpress.android.fluxc.model.CommentStatus
+import org.wordpress.android.models.Note
+import org.wordpress.android.models.NoticonUtils
+import org.wordpress.android.ui.notifications.utils.NotificationsUtilsWrapper
+
+@Config(application = TestApplication::class)
+@RunWith(RobolectricTestRunner::class)
+class NoteRowStateBuilderTest {
+    private val notificationsUtilsWrapper: NotificationsUtilsWrapper = mock()
+    private lateinit var builder: NoteRowStateBuilder
+
+    @Before
+    fun setUp() {
+        whenever(notificationsUtilsWrapper.getSpannableContentForRanges(any<JSONObject>()))
+                .thenAnswer { SpannableStringBuilder("Someone commented on your post\n\n") }
+        builder = NoteRowStateBuilder(
+                ContextThemeWrapper(ApplicationProvider.getApplicationContext(), R.style.WordPress),
+                notificationsUtilsWrapper,
+                NoticonUtils(),
+                AVATAR_SIZE,
+                TEXT_INDENT_SIZE
+        )
+    }
+
+    @Test
+    fun `row holds the formatted values of the note`() {
+        val row = builder.build(createNote("1", commentStatus = CommentStatus.UNAPPROVED))
+
+        assertThat(row.noteId).isEqualTo("1")
+        assertThat(row.subject.toString()).isEqualTo("Someone commented on your post")
+        assertThat(row.snippet).isEqualTo("Nice post!")
+        assertThat(row.isSubjectRtl).isFalse()
+        assertThat(row.isUnread).isTrue()
+        assertThat(row.isUnapproved).isTrue()
+        assertThat(row.avatarUrl).startsWith("https://example.com/icon.png")
+    }
+
+    @Test
+    fun `subject is indented when the note has a subject noticon`() {
+        val row = builder.build(createNote("1", commentSubjectNoticon = "\uf300"))
+
+        assertThat(row.subject.getSpans(0, row.subject.length, LeadingMarginSpan::class.java)).hasSize(1)
+    }
+
+    @Test
+    fun `unchanged notes are only formatted once`() {
+        val first = builder.build(createNote("1"))
+        val second = builder.build(createNote("1"))
+
+        assertThat(second).isSameAs(first)
+        verify(notificationsUtilsWrapper, times(1)).getSpannableContentForRanges(any<JSONObject>())
+    }
+
+    @Test
+    fun `changed notes are formatted again`() {
+        val note = createNote("1")
+        builder.build(note)
+
+        note.setRead()
+        val row = builder.build(note)
+
+        assertThat(row.isUnread).isFalse()
+        verify(notificationsUtilsWrapper, times(2)).getSpannableContentForRanges(any<JSONObject>())
+    }
+
+    @Test
+    fun `rows of notes which are no longer loaded are forgotten`() {
+        builder.build(listOf(createNote("1"), createNote("2")))
+
+        builder.retainOnly(listOf(createNote("2")))
+        builder.build(listOf(createNote("1"), createNote("2")))
+
+        verify(notificationsUtilsWrapper, times(3)).getSpannableContentForRanges(any<JSONObject>())
+    }
+
+    private fun createNote(
+        id: String,
+        commentStatus: CommentStatus = CommentStatus.ALL,
+        commentSubjectNoticon: String = ""
+    ): Note {
+        val summary = Note.Summary().apply {
+            type = Note.NOTE_COMMENT_TYPE
+            timestampString = "2020-10-01T10:00:00+00:00"
+            timestamp = 1601546400L
+            iconUrl = "https://example.com/icon.png"
+            noticon = "\uf300"
+            subject = """{"text":"Someone commented on your post","ranges":[]}"""
+            commentSubject = "Nice post!"
+            this.commentSubjectNoticon = commentSubjectNoticon
+            this.commentStatus = commentStatus
+        }
+        return Note(id, "{}", summary)
+    }
+
+    private companion object {
+        private const val AVATAR_SIZE = 96
+        private const val TEXT_INDENT_SIZE = 24
+    }
+}
@@ -0,0 +1,72 @@
+package org.wordpress.android.ui.posts
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class GutenbergBlockIndexTest {
+    private val content = """
+<!-- wp:paragraph {"placeholder":"Content…"} -->
+<p>Text</p>
+<!-- /wp:paragraph -->
+
+<!-- wp:image {"align":"full","id":12,"caption":{"id":99}} -->
+<figure class="wp-block-image"><img src="file:///image.jpg" class="wp-image-12"/></figure>
+<!-- /wp:image -->
+
+<!-- wp:gallery {"ids":[203,"34",null],"linkTo":"media"} -->
+<!-- /wp:gallery -->
+
+<!-- wp:media-text {"mediaType":"image","mediaId":56} -->
+<!-- /wp:media-text -->
+
+<!-- wp:spacer /-->
+"""
+
+    @Test
+    fun `blocks are indexed with their name and offsets`() {
+        val index = GutenbergBlockIndex.of(content)
+
+        assertThat(index.hasBlocks()).isTrue()
+        assertThat(index.hasStoryBlocks()).isFalse()
+        assertThat(index.blocks.map { it.name })
+                .containsExactly("paragraph", "image", "gallery", "media-text", "spacer")
+        val image = index.blocks[1]
+        assertThat(content.substring(image.start, image.end))
+                .isEqualTo("<!-- wp:image {\"align\":\"full\",\"id\":12,\"caption\":{\"id\":99}} -->")
+    }
+
+    @Test
+    fun `media ids are read from the top level attributes of media blocks`() {
+        val index = GutenbergBlockIndex.of(content)
+
+        assertThat(index.blocks.map { it.mediaIds }).containsExactly(
+                emptyList(), listOf("12"), listOf("203", "34"), listOf("56"), emptyList()
+        )
+        assertThat(index.containsMedia("12")).isTrue()
+        assertThat(index.containsMedia("1")).isFalse()
+        assertThat(index.containsMedia("99")).isFalse()
+        assertThat(index.containsAnyMedia(listOf("1", "34"))).isTrue()
+    }
+
+    @Test
+    fun `story blocks are detected`() {
+        val index = GutenbergBlockIndex.of(
+                "<!-- wp:jetpack/story {\"mediaFiles\":[{\"id\":1}]} --><!-- /wp:jetpack/story -->"
+        )
+
+        assertThat(index.hasStoryBlocks()).isTrue()
+        assertThat(index.containsMedia("1")).isFalse()
+    }
+
+    @Test
+    fun `content without blocks has an empty index`() {
+        assertThat(GutenbergBlockIndex.of("<p>Classic content</p>").hasBlocks()).isFalse()
+        assertThat(GutenbergBlockIndex.of("").hasBlocks()).isFalse()
+        assertThat(GutenbergBlockIndex.of(null).hasBlocks()).isFalse()
+    }
+
+    @Test
+    fun `the index of the same content is reused`() {
+        assertThat(GutenbergBlockIndex.of(content)).isSameAs(GutenbergBlockIndex.of(StringBuilder(content).toString()))
+    }
+}
@@ -215,7 +215,81 @@ class PostUtilsUnitTest {
         assertThat(PostUtils.isMediaInGutenbergPostBody(postContent3, imgId)).isTrue()
     }
 
+    @Test
+    fun `getPostListExcerptFromPost strips gallery blocks, tags and entities from the content`() {
+        val post = createPost(
+                id = 1001,
+                content = "<!-- wp:gallery {\"ids\":[1554]} -->\n<figure><img src=\"a.jpg\" /></figure>\n" +
+                        "<!-- /wp:gallery -->\n<!-- wp:paragraph -->\n<p>First &amp; second</p>\n" +
+                        "<!-- /wp:paragraph -->\n<p>Third<br>line</p>"
+        )
+        assertThat(PostUtils.getPostListExcerptFromPost(post)).isEqualTo("First & second\n\n\nThird\nline")
+    }
+
+    @Test
+    fun `getPostListExcerptFromPost prefers the excerpt of the post`() {
+        val post = createPost(id = 1002, content = "<p>Content</p>", excerpt = "<p>Excerpt</p>")
+        assertThat(PostUtils.getPostListExcerptFromPost(post)).isEqualTo("Excerpt")
+    }
+
+    @Test
+    fun `getPostListExcerptFromPost collapses known shortcodes`() {
+        val post = createPost(id = 1003, content = "[gallery ids=\"1,2,3\"] Photos [unknown shortcode]")
+        assertThat(PostUtils.getPostListExcerptFromPost(post)).isEqualTo("[gallery] Photos [unknown shortcode]")
+    }
+
+    @Test
+    fun `getPostListExcerptFromPost cuts long content at a word break`() {
+        val paragraph = "<p>Lorem ipsum dolor sit amet, consectetur adipiscing elit.</p>"
+        val post = createPost(id = 1004, content = paragraph.repeat(1000))
+
+        val excerpt = PostUtils.getPostListExcerptFromPost(post)
+
+        assertThat(excerpt).isEqualTo(
+                "Lorem ipsum dolor sit amet, consectetur adipiscing elit.\n" +
+                        "Lorem ipsum dolor sit amet, consectetur adipiscing elit.\n" +
+                        "Lorem ipsum dolor sit amet, consectetur..."
+        )
+    }
+
+    @Test
+    fun `getPostListExcerptFromPost returns null for posts without content`() {
+        assertThat(PostUtils.getPostListExcerptFromPost(createPost(id = 1005, content = ""))).isNull()
+    }
+
+    @Test
+    fun `getPostListExcerptFromPost extracts the excerpt again when the post is edited`() {
+        val post = createPost(id = 1006, content = "<p>First</p>")
+        assertThat(PostUtils.getPostListExcerptFromPost(post)).isEqualTo("First")
+
+        post.setContent("<p>Other</p>")
+        post.setDateLocallyChanged("2020-10-01T11:00:00+00:00")
+        assertThat(PostUtils.getPostListExcerptFromPost(post)).isEqualTo("Other")
+
+        post.setContent("<p>Newer</p>")
+        post.setLastModified("2020-10-02T10:00:00+00:00")
+        assertThat(PostUtils.getPostListExcerptFromPost(post)).isEqualTo("Newer")
+
+        post.setExcerpt("An excerpt")
+        post.setDateLocallyChanged("2020-10-02T11:00:00+00:00")
+        assertThat(PostUtils.getPostListExcerptFromPost(post)).isEqualTo("An excerpt")
+    }
+
     private companion object Fixtures {
+        fun createPost(
+            id: Int,
+            content: String,
+            excerpt: String = "",
+            lastModified: String = "2020-10-01T10:00:00+00:00"
+        ): PostModel {
+            val post = PostModel()
+            post.setId(id)
+            post.setContent(content)
+            post.setExcerpt(excerpt)
+            post.setLastModified(lastModified)
+            return post
+        }
+
         fun invokePreparePostForPublish(
             hasCapabilityPublishPosts: Boolean = true,
             isSelfHosted: Boolean = false,
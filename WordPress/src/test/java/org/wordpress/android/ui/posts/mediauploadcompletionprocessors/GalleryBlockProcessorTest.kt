@@ -45,6 +45,24 @@ class GalleryBlockProcessorTest {
         Assertions.assertThat(processedBlock).isEqualTo(TestContent.newGalleryBlockWithMixTypeIds2)
     }
 
+    @Test
+    fun `processBlock replaces the images it finds when another matched image is missing from the gallery`() {
+        val mediaFile2: MediaFile = mock()
+        whenever(mediaFile2.mediaId).thenReturn(TestContent.remoteMediaId2)
+        whenever(mediaFile2.fileURL).thenReturn(TestContent.remoteImageUrl2)
+        processor = GalleryBlockProcessor(mapOf(
+                TestContent.localMediaId to mediaFile,
+                TestContent.localMediaId2 to mediaFile2
+        ), TestContent.siteUrl)
+        // the second local id is in the gallery's ids but not in its html
+        val oldBlock = TestContent.oldGalleryBlock.replace("369]}", "369,${TestContent.localMediaId2}]}")
+
+        val processedBlock = processor.processBlock(oldBlock)
+
+        Assertions.assertThat(processedBlock)
+                .isEqualTo(TestContent.newGalleryBlock.replace("369]}", "369,${TestContent.remoteMediaId2}]}"))
+    }
+
     @Test
     fun `processBlock can handle Link To Media File setting`() {
         val processedBlock = processor.processBlock(TestContent.oldGalleryBlockLinkToMediaFile)
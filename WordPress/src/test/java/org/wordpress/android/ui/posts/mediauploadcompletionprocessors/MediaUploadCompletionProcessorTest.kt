@@ -94,4 +94,19 @@ class MediaUploadCompletionProcessorTest {
         val processedContent = processor.processContent(TestContent.oldPostWithGalleryJsonNullId)
         Assertions.assertThat(processedContent).isEqualTo(TestContent.newPostWithGalleryJsonNullId)
     }
+
+    @Test
+    fun `processPost replaces all media in a single pass`() {
+        val mediaFile2: MediaFile = mock()
+        whenever(mediaFile2.mediaId).thenReturn(TestContent.remoteMediaId2)
+        whenever(mediaFile2.fileURL).thenReturn(TestContent.remoteImageUrl2)
+        processor = MediaUploadCompletionProcessor(mapOf(
+                TestContent.localMediaId to mediaFile,
+                TestContent.localMediaId2 to mediaFile2
+        ), TestContent.siteUrl)
+        val content = TestContent.oldPostCover + TestContent.oldCoverBlockWithNestedCoverBlockOuter
+        val blocks = processor.processContent(content)
+        Assertions.assertThat(blocks)
+                .isEqualTo(TestContent.newPostCover + TestContent.newCoverBlockWithBothNestedCoverBlocks)
+    }
 }
@@ -430,6 +430,14 @@ object TestContent {
   </div>
 </div>
 <!-- /wp:cover -->
+"""
+    const val newCoverBlockWithBothNestedCoverBlocks = """<!-- wp:cover {"url":"$remoteImageUrl2","id":$remoteMediaId2} -->
+<div class="wp-block-cover has-background-dim" style="background-image:url($remoteImageUrl2)">
+  <div class="wp-block-cover__inner-container">
+  $newCoverBlock
+  </div>
+</div>
+<!-- /wp:cover -->
 """
     const val oldImageBlockNestedInCoverBlock = """<!-- wp:cover {"url":"$remoteImageUrl","id":$remoteMediaId} -->
 <div class="wp-block-cover has-background-dim" style="background-image:url($remoteImageUrl)">
@@ -0,0 +1,119 @@
+package org.wordpress.android.ui.prefs
+
+import android.content.Context
+import android.content.SharedPreferences
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule
+import androidx.test.core.app.ApplicationProvider
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TestRule
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import org.wordpress.android.TestApplication
+
+@Config(application = TestApplication::class)
+@RunWith(RobolectricTestRunner::class)
+class AppPrefsStoreTest {
+    @Rule
+    @JvmField val rule: TestRule = InstantTaskExecutorRule()
+
+    private lateinit var prefs: SharedPreferences
+
+    @Before
+    fun setUp() {
+        val context: Context = ApplicationProvider.getApplicationContext()
+        prefs = context.getSharedPreferences("app_prefs_store_test", Context.MODE_PRIVATE)
+        prefs.edit().clear().commit()
+    }
+
+    @Test
+    fun `legacy string values are decoded and migrated to their native type`() {
+        prefs.edit()
+                .putString("bool", "true")
+                .putString("int", "42")
+                .putString("long", "1601546400000")
+                .commit()
+        val store = AppPrefsStore(prefs)
+
+        assertThat(store.getBoolean("bool", false)).isTrue()
+        assertThat(store.getInt("int", 0)).isEqualTo(42)
+        assertThat(store.getLong("long", 0)).isEqualTo(1601546400000L)
+        store.flush()
+
+        assertThat(prefs.all["bool"]).isEqualTo(true)
+        assertThat(prefs.all["int"]).isEqualTo(42)
+        assertThat(prefs.all["long"]).isEqualTo(1601546400000L)
+        // migrated values are still readable as strings
+        assertThat(store.getString("int", "")).isEqualTo("42")
+    }
+
+    @Test
+    fun `invalid legacy values return the default and are kept`() {
+        prefs.edit().putString("int", "not a number").commit()
+        val store = AppPrefsStore(prefs)
+
+        assertThat(store.getInt("int", 7)).isEqualTo(7)
+        assertThat(store.getLong("int", 8)).isEqualTo(8)
+        store.flush()
+
+        assertThat(prefs.getString("int", null)).isEqualTo("not a number")
+    }
+
+    @Test
+    fun `missing values return the default`() {
+        val store = AppPrefsStore(prefs)
+
+        assertThat(store.getString("key", "default")).isEqualTo("default")
+        assertThat(store.getBoolean("key", true)).isTrue()
+        assertThat(store.getInt("key", -1)).isEqualTo(-1)
+        assertThat(store.getLong("key", -1)).isEqualTo(-1)
+        assertThat(store.getStringSet("key", null)).isNull()
+        assertThat(store.contains("key")).isFalse()
+    }
+
+    @Test
+    fun `writes are visible immediately and persisted together when flushed`() {
+        val store = AppPrefsStore(prefs)
+
+        store.putBoolean("bool", true)
+        store.putInt("int", 1)
+        store.putStringSet("set", setOf("a", "b"))
+        store.remove("int")
+
+        assertThat(store.getBoolean("bool", false)).isTrue()
+        assertThat(store.contains("int")).isFalse()
+        assertThat(store.getStringSet("set", null)).containsExactlyInAnyOrder("a", "b")
+
+        store.flush()
+
+        assertThat(prefs.all).containsOnlyKeys("bool", "set")
+        assertThat(prefs.getStringSet("set", null)).containsExactlyInAnyOrder("a", "b")
+        assertThat(AppPrefsStore(prefs).getBoolean("bool", false)).isTrue()
+    }
+
+    @Test
+    fun `observers receive the current value and later changes`() {
+        val store = AppPrefsStore(prefs)
+        store.putInt("int", 1)
+        val values = mutableListOf<Any?>()
+
+        store.observe("int").observeForever { values.add(it) }
+        store.putInt("int", 2)
+        store.remove("int")
+
+        assertThat(values).containsExactly(1, 2, null)
+    }
+
+    @Test
+    fun `legacy values are decoded for observers`() {
+        assertThat(AppPrefsStore.decodeBoolean("true", false)).isTrue()
+        assertThat(AppPrefsStore.decodeBoolean(null, true)).isTrue()
+        assertThat(AppPrefsStore.decodeInt("12", 0)).isEqualTo(12)
+        assertThat(AppPrefsStore.decodeInt("", 3)).isEqualTo(3)
+        assertThat(AppPrefsStore.decodeLong(5, 0)).isEqualTo(5L)
+        assertThat(AppPrefsStore.decodeString(true, "")).isEqualTo("true")
+    }
+}
@@ -1,12 +1,16 @@
 package org.wordpress.android.ui.reader.repository.usecases
 
+import com.nhaarman.mockitokotlin2.any
 import com.nhaarman.mockitokotlin2.anyOrNull
+import com.nhaarman.mockitokotlin2.argumentCaptor
+import com.nhaarman.mockitokotlin2.eq
 import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.times
+import com.nhaarman.mockitokotlin2.verify
 import com.nhaarman.mockitokotlin2.whenever
 import kotlinx.coroutines.InternalCoroutinesApi
 import org.assertj.core.api.Assertions.assertThat
-import org.json.JSONArray
-import org.json.JSONObject
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
@@ -19,13 +23,20 @@ import org.wordpress.android.datasets.ReaderDiscoverCardsTableWrapper
 import org.wordpress.android.datasets.wrappers.ReaderPostTableWrapper
 import org.wordpress.android.fluxc.utils.AppLogWrapper
 import org.wordpress.android.models.ReaderBlog
+import org.wordpress.android.models.ReaderCardType.GALLERY
+import org.wordpress.android.models.ReaderPost
+import org.wordpress.android.models.ReaderPostList
+import org.wordpress.android.models.ReaderTagList
 import org.wordpress.android.models.discover.ReaderDiscoverCard.InterestsYouMayLikeCard
 import org.wordpress.android.models.discover.ReaderDiscoverCard.ReaderPostCard
 import org.wordpress.android.models.discover.ReaderDiscoverCard.ReaderRecommendedBlogsCard
 import org.wordpress.android.models.discover.ReaderDiscoverCard.WelcomeBannerCard
+import org.wordpress.android.models.discover.SimplifiedDiscoverCard
+import org.wordpress.android.models.discover.SimplifiedDiscoverCard.PostCard
+import org.wordpress.android.models.discover.SimplifiedDiscoverCard.RecommendedBlogsCard
 import org.wordpress.android.test
 import org.wordpress.android.ui.prefs.AppPrefsWrapper
-import org.wordpress.android.ui.reader.ReaderConstants
+import org.wordpress.android.ui.reader.models.ReaderBlogIdPostIdList
 
 @InternalCoroutinesApi
 @RunWith(MockitoJUnitRunner::class)
@@ -33,14 +44,13 @@ class GetDiscoverCardsUseCaseTest {
     private lateinit var useCase: GetDiscoverCardsUseCase
     private val readerDiscoverCardsTableWrapper: ReaderDiscoverCardsTableWrapper = mock()
     private val parseDiscoverCardsJsonUseCase: ParseDiscoverCardsJsonUseCase = mock()
-    private val mockedJsonArray: JSONArray = mock()
-    private val mockedPostCardJson: JSONObject = mock()
-    private val mockedInterestsCardJson: JSONObject = mock()
-    private val mockedRecommendedBlogsCardJson: JSONObject = mock()
     private val readerPostTableWrapper: ReaderPostTableWrapper = mock()
     private val readerBlogTableWrapper: ReaderBlogTableWrapper = mock()
     private val appLogWrapper: AppLogWrapper = mock()
     private val appPrefsWrapper: AppPrefsWrapper = mock()
+    private val postCard = PostCard(101L, 102L)
+    private val interestsCard = SimplifiedDiscoverCard.InterestsYouMayLikeCard(ReaderTagList())
+    private val recommendedBlogsCard = RecommendedBlogsCard(listOf(Pair(1L, 0L), Pair(2L, 0L)))
 
     @Before
     fun setUp() {
@@ -53,24 +63,10 @@ class GetDiscoverCardsUseCaseTest {
                 appPrefsWrapper,
                 TEST_DISPATCHER
         )
-        whenever(parseDiscoverCardsJsonUseCase.convertListOfJsonArraysIntoSingleJsonArray(anyOrNull()))
-                .thenReturn(mockedJsonArray)
-        whenever(mockedJsonArray.length()).thenReturn(3)
-        whenever(mockedJsonArray.getJSONObject(0)).thenReturn(mockedPostCardJson)
-        whenever(mockedJsonArray.getJSONObject(1)).thenReturn(mockedInterestsCardJson)
-        whenever(mockedJsonArray.getJSONObject(2)).thenReturn(mockedRecommendedBlogsCardJson)
-        whenever(readerDiscoverCardsTableWrapper.loadDiscoverCardsJsons()).thenReturn(listOf(""))
-        whenever(parseDiscoverCardsJsonUseCase.parseInterestCard(anyOrNull())).thenReturn(mock())
-        whenever(parseDiscoverCardsJsonUseCase.parseSimplifiedRecommendedBlogsCard(anyOrNull()))
-                .thenReturn(listOf(Pair(1L, 0L), Pair(2L, 0L)))
-        whenever(parseDiscoverCardsJsonUseCase.parseSimplifiedPostCard(anyOrNull())).thenReturn(Pair(101, 102))
-        whenever(readerPostTableWrapper.getBlogPost(anyLong(), anyLong(), anyBoolean())).thenReturn(mock())
-        whenever(mockedPostCardJson.getString(ReaderConstants.JSON_CARD_TYPE))
-                .thenReturn(ReaderConstants.JSON_CARD_POST)
-        whenever(mockedInterestsCardJson.getString(ReaderConstants.JSON_CARD_TYPE))
-                .thenReturn(ReaderConstants.JSON_CARD_INTERESTS_YOU_MAY_LIKE)
-        whenever(mockedRecommendedBlogsCardJson.getString(ReaderConstants.JSON_CARD_TYPE))
-                .thenReturn(ReaderConstants.JSON_CARD_RECOMMENDED_BLOGS)
+        whenever(readerDiscoverCardsTableWrapper.loadDiscoverCards(any()))
+                .thenReturn(listOf(postCard, interestsCard, recommendedBlogsCard))
+        whenever(readerPostTableWrapper.getBlogPosts(anyOrNull(), anyBoolean()))
+                .thenReturn(createReaderPostList(createReaderPost(101L, 102L)))
         whenever(appPrefsWrapper.readerDiscoverWelcomeBannerShown)
                 .thenReturn(true)
     }
@@ -100,7 +96,7 @@ class GetDiscoverCardsUseCaseTest {
     @Test
     fun `welcome card is not added to the list of cards when there are no other cards`() = test {
         // Arrange
-        whenever(mockedJsonArray.length()).thenReturn(0)
+        whenever(readerDiscoverCardsTableWrapper.loadDiscoverCards(any())).thenReturn(emptyList())
         // Act
         val result = useCase.get()
         // Assert
@@ -108,42 +104,33 @@ class GetDiscoverCardsUseCaseTest {
     }
 
     @Test
-    fun `interest you might like card json is transformed into InterestsYouMayLikeCard object`() = test {
-        // Arrange
-        whenever(mockedPostCardJson.getString(ReaderConstants.JSON_CARD_TYPE))
-                .thenReturn(ReaderConstants.JSON_CARD_INTERESTS_YOU_MAY_LIKE)
+    fun `interest you might like card is transformed into InterestsYouMayLikeCard object`() = test {
         // Act
         val result = useCase.get()
         // Assert
-        assertThat(result.cards[0]).isInstanceOf(InterestsYouMayLikeCard::class.java)
+        assertThat(result.cards[1]).isEqualTo(InterestsYouMayLikeCard(interestsCard.interests))
     }
 
     @Test
-    fun `recommended blogs card json is transformed into ReaderRecommendedBlogsCard object`() = test {
-        // Arrange
-        whenever(mockedPostCardJson.getString(ReaderConstants.JSON_CARD_TYPE))
-                .thenReturn(ReaderConstants.JSON_CARD_RECOMMENDED_BLOGS)
+    fun `recommended blogs card is transformed into ReaderRecommendedBlogsCard object`() = test {
         // Act
         val result = useCase.get()
         // Assert
-        assertThat(result.cards[0]).isInstanceOf(ReaderRecommendedBlogsCard::class.java)
+        assertThat(result.cards[2]).isInstanceOf(ReaderRecommendedBlogsCard::class.java)
     }
 
     @Test
-    fun `post card json is transformed into ReaderPostCard object`() = test {
-        // Arrange
-        whenever(mockedPostCardJson.getString(ReaderConstants.JSON_CARD_TYPE))
-                .thenReturn(ReaderConstants.JSON_CARD_POST)
+    fun `post card is transformed into ReaderPostCard object`() = test {
         // Act
         val result = useCase.get()
         // Assert
-        assertThat(result.cards[0]).isInstanceOf(ReaderPostCard::class.java)
+        assertThat((result.cards[0] as ReaderPostCard).post.postId).isEqualTo(102L)
     }
 
     @Test
     fun `if post not found in local db the remaining items are still transformed`() = test {
         // Arrange
-        whenever(readerPostTableWrapper.getBlogPost(anyLong(), anyLong(), anyBoolean())).thenReturn(null)
+        whenever(readerPostTableWrapper.getBlogPosts(anyOrNull(), anyBoolean())).thenReturn(ReaderPostList())
         // Act
         val result = useCase.get()
         // Assert
@@ -151,9 +138,7 @@ class GetDiscoverCardsUseCaseTest {
     }
 
     @Test
-    fun `all items from the json are transformed into cards`() = test {
-        // Arrange
-        whenever(readerPostTableWrapper.getBlogPost(anyLong(), anyLong(), anyBoolean())).thenReturn(mock())
+    fun `all items are transformed into cards`() = test {
         // Act
         val result = useCase.get()
         // Assert
@@ -161,21 +146,68 @@ class GetDiscoverCardsUseCaseTest {
     }
 
     @Test
-    fun `when cards json is empty an empty ReaderDiscoverCards is returned`() = test {
+    fun `when there are no stored cards an empty ReaderDiscoverCards is returned`() = test {
         // Arrange
-        val emptyList = listOf<String>()
-        whenever(readerDiscoverCardsTableWrapper.loadDiscoverCardsJsons()).thenReturn(emptyList)
+        whenever(readerDiscoverCardsTableWrapper.loadDiscoverCards(any())).thenReturn(emptyList())
         // Act
         val result = useCase.get()
         // Assert
         assertThat(result.cards).isEmpty()
     }
 
+    @Test
+    fun `posts of all the cards are loaded with a single query in the order of the cards`() = test {
+        // Arrange
+        whenever(readerDiscoverCardsTableWrapper.loadDiscoverCards(any()))
+                .thenReturn(listOf(postCard, PostCard(201L, 202L), interestsCard, PostCard(301L, 302L)))
+        whenever(readerPostTableWrapper.getBlogPosts(anyOrNull(), anyBoolean())).thenReturn(
+                createReaderPostList(
+                        createReaderPost(301L, 302L),
+                        createReaderPost(101L, 102L),
+                        createReaderPost(201L, 202L)
+                )
+        )
+        // Act
+        val result = useCase.get()
+        // Assert
+        val ids = argumentCaptor<ReaderBlogIdPostIdList>()
+        verify(readerPostTableWrapper, times(1)).getBlogPosts(ids.capture(), anyBoolean())
+        assertThat(ids.firstValue.map { it.postId }).containsExactly(102L, 202L, 302L)
+        assertThat(result.cards.filterIsInstance<ReaderPostCard>().map { it.post.postId })
+                .containsExactly(102L, 202L, 302L)
+        verify(readerPostTableWrapper, never()).getBlogPost(anyLong(), anyLong(), anyBoolean())
+    }
+
+    @Test
+    fun `posts are loaded without their text`() = test {
+        // Act
+        useCase.get()
+        // Assert
+        verify(readerPostTableWrapper).getBlogPosts(anyOrNull(), eq(true))
+    }
+
+    @Test
+    fun `gallery posts are loaded with their text`() = test {
+        // Arrange
+        val galleryPost = createReaderPost(101L, 102L).apply { cardType = GALLERY }
+        val galleryPostWithText = createReaderPost(101L, 102L).apply {
+            cardType = GALLERY
+            text = "text"
+        }
+        whenever(readerPostTableWrapper.getBlogPosts(anyOrNull(), anyBoolean()))
+                .thenReturn(createReaderPostList(galleryPost))
+        whenever(readerPostTableWrapper.getBlogPost(101L, 102L, false)).thenReturn(galleryPostWithText)
+        // Act
+        val result = useCase.get()
+        // Assert
+        assertThat((result.cards[0] as ReaderPostCard).post).isSameAs(galleryPostWithText)
+    }
+
     @Test
     fun `recommended blog is retrieved from local db and added to the card`() = test {
         // Arrange
-        val localReaderBlog = createReaderBlog()
-        whenever(readerBlogTableWrapper.getReaderBlog(1L, 0L)).thenReturn(localReaderBlog)
+        val localReaderBlog = createReaderBlog(1L)
+        whenever(readerBlogTableWrapper.getBlogInfos(setOf(1L, 2L))).thenReturn(listOf(localReaderBlog))
         // Act
         val result = useCase.get()
 
@@ -186,9 +218,8 @@ class GetDiscoverCardsUseCaseTest {
     @Test
     fun `if recommended blog retrieved from local db is null it's not added to the card`() = test {
         // Arrange
-        val localReaderBlog = createReaderBlog()
-        whenever(readerBlogTableWrapper.getReaderBlog(1L, 0L)).thenReturn(localReaderBlog)
-        whenever(readerBlogTableWrapper.getReaderBlog(2L, 0L)).thenReturn(null)
+        val localReaderBlog = createReaderBlog(1L)
+        whenever(readerBlogTableWrapper.getBlogInfos(setOf(1L, 2L))).thenReturn(listOf(localReaderBlog))
         // Act
         val result = useCase.get()
 
@@ -196,8 +227,29 @@ class GetDiscoverCardsUseCaseTest {
         assertThat((result.cards[2] as ReaderRecommendedBlogsCard).blogs.size).isEqualTo(1)
     }
 
-    private fun createReaderBlog() = ReaderBlog().apply {
-        blogId = 1L
+    @Test
+    fun `recommended feeds are retrieved by their feed id`() = test {
+        // Arrange
+        val localReaderFeed = createReaderBlog(3L).apply { feedId = 4L }
+        whenever(readerDiscoverCardsTableWrapper.loadDiscoverCards(any()))
+                .thenReturn(listOf(RecommendedBlogsCard(listOf(Pair(3L, 4L)))))
+        whenever(readerBlogTableWrapper.getFeedInfos(setOf(4L))).thenReturn(listOf(localReaderFeed))
+        // Act
+        val result = useCase.get()
+
+        // Assert
+        assertThat((result.cards[0] as ReaderRecommendedBlogsCard).blogs).containsExactly(localReaderFeed)
+    }
+
+    private fun createReaderPost(blogId: Long, postId: Long) = ReaderPost().apply {
+        this.blogId = blogId
+        this.postId = postId
+    }
+
+    private fun createReaderPostList(vararg posts: ReaderPost) = ReaderPostList().apply { addAll(posts) }
+
+    private fun createReaderBlog(blogId: Long) = ReaderBlog().apply {
+        this.blogId = blogId
         description = "description"
         url = "url"
         name = "name"
@@ -0,0 +1,117 @@
+package org.wordpress.android.ui.reader.utils
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.wordpress.android.models.ReaderComment
+import org.wordpress.android.models.ReaderCommentList
+
+class ReaderCommentLevelerTest {
+    @Test
+    fun `replies are placed beneath their parents`() {
+        val comments = commentList(
+                comment(1, 0),
+                comment(2, 0),
+                comment(3, 1),
+                comment(4, 3),
+                comment(5, 2),
+                comment(6, 1)
+        )
+
+        val levelList = ReaderCommentLeveler(comments).createLevelList()
+
+        assertThat(levelList.map { it.commentId to it.level }).containsExactly(
+                1L to 0, 3L to 1, 4L to 2, 6L to 1, 2L to 0, 5L to 1
+        )
+    }
+
+    @Test
+    fun `orphans are indented at the end of the list with their replies`() {
+        val comments = commentList(
+                comment(1, 0),
+                comment(2, 99),
+                comment(3, 2),
+                comment(4, 1)
+        )
+
+        val levelList = ReaderCommentLeveler(comments).createLevelList()
+
+        assertThat(levelList.map { it.commentId to it.level }).containsExactly(
+                1L to 0, 4L to 1, 2L to 1, 3L to 2
+        )
+    }
+
+    @Test
+    fun `new page of comments is spliced into the existing list`() {
+        val firstPage = ReaderCommentLeveler(commentList(
+                comment(1, 0, timestamp = 10),
+                comment(3, 1, timestamp = 30),
+                comment(5, 0, timestamp = 50)
+        )).createLevelList()
+        val allComments = commentList(
+                comment(1, 0, timestamp = 10),
+                comment(2, 1, timestamp = 20),
+                comment(3, 1, timestamp = 30),
+                comment(4, 3, timestamp = 40),
+                comment(5, 0, timestamp = 50),
+                comment(6, 0, timestamp = 60)
+        )
+
+        val updated = ReaderCommentLeveler(allComments).updateLevelList(firstPage)
+
+        assertThat(updated.map { it.commentId to it.level }).containsExactly(
+                1L to 0, 2L to 1, 3L to 1, 4L to 2, 5L to 0, 6L to 0
+        )
+        // comments which were already shown are kept
+        assertThat(updated[0]).isSameAs(firstPage[0])
+        assertThat(firstPage).hasSize(3)
+    }
+
+    @Test
+    fun `orphans are moved beneath their parent once it's loaded`() {
+        val firstPage = ReaderCommentLeveler(commentList(
+                comment(1, 0, timestamp = 10),
+                comment(3, 2, timestamp = 30)
+        )).createLevelList()
+        val allComments = commentList(
+                comment(1, 0, timestamp = 10),
+                comment(2, 1, timestamp = 20),
+                comment(3, 2, timestamp = 30)
+        )
+
+        val updated = ReaderCommentLeveler(allComments).updateLevelList(firstPage)
+
+        assertThat(updated.map { it.commentId to it.level }).containsExactly(1L to 0, 2L to 1, 3L to 2)
+    }
+
+    @Test
+    fun `deleted comments cause the list to be rebuilt`() {
+        val levelList = ReaderCommentLeveler(commentList(
+                comment(1, 0),
+                comment(2, 1),
+                comment(3, 0)
+        )).createLevelList()
+
+        val updated = ReaderCommentLeveler(commentList(comment(1, 0), comment(3, 0))).updateLevelList(levelList)
+
+        assertThat(updated.map { it.commentId to it.level }).containsExactly(1L to 0, 3L to 0)
+    }
+
+    @Test
+    fun `deep threads don't overflow the stack`() {
+        val comments = ReaderCommentList()
+        (1L..10_000L).forEach { comments.add(comment(it, it - 1)) }
+
+        val levelList = ReaderCommentLeveler(comments).createLevelList()
+
+        assertThat(levelList).hasSize(10_000)
+        assertThat(levelList.last().level).isEqualTo(9_999)
+    }
+
+    private fun commentList(vararg comments: ReaderComment) = ReaderCommentList().apply { addAll(comments) }
+
+    private fun comment(id: Long, parentId: Long, timestamp: Long = id) = ReaderComment().apply {
+        commentId = id
+        this.parentId = parentId
+        this.timestamp = timestamp
+    }
+}
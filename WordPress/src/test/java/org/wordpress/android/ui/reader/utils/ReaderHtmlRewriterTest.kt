@@ -0,0 +1,81 @@
+package org.wordpress.android.ui.reader.utils
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class ReaderHtmlRewriterTest {
+    private val tagRewriter = object : ReaderHtmlRewriter.TagRewriter {
+        override fun rewriteImageTag(imageTag: String, imageUrl: String): String? {
+            return if (imageUrl.contains("wpcom-smileys")) null else "<img src='$imageUrl' />"
+        }
+
+        override fun rewriteIframeTag(iframeTag: String, src: String) = "<iframe src='$src' />"
+    }
+
+    @Test
+    fun `images and iframes are replaced in place`() {
+        val content = "<p>one <img class=\"a\" src=\"https://a.com/1.jpg\" width=\"100\"></p>" +
+                "<iframe width='300' src='https://v.com/embed' height='200'></iframe>" +
+                "<p>two <IMG SRC=\"https://a.com/2.jpg\"/></p>"
+
+        val result = ReaderHtmlRewriter(content, true).rewrite(tagRewriter)
+
+        assertThat(result).isEqualTo(
+                "<p>one <img src='https://a.com/1.jpg' /></p>" +
+                        "<iframe src='https://v.com/embed' /></iframe>" +
+                        "<p>two <img src='https://a.com/2.jpg' /></p>"
+        )
+    }
+
+    @Test
+    fun `repeated images are each replaced`() {
+        val image = "<img src=\"https://a.com/1.jpg\">"
+
+        val result = ReaderHtmlRewriter("$image<br>$image", true).rewrite(tagRewriter)
+
+        assertThat(result).isEqualTo("<img src='https://a.com/1.jpg' /><br><img src='https://a.com/1.jpg' />")
+    }
+
+    @Test
+    fun `images are left as is when not rewriting images`() {
+        val content = "<img src=\"https://a.com/1.jpg\"><iframe src='https://v.com/embed'>"
+
+        val result = ReaderHtmlRewriter(content, false).rewrite(tagRewriter)
+
+        assertThat(result).isEqualTo("<img src=\"https://a.com/1.jpg\"><iframe src='https://v.com/embed' />")
+    }
+
+    @Test
+    fun `kept tags and other content get protocol-relative sources fixed`() {
+        val content = "<img src=\"//s0.wp.com/wpcom-smileys/smile.svg\"><script src=\"//v.com/player.js\"></script>" +
+                "<img src=\"//a.com/1.jpg\">"
+
+        val result = ReaderHtmlRewriter(content, true).rewrite(tagRewriter)
+
+        assertThat(result).isEqualTo(
+                "<img src=\"http://s0.wp.com/wpcom-smileys/smile.svg\">" +
+                        "<script src=\"http://v.com/player.js\"></script><img src='http://a.com/1.jpg' />"
+        )
+    }
+
+    @Test
+    fun `scripts for known embeds are collected`() {
+        val content = "<blockquote class=\"instagram-media\"></blockquote><p>text</p><fb:post href=\"x\"></fb:post>"
+        val rewriter = ReaderHtmlRewriter(content, true)
+
+        rewriter.rewrite(tagRewriter)
+
+        assertThat(rewriter.jsToInject).containsExactlyInAnyOrder(
+                "https://platform.instagram.com/en_US/embeds.js",
+                "https://connect.facebook.net/en_US/sdk.js#xfbml=1&amp;version=v2.8"
+        )
+    }
+
+    @Test
+    fun `content without tags is returned unchanged`() {
+        val rewriter = ReaderHtmlRewriter("just some text", true)
+
+        assertThat(rewriter.rewrite(tagRewriter)).isEqualTo("just some text")
+        assertThat(rewriter.jsToInject).isEmpty()
+    }
+}
@@ -42,8 +42,10 @@ import org.wordpress.android.ui.stats.refresh.lists.sections.BlockListItem.Type.
 import org.wordpress.android.ui.stats.refresh.lists.sections.granular.SelectedDateProvider
 import org.wordpress.android.ui.stats.refresh.lists.sections.granular.SelectedDateProvider.SelectedDate
 import org.wordpress.android.ui.stats.refresh.utils.ContentDescriptionHelper
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache
 import org.wordpress.android.ui.stats.refresh.utils.StatsSiteProvider
 import org.wordpress.android.ui.stats.refresh.utils.StatsUtils
+import org.wordpress.android.util.CurrentTimeProvider
 import org.wordpress.android.util.analytics.AnalyticsTrackerWrapper
 import java.util.Date
 
@@ -75,6 +77,7 @@ class ClicksUseCaseTest : BaseUnitTest() {
                 Dispatchers.Unconfined,
                 TEST_DISPATCHER,
                 store,
+                StatsRequestCache(CurrentTimeProvider(), TEST_DISPATCHER),
                 statsSiteProvider,
                 selectedDateProvider,
                 tracker,
@@ -34,7 +34,9 @@ import org.wordpress.android.ui.stats.refresh.lists.sections.BlockListItem.Value
 import org.wordpress.android.ui.stats.refresh.lists.sections.granular.SelectedDateProvider
 import org.wordpress.android.ui.stats.refresh.lists.widget.WidgetUpdater.StatsWidgetUpdaters
 import org.wordpress.android.ui.stats.refresh.utils.StatsDateFormatter
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache
 import org.wordpress.android.ui.stats.refresh.utils.StatsSiteProvider
+import org.wordpress.android.util.CurrentTimeProvider
 import org.wordpress.android.util.analytics.AnalyticsTrackerWrapper
 import org.wordpress.android.viewmodel.ResourceProvider
 
@@ -64,6 +66,7 @@ class OverviewUseCaseTest : BaseUnitTest() {
         useCase = OverviewUseCase(
                 statsGranularity,
                 store,
+                StatsRequestCache(CurrentTimeProvider(), TEST_DISPATCHER),
                 selectedDateProvider,
                 statsSiteProvider,
                 statsDateFormatter,
@@ -21,6 +21,7 @@ import org.wordpress.android.fluxc.store.stats.insights.TodayInsightsStore
 import org.wordpress.android.ui.prefs.AppPrefsWrapper
 import org.wordpress.android.ui.stats.refresh.lists.widget.WidgetBlockListProvider.BlockItemUiModel
 import org.wordpress.android.ui.stats.refresh.lists.widget.configuration.StatsColorSelectionViewModel.Color
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache
 import org.wordpress.android.ui.stats.refresh.utils.StatsUtils
 import org.wordpress.android.viewmodel.ResourceProvider
 
@@ -28,6 +29,7 @@ import org.wordpress.android.viewmodel.ResourceProvider
 class TodayWidgetBlockListViewModelTest {
     @Mock private lateinit var siteStore: SiteStore
     @Mock private lateinit var store: TodayInsightsStore
+    @Mock private lateinit var statsRequestCache: StatsRequestCache
     @Mock private lateinit var resourceProvider: ResourceProvider
     @Mock private lateinit var statsUtils: StatsUtils
     @Mock private lateinit var site: SiteModel
@@ -43,6 +45,7 @@ class TodayWidgetBlockListViewModelTest {
         viewModel = TodayWidgetBlockListViewModel(
                 siteStore,
                 store,
+                statsRequestCache,
                 resourceProvider,
                 todayWidgetUpdater,
                 appPrefsWrapper,
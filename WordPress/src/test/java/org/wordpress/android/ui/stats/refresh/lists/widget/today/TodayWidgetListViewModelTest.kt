@@ -17,6 +17,7 @@ import org.wordpress.android.fluxc.store.stats.insights.TodayInsightsStore
 import org.wordpress.android.ui.prefs.AppPrefsWrapper
 import org.wordpress.android.ui.stats.refresh.lists.widget.configuration.StatsColorSelectionViewModel.Color
 import org.wordpress.android.ui.stats.refresh.lists.widget.today.TodayWidgetListViewModel.TodayItemUiModel
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache
 import org.wordpress.android.ui.stats.refresh.utils.StatsUtils
 import org.wordpress.android.viewmodel.ResourceProvider
 
@@ -24,6 +25,7 @@ import org.wordpress.android.viewmodel.ResourceProvider
 class TodayWidgetListViewModelTest {
     @Mock private lateinit var siteStore: SiteStore
     @Mock private lateinit var store: TodayInsightsStore
+    @Mock private lateinit var statsRequestCache: StatsRequestCache
     @Mock private lateinit var resourceProvider: ResourceProvider
     @Mock private lateinit var appPrefsWrapper: AppPrefsWrapper
     @Mock private lateinit var statsUtils: StatsUtils
@@ -37,6 +39,7 @@ class TodayWidgetListViewModelTest {
         viewModel = TodayWidgetListViewModel(
                 siteStore,
                 store,
+                statsRequestCache,
                 resourceProvider,
                 appPrefsWrapper,
                 statsUtils
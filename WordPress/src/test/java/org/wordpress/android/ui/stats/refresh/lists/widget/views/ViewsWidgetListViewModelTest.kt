@@ -27,12 +27,14 @@ import org.wordpress.android.ui.stats.refresh.lists.sections.BlockListItem.Value
 import org.wordpress.android.ui.stats.refresh.lists.sections.granular.usecases.OverviewMapper
 import org.wordpress.android.ui.stats.refresh.lists.widget.configuration.StatsColorSelectionViewModel.Color
 import org.wordpress.android.ui.stats.refresh.utils.StatsDateFormatter
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache
 import org.wordpress.android.viewmodel.ResourceProvider
 
 @RunWith(MockitoJUnitRunner::class)
 class ViewsWidgetListViewModelTest {
     @Mock private lateinit var siteStore: SiteStore
     @Mock private lateinit var visitsAndViewsStore: VisitsAndViewsStore
+    @Mock private lateinit var statsRequestCache: StatsRequestCache
     @Mock private lateinit var overviewMapper: OverviewMapper
     @Mock private lateinit var resourceProvider: ResourceProvider
     @Mock private lateinit var statsDateFormatter: StatsDateFormatter
@@ -48,6 +50,7 @@ class ViewsWidgetListViewModelTest {
         viewModel = ViewsWidgetListViewModel(
                 siteStore,
                 visitsAndViewsStore,
+                statsRequestCache,
                 overviewMapper,
                 resourceProvider,
                 statsDateFormatter,
@@ -0,0 +1,149 @@
+package org.wordpress.android.ui.stats.refresh.utils
+
+import com.nhaarman.mockitokotlin2.whenever
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineStart.UNDISPATCHED
+import kotlinx.coroutines.InternalCoroutinesApi
+import kotlinx.coroutines.async
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mock
+import org.wordpress.android.BaseUnitTest
+import org.wordpress.android.TEST_DISPATCHER
+import org.wordpress.android.fluxc.network.utils.StatsGranularity.DAYS
+import org.wordpress.android.fluxc.network.utils.StatsGranularity.WEEKS
+import org.wordpress.android.fluxc.store.StatsStore.InsightType.ALL_TIME_STATS
+import org.wordpress.android.fluxc.store.StatsStore.OnStatsFetched
+import org.wordpress.android.fluxc.store.StatsStore.StatsError
+import org.wordpress.android.fluxc.store.StatsStore.StatsErrorType.GENERIC_ERROR
+import org.wordpress.android.fluxc.store.StatsStore.TimeStatsType.AUTHORS
+import org.wordpress.android.test
+import org.wordpress.android.ui.stats.refresh.utils.StatsRequestCache.Key
+import org.wordpress.android.util.CurrentTimeProvider
+import java.util.Date
+
+@InternalCoroutinesApi
+class StatsRequestCacheTest : BaseUnitTest() {
+    @Mock lateinit var currentTimeProvider: CurrentTimeProvider
+    private lateinit var cache: StatsRequestCache
+    private val key = Key(1L, ALL_TIME_STATS)
+    private var requestCount = 0
+    private var now = 1000L
+
+    @Before
+    fun setUp() {
+        cache = StatsRequestCache(currentTimeProvider, TEST_DISPATCHER)
+        whenever(currentTimeProvider.currentTimeMillis()).thenAnswer { now }
+    }
+
+    @Test
+    fun `fresh response is reused`() = test {
+        val first = cache.fetch(key, false) { request("data") }
+        now += 60 * 1000L
+        val second = cache.fetch(key, false) { request("new data") }
+
+        assertThat(second).isSameAs(first)
+        assertThat(requestCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `stale response is returned while it's requested again`() = test {
+        cache.fetch(key, false) { request("data") }
+        now += 15 * 60 * 1000L
+        val second = cache.fetch(key, false) { request("new data") }
+        val third = cache.fetch(key, false) { request("newer data") }
+
+        assertThat(second.model).isEqualTo("data")
+        assertThat(third.model).isEqualTo("new data")
+        assertThat(requestCount).isEqualTo(2)
+    }
+
+    @Test
+    fun `expired response is requested again`() = test {
+        cache.fetch(key, false) { request("data") }
+        now += 30 * 60 * 1000L
+        val second = cache.fetch(key, false) { request("new data") }
+
+        assertThat(second.model).isEqualTo("new data")
+        assertThat(requestCount).isEqualTo(2)
+    }
+
+    @Test
+    fun `forced request skips the cache`() = test {
+        cache.fetch(key, false) { request("data") }
+        val second = cache.fetch(key, true) { request("new data") }
+
+        assertThat(second.model).isEqualTo("new data")
+        assertThat(requestCount).isEqualTo(2)
+    }
+
+    @Test
+    fun `failed response is not reused`() = test {
+        cache.fetch(key, false) {
+            requestCount++
+            OnStatsFetched<String>(StatsError(GENERIC_ERROR, "error"))
+        }
+        val second = cache.fetch(key, false) { request("data") }
+
+        assertThat(second.model).isEqualTo("data")
+        assertThat(requestCount).isEqualTo(2)
+    }
+
+    @Test
+    fun `requests with different parameters are not shared`() = test {
+        cache.fetch(Key(1L, AUTHORS, DAYS, Date(0), 6), false) { request("days") }
+        val weeks = cache.fetch(Key(1L, AUTHORS, WEEKS, Date(0), 6), false) { request("weeks") }
+        val viewAll = cache.fetch(Key(1L, AUTHORS, DAYS, Date(0), 1000), false) { request("view all") }
+
+        assertThat(weeks.model).isEqualTo("weeks")
+        assertThat(viewAll.model).isEqualTo("view all")
+        assertThat(requestCount).isEqualTo(3)
+    }
+
+    @Test
+    fun `running request is shared`() = test {
+        val response = CompletableDeferred<OnStatsFetched<String>>()
+        val first = async(start = UNDISPATCHED) {
+            cache.fetch(key, false) {
+                requestCount++
+                response.await()
+            }
+        }
+        val second = async(start = UNDISPATCHED) {
+            cache.fetch(key, false) { request("other data") }
+        }
+
+        response.complete(OnStatsFetched("data"))
+
+        assertThat(first.await().model).isEqualTo("data")
+        assertThat(second.await().model).isEqualTo("data")
+        assertThat(requestCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `cancelling a caller doesn't cancel the running request for the others`() = test {
+        val response = CompletableDeferred<OnStatsFetched<String>>()
+        val first = async(start = UNDISPATCHED) {
+            cache.fetch(key, false) {
+                requestCount++
+                response.await()
+            }
+        }
+        val second = async(start = UNDISPATCHED) {
+            cache.fetch(key, false) { request("other data") }
+        }
+
+        first.cancel()
+        response.complete(OnStatsFetched("data"))
+
+        assertThat(second.await().model).isEqualTo("data")
+        assertThat(first.isCancelled).isTrue()
+        assertThat(requestCount).isEqualTo(1)
+    }
+
+    private fun request(model: String): OnStatsFetched<String> {
+        requestCount++
+        return OnStatsFetched(model)
+    }
+}
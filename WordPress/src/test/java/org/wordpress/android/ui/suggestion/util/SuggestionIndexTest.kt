@@ -0,0 +1,81 @@
+package org.wordpress.android.ui.suggestion.util
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.wordpress.android.fluxc.model.TermModel
+import org.wordpress.android.models.Suggestion
+
+class SuggestionIndexTest {
+    private val suggestions = listOf(
+            suggestion("jdoe", "John Doe"),
+            suggestion("annab", "Anna Bell"),
+            suggestion("bellhop", "Tom Jones"),
+            suggestion("mary", "Mary Ann Smith")
+    )
+
+    @Test
+    fun `suggestions match when their login starts with the text`() {
+        val index = SuggestionIndex.forUsers(suggestions)
+
+        assertThat(index.find("JD", 10).logins()).containsExactly("jdoe")
+    }
+
+    @Test
+    fun `suggestions match when their display name or a word in it starts with the text`() {
+        val index = SuggestionIndex.forUsers(suggestions)
+
+        assertThat(index.find("tom", 10).logins()).containsExactly("bellhop")
+        assertThat(index.find("smi", 10).logins()).containsExactly("mary")
+        assertThat(index.find("ann sm", 10).logins()).containsExactly("mary")
+        assertThat(index.find("oe", 10).logins()).isEmpty()
+    }
+
+    @Test
+    fun `login matches are ranked before display name matches`() {
+        val index = SuggestionIndex.forUsers(suggestions)
+
+        assertThat(index.find("ann", 10).logins()).containsExactly("annab", "mary")
+        assertThat(index.find("bell", 10).logins()).containsExactly("bellhop", "annab")
+    }
+
+    @Test
+    fun `each suggestion is only returned once`() {
+        val index = SuggestionIndex.forUsers(listOf(suggestion("ann", "Ann Ann")))
+
+        assertThat(index.find("ann", 10).logins()).containsExactly("ann")
+    }
+
+    @Test
+    fun `results are limited to the max results`() {
+        val index = SuggestionIndex.forUsers((1..20).map { suggestion("user$it", "User $it") })
+
+        assertThat(index.find("user", 5)).hasSize(5)
+    }
+
+    @Test
+    fun `all suggestions are returned when the text is empty`() {
+        val index = SuggestionIndex.forUsers(suggestions)
+
+        assertThat(index.find("", 1)).isSameAs(suggestions)
+        assertThat(index.getSuggestions()).isSameAs(suggestions)
+    }
+
+    @Test
+    fun `tags match when their name or a word in it starts with the text`() {
+        val tags = listOf(tag("Travel"), tag("Road trips"), tag("Fish &amp; Chips"), tag("Trivia"))
+        val index = SuggestionIndex.forTags(tags)
+
+        assertThat(index.find("tr", 10).names()).containsExactly("Travel", "Trivia", "Road trips")
+        assertThat(index.find("& ch", 10).names()).containsExactly("Fish &amp; Chips")
+        assertThat(index.find("ips", 10)).isEmpty()
+        assertThat(index.find("", 10)).isSameAs(tags)
+    }
+
+    private fun List<Suggestion>.logins() = map { it.userLogin }
+
+    private fun List<TermModel>.names() = map { it.name }
+
+    private fun tag(name: String) = TermModel().apply { this.name = name }
+
+    private fun suggestion(login: String, displayName: String) = Suggestion(1, login, displayName, "", "")
+}
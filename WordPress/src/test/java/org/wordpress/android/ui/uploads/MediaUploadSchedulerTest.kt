@@ -0,0 +1,212 @@
+package org.wordpress.android.ui.uploads
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.wordpress.android.fluxc.model.MediaModel
+import java.util.PriorityQueue
+
+class MediaUploadSchedulerTest {
+    private val scheduler = MediaUploadScheduler(UPLOADS_PER_SITE, 1, 3)
+    private val starter = RecordingStarter()
+
+    @Test
+    fun `uploads are limited per site`() {
+        (1..5).forEach { scheduler.enqueue(createMedia(it, siteId = 1), false) }
+        (6..7).forEach { scheduler.enqueue(createMedia(it, siteId = 2), false) }
+
+        scheduler.startNext(starter)
+
+        assertThat(starter.uploads.map { it.id }).containsExactlyInAnyOrder(1, 2, 3, 6, 7)
+        assertThat(scheduler.getInProgress()).hasSize(5)
+    }
+
+    @Test
+    fun `finished uploads free their lane for the next queued media`() {
+        (1..5).forEach { scheduler.enqueue(createMedia(it), false) }
+        scheduler.startNext(starter)
+
+        scheduler.remove(2)
+        scheduler.startNext(starter)
+
+        assertThat(starter.uploads.map { it.id }).containsExactly(1, 2, 3, 4)
+    }
+
+    @Test
+    fun `the same file is only queued once per post`() {
+        assertThat(scheduler.enqueue(createMedia(1, postId = 10, path = "/a.jpg"), false)).isTrue()
+        assertThat(scheduler.enqueue(createMedia(2, postId = 10, path = "/a.jpg"), false)).isFalse()
+        assertThat(scheduler.enqueue(createMedia(3, postId = 11, path = "/a.jpg"), false)).isTrue()
+
+        assertThat(scheduler.contains(1)).isTrue()
+        assertThat(scheduler.contains(2)).isFalse()
+        assertThat(scheduler.getMediaForPost(10, false).map { it.id }).containsExactly(1)
+    }
+
+    @Test
+    fun `videos are optimized without holding up other uploads`() {
+        scheduler.enqueue(createMedia(1), true)
+        scheduler.enqueue(createMedia(2), true)
+        (3..6).forEach { scheduler.enqueue(createMedia(it), false) }
+
+        scheduler.startNext(starter)
+
+        assertThat(starter.optimizations.map { it.id }).containsExactly(1)
+        assertThat(starter.uploads.map { it.id }).containsExactly(3, 4, 5)
+    }
+
+    @Test
+    fun `optimized videos are uploaded ahead of queued media`() {
+        scheduler.enqueue(createMedia(1), true)
+        (2..5).forEach { scheduler.enqueue(createMedia(it), false) }
+        scheduler.startNext(starter)
+
+        assertThat(scheduler.onOptimizationCompleted(1)).isTrue()
+        scheduler.remove(2)
+        scheduler.startNext(starter)
+
+        assertThat(starter.uploads.map { it.id }).containsExactly(2, 3, 4, 1)
+    }
+
+    @Test
+    fun `cancelled optimizations are not uploaded`() {
+        scheduler.enqueue(createMedia(1), true)
+        scheduler.startNext(starter)
+
+        scheduler.remove(1)
+
+        assertThat(scheduler.onOptimizationCompleted(1)).isFalse()
+        assertThat(scheduler.isEmpty).isTrue()
+    }
+
+    @Test
+    fun `retries back off and give up after the maximum number of attempts`() {
+        scheduler.enqueue(createMedia(1), false)
+        val delays = mutableListOf<Long>()
+
+        repeat(4) {
+            scheduler.startNext(starter)
+            val delay = scheduler.prepareRetry(1)
+            delays.add(delay)
+            if (delay >= 0) {
+                assertThat(scheduler.getMediaForPost(0, false).map { it.id }).containsExactly(1)
+                assertThat(scheduler.retry(1)).isNotNull
+            }
+        }
+
+        assertThat(delays).containsExactly(2000L, 4000L, 8000L, -1L)
+        assertThat(starter.uploads).hasSize(4)
+    }
+
+    @Test
+    fun `uploads waiting for a retry can be removed`() {
+        (1..2).forEach { scheduler.enqueue(createMedia(it), false) }
+        scheduler.startNext(starter)
+        scheduler.prepareRetry(1)
+
+        assertThat(scheduler.removeWaitingForRetry().map { it.id }).containsExactly(1)
+        assertThat(scheduler.contains(1)).isFalse()
+        assertThat(scheduler.retry(1)).isNull()
+        assertThat(scheduler.getInProgress().map { it.id }).containsExactly(2)
+    }
+
+    @Test
+    fun `cancelled uploads which are queued or waiting for a retry are never started again`() {
+        (1..5).forEach { scheduler.enqueue(createMedia(it), false) }
+        scheduler.startNext(starter)
+        scheduler.prepareRetry(1)
+
+        assertThat(scheduler.removeIfNotInProgress(4)?.id).isEqualTo(4)
+        assertThat(scheduler.removeIfNotInProgress(1)?.id).isEqualTo(1)
+        assertThat(scheduler.removeIfNotInProgress(2)).isNull()
+        assertThat(scheduler.retry(1)).isNull()
+
+        scheduler.remove(2)
+        scheduler.remove(3)
+        scheduler.startNext(starter)
+
+        // 1 was only started before its retry was cancelled, and 4 never was
+        assertThat(starter.uploads.map { it.id }).containsExactly(1, 2, 3, 5)
+        assertThat(scheduler.contains(1)).isFalse()
+        assertThat(scheduler.contains(4)).isFalse()
+    }
+
+    @Test
+    fun `completion time for 50 queued items`() {
+        val sequential = simulateUploads(MediaUploadScheduler(1, 1, 0))
+        val concurrent = simulateUploads(MediaUploadScheduler(UPLOADS_PER_SITE, 1, 0))
+
+        // with a single lane every upload runs back to back, and the video optimizations overlap with them
+        assertThat(sequential).isEqualTo(45 * IMAGE_UPLOAD_TIME_MS + 5 * VIDEO_UPLOAD_TIME_MS)
+        // with more lanes the images are done long before the last video has been optimized and uploaded
+        assertThat(concurrent).isEqualTo(5 * OPTIMIZATION_TIME_MS + VIDEO_UPLOAD_TIME_MS)
+    }
+
+    /**
+     * Uploads 45 images and 5 videos needing optimization through a stubbed dispatcher which completes each upload
+     * after a fixed (simulated) time, and returns the time at which the last one completed.
+     */
+    private fun simulateUploads(scheduler: MediaUploadScheduler): Long {
+        val completions = PriorityQueue<Pair<Long, () -> Unit>>(compareBy { it.first })
+        var now = 0L
+        var completed = 0
+
+        val dispatcher = object : MediaUploadScheduler.UploadStarter {
+            override fun startOptimization(media: MediaModel) {
+                completions.add(now + OPTIMIZATION_TIME_MS to {
+                    scheduler.onOptimizationCompleted(media.id)
+                    Unit
+                })
+            }
+
+            override fun startUpload(media: MediaModel) {
+                val uploadTime = if (media.id % 10 == 0) VIDEO_UPLOAD_TIME_MS else IMAGE_UPLOAD_TIME_MS
+                completions.add(now + uploadTime to {
+                    scheduler.remove(media.id)
+                    completed++
+                    Unit
+                })
+            }
+        }
+
+        (1..50).forEach { scheduler.enqueue(createMedia(it), it % 10 == 0) }
+        scheduler.startNext(dispatcher)
+        while (completions.isNotEmpty()) {
+            val (time, completion) = completions.poll()
+            now = time
+            completion()
+            scheduler.startNext(dispatcher)
+        }
+
+        assertThat(completed).isEqualTo(50)
+        assertThat(scheduler.isEmpty).isTrue()
+        return now
+    }
+
+    private fun createMedia(id: Int, siteId: Int = 1, postId: Int = 0, path: String = "/media/$id.jpg") =
+            MediaModel().apply {
+                this.id = id
+                localSiteId = siteId
+                localPostId = postId
+                filePath = path
+            }
+
+    private class RecordingStarter : MediaUploadScheduler.UploadStarter {
+        val optimizations = mutableListOf<MediaModel>()
+        val uploads = mutableListOf<MediaModel>()
+
+        override fun startOptimization(media: MediaModel) {
+            optimizations.add(media)
+        }
+
+        override fun startUpload(media: MediaModel) {
+            uploads.add(media)
+        }
+    }
+
+    private companion object {
+        private const val UPLOADS_PER_SITE = 3
+        private const val IMAGE_UPLOAD_TIME_MS = 400L
+        private const val VIDEO_UPLOAD_TIME_MS = 1200L
+        private const val OPTIMIZATION_TIME_MS = 3000L
+    }
+}
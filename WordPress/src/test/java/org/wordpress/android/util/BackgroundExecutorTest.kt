@@ -0,0 +1,110 @@
+package org.wordpress.android.util
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.wordpress.android.util.BackgroundExecutor.Lane
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class BackgroundExecutorTest {
+    private val executor = BackgroundExecutor()
+
+    @Test
+    fun `db writes run one at a time in submission order`() {
+        val order = Collections.synchronizedList(mutableListOf<Int>())
+        val done = CountDownLatch(NUM_TASKS)
+        var running = 0
+        var maxRunning = 0
+
+        repeat(NUM_TASKS) { i ->
+            executor.executeDbWrite(Runnable {
+                synchronized(this) { maxRunning = maxOf(maxRunning, ++running) }
+                order.add(i)
+                Thread.sleep(1)
+                synchronized(this) { running-- }
+                done.countDown()
+            })
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue()
+        assertThat(order).isEqualTo((0 until NUM_TASKS).toList())
+        assertThat(maxRunning).isEqualTo(1)
+    }
+
+    @Test
+    fun `parse tasks run in parallel`() {
+        val started = CountDownLatch(2)
+        val release = CountDownLatch(1)
+
+        repeat(2) {
+            executor.executeParse(Runnable {
+                started.countDown()
+                release.await(10, TimeUnit.SECONDS)
+            })
+        }
+
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue()
+        release.countDown()
+    }
+
+    @Test
+    fun `parse tasks run on the submitting thread once the parse lane's queue is full`() {
+        val testThread = Thread.currentThread()
+        val release = CountDownLatch(1)
+        var ranOnSubmittingThread = false
+        var submitted = 0
+
+        // every parse thread blocks, so the tasks after them wait in the queue until it's full
+        while (!ranOnSubmittingThread && submitted <= MAX_PARSE_THREADS + BackgroundExecutor.MAX_QUEUED_PARSE_TASKS) {
+            executor.executeParse(Runnable {
+                if (Thread.currentThread() == testThread) {
+                    ranOnSubmittingThread = true
+                } else {
+                    release.await(10, TimeUnit.SECONDS)
+                }
+            })
+            submitted++
+        }
+
+        assertThat(ranOnSubmittingThread).isTrue()
+        assertThat(executor.getStats(Lane.PARSE).queueDepth).isEqualTo(BackgroundExecutor.MAX_QUEUED_PARSE_TASKS)
+        release.countDown()
+    }
+
+    @Test
+    fun `stats report queue depth and completed tasks`() {
+        val release = CountDownLatch(1)
+        val done = CountDownLatch(3)
+
+        executor.executeDbWrite(Runnable {
+            release.await(10, TimeUnit.SECONDS)
+            done.countDown()
+        })
+        executor.executeDbWrite(Runnable { done.countDown() })
+        executor.executeDbWrite(Runnable { done.countDown() })
+
+        // the first task blocks the serial lane, so the other two wait in its queue
+        while (executor.getStats(Lane.DB_WRITE).activeCount == 0) {
+            Thread.sleep(1)
+        }
+        assertThat(executor.getStats(Lane.DB_WRITE).queueDepth).isEqualTo(2)
+
+        release.countDown()
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue()
+        // completion is recorded right after each task returns
+        while (executor.getStats(Lane.DB_WRITE).completedCount < 3) {
+            Thread.sleep(1)
+        }
+
+        val stats = executor.getStats(Lane.DB_WRITE)
+        assertThat(stats.queueDepth).isEqualTo(0)
+        assertThat(stats.completedCount).isEqualTo(3)
+        assertThat(executor.getStats(Lane.PARSE).completedCount).isEqualTo(0)
+    }
+
+    companion object {
+        private const val NUM_TASKS = 50
+        private const val MAX_PARSE_THREADS = 4
+    }
+}
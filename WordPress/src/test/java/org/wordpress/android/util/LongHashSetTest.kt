@@ -0,0 +1,56 @@
+package org.wordpress.android.util
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import kotlin.random.Random
+
+class LongHashSetTest {
+    @Test
+    fun `add and contains handle zero and negative values`() {
+        val set = LongHashSet()
+
+        assertThat(set.add(0L)).isTrue()
+        assertThat(set.add(-1L)).isTrue()
+        assertThat(set.add(Long.MIN_VALUE)).isTrue()
+        assertThat(set.add(0L)).isFalse()
+
+        assertThat(set.contains(0L)).isTrue()
+        assertThat(set.contains(-1L)).isTrue()
+        assertThat(set.contains(Long.MIN_VALUE)).isTrue()
+        assertThat(set.contains(1L)).isFalse()
+        assertThat(set.size()).isEqualTo(3)
+    }
+
+    @Test
+    fun `remove keeps colliding values reachable`() {
+        val set = LongHashSet(2)
+        val values = (1L..1000L).map { it shl 32 }
+        values.forEach { set.add(it) }
+
+        values.filterIndexed { index, _ -> index % 2 == 0 }.forEach { assertThat(set.remove(it)).isTrue() }
+
+        values.forEachIndexed { index, value -> assertThat(set.contains(value)).isEqualTo(index % 2 != 0) }
+        assertThat(set.size()).isEqualTo(500)
+    }
+
+    @Test
+    fun `random operations match HashSet`() {
+        val random = Random(42)
+        val set = LongHashSet()
+        val expected = HashSet<Long>()
+
+        repeat(100_000) {
+            val value = random.nextLong(-500, 500)
+            when (random.nextInt(3)) {
+                0 -> assertThat(set.add(value)).isEqualTo(expected.add(value))
+                1 -> assertThat(set.remove(value)).isEqualTo(expected.remove(value))
+                else -> assertThat(set.contains(value)).isEqualTo(expected.contains(value))
+            }
+        }
+
+        assertThat(set.size()).isEqualTo(expected.size)
+        set.clear()
+        assertThat(set.isEmpty).isTrue()
+        assertThat(set.contains(expected.firstOrNull() ?: 0L)).isFalse()
+    }
+}
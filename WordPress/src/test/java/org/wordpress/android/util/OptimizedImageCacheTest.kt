@@ -0,0 +1,76 @@
+package org.wordpress.android.util
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.io.File
+
+class OptimizedImageCacheTest {
+    @Rule
+    @JvmField val temporaryFolder = TemporaryFolder()
+
+    @Test
+    fun `images with the same content have the same hash`() {
+        val first = createFile("first.jpg", "image")
+        val second = createFile("second.jpg", "image")
+        val other = createFile("other.jpg", "other image")
+
+        assertThat(OptimizedImageCache.hashContent(first)).isEqualTo(OptimizedImageCache.hashContent(second))
+        assertThat(OptimizedImageCache.hashContent(first)).isNotEqualTo(OptimizedImageCache.hashContent(other))
+    }
+
+    @Test
+    fun `images which are still being optimized are not cached`() {
+        val entryDir = temporaryFolder.newFolder("entry")
+        File(entryDir, "optimizing.tmp").writeText("image")
+
+        assertThat(OptimizedImageCache.getCachedImage(entryDir)).isNull()
+
+        val image = File(entryDir, "image.jpg").apply { writeText("image") }
+
+        assertThat(OptimizedImageCache.getCachedImage(entryDir)).isEqualTo(image)
+    }
+
+    @Test
+    fun `least recently used images are deleted until the cache fits`() {
+        val cacheDir = temporaryFolder.newFolder("cache")
+        val oldest = createEntry(cacheDir, "oldest", lastUsed = NOW - 3 * DAY)
+        val older = createEntry(cacheDir, "older", lastUsed = NOW - 2 * DAY)
+        val newest = createEntry(cacheDir, "newest", lastUsed = NOW - DAY)
+
+        OptimizedImageCache.evict(cacheDir, 2 * IMAGE_SIZE)
+
+        assertThat(oldest.exists()).isFalse()
+        assertThat(older.exists()).isTrue()
+        assertThat(newest.exists()).isTrue()
+    }
+
+    @Test
+    fun `images are not deleted when the cache fits`() {
+        val cacheDir = temporaryFolder.newFolder("cache")
+        val entry = createEntry(cacheDir, "entry", lastUsed = NOW - 3 * DAY)
+
+        OptimizedImageCache.evict(cacheDir, IMAGE_SIZE)
+
+        assertThat(entry.exists()).isTrue()
+    }
+
+    private fun createFile(name: String, content: String): File {
+        return temporaryFolder.newFile(name).apply { writeText(content) }
+    }
+
+    private fun createEntry(cacheDir: File, key: String, lastUsed: Long): File {
+        val entryDir = File(cacheDir, key)
+        entryDir.mkdirs()
+        File(entryDir, "image.jpg").writeBytes(ByteArray(IMAGE_SIZE.toInt()))
+        entryDir.setLastModified(lastUsed)
+        return entryDir
+    }
+
+    private companion object {
+        private const val DAY = 24 * 60 * 60 * 1000L
+        private const val NOW = 10 * DAY
+        private const val IMAGE_SIZE = 100L
+    }
+}
@@ -0,0 +1,414 @@
+package org.wordpress.android.editor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Finds the tags, quoted attribute values, comments and entities styled by {@link HtmlStyleUtils} in a single pass
+ * over the HTML.
+ *
+ * The lexer state at the start of each line is kept, so after an edit only the lines from the edit onwards are
+ * lexed again, until a line starts in the same state as it did before the edit. Tokens can span several lines,
+ * but the lexer never looks past the end of the line it's in, so the tokens found in a line only depend on the
+ * line's text and the state at its start.
+ */
+class HtmlLexer {
+    static final int TOKEN_TAG = 0;
+    static final int TOKEN_ATTRIBUTE = 1;
+    static final int TOKEN_COMMENT = 2;
+    static final int TOKEN_ENTITY = 3;
+
+    /**
+     * Start of a token which isn't open
+     */
+    static final int NONE = -1;
+
+    interface TokenListener {
+        void onToken(int tokenType, int start, int end);
+    }
+
+    /**
+     * The lines lexed by {@link #relex(CharSequence, TokenListener)}, along with the starts of the tokens which were
+     * still open at the start and end of these lines. Tokens which were open at the start are reported again once
+     * they're closed, while tokens which are still open at the end were already reported before.
+     */
+    static class Region {
+        int mStart;
+        int mEnd;
+        int mStartTokenStart;
+        int mStartValueStart;
+        int mEndTokenStart;
+        int mEndValueStart;
+    }
+
+    private static final int MODE_TEXT = 0;
+    private static final int MODE_TAG = 1;
+    private static final int MODE_SINGLE_QUOTED = 2;
+    private static final int MODE_DOUBLE_QUOTED = 3;
+    private static final int MODE_COMMENT = 4;
+
+    private static final String COMMENT_START = "<!--";
+    private static final String COMMENT_END = "-->";
+    private static final int MAX_ENTITY_LENGTH = 32;
+
+    /**
+     * Start of a token which was in text removed by an edit
+     */
+    private static final int REMOVED = -2;
+
+    // the state at the start of each line is stored as these fields in a flat array
+    private static final int LINE_START = 0;
+    private static final int LINE_MODE = 1;
+    private static final int LINE_TOKEN_START = 2;
+    private static final int LINE_VALUE_START = 3;
+    private static final int LINE_SIZE = 4;
+
+    private int[] mLines = new int[LINE_SIZE * 64];
+    private int mLineCount;
+    private int[] mRelexedLines = new int[LINE_SIZE * 64];
+
+    private int mLength = NONE;
+    private int mDirtyStart = NONE;
+    private int mDirtyEnd;
+
+    private final Region mRegion = new Region();
+
+    /**
+     * Lexer state between two characters
+     */
+    private static class State {
+        int mMode = MODE_TEXT;
+        // start of the open tag or comment
+        int mTokenStart = NONE;
+        // start of the open attribute value
+        int mValueStart = NONE;
+    }
+
+    /**
+     * Reports the tokens of {@code text} from {@code start} to {@code end}, treating {@code start} as being outside
+     * any token and {@code end} as the end of the text.
+     */
+    static void lex(@NonNull CharSequence text, int start, int end, @NonNull TokenListener listener) {
+        State state = new State();
+        int i = start;
+        while (i < end) {
+            i = step(text, i, end, state, listener);
+        }
+    }
+
+    /**
+     * Forgets the lexed text, so it's lexed entirely by the next call to {@link #relex(CharSequence, TokenListener)}
+     */
+    void reset() {
+        mLength = NONE;
+        mLineCount = 0;
+        mDirtyStart = NONE;
+    }
+
+    /**
+     * Returns true if text of the passed length was lexed, and all edits since then were reported
+     */
+    boolean isLexed(int length) {
+        return mLength != NONE && mLength == length;
+    }
+
+    /**
+     * Updates the line states after {@code before} characters from {@code start} were replaced by {@code count}
+     * new ones, and marks the new characters as needing to be lexed again.
+     */
+    void onTextChanged(int start, int before, int count) {
+        if (mLength == NONE) {
+            return;
+        }
+        int delta = count - before;
+        mLength += delta;
+
+        if (mDirtyStart == NONE) {
+            mDirtyStart = start;
+            mDirtyEnd = start + count;
+        } else {
+            mDirtyStart = Math.min(mDirtyStart, start);
+            mDirtyEnd = mDirtyEnd >= start + before ? mDirtyEnd + delta : start + count;
+        }
+
+        // drop the lines which started in the replaced text, and shift the ones after it
+        int lineCount = 0;
+        for (int line = 0; line < mLineCount; line++) {
+            int offset = line * LINE_SIZE;
+            int lineStart = mLines[offset + LINE_START];
+            if (lineStart > start && lineStart <= start + before) {
+                continue;
+            }
+            int newOffset = lineCount * LINE_SIZE;
+            mLines[newOffset + LINE_START] = lineStart > start ? lineStart + delta : lineStart;
+            mLines[newOffset + LINE_MODE] = mLines[offset + LINE_MODE];
+            mLines[newOffset + LINE_TOKEN_START] = shift(mLines[offset + LINE_TOKEN_START], start, before, delta);
+            mLines[newOffset + LINE_VALUE_START] = shift(mLines[offset + LINE_VALUE_START], start, before, delta);
+            lineCount++;
+        }
+        mLineCount = lineCount;
+    }
+
+    /**
+     * Lexes the lines changed since the last call, and the lines after them until one starts in the same state as
+     * it did before, reporting the tokens closed in these lines. All the text is lexed if it wasn't lexed before or
+     * if an edit wasn't reported. Returns the lexed lines, or null if nothing changed.
+     */
+    @Nullable Region relex(@NonNull CharSequence text, @NonNull TokenListener listener) {
+        int length = text.length();
+        if (mLength == NONE || mLength != length) {
+            mLength = length;
+            mLineCount = 1;
+            setLine(mLines, 0, 0, new State());
+            mDirtyStart = 0;
+            mDirtyEnd = length;
+        } else if (mDirtyStart == NONE) {
+            return null;
+        }
+
+        int firstLine = findLine(mDirtyStart);
+        State state = getLine(firstLine);
+        int i = mLines[firstLine * LINE_SIZE + LINE_START];
+
+        mRegion.mStart = i;
+        mRegion.mStartTokenStart = state.mTokenStart;
+        mRegion.mStartValueStart = state.mValueStart;
+        mRegion.mEnd = length;
+        mRegion.mEndTokenStart = NONE;
+        mRegion.mEndValueStart = NONE;
+
+        int relexedCount = 0;
+        int oldLine = firstLine + 1;
+        int convergedLine = NONE;
+        while (i < length) {
+            boolean isLineEnd = text.charAt(i) == '\n';
+            i = step(text, i, length, state, listener);
+            if (!isLineEnd) {
+                continue;
+            }
+
+            // a new line starts at i, stop if an old line started there in the same state
+            while (oldLine < mLineCount && mLines[oldLine * LINE_SIZE + LINE_START] < i) {
+                oldLine++;
+            }
+            if (i > mDirtyEnd && oldLine < mLineCount && isLine(oldLine, i, state)) {
+                convergedLine = oldLine;
+                mRegion.mEnd = i;
+                mRegion.mEndTokenStart = state.mTokenStart;
+                mRegion.mEndValueStart = state.mValueStart;
+                break;
+            }
+
+            mRelexedLines = ensureCapacity(mRelexedLines, relexedCount + 1);
+            setLine(mRelexedLines, relexedCount, i, state);
+            relexedCount++;
+        }
+
+        // replace the lines after the first one with the relexed lines, keeping the old lines after them
+        int keptCount = convergedLine == NONE ? 0 : mLineCount - convergedLine;
+        int lineCount = firstLine + 1 + relexedCount + keptCount;
+        int[] lines = ensureCapacity(mLines, lineCount);
+        if (keptCount > 0) {
+            System.arraycopy(mLines, convergedLine * LINE_SIZE, lines, (firstLine + 1 + relexedCount) * LINE_SIZE,
+                    keptCount * LINE_SIZE);
+        }
+        System.arraycopy(mRelexedLines, 0, lines, (firstLine + 1) * LINE_SIZE, relexedCount * LINE_SIZE);
+        mLines = lines;
+        mLineCount = lineCount;
+        mDirtyStart = NONE;
+
+        return mRegion;
+    }
+
+    /**
+     * Lexes the token starting at {@code i}, or the character at {@code i} when no token starts there, and returns
+     * the position of the next character to lex. Never looks past the next line break.
+     */
+    private static int step(@NonNull CharSequence text, int i, int end, @NonNull State state,
+                            @NonNull TokenListener listener) {
+        char c = text.charAt(i);
+        switch (state.mMode) {
+            case MODE_TEXT:
+                if (c == '<') {
+                    if (regionMatches(text, i, end, COMMENT_START)) {
+                        state.mMode = MODE_COMMENT;
+                        state.mTokenStart = i;
+                        return i + COMMENT_START.length();
+                    }
+                    int nameStart = i + 1 < end && text.charAt(i + 1) == '/' ? i + 2 : i + 1;
+                    if (nameStart < end && isLetter(text.charAt(nameStart))) {
+                        state.mMode = MODE_TAG;
+                        state.mTokenStart = i;
+                        return nameStart + 1;
+                    }
+                } else if (c == '&') {
+                    return lexEntity(text, i, end, listener);
+                }
+                return i + 1;
+            case MODE_TAG:
+                if (c == '>') {
+                    listener.onToken(TOKEN_TAG, state.mTokenStart, i + 1);
+                    state.mMode = MODE_TEXT;
+                    state.mTokenStart = NONE;
+                } else if (c == '<') {
+                    // not a tag after all, lex the '<' again as text
+                    state.mMode = MODE_TEXT;
+                    state.mTokenStart = NONE;
+                    return i;
+                } else if (c == '=' && i + 1 < end && isQuote(text.charAt(i + 1))) {
+                    state.mMode = text.charAt(i + 1) == '"' ? MODE_DOUBLE_QUOTED : MODE_SINGLE_QUOTED;
+                    state.mValueStart = i + 1;
+                    return i + 2;
+                } else if (c == '&') {
+                    return lexEntity(text, i, end, listener);
+                }
+                return i + 1;
+            case MODE_SINGLE_QUOTED:
+            case MODE_DOUBLE_QUOTED:
+                if (c == (state.mMode == MODE_DOUBLE_QUOTED ? '"' : '\'')) {
+                    listener.onToken(TOKEN_ATTRIBUTE, state.mValueStart, i + 1);
+                    state.mMode = MODE_TAG;
+                    state.mValueStart = NONE;
+                } else if (c == '&') {
+                    return lexEntity(text, i, end, listener);
+                }
+                return i + 1;
+            case MODE_COMMENT:
+                if (c == '-' && regionMatches(text, i, end, COMMENT_END)) {
+                    listener.onToken(TOKEN_COMMENT, state.mTokenStart, i + COMMENT_END.length());
+                    state.mMode = MODE_TEXT;
+                    state.mTokenStart = NONE;
+                    return i + COMMENT_END.length();
+                }
+                return i + 1;
+            default:
+                return i + 1;
+        }
+    }
+
+    /**
+     * Reports a named or numeric entity such as "&amp;" or "&#38;" starting at the '&' at {@code start}
+     */
+    private static int lexEntity(@NonNull CharSequence text, int start, int end, @NonNull TokenListener listener) {
+        int limit = Math.min(end, start + MAX_ENTITY_LENGTH);
+        int i = start + 1;
+        if (i < limit && text.charAt(i) == '#') {
+            i++;
+            boolean isHex = i < limit && (text.charAt(i) == 'x' || text.charAt(i) == 'X');
+            if (isHex) {
+                i++;
+            }
+            int digitsStart = i;
+            while (i < limit && (isDigit(text.charAt(i)) || (isHex && isHexLetter(text.charAt(i))))) {
+                i++;
+            }
+            if (i == digitsStart) {
+                return start + 1;
+            }
+        } else {
+            if (i >= limit || !isLetter(text.charAt(i))) {
+                return start + 1;
+            }
+            while (i < limit && (isLetter(text.charAt(i)) || isDigit(text.charAt(i)))) {
+                i++;
+            }
+        }
+
+        if (i < limit && text.charAt(i) == ';') {
+            listener.onToken(TOKEN_ENTITY, start, i + 1);
+            return i + 1;
+        }
+        return start + 1;
+    }
+
+    private static boolean regionMatches(@NonNull CharSequence text, int start, int end, @NonNull String string) {
+        if (start + string.length() > end) {
+            return false;
+        }
+        for (int i = 0; i < string.length(); i++) {
+            if (text.charAt(start + i) != string.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHexLetter(char c) {
+        return (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static boolean isQuote(char c) {
+        return c == '"' || c == '\'';
+    }
+
+    /**
+     * Returns where the character at a position is after {@code before} characters from {@code start} were
+     * replaced by {@code before + delta} new ones
+     */
+    private static int shift(int position, int start, int before, int delta) {
+        if (position < start) {
+            return position;
+        } else if (position < start + before) {
+            return REMOVED;
+        }
+        return position + delta;
+    }
+
+    /**
+     * Returns the last line starting at or before the passed position
+     */
+    private int findLine(int position) {
+        int low = 0;
+        int high = mLineCount - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (mLines[middle * LINE_SIZE + LINE_START] <= position) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    @NonNull private State getLine(int line) {
+        State state = new State();
+        state.mMode = mLines[line * LINE_SIZE + LINE_MODE];
+        state.mTokenStart = mLines[line * LINE_SIZE + LINE_TOKEN_START];
+        state.mValueStart = mLines[line * LINE_SIZE + LINE_VALUE_START];
+        return state;
+    }
+
+    private boolean isLine(int line, int lineStart, @NonNull State state) {
+        int offset = line * LINE_SIZE;
+        return mLines[offset + LINE_START] == lineStart
+               && mLines[offset + LINE_MODE] == state.mMode
+               && mLines[offset + LINE_TOKEN_START] == state.mTokenStart
+               && mLines[offset + LINE_VALUE_START] == state.mValueStart;
+    }
+
+    private static void setLine(@NonNull int[] lines, int line, int lineStart, @NonNull State state) {
+        int offset = line * LINE_SIZE;
+        lines[offset + LINE_START] = lineStart;
+        lines[offset + LINE_MODE] = state.mMode;
+        lines[offset + LINE_TOKEN_START] = state.mTokenStart;
+        lines[offset + LINE_VALUE_START] = state.mValueStart;
+    }
+
+    @NonNull private static int[] ensureCapacity(@NonNull int[] lines, int lineCount) {
+        if (lines.length >= lineCount * LINE_SIZE) {
+            return lines;
+        }
+        int[] grown = new int[Math.max(lines.length * 2, lineCount * LINE_SIZE)];
+        System.arraycopy(lines, 0, grown, 0, lines.length);
+        return grown;
+    }
+}
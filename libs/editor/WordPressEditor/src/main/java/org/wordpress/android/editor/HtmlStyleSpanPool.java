@@ -0,0 +1,80 @@
+package org.wordpress.android.editor;
+
+import android.graphics.Typeface;
+import android.text.style.CharacterStyle;
+import android.text.style.ForegroundColorSpan;
+import android.text.style.RelativeSizeSpan;
+import android.text.style.StyleSpan;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayDeque;
+
+/**
+ * Spans removed from restyled text, which are reused when styling the tokens found in it again rather than
+ * creating new spans on every edit.
+ */
+class HtmlStyleSpanPool {
+    private static final int MAX_POOLED_SPANS = 256;
+
+    private final ArrayDeque<ForegroundColorSpan> mTagColorSpans = new ArrayDeque<>();
+    private final ArrayDeque<ForegroundColorSpan> mAttributeColorSpans = new ArrayDeque<>();
+    private final ArrayDeque<StyleSpan> mItalicSpans = new ArrayDeque<>();
+    private final ArrayDeque<StyleSpan> mBoldSpans = new ArrayDeque<>();
+    private final ArrayDeque<RelativeSizeSpan> mSmallSpans = new ArrayDeque<>();
+
+    @NonNull ForegroundColorSpan obtainTagColorSpan() {
+        ForegroundColorSpan span = mTagColorSpans.poll();
+        return span != null ? span : new ForegroundColorSpan(HtmlStyleUtils.TAG_COLOR);
+    }
+
+    @NonNull ForegroundColorSpan obtainAttributeColorSpan() {
+        ForegroundColorSpan span = mAttributeColorSpans.poll();
+        return span != null ? span : new ForegroundColorSpan(HtmlStyleUtils.ATTRIBUTE_COLOR);
+    }
+
+    @NonNull StyleSpan obtainItalicSpan() {
+        StyleSpan span = mItalicSpans.poll();
+        return span != null ? span : new StyleSpan(Typeface.ITALIC);
+    }
+
+    @NonNull StyleSpan obtainBoldSpan() {
+        StyleSpan span = mBoldSpans.poll();
+        return span != null ? span : new StyleSpan(Typeface.BOLD);
+    }
+
+    @NonNull RelativeSizeSpan obtainSmallSpan() {
+        RelativeSizeSpan span = mSmallSpans.poll();
+        return span != null ? span : new RelativeSizeSpan(HtmlStyleUtils.SMALL_TEXT_SIZE);
+    }
+
+    /**
+     * Keeps a span which was removed from the text so it can be reused, if it's one of the spans styling HTML
+     */
+    void recycle(@NonNull CharacterStyle span) {
+        if (span instanceof ForegroundColorSpan) {
+            int color = ((ForegroundColorSpan) span).getForegroundColor();
+            if (color == HtmlStyleUtils.TAG_COLOR) {
+                offer(mTagColorSpans, (ForegroundColorSpan) span);
+            } else if (color == HtmlStyleUtils.ATTRIBUTE_COLOR) {
+                offer(mAttributeColorSpans, (ForegroundColorSpan) span);
+            }
+        } else if (span instanceof StyleSpan) {
+            int style = ((StyleSpan) span).getStyle();
+            if (style == Typeface.ITALIC) {
+                offer(mItalicSpans, (StyleSpan) span);
+            } else if (style == Typeface.BOLD) {
+                offer(mBoldSpans, (StyleSpan) span);
+            }
+        } else if (span instanceof RelativeSizeSpan
+                   && ((RelativeSizeSpan) span).getSizeChange() == HtmlStyleUtils.SMALL_TEXT_SIZE) {
+            offer(mSmallSpans, (RelativeSizeSpan) span);
+        }
+    }
+
+    private static <T> void offer(@NonNull ArrayDeque<T> spans, @NonNull T span) {
+        if (spans.size() < MAX_POOLED_SPANS) {
+            spans.offer(span);
+        }
+    }
+}
@@ -3,6 +3,9 @@ package org.wordpress.android.editor;
 import android.text.Editable;
 import android.text.Spannable;
 import android.text.TextWatcher;
+import android.text.style.CharacterStyle;
+
+import androidx.annotation.NonNull;
 
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
@@ -16,6 +19,14 @@ public class HtmlStyleTextWatcher implements TextWatcher {
     private CharSequence mModifiedText;
     private Operation mLastOperation;
 
+    // the content styled by updateSpans(), whose edits are lexed incrementally
+    private Spannable mStyledContent;
+    private final HtmlLexer mLexer = new HtmlLexer();
+    private final HtmlStyleSpanPool mSpanPool = new HtmlStyleSpanPool();
+    // type, start and end of the tokens found by the lexer
+    private int[] mTokens = new int[3 * 64];
+    private int mTokenCount;
+
     @Override
     public void beforeTextChanged(CharSequence s, int start, int count, int after) {
         if (s == null) {
@@ -45,6 +56,10 @@ public class HtmlStyleTextWatcher implements TextWatcher {
             return;
         }
 
+        if (s == mStyledContent) {
+            mLexer.onTextChanged(start, before, count);
+        }
+
         int lastCharacterLocation = start + count - 1;
         if (s.length() > lastCharacterLocation) {
             if (count > 0) {
@@ -64,6 +79,14 @@ public class HtmlStyleTextWatcher implements TextWatcher {
 
     @Override
     public void afterTextChanged(Editable s) {
+        if (s != null && s == mStyledContent && mLexer.isLexed(s.length())) {
+            // The lexer knows which lines were edited, so restyle these rather than looking for the changed tags
+            restyleEditedLines(s);
+            mModifiedText = null;
+            mLastOperation = Operation.NONE;
+            return;
+        }
+
         if (mModifiedText == null || s == null) {
             return;
         }
@@ -181,7 +204,7 @@ public class HtmlStyleTextWatcher implements TextWatcher {
 
     /**
      * Clears and re-applies spans to {@code content} within range {@code spanRange} according to rules in
-     * {@link HtmlStyleUtils}.
+     * {@link HtmlStyleUtils}. The whole content is styled the first time, after that only the edited lines are.
      * @param content the content to re-style
      * @param spanRange the range within {@code content} to be re-styled
      */
@@ -200,8 +223,61 @@ public class HtmlStyleTextWatcher implements TextWatcher {
             spanEnd = content.length();
         }
 
-        HtmlStyleUtils.clearSpans(content, spanStart, spanEnd);
-        HtmlStyleUtils.styleHtmlForDisplay(content, spanStart, spanEnd);
+        if (content != mStyledContent) {
+            mStyledContent = content;
+            mLexer.reset();
+        }
+        restyleEditedLines(content);
+    }
+
+    /**
+     * Lexes the lines of {@code content} edited since it was last styled, and replaces the spans of the tokens in
+     * them, reusing the removed spans for the new tokens.
+     */
+    private void restyleEditedLines(@NonNull Spannable content) {
+        if (!HtmlStyleUtils.isStylingSupported()) {
+            return;
+        }
+
+        mTokenCount = 0;
+        HtmlLexer.Region region = mLexer.relex(content, this::addToken);
+        if (region == null) {
+            return;
+        }
+
+        // remove the spans of the tokens lexed again, which are the tokens starting in the lexed lines and the
+        // ones open at their start, except for the ones still open at their end, which didn't change
+        int firstSpanStart = region.mStartTokenStart != HtmlLexer.NONE ? region.mStartTokenStart : region.mStart;
+        CharacterStyle[] spans = content.getSpans(firstSpanStart, region.mEnd, CharacterStyle.class);
+        for (CharacterStyle span : spans) {
+            if (!HtmlStyleUtils.isHtmlStyleSpan(span)) {
+                continue;
+            }
+            int spanStart = content.getSpanStart(span);
+            boolean isLexedAgain = (spanStart >= region.mStart && spanStart < region.mEnd)
+                                   || spanStart == region.mStartTokenStart || spanStart == region.mStartValueStart;
+            boolean isStillOpen = spanStart == region.mEndTokenStart || spanStart == region.mEndValueStart;
+            if (isLexedAgain && !isStillOpen) {
+                content.removeSpan(span);
+                mSpanPool.recycle(span);
+            }
+        }
+
+        for (int i = 0; i < mTokenCount * 3; i += 3) {
+            HtmlStyleUtils.styleToken(content, mTokens[i], mTokens[i + 1], mTokens[i + 2], mSpanPool);
+        }
+    }
+
+    private void addToken(int tokenType, int start, int end) {
+        if (mTokens.length < (mTokenCount + 1) * 3) {
+            int[] tokens = new int[mTokens.length * 2];
+            System.arraycopy(mTokens, 0, tokens, 0, mTokens.length);
+            mTokens = tokens;
+        }
+        mTokens[mTokenCount * 3] = tokenType;
+        mTokens[mTokenCount * 3 + 1] = start;
+        mTokens[mTokenCount * 3 + 2] = end;
+        mTokenCount++;
     }
 
     /**
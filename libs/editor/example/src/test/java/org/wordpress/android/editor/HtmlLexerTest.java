@@ -0,0 +1,113 @@
+package org.wordpress.android.editor;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class HtmlLexerTest {
+    private final List<String> mTokens = new ArrayList<>();
+
+    @Test
+    public void testLexesTokens() {
+        String html = "text <b>bold</b> &amp; &#38; <!--a comment--> <a href=\"website\" title='t'>link</a>";
+
+        HtmlLexer.lex(html, 0, html.length(), this::addToken);
+
+        assertEquals("tag <b>, tag </b>, entity &amp;, entity &#38;, comment <!--a comment-->, "
+                     + "attribute \"website\", attribute 't', tag <a href=\"website\" title='t'>, tag </a>",
+                describeTokens(html));
+    }
+
+    @Test
+    public void testIgnoresIncompleteTokens() {
+        String html = "a < b <b & c <!-- <i title=\"x>";
+
+        HtmlLexer.lex(html, 0, html.length(), this::addToken);
+
+        assertEquals(0, mTokens.size());
+    }
+
+    @Test
+    public void testLexesTokensSpanningLines() {
+        String html = "<p\nclass=\"a\nb\">\n<!--\ncomment\n-->";
+
+        HtmlLexer.lex(html, 0, html.length(), this::addToken);
+
+        assertEquals("attribute \"a\nb\", tag <p\nclass=\"a\nb\">, comment <!--\ncomment\n-->", describeTokens(html));
+    }
+
+    @Test
+    public void testRelexesOnlyEditedLines() {
+        StringBuilder html = new StringBuilder("<p>one</p>\n<p>two</p>\n<p>three</p>\n");
+        HtmlLexer lexer = new HtmlLexer();
+        lexer.relex(html, this::addToken);
+        assertEquals(6, mTokens.size());
+        mTokens.clear();
+
+        html.insert(14, "&amp;");
+        lexer.onTextChanged(14, 0, 5);
+        HtmlLexer.Region region = lexer.relex(html, this::addToken);
+
+        assertEquals(11, region.mStart);
+        assertEquals(27, region.mEnd);
+        assertEquals("tag <p>, entity &amp;, tag </p>", describeTokens(html));
+        assertNull(lexer.relex(html, this::addToken));
+    }
+
+    @Test
+    public void testRelexesUntilStateConverges() {
+        StringBuilder html = new StringBuilder("<p>one</p>\n<p>two</p>\n<p>three</p>\n");
+        HtmlLexer lexer = new HtmlLexer();
+        lexer.relex(html, this::addToken);
+        mTokens.clear();
+
+        // opening a comment hides the tags up to the end of the comment
+        html.insert(0, "<!--\n");
+        lexer.onTextChanged(0, 0, 5);
+        html.append("-->\n<p>four</p>\n");
+        lexer.onTextChanged(39, 0, 16);
+        HtmlLexer.Region region = lexer.relex(html, this::addToken);
+
+        assertEquals(0, region.mStart);
+        assertEquals(html.length(), region.mEnd);
+        assertEquals("comment <!--\n<p>one</p>\n<p>two</p>\n<p>three</p>\n-->, tag <p>, tag </p>",
+                describeTokens(html));
+    }
+
+    @Test
+    public void testLexesEverythingAfterUnreportedEdit() {
+        StringBuilder html = new StringBuilder("<p>one</p>\n");
+        HtmlLexer lexer = new HtmlLexer();
+        lexer.relex(html, this::addToken);
+        mTokens.clear();
+
+        html.append("<b>two</b>\n");
+        HtmlLexer.Region region = lexer.relex(html, this::addToken);
+
+        assertEquals(0, region.mStart);
+        assertEquals(html.length(), region.mEnd);
+        assertEquals(4, mTokens.size());
+    }
+
+    private void addToken(int tokenType, int start, int end) {
+        mTokens.add(tokenType + ":" + start + ":" + end);
+    }
+
+    private String describeTokens(CharSequence html) {
+        String[] names = {"tag", "attribute", "comment", "entity"};
+        StringBuilder description = new StringBuilder();
+        for (String token : mTokens) {
+            String[] parts = token.split(":");
+            if (description.length() > 0) {
+                description.append(", ");
+            }
+            description.append(names[Integer.parseInt(parts[0])]).append(' ')
+                       .append(html.subSequence(Integer.parseInt(parts[1]), Integer.parseInt(parts[2])));
+        }
+        return description.toString();
+    }
+}
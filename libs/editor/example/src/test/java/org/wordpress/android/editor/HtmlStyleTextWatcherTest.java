@@ -486,6 +486,32 @@ public class HtmlStyleTextWatcherTest {
 
     }
 
+    @Test
+    public void testRestylesEditedLines() {
+        HtmlStyleTextWatcher watcher = new HtmlStyleTextWatcher();
+        SpannableStringBuilder content = new SpannableStringBuilder("<b>one</b>\ntwo\n<i>three</i>");
+        watcher.updateSpans(content, new HtmlStyleTextWatcher.SpanRange(0, content.length()));
+
+        assertEquals(4, content.getSpans(0, content.length(), ForegroundColorSpan.class).length);
+
+        // Typed "&amp;" at the end of the second line
+        content.insert(14, "&amp;");
+        watcher.onTextChanged(content, 14, 0, 5);
+        watcher.afterTextChanged(content);
+
+        assertEquals(5, content.getSpans(0, content.length(), ForegroundColorSpan.class).length);
+        assertEquals(1, content.getSpans(14, 19, StyleSpan.class).length);
+        assertEquals(1, content.getSpans(14, 19, RelativeSizeSpan.class).length);
+
+        // Deleted the "&" of the entity
+        content.delete(14, 15);
+        watcher.onTextChanged(content, 14, 1, 0);
+        watcher.afterTextChanged(content);
+
+        assertEquals(4, content.getSpans(0, content.length(), ForegroundColorSpan.class).length);
+        assertEquals(0, content.getSpans(0, content.length(), StyleSpan.class).length);
+    }
+
     private class HtmlStyleTextWatcherForTests extends HtmlStyleTextWatcher {
         @Override
         protected void updateSpans(Spannable s, SpanRange spanRange) {
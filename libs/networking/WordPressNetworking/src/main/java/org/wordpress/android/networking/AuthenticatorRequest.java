@@ -25,7 +25,11 @@ public class AuthenticatorRequest {
     }
 
     public String getSiteId() {
-        return extractSiteIdFromUrl(mRestClient.getEndpointURL(), mRequest.getUrl());
+        return extractSiteIdFromUrl(mRestClient.getEndpointURL(), getUrl());
+    }
+
+    protected String getUrl() {
+        return mRequest.getUrl();
     }
 
     /**
@@ -72,12 +76,16 @@ public class AuthenticatorRequest {
      */
     protected void send() {
         if (mAuthenticator == null) {
-            mRestClient.send(mRequest);
+            sendWithoutAccessToken();
         } else {
             mAuthenticator.authenticate(this);
         }
     }
 
+    protected void sendWithoutAccessToken() {
+        mRestClient.send(mRequest);
+    }
+
     public void sendWithAccessToken(String token) {
         mRequest.setAccessToken(token);
         mRestClient.send(mRequest);
@@ -0,0 +1,46 @@
+package org.wordpress.android.networking;
+
+import com.android.volley.RequestQueue;
+import com.android.volley.Response;
+import com.android.volley.VolleyError;
+import com.wordpress.rest.RestClient;
+
+/**
+ * Asks the Authenticator for an access token before sending a {@link RawRestRequest}
+ */
+class RawAuthenticatorRequest extends AuthenticatorRequest {
+    private final RawRestRequest mRawRequest;
+    private final Response.ErrorListener mRawListener;
+    private final RequestQueue mQueue;
+
+    RawAuthenticatorRequest(RawRestRequest request, Response.ErrorListener listener, RequestQueue queue,
+                            RestClient restClient, Authenticator authenticator) {
+        super(null, null, restClient, authenticator);
+        mRawRequest = request;
+        mRawListener = listener;
+        mQueue = queue;
+    }
+
+    @Override
+    protected String getUrl() {
+        return mRawRequest.getUrl();
+    }
+
+    @Override
+    protected void sendWithoutAccessToken() {
+        mQueue.add(mRawRequest);
+    }
+
+    @Override
+    public void sendWithAccessToken(String token) {
+        mRawRequest.setAccessToken(token);
+        mQueue.add(mRawRequest);
+    }
+
+    @Override
+    public void abort(VolleyError error) {
+        if (mRawListener != null) {
+            mRawListener.onErrorResponse(error);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.wordpress.android.networking;
+
+import com.android.volley.NetworkResponse;
+import com.android.volley.Request;
+import com.android.volley.Response;
+import com.android.volley.toolbox.HttpHeaderParser;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A REST request which hands the undecoded response body to its listener, so callers can stream it into their
+ * models instead of building a JSONObject of the whole response first.
+ */
+public class RawRestRequest extends Request<byte[]> {
+    private static final String USER_AGENT_HEADER = "User-Agent";
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String AUTHORIZATION_FORMAT = "Bearer %s";
+
+    private final Response.Listener<byte[]> mListener;
+    private final String mUserAgent;
+    private String mAccessToken;
+
+    public RawRestRequest(String url, String userAgent, Response.Listener<byte[]> listener,
+                          Response.ErrorListener errorListener) {
+        super(Method.GET, url, errorListener);
+        mUserAgent = userAgent;
+        mListener = listener;
+    }
+
+    public void setAccessToken(String accessToken) {
+        mAccessToken = accessToken;
+    }
+
+    @Override
+    public Map<String, String> getHeaders() {
+        Map<String, String> headers = new HashMap<>();
+        if (mUserAgent != null) {
+            headers.put(USER_AGENT_HEADER, mUserAgent);
+        }
+        if (mAccessToken != null) {
+            headers.put(AUTHORIZATION_HEADER, String.format(AUTHORIZATION_FORMAT, mAccessToken));
+        }
+        return headers;
+    }
+
+    @Override
+    protected Response<byte[]> parseNetworkResponse(NetworkResponse response) {
+        return Response.success(response.data, HttpHeaderParser.parseCacheHeaders(response));
+    }
+
+    @Override
+    protected void deliverResponse(byte[] response) {
+        if (mListener != null) {
+            mListener.onResponse(response);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.android.volley.DefaultRetryPolicy;
 import com.android.volley.Request;
 import com.android.volley.Request.Method;
 import com.android.volley.RequestQueue;
+import com.android.volley.Response;
 import com.android.volley.RetryPolicy;
 import com.android.volley.VolleyError;
 import com.wordpress.rest.JsonRestRequest;
@@ -34,6 +35,7 @@ public class RestClientUtils {
     private static String sUserAgent = "WordPress Networking Android";
 
     private RestClient mRestClient;
+    private RequestQueue mQueue;
     private Authenticator mAuthenticator;
     private Context mContext;
 
@@ -71,6 +73,7 @@ public class RestClientUtils {
                            RestClient.REST_CLIENT_VERSIONS version) {
         // load an existing access token from prefs if we have one
         mContext = context;
+        mQueue = queue;
         mAuthenticator = authenticator;
         mRestClient = RestClientFactory.instantiate(queue, version);
         if (onAuthFailedListener != null) {
@@ -248,6 +251,46 @@ public class RestClientUtils {
      */
     public Request<JSONObject> get(String path, Map<String, String> params, RetryPolicy retryPolicy, Listener listener,
                     ErrorListener errorListener) {
+        RestRequest request = mRestClient.makeRequest(Method.GET, getAbsoluteGetURL(path, params), null, listener,
+                errorListener);
+
+        if (retryPolicy == null) {
+            retryPolicy = new DefaultRetryPolicy(REST_TIMEOUT_MS, REST_MAX_RETRIES_GET, REST_BACKOFF_MULT);
+        }
+        request.setRetryPolicy(retryPolicy);
+        AuthenticatorRequest authCheck = new AuthenticatorRequest(request, errorListener, mRestClient, mAuthenticator);
+        authCheck.send();
+        return request;
+    }
+
+    /**
+     * Make GET request with params whose response body is handed undecoded to the listener, so it can be streamed
+     * rather than parsed into a JSONObject
+     */
+    public Request<byte[]> getRaw(String path, Map<String, String> params, RetryPolicy retryPolicy,
+                                  Response.Listener<byte[]> listener, final ErrorListener errorListener) {
+        Response.ErrorListener rawErrorListener = new Response.ErrorListener() {
+            @Override
+            public void onErrorResponse(VolleyError error) {
+                if (errorListener != null) {
+                    errorListener.onErrorResponse(error);
+                }
+            }
+        };
+        RawRestRequest request = new RawRestRequest(getAbsoluteGetURL(path, params), sUserAgent, listener,
+                rawErrorListener);
+
+        if (retryPolicy == null) {
+            retryPolicy = new DefaultRetryPolicy(REST_TIMEOUT_MS, REST_MAX_RETRIES_GET, REST_BACKOFF_MULT);
+        }
+        request.setRetryPolicy(retryPolicy);
+        AuthenticatorRequest authCheck = new RawAuthenticatorRequest(request, rawErrorListener, mQueue, mRestClient,
+                mAuthenticator);
+        authCheck.send();
+        return request;
+    }
+
+    private String getAbsoluteGetURL(String path, Map<String, String> params) {
         // turn params into query string
         HashMap<String, String> paramsWithLocale = getRestLocaleParams(mContext);
         if (params != null) {
@@ -260,16 +303,7 @@ public class RestClientUtils {
         }
         paramsWithLocale.putAll(getSanitizedParameters(path));
 
-        RestRequest request = mRestClient.makeRequest(Method.GET, mRestClient
-                        .getAbsoluteURL(realPath, paramsWithLocale), null, listener, errorListener);
-
-        if (retryPolicy == null) {
-            retryPolicy = new DefaultRetryPolicy(REST_TIMEOUT_MS, REST_MAX_RETRIES_GET, REST_BACKOFF_MULT);
-        }
-        request.setRetryPolicy(retryPolicy);
-        AuthenticatorRequest authCheck = new AuthenticatorRequest(request, errorListener, mRestClient, mAuthenticator);
-        authCheck.send();
-        return request;
+        return mRestClient.getAbsoluteURL(realPath, paramsWithLocale);
     }
 
     /**
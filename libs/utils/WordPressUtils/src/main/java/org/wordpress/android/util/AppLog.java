@@ -18,11 +18,11 @@ import java.io.StringWriter;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
-import java.util.NoSuchElementException;
 import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static java.lang.String.format;
 
@@ -106,10 +106,36 @@ public class AppLog {
          sLogFileWriter = new LogFileWriter(logFileProvider);
          sLogFileWriter.write(getAppInfoHeaderText(context) + "\n");
          sLogFileWriter.write(getDeviceInfoHeaderText(context) + "\n");
+
+         // lines are written to the file in batches, so make sure the latest ones are written before a crash
+         final Thread.UncaughtExceptionHandler previousHandler = Thread.getDefaultUncaughtExceptionHandler();
+         Thread.setDefaultUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+             @Override
+             public void uncaughtException(@NonNull Thread thread, @NonNull Throwable throwable) {
+                 flushLogFile();
+                 if (previousHandler != null) {
+                     previousHandler.uncaughtException(thread, throwable);
+                 }
+             }
+         });
     }
 
     private static LogFileWriter sLogFileWriter;
 
+    /**
+     * Synchronously writes any log lines which haven't been persisted yet to the log file
+     */
+    public static void flushLogFile() {
+        LogFileWriter logFileWriter = sLogFileWriter;
+        if (logFileWriter != null) {
+            try {
+                logFileWriter.flush();
+            } catch (Exception e) {
+                Log.e(TAG, "Unable to flush the log file", e);
+            }
+        }
+    }
+
     /**
      * Sends a VERBOSE log message
      * @param tag Used to identify the source of a log message.
@@ -225,15 +251,20 @@ public class AppLog {
         v, d, i, w, e;
     }
 
+    /**
+     * Entries only hold what was logged, they're formatted once they're displayed or written to the log file
+     */
     private static class LogEntry {
+        final long mSequence;
         final LogLevel mLogLevel;
         final String mLogText;
-        final java.util.Date mDate;
+        final long mTimestamp;
         final T mLogTag;
 
-        LogEntry(LogLevel logLevel, String logText, T logTag) {
+        LogEntry(long sequence, LogLevel logLevel, String logText, T logTag) {
+            mSequence = sequence;
             mLogLevel = logLevel;
-            mDate = new Date();
+            mTimestamp = System.currentTimeMillis();
             if (logText == null) {
                 mLogText = "null";
             } else {
@@ -242,16 +273,10 @@ public class AppLog {
             mLogTag = logTag;
         }
 
-        private String formatLogDate() {
-            SimpleDateFormat sdf = new SimpleDateFormat("MMM-dd kk:mm", Locale.US);
-            sdf.setTimeZone(mUtcTimeZone);
-            return sdf.format(mDate);
-        }
-
         private String toHtml() {
             StringBuilder sb = new StringBuilder();
             sb.append("[");
-            sb.append(formatLogDate()).append(" ");
+            sb.append(LogDate.format(mTimestamp)).append(" ");
             sb.append(mLogTag.name()).append(" ");
             sb.append(mLogLevel.name());
             sb.append("] ");
@@ -262,7 +287,7 @@ public class AppLog {
         @Override
         public @NonNull String toString() {
             return "["
-            + formatLogDate()
+            + LogDate.format(mTimestamp)
             + " "
             + mLogTag.name()
             + "] "
@@ -271,28 +296,70 @@ public class AppLog {
         }
     }
 
-    private static class LogEntryList extends ArrayList<LogEntry> {
-        private synchronized boolean addEntry(LogEntry entry) {
-            if (size() >= MAX_ENTRIES) {
-                removeFirstEntry();
-            }
-            return add(entry);
+    /**
+     * Log dates only go down to the minute, so the formatted date is cached until the next minute rather than being
+     * formatted for every entry
+     */
+    private static class LogDate {
+        private static final long MINUTE_MS = 60 * 1000;
+        private static volatile LogDate sLatest;
+
+        private final long mMinute;
+        private final String mFormatted;
+
+        private LogDate(long minute) {
+            SimpleDateFormat sdf = new SimpleDateFormat("MMM-dd kk:mm", Locale.US);
+            sdf.setTimeZone(mUtcTimeZone);
+            mMinute = minute;
+            mFormatted = sdf.format(new Date(minute * MINUTE_MS));
         }
 
-        private void removeFirstEntry() {
-            Iterator<LogEntry> it = iterator();
-            if (!it.hasNext()) {
-                return;
+        static String format(long timestamp) {
+            long minute = timestamp / MINUTE_MS;
+            LogDate latest = sLatest;
+            if (latest == null || latest.mMinute != minute) {
+                latest = new LogDate(minute);
+                sLatest = latest;
             }
-            try {
-                remove(it.next());
-            } catch (NoSuchElementException e) {
-                // ignore
+            return latest.mFormatted;
+        }
+    }
+
+    /**
+     * Fixed size ring holding the latest entries. Adding an entry claims the next sequence number and stores the
+     * entry in that sequence's slot, replacing the oldest entry without locking or shifting the others. Readers
+     * check the sequence number of each entry, so slots which were overwritten while reading (or haven't been
+     * stored yet) are skipped.
+     */
+    private static class LogEntryRing {
+        private final AtomicReferenceArray<LogEntry> mSlots = new AtomicReferenceArray<>(MAX_ENTRIES);
+        private final AtomicLong mNextSequence = new AtomicLong();
+
+        private LogEntry add(LogLevel level, String text, T tag) {
+            long sequence = mNextSequence.getAndIncrement();
+            LogEntry entry = new LogEntry(sequence, level, text, tag);
+            mSlots.set((int) (sequence % MAX_ENTRIES), entry);
+            return entry;
+        }
+
+        /**
+         * Returns the entries currently in the ring, oldest first
+         */
+        private List<LogEntry> getEntries() {
+            long end = mNextSequence.get();
+            long start = Math.max(0, end - MAX_ENTRIES);
+            List<LogEntry> entries = new ArrayList<>((int) (end - start));
+            for (long sequence = start; sequence < end; sequence++) {
+                LogEntry entry = mSlots.get((int) (sequence % MAX_ENTRIES));
+                if (entry != null && entry.mSequence == sequence) {
+                    entries.add(entry);
+                }
             }
+            return entries;
         }
     }
 
-    private static LogEntryList mLogEntries = new LogEntryList();
+    private static LogEntryRing mLogEntries = new LogEntryRing();
 
     private static void addEntry(T tag, LogLevel level, String text) {
         // Call our listeners if any
@@ -301,11 +368,12 @@ public class AppLog {
         }
         // Record entry if enabled
         if (mEnableRecording) {
-            LogEntry entry = new LogEntry(level, text, tag);
-            mLogEntries.addEntry(entry);
+            LogEntry entry = mLogEntries.add(level, text, tag);
 
-            if (sLogFileWriter != null) {
-                sLogFileWriter.write(entry.toString());
+            LogFileWriter logFileWriter = sLogFileWriter;
+            if (logFileWriter != null) {
+                // formatted on the writer's thread
+                logFileWriter.write(entry);
             }
         }
     }
@@ -350,9 +418,8 @@ public class AppLog {
         items.add("<strong>" + getAppInfoHeaderText(context) + "</strong>");
         items.add("<strong>" + getDeviceInfoHeaderText(context) + "</strong>");
 
-        Iterator<LogEntry> it = new ArrayList<>(mLogEntries).iterator();
-        while (it.hasNext()) {
-            items.add(it.next().toHtml());
+        for (LogEntry entry : mLogEntries.getEntries()) {
+            items.add(entry.toHtml());
         }
         return items;
     }
@@ -369,10 +436,8 @@ public class AppLog {
         sb.append(getAppInfoHeaderText(context)).append("\n")
           .append(getDeviceInfoHeaderText(context)).append("\n\n");
 
-        Iterator<LogEntry> it = new ArrayList<>(mLogEntries).iterator();
         int lineNum = 1;
-        while (it.hasNext()) {
-            LogEntry entry = it.next();
+        for (LogEntry entry : mLogEntries.getEntries()) {
             sb.append(format(Locale.US, "%02d - ", lineNum))
               .append(entry.toString());
             lineNum++;
@@ -25,6 +25,8 @@ import android.util.Log;
 import android.webkit.MimeTypeMap;
 import android.widget.ImageView;
 
+import androidx.annotation.Nullable;
+
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
@@ -506,6 +508,20 @@ public class ImageUtils {
      * @return the path to the optimized image
      */
     public static String optimizeImage(Context context, String path, int maxImageSize, int quality) {
+        return optimizeImage(context, path, maxImageSize, quality, null);
+    }
+
+    /**
+     * Given the path to an image, compress and resize it into the passed file.
+     * @param context the passed context
+     * @param path the path to the original image
+     * @param maxImageSize the maximum allowed width
+     * @param quality the encoder quality
+     * @param outputFile the file to write the optimized image to, or null to write it to a new temp file
+     * @return the path to the optimized image, or the passed path when the image wasn't optimized
+     */
+    public static String optimizeImage(Context context, String path, int maxImageSize, int quality,
+                                       @Nullable File outputFile) {
         if (context == null || TextUtils.isEmpty(path)) {
             return path;
         }
@@ -551,15 +567,19 @@ public class ImageUtils {
         FileOutputStream out;
 
         try {
-            // try to re-use the same name as prefix of the temp file
-            String prefix = FileUtils.getFileNameFromPath(fileName);
+            if (outputFile != null) {
+                resizedImageFile = outputFile;
+            } else {
+                // try to re-use the same name as prefix of the temp file
+                String prefix = FileUtils.getFileNameFromPath(fileName);
 
-            if (TextUtils.isEmpty(prefix) || prefix.length() < 3) {
-                // prefix must be at least 3 characters
-                prefix = "wp-image";
-            }
+                if (TextUtils.isEmpty(prefix) || prefix.length() < 3) {
+                    // prefix must be at least 3 characters
+                    prefix = "wp-image";
+                }
 
-            resizedImageFile = File.createTempFile(prefix, "." + fileExtension);
+                resizedImageFile = File.createTempFile(prefix, "." + fileExtension);
+            }
             out = new FileOutputStream(resizedImageFile);
         } catch (IOException e) {
             AppLog.e(AppLog.T.MEDIA, "Failed to create the temp file on storage. Use the original picture instead.");
@@ -1,30 +1,58 @@
 package org.wordpress.android.util.helpers.logfile
 
 import org.jetbrains.annotations.TestOnly
+import java.io.BufferedWriter
 import java.io.File
-import java.io.FileWriter
+import java.io.FileOutputStream
+import java.io.OutputStreamWriter
 import java.util.Date
 import org.wordpress.android.util.DateTimeUtils
-import java.util.concurrent.ExecutorService
+import java.util.concurrent.ConcurrentLinkedQueue
 import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * The longest a written line waits before it's flushed to the file
+ */
+private const val FLUSH_INTERVAL_MS = 250L
+
+/**
+ * Lines are flushed right away once this many are waiting to be written
+ */
+private const val MAX_PENDING_LINES = 200
+
+private const val BUFFER_SIZE = 16 * 1024
 
 /**
  * A class that manages writing to a log file.
  *
  * This class creates and writes to a log file, and will typically persist for the entire lifecycle
  * of its host application.
+ *
+ * Lines are queued without locking and written out in batches on a background thread, either every
+ * [FLUSH_INTERVAL_MS] or as soon as [MAX_PENDING_LINES] are waiting, whichever comes first. Call [flush] to
+ * write out any queued lines synchronously, e.g. before the app crashes.
  */
 class LogFileWriter @JvmOverloads constructor(
     logFileProvider: LogFileProviderInterface,
     fileId: String = DateTimeUtils.iso8601FromDate(Date())
 ) {
     private val file = File(logFileProvider.getLogFileDirectory(), "$fileId.log")
-    private val fileWriter: FileWriter = FileWriter(file)
+    private val fileWriter = BufferedWriter(OutputStreamWriter(FileOutputStream(file)), BUFFER_SIZE)
+
+    private val pendingLines = ConcurrentLinkedQueue<Any>()
+    private val pendingLineCount = AtomicInteger()
+    private val isFlushScheduled = AtomicBoolean()
 
     /**
      * A serial executor used to write to the file in a background thread
      */
-    private val queue: ExecutorService = Executors.newSingleThreadExecutor()
+    private val queue: ScheduledExecutorService = Executors.newSingleThreadScheduledExecutor { runnable ->
+        Thread(runnable, "LogFileWriter").apply { isDaemon = true }
+    }
 
     /**
      * A reference to the underlying {@link Java.IO.File} file.
@@ -34,12 +62,35 @@ class LogFileWriter @JvmOverloads constructor(
     fun getFile(): File = file
 
     /**
-     * Writes the provided string to the log file synchronously
+     * Queues the provided data to be written to the log file. It's converted to a string on the writer's thread,
+     * so it can be an object which only formats itself when its `toString()` is called.
+     */
+    fun write(data: Any) {
+        pendingLines.offer(data)
+        if (pendingLineCount.incrementAndGet() == MAX_PENDING_LINES) {
+            queue.execute { flush() }
+        } else if (isFlushScheduled.compareAndSet(false, true)) {
+            queue.schedule({
+                isFlushScheduled.set(false)
+                flush()
+            }, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS)
+        }
+    }
+
+    /**
+     * Writes all queued lines to the log file synchronously
      */
-    fun write(data: String) {
-        queue.execute {
-            fileWriter.write(data)
-            fileWriter.flush()
+    @Synchronized
+    fun flush() {
+        var line = pendingLines.poll()
+        if (line == null) {
+            return
+        }
+        while (line != null) {
+            pendingLineCount.decrementAndGet()
+            fileWriter.write(line.toString())
+            line = pendingLines.poll()
         }
+        fileWriter.flush()
     }
 }
@@ -0,0 +1,78 @@
+package org.wordpress.android.util
+
+import android.content.Context
+import android.os.Build
+import androidx.test.core.app.ApplicationProvider
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import org.wordpress.android.util.AppLog.T
+import java.util.UUID
+import kotlin.concurrent.thread
+
+/**
+ *  The number of entries kept by [AppLog]
+ */
+private const val MAX_ENTRIES = 99
+
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [Build.VERSION_CODES.O_MR1])
+class AppLogTest {
+    private lateinit var context: Context
+    private lateinit var prefix: String
+
+    @Before
+    fun setup() {
+        context = ApplicationProvider.getApplicationContext()
+        prefix = UUID.randomUUID().toString()
+        AppLog.enableRecording(true)
+    }
+
+    @Test
+    fun testThatOnlyTheLatestEntriesAreKeptInOrder() {
+        (1..250).forEach { AppLog.i(T.UTILS, "$prefix $it") }
+
+        val entries = loggedEntries()
+
+        assertEquals((152..250).map { "$prefix $it" }, entries)
+    }
+
+    @Test
+    fun testThatEntriesLoggedConcurrentlyAreKept() {
+        val threads = (1..4).map { threadIndex ->
+            thread {
+                (1..1000).forEach { AppLog.i(T.UTILS, "$prefix $threadIndex $it") }
+            }
+        }
+        threads.forEach { it.join() }
+
+        val entries = loggedEntries()
+
+        assertEquals(MAX_ENTRIES, entries.size)
+        // the entries logged by each thread are still in the order it logged them
+        entries.groupBy { it.split(" ")[1] }.values.forEach { threadEntries ->
+            val counters = threadEntries.map { it.split(" ")[2].toInt() }
+            assertEquals(counters.sorted(), counters)
+        }
+        assertTrue(entries.any { it.endsWith(" 1000") })
+    }
+
+    @Test
+    fun testThatHtmlListContainsTheLatestEntries() {
+        (1..120).forEach { AppLog.i(T.UTILS, "$prefix $it") }
+
+        val items = AppLog.toHtmlList(context)
+
+        assertEquals(AppLog.HEADER_LINE_COUNT + MAX_ENTRIES, items.size)
+        assertTrue(items[AppLog.HEADER_LINE_COUNT].endsWith("$prefix 22"))
+        assertTrue(items.last().endsWith("$prefix 120"))
+    }
+
+    private fun loggedEntries() = AppLog.toPlainText(context)
+            .lines()
+            .mapNotNull { line -> line.indexOf(prefix).takeIf { it >= 0 }?.let { line.substring(it).trimEnd() } }
+}
@@ -50,4 +50,45 @@ class LogFileWriterTest {
         val contents = FileReader(writer.getFile()).readText()
         assertEquals(randomString, contents)
     }
+
+    @Test
+    fun testThatFlushWritesQueuedContentsImmediately() {
+        val writer = LogFileWriter(testProvider)
+        writer.write("first\n")
+        writer.write("second\n")
+        writer.flush()
+
+        val contents = FileReader(writer.getFile()).readText()
+        assertEquals("first\nsecond\n", contents)
+    }
+
+    @Test
+    fun testThatLinesAreConvertedToStringsWhenWritten() {
+        var formatCount = 0
+        val line = object {
+            override fun toString(): String {
+                formatCount++
+                return "formatted"
+            }
+        }
+        val writer = LogFileWriter(testProvider)
+        writer.write(line)
+        assertEquals(0, formatCount)
+
+        writer.flush()
+
+        assertEquals(1, formatCount)
+        assertEquals("formatted", FileReader(writer.getFile()).readText())
+    }
+
+    @Test
+    fun testThatManyLinesAreWrittenInOrder() {
+        val writer = LogFileWriter(testProvider)
+        val lines = (1..1000).map { "line $it\n" }
+        lines.forEach { writer.write(it) }
+        writer.flush()
+
+        val contents = FileReader(writer.getFile()).readText()
+        assertEquals(lines.joinToString(""), contents)
+    }
 }